@@ -7,13 +7,18 @@ import de.craftsblock.craftsnet.addon.AddonManager;
 import de.craftsblock.craftsnet.addon.services.ServiceManager;
 import de.craftsblock.craftsnet.api.RouteRegistry;
 import de.craftsblock.craftsnet.api.codec.registry.TypeEncoderRegistry;
+import de.craftsblock.craftsnet.api.http.ShareFileCache;
 import de.craftsblock.craftsnet.api.http.WebServer;
 import de.craftsblock.craftsnet.api.http.body.BodyRegistry;
 import de.craftsblock.craftsnet.api.http.builtin.DefaultRoute;
+import de.craftsblock.craftsnet.api.http.codec.HttpSafeTypeEncoder;
+import de.craftsblock.craftsnet.api.http.encoding.CompressedFileCache;
+import de.craftsblock.craftsnet.api.http.encoding.CompressionPolicy;
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoderRegistry;
 import de.craftsblock.craftsnet.api.middlewares.MiddlewareRegistry;
 import de.craftsblock.craftsnet.api.requirements.RequirementRegistry;
 import de.craftsblock.craftsnet.api.session.SessionCache;
+import de.craftsblock.craftsnet.api.transformers.TransformerCache;
 import de.craftsblock.craftsnet.api.websocket.DefaultPingResponder;
 import de.craftsblock.craftsnet.api.websocket.WebSocketServer;
 import de.craftsblock.craftsnet.api.websocket.codec.WebSocketSafeTypeEncoder;
@@ -25,10 +30,12 @@ import de.craftsblock.craftsnet.builder.AddonContainingBuilder;
 import de.craftsblock.craftsnet.builder.CraftsNetBuilder;
 import de.craftsblock.craftsnet.logging.Logger;
 import de.craftsblock.craftsnet.logging.mutate.LogStream;
+import de.craftsblock.craftsnet.utils.BufferPool;
 import de.craftsblock.craftsnet.utils.FileHelper;
 import de.craftsblock.craftsnet.utils.reflection.ReflectionUtils;
 import de.craftsblock.craftsnet.utils.versions.Versions;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -76,6 +83,11 @@ public class CraftsNet {
     private RouteRegistry routeRegistry;
     private ServiceManager serviceManager;
     private SessionCache sessionCache;
+    private TransformerCache transformerCache;
+    private CompressedFileCache compressionCache;
+    private CompressionPolicy compressionPolicy;
+    private ShareFileCache shareFileCache;
+    private BufferPool responseBufferPool;
     private StreamEncoderRegistry streamEncoderRegistry;
     private WebSocketExtensionRegistry webSocketExtensionRegistry;
 
@@ -157,6 +169,25 @@ public class CraftsNet {
         logger.debug("Initialization of the session cache");
         this.sessionCache = new SessionCache(builder.getSessionCacheSize());
 
+        if (builder.getTransformerCacheSize() > 0) {
+            logger.debug("Initialization of the transformer cache");
+            this.transformerCache = new TransformerCache(builder.getTransformerCacheSize(), builder.getTransformerCacheTimeToLive());
+        }
+
+        logger.debug("Initialization of the compression cache");
+        this.compressionCache = new CompressedFileCache(fileHelper, builder.getCompressionCacheSize(), builder.getCompressionCacheMaxBytes());
+
+        logger.debug("Initialization of the compression policy");
+        this.compressionPolicy = new CompressionPolicy(builder.getCompressionMinimumSize());
+
+        logger.debug("Initialization of the share file cache");
+        this.shareFileCache = new ShareFileCache(this, builder.getShareFileCacheSize());
+
+        if (builder.getResponseBufferSize() > 0) {
+            logger.debug("Initialization of the response buffer pool");
+            this.responseBufferPool = new BufferPool(builder.getResponseBufferSize(), 256);
+        }
+
         logger.debug("Initialization of the stream encoder registry");
         streamEncoderRegistry = new StreamEncoderRegistry();
 
@@ -279,6 +310,23 @@ public class CraftsNet {
             this.sessionCache = null;
         }
 
+        if (this.transformerCache != null) {
+            this.transformerCache.invalidateAll();
+            this.transformerCache = null;
+        }
+
+        if (this.compressionCache != null) {
+            this.compressionCache.invalidateAll();
+            this.compressionCache = null;
+        }
+
+        if (this.shareFileCache != null) {
+            this.shareFileCache.close();
+            this.shareFileCache = null;
+        }
+
+        this.responseBufferPool = null;
+
         if (this.oldDefaultUncaughtExceptionHandler != null) {
             logger.debug("Resetting the default uncaught exception handler");
             Thread.setDefaultUncaughtExceptionHandler(this.oldDefaultUncaughtExceptionHandler);
@@ -432,6 +480,57 @@ public class CraftsNet {
         return sessionCache;
     }
 
+    /**
+     * Retrieves the transformer cache instance which holds the results of cacheable transformers.
+     *
+     * @return The transformer cache instance, or {@code null} if the transformer cache is disabled.
+     * @since 3.7.3
+     */
+    public @Nullable TransformerCache getTransformerCache() {
+        return transformerCache;
+    }
+
+    /**
+     * Retrieves the compression cache instance which holds the compressed variants of files sent as responses.
+     *
+     * @return The compression cache instance.
+     * @since 3.7.3
+     */
+    public CompressedFileCache getCompressionCache() {
+        return compressionCache;
+    }
+
+    /**
+     * Retrieves the compression policy which decides whether response bodies are compressed.
+     *
+     * @return The compression policy.
+     * @since 3.7.3
+     */
+    public CompressionPolicy getCompressionPolicy() {
+        return compressionPolicy;
+    }
+
+    /**
+     * Retrieves the share file cache instance which holds the metadata of files served through shares.
+     *
+     * @return The share file cache instance.
+     * @since 3.7.3
+     */
+    public ShareFileCache getShareFileCache() {
+        return shareFileCache;
+    }
+
+    /**
+     * Retrieves the pool of the buffers which collect the output of responses.
+     *
+     * @return The response buffer pool, or {@code null} if responses are not buffered.
+     * @since 3.7.3
+     */
+    @ApiStatus.Internal
+    public @Nullable BufferPool getResponseBufferPool() {
+        return responseBufferPool;
+    }
+
     /**
      * Retrieves the stream encoder registry instance for managing stream encoders.
      *
@@ -441,6 +540,17 @@ public class CraftsNet {
         return streamEncoderRegistry;
     }
 
+    /**
+     * Retrieves the {@link TypeEncoderRegistry} dedicated to managing
+     * {@link HttpSafeTypeEncoder} instances used to send the return values of http routes.
+     *
+     * @return the {@link TypeEncoderRegistry} for {@link HttpSafeTypeEncoder} codecs
+     * @since 3.7.3
+     */
+    public TypeEncoderRegistry<HttpSafeTypeEncoder<?, ?>> getHttpEncoderRegistry() {
+        return webServer.getTypeEncoderRegistry();
+    }
+
     /**
      * Retrieves the {@link TypeEncoderRegistry} dedicated to managing
      * {@link WebSocketSafeTypeEncoder} instances used by the {@link WebSocketServer}.
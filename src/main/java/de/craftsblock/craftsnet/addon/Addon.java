@@ -10,6 +10,7 @@ import de.craftsblock.craftsnet.addon.services.ServiceManager;
 import de.craftsblock.craftsnet.api.RouteRegistry;
 import de.craftsblock.craftsnet.api.codec.registry.TypeEncoderRegistry;
 import de.craftsblock.craftsnet.api.http.body.BodyRegistry;
+import de.craftsblock.craftsnet.api.http.codec.HttpSafeTypeEncoder;
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoderRegistry;
 import de.craftsblock.craftsnet.api.middlewares.MiddlewareRegistry;
 import de.craftsblock.craftsnet.api.requirements.RequirementRegistry;
@@ -227,6 +228,17 @@ public abstract class Addon {
         return craftsNet.getStreamEncoderRegistry();
     }
 
+    /**
+     * Retrieves the {@link TypeEncoderRegistry} dedicated to managing
+     * {@link HttpSafeTypeEncoder} instances used to send the return values of http routes.
+     *
+     * @return the {@link TypeEncoderRegistry} for {@link HttpSafeTypeEncoder} codecs
+     * @since 3.7.3
+     */
+    public final TypeEncoderRegistry<HttpSafeTypeEncoder<?, ?>> getHttpEncoderRegistry() {
+        return craftsNet.getHttpEncoderRegistry();
+    }
+
     /**
      * Retrieves the {@link TypeEncoderRegistry} dedicated to managing
      * {@link WebSocketSafeTypeEncoder} instances used by the {@link de.craftsblock.craftsnet.api.websocket.WebSocketServer}.
@@ -3,19 +3,28 @@ package de.craftsblock.craftsnet.api;
 import de.craftsblock.craftscore.buffer.BufferUtil;
 import de.craftsblock.craftscore.utils.Utils;
 import de.craftsblock.craftsnet.CraftsNet;
+import de.craftsblock.craftsnet.api.annotations.Domain;
 import de.craftsblock.craftsnet.api.annotations.ProcessPriority;
 import de.craftsblock.craftsnet.api.http.*;
+import de.craftsblock.craftsnet.api.http.annotations.Compression;
+import de.craftsblock.craftsnet.api.http.annotations.RequestMethod;
 import de.craftsblock.craftsnet.api.http.annotations.Route;
 import de.craftsblock.craftsnet.api.http.builtin.DefaultRoute;
+import de.craftsblock.craftsnet.api.http.codec.ReturnValueEncoder;
 import de.craftsblock.craftsnet.api.middlewares.Middleware;
 import de.craftsblock.craftsnet.api.requirements.RequireAble;
 import de.craftsblock.craftsnet.api.requirements.Requirement;
 import de.craftsblock.craftsnet.api.requirements.meta.RequirementInfo;
+import de.craftsblock.craftsnet.api.requirements.meta.RequirementPlan;
+import de.craftsblock.craftsnet.api.routing.RouteCache;
+import de.craftsblock.craftsnet.api.routing.RouteMatch;
+import de.craftsblock.craftsnet.api.routing.RouteTrie;
+import de.craftsblock.craftsnet.api.transformers.TransformerPipeline;
 import de.craftsblock.craftsnet.api.websocket.*;
 import de.craftsblock.craftsnet.api.websocket.annotations.ApplyDecoder;
 import de.craftsblock.craftsnet.api.websocket.annotations.Socket;
+import de.craftsblock.craftsnet.utils.reflection.MethodInvoker;
 import de.craftsblock.craftsnet.utils.reflection.ReflectionUtils;
-import de.craftsblock.craftsnet.utils.reflection.TypeUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -31,10 +40,10 @@ import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * The RouteRegistry class manages the registration and unregistration of {@link RequestHandler} (routes) and {@link SocketHandler} (websockets).
@@ -46,10 +55,18 @@ import java.util.stream.Stream;
  */
 public class RouteRegistry {
 
+    private static final Set<Class<? extends Annotation>> CACHE_KEY_REQUIREMENTS = Set.of(RequestMethod.class, Domain.class);
+
     private final CraftsNet craftsNet;
 
+    private final RouteCache routeCache;
+
     private final Map<Class<? extends Server>, Map<Pattern, Queue<EndpointMapping>>> serverMappings = new ConcurrentHashMap<>();
 
+    private final Map<Pattern, String> templates = new ConcurrentHashMap<>();
+
+    private volatile Map<Class<? extends Server>, RouteTrie> snapshot = Map.of();
+
     private final Map<Pattern, ShareMapping> shares = new ConcurrentHashMap<>();
 
     /**
@@ -59,6 +76,9 @@ public class RouteRegistry {
      */
     public RouteRegistry(CraftsNet craftsNet) {
         this.craftsNet = craftsNet;
+
+        int routeCacheSize = craftsNet.getBuilder().getRouteCacheSize();
+        this.routeCache = routeCacheSize > 0 ? new RouteCache(routeCacheSize) : null;
     }
 
     /**
@@ -66,9 +86,48 @@ public class RouteRegistry {
      *
      * @param handler The Handler to be registered.
      */
-    @SuppressWarnings("removal")
     public void register(Handler handler) {
-        if (isRegistered(handler)) return;
+        registerAll(List.of(handler));
+    }
+
+    /**
+     * Registers multiple endpoint handlers ({@link RequestHandler} and or {@link SocketHandler}) at once. The routing
+     * snapshot used to resolve incoming requests is only rebuilt a single time after all handlers have been added.
+     *
+     * @param handlers The handlers to be registered.
+     * @since 3.7.3
+     */
+    public synchronized void registerAll(Collection<? extends Handler> handlers) {
+        List<Handler> registered = new ArrayList<>(handlers.size());
+        for (Handler handler : handlers)
+            if (registerWithoutRebuild(handler)) registered.add(handler);
+
+        if (registered.isEmpty()) return;
+        rebuildSnapshot();
+
+        // Unregister the DefaultRoute
+        if (registered.stream().anyMatch(handler -> !(handler instanceof DefaultRoute)) && (hasRoutes() || hasShares() || hasWebsockets()))
+            this.unregister(DefaultRoute.getInstance());
+
+        // Loop through all active servers and turn them on as they are now needed.
+        for (Handler handler : registered)
+            for (ServerMapping mapping : retrieveHandlerInfoMap(handler.getClass()).values()) {
+                Server server = mapping.server(craftsNet);
+                if (server == null) continue;
+                server.awakeOrWarn();
+            }
+    }
+
+    /**
+     * Adds the endpoint mappings of a handler to the registry without publishing a new routing snapshot.
+     *
+     * @param handler The Handler to be registered.
+     * @return {@code true} if the handler was added, {@code false} if it was already registered.
+     * @since 3.7.3
+     */
+    @SuppressWarnings("removal")
+    private boolean registerWithoutRebuild(Handler handler) {
+        if (isRegistered(handler)) return false;
         var annotations = retrieveHandlerInfoMap(handler.getClass());
 
         for (Class<? extends Annotation> annotation : annotations.keySet())
@@ -78,6 +137,7 @@ public class RouteRegistry {
                 var endpoints = serverMappings.computeIfAbsent(rawServer, c -> new ConcurrentHashMap<>());
                 Collection<Class<? extends Annotation>> requirementAnnotations = new ArrayList<>(craftsNet.getRequirementRegistry()
                         .getRequirements(rawServer).parallelStream().map(Requirement::getAnnotation).toList());
+                var requirementLinks = craftsNet.getRequirementRegistry().getRequirementMethodLinks(rawServer);
 
                 String parent = ReflectionUtils.retrieveValueOfAnnotation(handler.getClass(), annotation, String.class, true);
 
@@ -135,7 +195,8 @@ public class RouteRegistry {
 
                     String child = ReflectionUtils.retrieveValueOfAnnotation(method, annotation, String.class, true);
                     ProcessPriority priority = ReflectionUtils.retrieveRawAnnotation(method, ProcessPriority.class);
-                    Pattern validator = createOrGetValidator(mergeUrl(parent != null ? parent : "", child), endpoints);
+                    String template = mergeUrl(parent != null ? parent : "", child);
+                    Pattern validator = createOrGetValidator(template, endpoints);
 
                     // Load requirements
                     ConcurrentHashMap<Class<? extends Annotation>, RequirementInfo> requirements = new ConcurrentHashMap<>();
@@ -145,10 +206,19 @@ public class RouteRegistry {
 
                     // Register the endpoint mapping
                     Queue<EndpointMapping> mappings = endpoints.computeIfAbsent(validator, pattern -> new ConcurrentLinkedQueue<>());
-                    mappings.add(new EndpointMapping(
+                    // Web routes receive the exchange, websocket endpoints the exchange and the message
+                    EndpointMapping mapping = new EndpointMapping(
                             priority != null ? priority.value() : ProcessPriority.Priority.NORMAL,
-                            method, handler, validator, requirements, middlewares
-                    ));
+                            method, handler, validator, requirements, middlewares,
+                            WebServer.class.isAssignableFrom(rawServer) ? 1 : 2
+                    );
+                    mapping.requirementPlan().compile(mapping, requirementLinks);
+                    for (String unused : mapping.transformers().unusedParameters())
+                        craftsNet.getLogger().warning("Parameter %s of %s#%s has a transformer but is not used!",
+                                unused, handler.getClass().getSimpleName(), method.getName());
+
+                    mappings.add(mapping);
+                    templates.putIfAbsent(validator, template);
                 }
 
             } catch (Exception e) {
@@ -157,16 +227,7 @@ public class RouteRegistry {
                 ), e);
             }
 
-        // Unregister the DefaultRoute
-        if (!(handler instanceof DefaultRoute) && (hasRoutes() || hasShares() || hasWebsockets()))
-            this.unregister(DefaultRoute.getInstance());
-
-        // Loop through all active servers and turn them on as they are now needed.
-        for (ServerMapping mapping : annotations.values()) {
-            Server server = mapping.server(craftsNet);
-            if (server == null) continue;
-            server.awakeOrWarn();
-        }
+        return true;
     }
 
     /**
@@ -251,6 +312,7 @@ public class RouteRegistry {
 
         Pattern pattern = Pattern.compile(formatUrl(path) + "/(.*)");
         shares.put(pattern, new ShareMapping(folder.toAbsolutePath().toString(), onlyGet));
+        invalidateRouteCache();
 
         // Only continue if the web server was set
         if (this.craftsNet.getWebServer() != null)
@@ -262,7 +324,7 @@ public class RouteRegistry {
      *
      * @param handler The RequestHandler to be unregistered.
      */
-    public void unregister(final Handler handler) {
+    public synchronized void unregister(final Handler handler) {
         if (!isRegistered(handler)) return;
 
         ConcurrentHashMap<Class<? extends Annotation>, ServerMapping> annotations = retrieveHandlerInfoMap(handler.getClass());
@@ -287,6 +349,7 @@ public class RouteRegistry {
                             .forEach(entry -> {
                                 if (!endpoints.containsKey(entry.getKey()) || !entry.getValue().isEmpty()) return;
                                 endpoints.remove(entry.getKey());
+                                templates.remove(entry.getKey());
                             });
                 }
             } catch (Exception e) {
@@ -295,6 +358,8 @@ public class RouteRegistry {
                 ), e);
             }
 
+        rebuildSnapshot();
+
         // Loop through all active servers and turn them off if they are not needed.
         for (ServerMapping mapping : annotations.values()) {
             Server server = mapping.server(craftsNet);
@@ -393,7 +458,66 @@ public class RouteRegistry {
      */
     @Nullable
     public EnumMap<ProcessPriority.Priority, List<EndpointMapping>> getRoute(Request request) {
-        return getEndpoint(WebServer.class, request.getUrl(), request);
+        return resolveRoute(request).copyMappings();
+    }
+
+    /**
+     * Resolves the route mappings associated with a specific request information together with the
+     * path parameters captured while matching the url.
+     *
+     * @param request The http request for which a routes should be found.
+     * @return The {@link RouteMatch} holding the matching mappings and their captured path parameters.
+     * @since 3.7.3
+     */
+    @NotNull
+    public RouteMatch resolveRoute(Request request) {
+        if (routeCache == null) return resolveEndpoint(WebServer.class, formatUrl(request.getUrl()), request, null);
+
+        String path = formatUrl(request.getUrl());
+        RouteCache.Entry entry = routeCache.get(request.getHttpMethod(), request.getDomain(), path);
+        if (entry == null) {
+            // Capture the generation before resolving, so a match of an outdated snapshot is never stored
+            long generation = routeCache.getGeneration();
+            entry = createCacheEntry(path, request);
+            routeCache.put(request.getHttpMethod(), request.getDomain(), path, entry, generation);
+        }
+
+        if (!entry.dynamic()) return entry.match();
+
+        // Requirements depending on headers, cookies, the body, etc. must be checked on every request
+        RouteMatch cached = entry.match();
+        EnumMap<ProcessPriority.Priority, List<EndpointMapping>> mappings = new EnumMap<>(ProcessPriority.Priority.class);
+        Map<Pattern, String[]> parameters = new HashMap<>();
+
+        cached.mappings().forEach((priority, candidates) -> {
+            for (EndpointMapping mapping : candidates) {
+                if (!mapping.requirementPlan().applies(request, mapping, annotation -> !CACHE_KEY_REQUIREMENTS.contains(annotation)))
+                    continue;
+
+                mappings.computeIfAbsent(priority, p -> new ArrayList<>()).add(mapping);
+                parameters.putIfAbsent(mapping.validator(), cached.getParameters(mapping));
+            }
+        });
+
+        return new RouteMatch(mappings, parameters);
+    }
+
+    /**
+     * Resolves a new {@link RouteCache.Entry} for a request. Only the requirements which are covered
+     * by the cache key are applied to the stored match.
+     *
+     * @param path    The formatted path of the request.
+     * @param request The http request for which the entry should be created.
+     * @return The newly created {@link RouteCache.Entry}.
+     * @since 3.7.3
+     */
+    private RouteCache.Entry createCacheEntry(String path, Request request) {
+        RouteMatch match = resolveEndpoint(WebServer.class, path, request, CACHE_KEY_REQUIREMENTS::contains);
+
+        boolean dynamic = match.mappings().values().stream().flatMap(Collection::stream)
+                .anyMatch(mapping -> mapping.requirementPlan().contains(annotation -> !CACHE_KEY_REQUIREMENTS.contains(annotation)));
+
+        return new RouteCache.Entry(match, dynamic);
     }
 
     /**
@@ -404,7 +528,7 @@ public class RouteRegistry {
      * @since 3.3.3-SNAPSHOT
      */
     public boolean hasRouteMappings(Request request) {
-        return hasEndpoint(WebServer.class, request.getUrl(), request);
+        return !resolveRoute(request).isEmpty();
     }
 
     /**
@@ -425,7 +549,20 @@ public class RouteRegistry {
      */
     @Nullable
     public EnumMap<ProcessPriority.Priority, List<EndpointMapping>> getSocket(WebSocketClient client) {
-        return getEndpoint(WebSocketServer.class, client.getPath(), client);
+        return resolveSocket(client).copyMappings();
+    }
+
+    /**
+     * Resolves the socket mappings associated with a specific client together with the path parameters
+     * captured while matching the path.
+     *
+     * @param client The client for which the socket mapping is sought.
+     * @return The {@link RouteMatch} holding the matching mappings and their captured path parameters.
+     * @since 3.7.3
+     */
+    @NotNull
+    public RouteMatch resolveSocket(WebSocketClient client) {
+        return resolveEndpoint(WebSocketServer.class, formatUrl(client.getPath()), client, null);
     }
 
     /**
@@ -469,52 +606,89 @@ public class RouteRegistry {
     }
 
     /**
-     * Gets the {@link EndpointMapping} associated with specific endpoint information.
+     * Resolves the {@link EndpointMapping} associated with specific endpoint information by walking
+     * the compiled {@link RouteTrie} of the server.
      *
-     * @param server The {@link Server} from which the endpoints should be loaded.
-     * @param url    The url used to access the endpoint.
-     * @param target The {@link RequireAble} containing the data about the request.
-     * @return A {@link EnumMap} containing all matching {@link EndpointMapping} objects grouped by their corresponding {@link ProcessPriority.Priority}.
+     * @param server            The {@link Server} from which the endpoints should be loaded.
+     * @param path              The formatted path used to access the endpoint.
+     * @param target            The {@link RequireAble} containing the data about the request.
+     * @param requirementFilter Decides which requirements, identified by their annotation, should be checked,
+     *                          or {@code null} to check all of them.
+     * @return A {@link RouteMatch} containing all matching {@link EndpointMapping} objects grouped by their
+     * corresponding {@link ProcessPriority.Priority} and the captured path parameters.
+     * @since 3.7.3
      */
-    private EnumMap<ProcessPriority.Priority, List<EndpointMapping>> getEndpoint(Class<? extends Server> server, String url, RequireAble target) {
-        return getFilteredEndpointStream(server, url, target).collect(Collectors.groupingBy(
-                mapping -> mapping.priority,
-                () -> new EnumMap<>(ProcessPriority.Priority.class),
-                Collectors.toList()
-        ));
+    private RouteMatch resolveEndpoint(Class<? extends Server> server, String path, RequireAble target,
+                                       @Nullable Predicate<Class<? extends Annotation>> requirementFilter) {
+        EnumMap<ProcessPriority.Priority, List<EndpointMapping>> mappings = new EnumMap<>(ProcessPriority.Priority.class);
+        Map<Pattern, String[]> parameters = new HashMap<>();
+
+        RouteTrie trie = snapshot.getOrDefault(server, RouteTrie.EMPTY);
+        if (trie.isEmpty()) return new RouteMatch(mappings, parameters);
+
+        trie.match(path, (validator, candidates, captured) -> {
+            for (EndpointMapping mapping : candidates) {
+                if (!mapping.requirementPlan().applies(target, mapping, requirementFilter)) continue;
+
+                mappings.computeIfAbsent(mapping.priority(), p -> new ArrayList<>()).add(mapping);
+                parameters.putIfAbsent(validator, captured);
+            }
+        });
+
+        return new RouteMatch(mappings, parameters);
     }
 
     /**
-     * Checks if an endpoint exists for a given server type, url, and target.
+     * Compiles the registered endpoint mappings into a new immutable {@link RouteTrie} per server and
+     * publishes them through a single volatile write, so readers never observe a partially registered handler.
      *
-     * @param server The server class type.
-     * @param url    The url or path to check.
-     * @param target The {@link RequireAble} containing the data about the request.
-     * @return {@code true} if an endpoint exists, otherwise {@code false}.
-     * @since 3.3.3-SNAPSHOT
+     * @since 3.7.3
      */
-    private boolean hasEndpoint(Class<? extends Server> server, String url, RequireAble target) {
-        return getFilteredEndpointStream(server, url, target).findFirst().isPresent();
+    private synchronized void rebuildSnapshot() {
+        Map<Class<? extends Server>, RouteTrie> compiled = new HashMap<>();
+
+        serverMappings.forEach((server, endpoints) -> {
+            RouteTrie.Builder builder = new RouteTrie.Builder();
+            endpoints.forEach((validator, mappings) -> builder.add(templates.get(validator), validator, mappings));
+            compiled.put(server, builder.build());
+        });
+
+        this.snapshot = Map.copyOf(compiled);
+        invalidateRouteCache();
     }
 
     /**
-     * Retrieves a filtered stream of endpoint mappings based on the given server type, url, and target.
+     * Invalidates all entries of the route resolution cache, if it is enabled. This is called
+     * automatically whenever the routing configuration of this registry changes.
+     *
+     * @since 3.7.3
+     */
+    @ApiStatus.Internal
+    public void invalidateRouteCache() {
+        if (routeCache != null) routeCache.invalidate();
+    }
+
+    /**
+     * Retrieves the route resolution cache, which exposes its hit and miss counters.
+     *
+     * @return The {@link RouteCache}, or {@code null} if the route cache is disabled.
+     * @since 3.7.3
+     */
+    public @Nullable RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    /**
+     * Checks if an endpoint exists for a given server type, url, and target.
      *
      * @param server The server class type.
-     * @param url    The url or path to filter endpoints for.
+     * @param url    The url or path to check.
      * @param target The {@link RequireAble} containing the data about the request.
-     * @return A {@link Stream} of matching {@link EndpointMapping} objects.
+     * @return {@code true} if an endpoint exists, otherwise {@code false}.
      * @since 3.3.3-SNAPSHOT
      */
-    private Stream<EndpointMapping> getFilteredEndpointStream(Class<? extends Server> server, String url, RequireAble target) {
-        return getEndpoints(server).entrySet().parallelStream()
-                .filter(entry -> entry.getKey().matcher(formatUrl(url)).matches())
-                .flatMap(entry -> entry.getValue().stream())
-                .filter(mapping -> craftsNet.getRequirementRegistry().getRequirementMethodLinks(server).parallelStream()
-                        .filter(methodLink -> mapping.isPresent(methodLink.requirement().getAnnotation())
-                                && TypeUtils.isAssignable(target.getClass(), methodLink.arg()))
-                        .allMatch(methodLink -> methodLink.requirement().applies(target, mapping))
-                );
+    private boolean hasEndpoint(Class<? extends Server> server, String url, RequireAble target) {
+        return !resolveEndpoint(server, formatUrl(url), target, null).isEmpty();
     }
 
     /**
@@ -582,10 +756,21 @@ public class RouteRegistry {
      * @return The formatted URL.
      */
     private String formatUrl(String url) {
-        String result = (!url.trim().startsWith("/") ? "/" : "") + url.trim();
-        return result
-                .replaceAll("/+", "/")
-                .replaceAll("/+$", "");
+        String trimmed = url.trim();
+        StringBuilder result = new StringBuilder(trimmed.length() + 1);
+
+        // Collapse duplicate slashes without running a regex on every lookup
+        for (int i = 0; i < trimmed.length(); i++) {
+            char c = trimmed.charAt(i);
+            if (c == '/' && !result.isEmpty() && result.charAt(result.length() - 1) == '/') continue;
+            if (result.isEmpty() && c != '/') result.append('/');
+            result.append(c);
+        }
+
+        // Strip the trailing slash
+        int length = result.length();
+        if (length > 0 && result.charAt(length - 1) == '/') result.setLength(length - 1);
+        return result.toString();
     }
 
     /**
@@ -634,17 +819,51 @@ public class RouteRegistry {
      * <p>This class stores information about the endpoint's processing priority, the associated handler method,
      * its parent handler, a validation pattern, and any requirement-related metadata.</p>
      *
-     * @param priority     The {@link ProcessPriority.Priority} level for this endpoint.
-     * @param method       The {@link Method} associated with the handler.
-     * @param handler      The {@link Handler} instance that owns the method.
-     * @param validator    The {@link Pattern} used for validating input related to the endpoint.
-     * @param requirements A concurrent map of requirements, indexed by their annotation class.
-     * @param middlewares  A {@link Deque} containing locally present middlewares
+     * @param priority        The {@link ProcessPriority.Priority} level for this endpoint.
+     * @param method          The {@link Method} associated with the handler.
+     * @param handler         The {@link Handler} instance that owns the method.
+     * @param validator       The {@link Pattern} used for validating input related to the endpoint.
+     * @param requirements    A concurrent map of requirements, indexed by their annotation class.
+     * @param middlewares     A {@link Deque} containing locally present middlewares
+     * @param requirementPlan The precompiled {@link RequirementPlan} used to evaluate the requirements of this endpoint.
+     * @param invoker         The pre-built {@link MethodInvoker} used to call the handler method.
+     * @param transformers    The compiled {@link TransformerPipeline} applied to the arguments of the handler method.
+     * @param compression     The {@link Compression} settings of the handler method or its handler, or {@code null} if there are none.
+     * @param returnEncoder   The {@link ReturnValueEncoder} resolved from the return type of the handler method.
      * @since 3.0.5-SNAPSHOT
      */
     public record EndpointMapping(@NotNull ProcessPriority.Priority priority, @NotNull Method method, @NotNull Handler handler,
                                   @NotNull Pattern validator, Map<Class<? extends Annotation>, RequirementInfo> requirements,
-                                  Deque<Middleware> middlewares) implements Mapping {
+                                  Deque<Middleware> middlewares, @NotNull RequirementPlan requirementPlan,
+                                  @NotNull MethodInvoker invoker, @NotNull TransformerPipeline transformers,
+                                  @Nullable Compression compression, @NotNull ReturnValueEncoder returnEncoder) implements Mapping {
+
+        /**
+         * Constructs a new {@link EndpointMapping} with an empty {@link RequirementPlan}, which has to
+         * be compiled before the mapping is used, the {@link MethodInvoker} of the handler method, its
+         * compiled {@link TransformerPipeline}, the {@link Compression} settings of the method or its handler
+         * and the {@link ReturnValueEncoder} of its return type.
+         *
+         * @param priority     The {@link ProcessPriority.Priority} level for this endpoint.
+         * @param method       The {@link Method} associated with the handler.
+         * @param handler      The {@link Handler} instance that owns the method.
+         * @param validator    The {@link Pattern} used for validating input related to the endpoint.
+         * @param requirements A concurrent map of requirements, indexed by their annotation class.
+         * @param middlewares  A {@link Deque} containing locally present middlewares
+         * @param argsOffset   The amount of arguments passed before the url parameters, which is {@code 1} for
+         *                     endpoints of the web server and {@code 2} for endpoints of the websocket server.
+         * @since 3.7.3
+         */
+        public EndpointMapping(@NotNull ProcessPriority.Priority priority, @NotNull Method method, @NotNull Handler handler,
+                               @NotNull Pattern validator, Map<Class<? extends Annotation>, RequirementInfo> requirements,
+                               Deque<Middleware> middlewares, int argsOffset) {
+            this(priority, method, handler, validator, requirements, middlewares, new RequirementPlan(), MethodInvoker.of(method),
+                    TransformerPipeline.compile(handler, method, validator, argsOffset),
+                    method.isAnnotationPresent(Compression.class)
+                            ? method.getAnnotation(Compression.class)
+                            : handler.getClass().getAnnotation(Compression.class),
+                    ReturnValueEncoder.resolve(method.getReturnType()));
+        }
 
         /**
          * Checks whether the given annotation is present in the requirements.
@@ -1,5 +1,6 @@
 package de.craftsblock.craftsnet.api.codec;
 
+import de.craftsblock.craftsnet.utils.reflection.MethodInvoker;
 import de.craftsblock.craftsnet.utils.reflection.ReflectionUtils;
 import org.jetbrains.annotations.NotNull;
 
@@ -11,6 +12,7 @@ import java.lang.reflect.Method;
  *
  * @param codecPair The codec pair.
  * @param method    The reflective method reference (encode/decode).
+ * @param invoker   The pre-built {@link MethodInvoker} of the method.
  * @param <C>       The codec type.
  * @param <T>       The codec pair type.
  * @author Philipp Maywald
@@ -19,7 +21,20 @@ import java.lang.reflect.Method;
  * @see CodecPair
  * @since 3.5.3
  */
-public record CodecMethodLink<C extends Codec<?, ?>, T extends CodecPair<?, ?>>(@NotNull T codecPair, @NotNull Method method) {
+public record CodecMethodLink<C extends Codec<?, ?>, T extends CodecPair<?, ?>>(@NotNull T codecPair, @NotNull Method method,
+                                                                                @NotNull MethodInvoker invoker) {
+
+    /**
+     * Creates a new link between the given {@link CodecPair} and the reflective method,
+     * using the cached {@link MethodInvoker} of the method.
+     *
+     * @param codecPair The codec pair.
+     * @param method    The reflective method reference (encode/decode).
+     * @since 3.7.3
+     */
+    public CodecMethodLink(@NotNull T codecPair, @NotNull Method method) {
+        this(codecPair, method, MethodInvoker.of(method));
+    }
 
     /**
      * @return the codec instance of this link.
@@ -29,6 +44,17 @@ public record CodecMethodLink<C extends Codec<?, ?>, T extends CodecPair<?, ?>>(
         return (C) codecPair.getCodec();
     }
 
+    /**
+     * Invokes the linked encode or decode method of the codec with the given value.
+     *
+     * @param value The value which should be encoded or decoded.
+     * @return The encoded or decoded value.
+     * @since 3.7.3
+     */
+    public Object invoke(Object value) {
+        return invoker.invoke(codecPair.getCodec(), value);
+    }
+
     /**
      * Creates a new link between the given {@link CodecPair} and its
      * reflective encode/decode method.
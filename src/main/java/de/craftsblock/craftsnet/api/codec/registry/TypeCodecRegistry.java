@@ -13,6 +13,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -23,12 +24,15 @@ import java.util.concurrent.ConcurrentHashMap;
  * <p>
  * The registry supports generic resolution of codec types through reflection, and allows
  * type-safe handling of codec pairs using a specialized {@link CodecPair} subclass.
+ * <p>
+ * The codec resolved for a type, including the absence of a codec, is remembered per type until a
+ * codec is registered or unregistered, so the type hierarchy is only walked once per type.
  *
  * @param <C> the codec type being registered
  * @param <P> the pair type that wraps the codec and its target class
  * @author Philipp Maywald
  * @author CraftsBlock
- * @version 1.0.1
+ * @version 1.1.0
  * @since 3.5.0
  */
 public sealed abstract class TypeCodecRegistry<C extends Codec<?, ?>, P extends CodecPair<?, ?>>
@@ -38,6 +42,9 @@ public sealed abstract class TypeCodecRegistry<C extends Codec<?, ?>, P extends
     final Map<Class<?>, CodecMethodLink<C, P>> unmodifiableCodecMethodLinksView = Collections.unmodifiableMap(codecMethodLinks);
     final Class<? extends CodecPair<?, C>> codecPairTyp;
 
+    // Replaced on every change, as the values of a class value can not be cleared all at once
+    private volatile ClassValue<Optional<CodecMethodLink<C, P>>> resolved = newResolver();
+
     /**
      * Constructs a new {@link TypeCodecRegistry} with a given codec pair type.
      *
@@ -67,7 +74,9 @@ public sealed abstract class TypeCodecRegistry<C extends Codec<?, ?>, P extends
             var type = this.retrieveCodecType(codec.getClass());
 
             var pair = getPairConstructor().newInstance(type, codec);
-            return codecMethodLinks.put(type, (CodecMethodLink<C, P>) CodecMethodLink.create(pair));
+            var previous = codecMethodLinks.put(type, (CodecMethodLink<C, P>) CodecMethodLink.create(pair));
+            this.resolved = newResolver();
+            return previous;
         } catch (IllegalAccessException | InvocationTargetException | InstantiationException e) {
             throw new RuntimeException("Could not generate %s!".formatted(this.codecPairTyp.getSimpleName()), e);
         }
@@ -81,6 +90,7 @@ public sealed abstract class TypeCodecRegistry<C extends Codec<?, ?>, P extends
     public void unregister(@NotNull C codec) {
         var type = this.retrieveCodecType(codec.getClass());
         this.codecMethodLinks.remove(type);
+        this.resolved = newResolver();
     }
 
     /**
@@ -101,7 +111,8 @@ public sealed abstract class TypeCodecRegistry<C extends Codec<?, ?>, P extends
      * @return The associated codec, or {@code null} if none found.
      */
     public @Nullable C getCodec(@Nullable Class<?> type) {
-        return getLinkedCodecMethod(type).codec();
+        CodecMethodLink<C, P> link = getLinkedCodecMethod(type);
+        return link != null ? link.codec() : null;
     }
 
     /**
@@ -114,18 +125,43 @@ public sealed abstract class TypeCodecRegistry<C extends Codec<?, ?>, P extends
      */
     public CodecMethodLink<C, P> getLinkedCodecMethod(@Nullable Class<?> type) {
         if (type == null) return null;
+        return resolved.get(type).orElse(null);
+    }
+
+    /**
+     * Creates a new {@link ClassValue} which resolves and remembers the codec link of each type.
+     *
+     * @return The new {@link ClassValue}.
+     */
+    private ClassValue<Optional<CodecMethodLink<C, P>>> newResolver() {
+        return new ClassValue<>() {
+            @Override
+            protected Optional<CodecMethodLink<C, P>> computeValue(@NotNull Class<?> type) {
+                return Optional.ofNullable(resolveLinkedCodecMethod(type));
+            }
+        };
+    }
+
+    /**
+     * Resolves the {@link CodecMethodLink} for the given type by walking its superclasses and interfaces.
+     *
+     * @param type the class type to resolve a codec link for, may be {@code null}
+     * @return the matching {@link CodecMethodLink}, or {@code null} if none is found
+     */
+    private CodecMethodLink<C, P> resolveLinkedCodecMethod(@Nullable Class<?> type) {
+        if (type == null) return null;
 
         if (codecMethodLinks.containsKey(type))
             return codecMethodLinks.get(type);
 
         // Handle superclass
         Class<?> superclass = type.getSuperclass();
-        CodecMethodLink<C, P> superclassCodecLink = getLinkedCodecMethod(superclass);
+        CodecMethodLink<C, P> superclassCodecLink = resolveLinkedCodecMethod(superclass);
         if (superclassCodecLink != null) return superclassCodecLink;
 
         // Handle interfaces
         for (Class<?> iface : type.getInterfaces()) {
-            CodecMethodLink<C, P> codecLink = getLinkedCodecMethod(iface);
+            CodecMethodLink<C, P> codecLink = resolveLinkedCodecMethod(iface);
             if (codecLink == null) continue;
             return codecLink;
         }
@@ -141,19 +177,7 @@ public sealed abstract class TypeCodecRegistry<C extends Codec<?, ?>, P extends
      * @return {@code true} if a codec exists, otherwise {@code false}.
      */
     public boolean hasCodec(@Nullable Class<?> type) {
-        if (type == null) return false;
-        if (codecMethodLinks.containsKey(type)) return true;
-
-        // Handle superclass
-        Class<?> superclass = type.getSuperclass();
-        if (hasCodec(superclass)) return true;
-
-        // Handle interfaces
-        for (Class<?> iface : type.getInterfaces())
-            if (hasCodec(iface)) return true;
-
-        // Return false, as no codec could be found for the type
-        return false;
+        return getLinkedCodecMethod(type) != null;
     }
 
     /**
@@ -0,0 +1,123 @@
+package de.craftsblock.craftsnet.api.http;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A single range of bytes requested through the {@code Range} header, with both positions inclusive
+ * as in the {@code Content-Range} header.
+ *
+ * @param start The position of the first byte.
+ * @param end   The position of the last byte.
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see Response#print(java.nio.file.Path)
+ * @since 3.7.3
+ */
+public record ByteRange(long start, long end) {
+
+    /**
+     * The maximum amount of ranges which are served for a single request. Requests asking for more
+     * ranges are answered with the complete content.
+     */
+    public static final int MAX_RANGES = 16;
+
+    /**
+     * Parses the value of a {@code Range} header against the length of the content. Satisfiable ranges
+     * are sorted and ranges which overlap or touch each other are merged, so no byte is sent twice.
+     *
+     * @param header The value of the {@code Range} header.
+     * @param length The length of the content in bytes.
+     * @return The satisfiable ranges, which are empty if no range is satisfiable, or {@code null} if the
+     * header is malformed, uses another unit or asks for too many ranges and should be ignored.
+     */
+    public static @Nullable @Unmodifiable List<ByteRange> parse(@NotNull String header, long length) {
+        String value = header.trim();
+        if (!value.regionMatches(true, 0, "bytes=", 0, 6)) return null;
+
+        String[] specs = value.substring(6).split(",");
+        if (specs.length > MAX_RANGES) return null;
+
+        List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            spec = spec.trim();
+            int dash = spec.indexOf('-');
+            if (dash < 0) return null;
+
+            long first = parsePosition(spec.substring(0, dash));
+            long last = parsePosition(spec.substring(dash + 1));
+
+            if (dash == 0) {
+                // A suffix range selecting the last bytes
+                if (last < 0) return null;
+                if (last == 0 || length == 0) continue;
+                ranges.add(new ByteRange(Math.max(0, length - last), length - 1));
+                continue;
+            }
+
+            if (first < 0 || (dash < spec.length() - 1 && (last < 0 || last < first))) return null;
+            if (first >= length) continue;
+
+            ranges.add(new ByteRange(first, last < 0 ? length - 1 : Math.min(last, length - 1)));
+        }
+
+        if (ranges.size() < 2) return List.copyOf(ranges);
+
+        ranges.sort(Comparator.comparingLong(ByteRange::start));
+        List<ByteRange> merged = new ArrayList<>(ranges.size());
+        ByteRange current = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            ByteRange next = ranges.get(i);
+            if (next.start() <= current.end() + 1) current = new ByteRange(current.start(), Math.max(current.end(), next.end()));
+            else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+
+        return List.copyOf(merged);
+    }
+
+    /**
+     * Parses a position of a range specification. Positions which do not fit into a {@code long} are
+     * capped, as they lie beyond the end of any content anyway.
+     *
+     * @param position The position.
+     * @return The position, or {@code -1} if it is empty or not a valid number.
+     */
+    private static long parsePosition(String position) {
+        if (position.isEmpty()) return -1;
+
+        for (int i = 0; i < position.length(); i++)
+            if (position.charAt(i) < '0' || position.charAt(i) > '9') return -1;
+
+        if (position.length() > 18) return Long.MAX_VALUE;
+        return Long.parseLong(position);
+    }
+
+    /**
+     * Retrieves the amount of bytes in this range.
+     *
+     * @return The length of the range.
+     */
+    public long length() {
+        return end - start + 1;
+    }
+
+    /**
+     * Formats this range as the value of a {@code Content-Range} header.
+     *
+     * @param completeLength The length of the complete content.
+     * @return The value of the {@code Content-Range} header.
+     */
+    public @NotNull String toContentRange(long completeLength) {
+        return "bytes " + start + "-" + end + "/" + completeLength;
+    }
+
+}
@@ -5,11 +5,14 @@ import com.sun.net.httpserver.HttpExchange;
 import de.craftsblock.craftsnet.CraftsNet;
 import de.craftsblock.craftsnet.api.RouteRegistry;
 import de.craftsblock.craftsnet.api.http.body.Body;
+import de.craftsblock.craftsnet.api.http.body.BodyBuffer;
+import de.craftsblock.craftsnet.api.http.body.BodySlots;
 import de.craftsblock.craftsnet.api.http.cookies.Cookie;
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoder;
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoderRegistry;
 import de.craftsblock.craftsnet.api.http.encoding.builtin.IdentityStreamEncoder;
 import de.craftsblock.craftsnet.api.requirements.RequireAble;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -40,14 +43,18 @@ public class Request implements AutoCloseable, RequireAble {
     private final HttpMethod httpMethod;
     private final String rawUrl;
     private final String url;
-    private final ConcurrentHashMap<String, String> queryParams = new ConcurrentHashMap<>();
+    private final UrlEncodedParameters queryParams;
     private final ConcurrentHashMap<String, Cookie> cookies = new ConcurrentHashMap<>();
     private final String ip;
     private final String connectingIp;
 
     private Exchange exchange;
 
-    private File bodyLocation;
+    private BodyBuffer body;
+    private boolean bodyRetrieved = false;
+    private InputStream bodyStream;
+    private final BodySlots bodySlots = new BodySlots(this);
+    private Body plainBody;
     private Collection<RouteRegistry.EndpointMapping> routes;
     private boolean closed = false;
 
@@ -75,24 +82,19 @@ public class Request implements AutoCloseable, RequireAble {
 
         int queryIndex = url.indexOf("?");
         this.url = queryIndex >= 0 ? url.substring(0, queryIndex) : url;
-        String query = queryIndex >= 0 ? url.substring(queryIndex + 1) : "";
-
-        if (!query.isBlank())
-            Arrays.stream(query.split("&"))
-                    .filter(pair -> !pair.isBlank())
-                    .forEach(pair -> {
-                        String[] stripped = pair.split("=", 2);
-                        queryParams.put(stripped[0], stripped.length == 2 ? stripped[1] : "");
-                    });
+        this.queryParams = queryIndex >= 0
+                ? UrlEncodedParameters.of(url.substring(queryIndex + 1), craftsNet.getBuilder().getUrlEncodedMaxFields())
+                : UrlEncodedParameters.EMPTY;
 
         parseCookies(headers).forEach(cookie -> this.cookies.put(cookie.getName(), cookie));
-        retrieveBody();
+        retrieveStreamEncoder();
     }
 
     /**
-     * Starts retrieving the request body.
+     * Determines the {@link StreamEncoder} the request body is encoded with. The body itself is
+     * not read until it is accessed for the first time.
      */
-    private void retrieveBody() {
+    private void retrieveStreamEncoder() {
         if (!httpMethod.isRequestBodyAble()) return;
 
         StreamEncoderRegistry streamEncoderRegistry = craftsNet.getStreamEncoderRegistry();
@@ -102,29 +104,34 @@ public class Request implements AutoCloseable, RequireAble {
 
         if (streamEncoder == null)
             throw new RuntimeException(new UnsupportedEncodingException("Unsupported request body encoding: " + encoding));
+    }
+
+    /**
+     * Reads and buffers the request body on its first access, so requests which are rejected
+     * before their body is needed never read it.
+     *
+     * @since 3.7.3
+     */
+    private void retrieveBody() {
+        if (bodyRetrieved) return;
+        if (bodyStream != null) throw new IllegalStateException("The body can not be buffered as it is already streamed!");
+
+        bodyRetrieved = true;
+        if (!httpMethod.isRequestBodyAble()) return;
 
         try (InputStream input = streamEncoder.encodeInputStream(new FilterInputStream(httpExchange.getRequestBody()) {
             public void close() {
             }
         })) {
-            bodyLocation = craftsNet.getFileHelper().createTempFile("craftsnet_", ".body").toFile();
-            bodyLocation.deleteOnExit();
-            try (FileOutputStream destination = new FileOutputStream(bodyLocation, true)) {
-
-                byte[] buffer = new byte[2048];
-                int read;
-                while ((read = input.read(buffer)) != -1) destination.write(buffer, 0, read);
-                destination.flush();
-                Arrays.fill(buffer, (byte) 0);
-
-            } catch (FileNotFoundException e) {
-                throw new RuntimeException(e);
-            }
+            body = BodyBuffer.read(input, craftsNet.getBuilder().getBodyMemoryThreshold(), craftsNet.getFileHelper());
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
 
-        if (bodyLocation.length() <= 0) bodyLocation.delete();
+        if (body.length() <= 0) {
+            body.close();
+            body = null;
+        }
     }
 
     /**
@@ -135,7 +142,10 @@ public class Request implements AutoCloseable, RequireAble {
      */
     @Override
     public void close() throws Exception {
-        if (bodyLocation != null && bodyLocation.exists()) bodyLocation.delete();
+        if (body != null) body.close();
+
+        // Lets the transport drain the unread rest of a streamed body or close the connection
+        if (bodyStream != null) bodyStream.close();
         cookies.clear();
         if (routes != null) routes.clear();
         Body.cleanUp(this);
@@ -215,11 +225,24 @@ public class Request implements AutoCloseable, RequireAble {
     }
 
     /**
-     * Gets all query parameters stored in a map of the request.
+     * Gets all query parameters stored in a map of the request. The values are percent-decoded and
+     * only the first value is contained for keys which were sent multiple times.
      *
-     * @return The mapped query parameters.
+     * @return An unmodifiable map of the query parameters.
+     * @see #getQueryParameters()
      */
     public Map<String, String> getQueryParams() {
+        return queryParams.asMap();
+    }
+
+    /**
+     * Gets the query parameters of the request including all values of keys which were sent
+     * multiple times. The query string is parsed on the first access.
+     *
+     * @return The query parameters.
+     * @since 3.7.3
+     */
+    public UrlEncodedParameters getQueryParameters() {
         return queryParams;
     }
 
@@ -230,7 +253,7 @@ public class Request implements AutoCloseable, RequireAble {
      * @return True if the request contains the specified query parameter, false otherwise.
      */
     public boolean hasParam(String key) {
-        return queryParams.containsKey(key);
+        return queryParams.contains(key);
     }
 
     /**
@@ -241,9 +264,19 @@ public class Request implements AutoCloseable, RequireAble {
      */
     @Nullable
     public String retrieveParam(@NotNull String key) {
-        if (hasParam(key))
-            return queryParams.get(key);
-        return null;
+        return queryParams.getFirst(key);
+    }
+
+    /**
+     * Retrieves all values of the specified query parameter from the request.
+     *
+     * @param key The key of the query parameter to retrieve.
+     * @return An unmodifiable list of the values, which is empty if the parameter is not found.
+     * @since 3.7.3
+     */
+    @NotNull
+    public List<String> retrieveParams(@NotNull String key) {
+        return queryParams.getAll(key);
     }
 
     /**
@@ -328,7 +361,8 @@ public class Request implements AutoCloseable, RequireAble {
      */
     public boolean hasBody() {
         if (isClosed()) throw new IllegalStateException("Could not retrieve the body as this request is already closed!");
-        return bodyLocation != null && bodyLocation.exists() && bodyLocation.length() >= 1;
+        retrieveBody();
+        return body != null && body.length() >= 1;
     }
 
     /**
@@ -340,19 +374,86 @@ public class Request implements AutoCloseable, RequireAble {
         // Abort if request is closed or the body is not present.
         if (!hasBody()) throw new IllegalStateException("Could not retrieve the body as it does not exists!");
         // Returns a blank body with only the standard functionality.
-        return new Body(this) {
+        if (plainBody == null) plainBody = new Body(this) {
         };
+        return plainBody;
     }
 
     /**
-     * Retrieves a new instance of an input stream containing the request body.
+     * Retrieves the table holding the bodies parsed for this request.
+     *
+     * @return The {@link BodySlots} of this request.
+     * @since 3.7.3
+     */
+    @ApiStatus.Internal
+    public BodySlots getBodySlots() {
+        return bodySlots;
+    }
+
+    /**
+     * Retrieves a new instance of an input stream containing the request body. The stream reads
+     * directly from the memory or the temporary file the body is buffered in.
      *
      * @return The input stream containing the body.
      * @throws FileNotFoundException If the save file which contains the bytes of the body was not found.
      */
     public InputStream getRawBody() throws FileNotFoundException {
         if (!hasBody()) throw new IllegalStateException("Could not retrieve the body as it does not exists!");
-        return new FileInputStream(bodyLocation);
+        return body.openStream();
+    }
+
+    /**
+     * Retrieves the length of the request body.
+     *
+     * @return The length of the body in bytes, {@code 0} if there is no body.
+     * @since 3.7.3
+     */
+    public long getBodyLength() {
+        return hasBody() ? body.length() : 0;
+    }
+
+    /**
+     * Retrieves the live stream of the request body, as it is received from the client and still
+     * encoded with its {@code Content-Encoding}. The body is neither buffered nor spooled to a file,
+     * therefore it can only be consumed once and {@link #getBody()} or {@link #getRawBody()} are
+     * unavailable afterwards. Any unread rest of the body is discarded when the request is closed.
+     *
+     * @return The live stream of the body.
+     * @throws IllegalStateException If the body has already been buffered or streamed.
+     * @since 3.7.3
+     */
+    public InputStream getBodyStream() {
+        if (isClosed()) throw new IllegalStateException("Could not retrieve the body as this request is already closed!");
+        if (bodyRetrieved) throw new IllegalStateException("The body can not be streamed as it is already buffered!");
+        if (bodyStream != null) throw new IllegalStateException("The body is already streamed!");
+
+        bodyStream = httpExchange.getRequestBody();
+        return bodyStream;
+    }
+
+    /**
+     * Retrieves the live stream of the request body, decoded with the {@link StreamEncoder} of its
+     * {@code Content-Encoding}. The same restrictions as for {@link #getBodyStream()} apply.
+     *
+     * @return The live and decoded stream of the body.
+     * @throws IOException           If the decoding stream could not be created.
+     * @throws IllegalStateException If the body has already been buffered or streamed.
+     * @since 3.7.3
+     */
+    public InputStream getDecodedBodyStream() throws IOException {
+        InputStream stream = getBodyStream();
+        if (streamEncoder == null) return stream;
+        return streamEncoder.encodeInputStream(stream);
+    }
+
+    /**
+     * Checks whether the body is consumed as a live stream instead of being buffered.
+     *
+     * @return {@code true} if the body is streamed, {@code false} otherwise.
+     * @since 3.7.3
+     */
+    public boolean isBodyStreamed() {
+        return bodyStream != null;
     }
 
     /**
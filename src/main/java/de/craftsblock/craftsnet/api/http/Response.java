@@ -4,19 +4,23 @@ import com.google.gson.JsonElement;
 import com.sun.net.httpserver.Headers;
 import com.sun.net.httpserver.HttpExchange;
 import de.craftsblock.craftscore.json.Json;
-import de.craftsblock.craftscore.json.JsonParser;
 import de.craftsblock.craftsnet.CraftsNet;
 import de.craftsblock.craftsnet.api.http.cookies.Cookie;
 import de.craftsblock.craftsnet.api.http.cors.CorsPolicy;
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoder;
+import de.craftsblock.craftsnet.api.http.encoding.builtin.IdentityStreamEncoder;
 import de.craftsblock.craftsnet.api.http.status.HttpStatus;
-import org.apache.commons.io.IOUtils;
+import de.craftsblock.craftsnet.api.http.transport.FileTransferable;
+import de.craftsblock.craftsnet.utils.BufferPool;
+import de.craftsblock.craftsnet.utils.JsonStreams;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -26,6 +30,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The Response class represents an HTTP response sent by the web server to the client.
@@ -50,9 +56,17 @@ public class Response implements AutoCloseable {
     private final CorsPolicy corsPolicy;
     private final boolean bodyAble;
 
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    // Guards the headers and the body stream while handlers print, redirect or send files
+    private final ReentrantLock lock = new ReentrantLock();
+
     private StreamEncoder streamEncoder;
+    private int compressionLevel = -1;
     private OutputStream encodedStream;
     private OutputStream rawStream;
+    private ByteBuffer buffer;
+    private boolean streaming = false;
 
     private Exchange exchange;
 
@@ -87,24 +101,18 @@ public class Response implements AutoCloseable {
      * @param object The object to be sent as the response body.
      * @throws RuntimeException if an I/O error occurs.
      */
-    public synchronized void print(Object object) {
+    public void print(Object object) {
         checkOutput();
 
-        if (exchange != null) {
-            Request r = exchange.request();
-
-            // Todo: Build pretty format system for object prints
-            if ("pretty".equalsIgnoreCase(r.retrieveParam("format"))) {
-                if (object instanceof Json json) {
-                    print(json, true);
-                    return;
-                }
+        boolean pretty = isPrettyRequested();
+        if (object instanceof Json json) {
+            print(json, pretty);
+            return;
+        }
 
-                if (object instanceof JsonElement json) {
-                    print(JsonParser.parse(json), true);
-                    return;
-                }
-            }
+        if (object instanceof JsonElement json) {
+            print(json, pretty);
+            return;
         }
 
         print(object.toString());
@@ -119,9 +127,59 @@ public class Response implements AutoCloseable {
      * @param pretty Whether the json should be printed pretty.
      * @throws RuntimeException if an I/O error occurs
      */
-    public synchronized void print(Json json, boolean pretty) {
-        checkOutput();
-        this.print(json.toString(pretty));
+    public void print(Json json, boolean pretty) {
+        this.print(json.getObject(), pretty);
+    }
+
+    /**
+     * Sends the provided json element as the response body while setting the pretty printing flag.
+     * The json is serialized straight into the response body as UTF-8, so it is never held as a
+     * string, and a body fitting into the response buffer is sent with its exact length.
+     *
+     * @param json   The json element to be sent as the response body.
+     * @param pretty Whether the json should be printed pretty.
+     * @throws RuntimeException if an I/O error occurs
+     * @since 3.7.3
+     */
+    public void print(JsonElement json, boolean pretty) {
+        lock.lock();
+        try {
+            checkOutput();
+            JsonStreams.write(json, pretty, new BodyStream());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to print: " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Serializes the provided object to json with gson and sends it as the response body. The json
+     * is written straight into the response body as UTF-8, like {@link #print(JsonElement, boolean)}.
+     *
+     * @param object The object to be serialized as the response body.
+     * @throws RuntimeException if an I/O error occurs
+     * @since 3.7.3
+     */
+    public void printJson(@NotNull Object object) {
+        lock.lock();
+        try {
+            checkOutput();
+            JsonStreams.writeObject(object, isPrettyRequested(), new BodyStream());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to print: " + e.getMessage(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the client asked for pretty printed json through the {@code format} parameter.
+     *
+     * @return {@code true} if the json should be printed pretty, {@code false} otherwise.
+     */
+    private boolean isPrettyRequested() {
+        return exchange != null && "pretty".equalsIgnoreCase(exchange.request().retrieveParam("format"));
     }
 
     /**
@@ -130,7 +188,7 @@ public class Response implements AutoCloseable {
      * @param text The text to be sent as the response body.
      * @throws RuntimeException if an I/O error occurs
      */
-    public synchronized void println(String text) {
+    public void println(String text) {
         checkOutput();
         this.print(text + (text.trim().endsWith("\r\n") ? "" : "\r\n"));
     }
@@ -141,7 +199,7 @@ public class Response implements AutoCloseable {
      * @param text The text to be sent as the response body.
      * @throws RuntimeException if an I/O error occurs
      */
-    public synchronized void print(String text) {
+    public void print(String text) {
         checkOutput();
         this.print(text.getBytes(StandardCharsets.UTF_8));
     }
@@ -152,51 +210,200 @@ public class Response implements AutoCloseable {
      * @param file The file to be sent as the response body.
      * @throws RuntimeException if an I/O error occurs
      */
-    public synchronized void print(File file) {
+    public void print(File file) {
         this.print(file.toPath());
     }
 
     /**
      * Sends the provided file behind the {@link Path} as the response body.
+     * <p>
+     * The exact length of the file is sent as {@code Content-Length}. Without an active encoding the
+     * file is handed to the transport as a whole, which sends it from the file to the socket without
+     * copying it through the heap if the transport supports it, and otherwise copies it with a large
+     * buffer. With an active encoding the encoded variant is taken from the
+     * {@link CompressedFileCache} and sent the same way, while content which is already compressed,
+     * like images or archives, is sent without an encoding.
+     * <p>
+     * {@code GET} requests may ask for parts of the file through the {@code Range} header, which are
+     * answered with {@code 206 Partial Content} and only the requested bytes, using
+     * {@code multipart/byteranges} for multiple ranges. Ranges which overlap or touch each other are
+     * merged first, so ranges collapsing into one are sent as a single range with a
+     * {@code Content-Range} header. Ranges always refer to the file without an encoding. An
+     * {@code If-Range} header is validated against the {@code ETag} or {@code Last-Modified} header
+     * of this response, and ranges outside the file are answered with
+     * {@code 416 Range Not Satisfiable}.
      *
      * @param path The {@link Path} of the file to be sent.
      * @throws RuntimeException if an I/O error occurs
      * @since 3.3.5-SNAPSHOT
      */
-    public synchronized void print(Path path) {
-        checkOutput();
-        ensureHeadersNotSent();
+    public void print(Path path) {
+        lock.lock();
+        try {
+            checkOutput();
+            ensureHeadersNotSent();
 
-        if (Files.notExists(path)) {
-            throw new IllegalArgumentException("The file behind the path must exist!");
-        }
+            if (this.buffer != null) {
+                throw new IllegalStateException("Output has already been written to the response, no file can be sent!");
+            }
 
-        try (InputStream fileInput = Files.newInputStream(path)) {
-            if (this.streamEncoder == null || this.streamEncoder.getEncodingName().equalsIgnoreCase("identity")) {
-                this.ensureHeadersSend(Files.size(path));
-                this.print(fileInput);
-                return;
+            if (Files.notExists(path)) {
+                throw new IllegalArgumentException("The file behind the path must exist!");
             }
 
-            Path encodedFileLocation = craftsNet.getFileHelper().createTempFile("response", ".body");
             try {
-                try (OutputStream output = streamEncoder.encodeOutputStream(Files.newOutputStream(encodedFileLocation))) {
-                    IOUtils.copy(fileInput, output, 2048);
-                }
+                String range = getRequestedRange();
+                this.setHeader("Accept-Ranges", "bytes");
 
-                try (InputStream input = Files.newInputStream(encodedFileLocation, StandardOpenOption.READ)) {
-                    long size = Files.size(encodedFileLocation);
-                    ensureHeadersSend(size);
+                if (range != null) this.useIdentityEncoder();
+                else this.applyCompressionPolicy(Files.size(path));
+
+                if (this.streamEncoder == null || this.streamEncoder.getEncodingName().equalsIgnoreCase("identity")) {
+                    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                        if (range != null) this.sendRanges(channel, range);
+                        else this.sendFile(channel, 0, channel.size());
+                    }
+                    return;
+                }
 
-                    IOUtils.copy(input, this.rawStream, Math.min((int) size, 2048));
+                try (FileChannel channel = craftsNet.getCompressionCache().open(path, this.streamEncoder)) {
+                    this.sendFile(channel, 0, channel.size());
                 }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
             } finally {
-                Files.deleteIfExists(encodedFileLocation);
+                this.sendingFile = true;
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         } finally {
-            this.sendingFile = true;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the {@code Range} header of the request, if the range should be served. Ranges are
+     * only served for successful {@code GET} requests whose {@code If-Range} header, if present,
+     * matches the {@code ETag} or {@code Last-Modified} header of this response.
+     *
+     * @return The value of the {@code Range} header, or {@code null} if the complete content should be sent.
+     */
+    private @Nullable String getRequestedRange() {
+        if (exchange == null || status != HttpStatus.Success.OK) return null;
+
+        Request request = exchange.request();
+        if (request.getHttpMethod() != HttpMethod.GET) return null;
+
+        String range = request.getHeader("Range");
+        String ifRange = request.getHeader("If-Range");
+        if (range == null || ifRange == null) return range;
+
+        // If-Range uses the strong comparison, so weak entity tags never match
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("W/")) return null;
+        if (ifRange.startsWith("\"")) return ifRange.equals(getHeader("ETag")) ? range : null;
+        return ifRange.equals(getHeader("Last-Modified")) ? range : null;
+    }
+
+    /**
+     * Sends the ranges of a file requested through the {@code Range} header. A malformed header is
+     * ignored and the complete file is sent instead.
+     *
+     * @param channel The {@link FileChannel} of the file to be sent.
+     * @param header  The value of the {@code Range} header.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void sendRanges(FileChannel channel, String header) throws IOException {
+        long size = channel.size();
+        List<ByteRange> ranges = ByteRange.parse(header, size);
+        if (ranges == null) {
+            this.sendFile(channel, 0, size);
+            return;
+        }
+
+        if (ranges.isEmpty()) {
+            this.setStatus(HttpStatus.ClientError.RANGE_NOT_SATISFIABLE);
+            this.setHeader("Content-Range", "bytes */" + size);
+            ensureHeadersSend(-1);
+            return;
+        }
+
+        // The ranges are already merged, so several requested ranges may end up as a single one
+        this.setStatus(HttpStatus.Success.PARTIAL_CONTENT);
+        if (ranges.size() == 1) {
+            ByteRange range = ranges.get(0);
+            this.setHeader("Content-Range", range.toContentRange(size));
+            this.sendFile(channel, range.start(), range.length());
+            return;
+        }
+
+        // The length of the multipart body is known up front, as only the part headers are generated
+        String boundary = "CRAFTSNET_" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        String contentType = getHeader("Content-Type");
+
+        byte[][] heads = new byte[ranges.size()][];
+        byte[] tail = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.ISO_8859_1);
+        long length = tail.length;
+        for (int i = 0; i < ranges.size(); i++) {
+            ByteRange range = ranges.get(i);
+            heads[i] = ("\r\n--" + boundary + "\r\n"
+                    + (contentType != null ? "Content-Type: " + contentType + "\r\n" : "")
+                    + "Content-Range: " + range.toContentRange(size) + "\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+            length += heads[i].length + range.length();
+        }
+
+        this.setHeader("Content-Type", "multipart/byteranges; boundary=" + boundary);
+        ensureHeadersSend(length);
+
+        for (int i = 0; i < ranges.size(); i++) {
+            this.rawStream.write(heads[i]);
+            this.transfer(channel, ranges.get(i).start(), ranges.get(i).length());
+        }
+        this.rawStream.write(tail);
+    }
+
+    /**
+     * Sends the response headers with the exact length of a region of a file and the region itself as the body.
+     *
+     * @param channel  The {@link FileChannel} of the file to be sent.
+     * @param position The position in the file the region starts at.
+     * @param count    The length of the region in bytes.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void sendFile(FileChannel channel, long position, long count) throws IOException {
+        if (count <= 0 || !bodyAble) {
+            // A length of -1 announces an empty body, as 0 would start a chunked one
+            if (count > 0) setHeader("Content-Length", Long.toString(count));
+            ensureHeadersSend(-1);
+            return;
+        }
+
+        ensureHeadersSend(count);
+        this.transfer(channel, position, count);
+    }
+
+    /**
+     * Writes a region of a file to the response body. The region is handed to the transport if it
+     * supports sending files directly, otherwise it is copied with positioned reads.
+     *
+     * @param channel  The {@link FileChannel} of the file.
+     * @param position The position in the file the region starts at.
+     * @param count    The length of the region in bytes.
+     * @throws IOException If an I/O error occurs or the file ends before the region.
+     */
+    private void transfer(FileChannel channel, long position, long count) throws IOException {
+        if (this.rawStream instanceof FileTransferable transferable) {
+            transferable.transferFrom(channel, position, count);
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(count, FILE_BUFFER_SIZE));
+        while (count > 0) {
+            buffer.clear().limit((int) Math.min(count, buffer.capacity()));
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new EOFException("The file ended before the requested region!");
+
+            this.rawStream.write(buffer.array(), 0, read);
+            position += read;
+            count -= read;
         }
     }
 
@@ -206,58 +413,282 @@ public class Response implements AutoCloseable {
      * @param bytes The bytes to be sent as the response body.
      * @throws RuntimeException if an I/O error occurs
      */
-    public synchronized void print(byte[] bytes) {
+    public void print(byte[] bytes) {
         checkOutput();
         this.printRaw(bytes, 0, bytes.length);
     }
 
     /**
-     * Sends the content of the provided input stream as the response body.
+     * Sends the remaining bytes of the provided buffer as the response body. The position of the
+     * buffer is moved to its limit.
      *
-     * @param stream The input stream which content should be sent as the response body.
+     * @param buffer The buffer whose remaining bytes should be sent as the response body.
      * @throws RuntimeException if an I/O error occurs
+     * @since 3.7.3
      */
-    public synchronized void print(InputStream stream) {
+    public void print(ByteBuffer buffer) {
         checkOutput();
 
-        byte[] buffer = new byte[2048];
+        if (buffer.hasArray()) {
+            this.printRaw(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+            return;
+        }
+
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        this.printRaw(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Sends the content of the provided input stream as the response body.
+     *
+     * @param stream The input stream which content should be sent as the response body.
+     * @throws RuntimeException if an I/O error occurs
+     */
+    public void print(InputStream stream) {
+        lock.lock();
         try {
-            int read;
-            while ((read = stream.read(buffer)) != -1) {
-                this.printRaw(buffer, 0, read);
+            checkOutput();
+
+            byte[] buffer = new byte[2048];
+            try {
+                int read;
+                while ((read = stream.read(buffer)) != -1) {
+                    this.printRaw(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                Arrays.fill(buffer, (byte) 0);
             }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
         } finally {
-            Arrays.fill(buffer, (byte) 0);
+            lock.unlock();
         }
     }
 
     /**
      * Sends the provided bytes as the response body.
+     * <p>
+     * The bytes are collected in a pooled buffer of the size configured through
+     * {@link de.craftsblock.craftsnet.builder.CraftsNetBuilder#withResponseBufferSize(int)}. A body which
+     * fits into the buffer is sent as a whole with its exact {@code Content-Length} once the response
+     * is closed. The response switches to a chunked body as soon as the buffer overflows,
+     * {@link #flush()} is called or the {@link #setStreaming(boolean) streaming mode} is enabled.
      *
      * @param bytes The bytes to be sent as the response body.
      * @throws RuntimeException if an I/O error occurs
      */
-    private synchronized void printRaw(byte[] bytes, int offset, int length) {
-        if (!bodyAble) {
-            throw new IllegalStateException("Body is not printable as the request method cannot have a response body!");
+    private void printRaw(byte[] bytes, int offset, int length) {
+        lock.lock();
+        try {
+            if (!bodyAble) {
+                throw new IllegalStateException("Body is not printable as the request method cannot have a response body!");
+            }
+
+            BufferPool pool = craftsNet.getResponseBufferPool();
+            if (!headersSent && !this.streaming && pool != null
+                    && length <= pool.getBufferSize() - (this.buffer != null ? this.buffer.position() : 0)) {
+                if (length == 0) return;
+                if (this.buffer == null) this.buffer = pool.acquire();
+
+                this.buffer.put(bytes, offset, length);
+                return;
+            }
+
+            try {
+                OutputStream stream = openStream();
+                stream.write(bytes, offset, length);
+
+                // Without a buffer every print is passed to the client right away, as it was before
+                if (this.streaming || pool == null) stream.flush();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to print: " + e.getMessage(), e);
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
+    /**
+     * Sends all output written so far to the client. If the body is still buffered, the response
+     * headers are sent and the response switches to a chunked body.
+     *
+     * @throws RuntimeException if an I/O error occurs
+     * @since 3.7.3
+     */
+    public void flush() {
+        lock.lock();
         try {
-            ensureHeadersSend(0);
+            if (!bodyAble || sendingFile || (headersSent && this.encodedStream == null)) return;
 
-            if (this.encodedStream == null) {
-                this.encodedStream = this.streamEncoder != null
-                        ? this.streamEncoder.encodeOutputStream(this.rawStream)
-                        : this.rawStream;
+            try {
+                openStream().flush();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to flush: " + e.getMessage(), e);
             }
+        } finally {
+            lock.unlock();
+        }
+    }
 
-            this.encodedStream.write(bytes, offset, length);
-            this.encodedStream.flush();
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to print: " + e.getMessage(), e);
+    /**
+     * Enables or disables the streaming mode. In streaming mode every print is sent to the client
+     * right away as a chunk, which is required by handlers emitting data over time, for example
+     * server sent events. Output buffered before the streaming mode was enabled is sent immediately.
+     *
+     * @param streaming {@code true} to enable the streaming mode, {@code false} to disable it.
+     * @throws RuntimeException if an I/O error occurs
+     * @since 3.7.3
+     */
+    public void setStreaming(boolean streaming) {
+        lock.lock();
+        try {
+            this.streaming = streaming;
+            if (streaming && this.buffer != null) flush();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Checks whether the streaming mode is enabled.
+     *
+     * @return {@code true} if every print is sent right away, {@code false} if the output is buffered.
+     * @since 3.7.3
+     */
+    public boolean isStreaming() {
+        return streaming;
+    }
+
+    /**
+     * Retrieves an {@link OutputStream} writing into the response body. Everything written to it is
+     * handled like the output of {@link #print(byte[])}, so it is buffered and encoded the same way.
+     * Closing the stream does not close the response.
+     *
+     * @return An {@link OutputStream} writing into the response body.
+     * @since 3.7.3
+     */
+    public @NotNull OutputStream getOutputStream() {
+        checkOutput();
+        return new BodyStream();
+    }
+
+    /**
+     * Retrieves the stream the body is written to, sending the response headers for a chunked body
+     * and the buffered output first if needed.
+     *
+     * @return The encoded body stream.
+     * @throws IOException If an I/O error occurs.
+     */
+    private OutputStream openStream() throws IOException {
+        if (this.encodedStream != null) return this.encodedStream;
+
+        applyCompressionPolicy(-1);
+        ensureHeadersSend(0);
+        this.encodedStream = this.streamEncoder != null
+                ? this.streamEncoder.encodeOutputStream(this.rawStream, this.compressionLevel)
+                : this.rawStream;
+
+        if (this.buffer != null) {
+            this.encodedStream.write(this.buffer.array(), 0, this.buffer.position());
+            releaseBuffer();
+        }
+
+        return this.encodedStream;
+    }
+
+    /**
+     * Sends the buffered output as the complete body with its exact length. An active encoding is
+     * applied in memory, as the encoded length has to be known before the headers are sent.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    private void sendBuffered() throws IOException {
+        byte[] body = this.buffer.array();
+        int length = this.buffer.position();
+
+        applyCompressionPolicy(length);
+        if (this.streamEncoder != null && !this.streamEncoder.getEncodingName().equalsIgnoreCase("identity")) {
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream(Math.max(64, length / 2));
+            try (OutputStream output = this.streamEncoder.encodeOutputStream(encoded, this.compressionLevel)) {
+                output.write(body, 0, length);
+            }
+
+            body = encoded.toByteArray();
+            length = body.length;
         }
+
+        // A length of -1 announces an empty body, as 0 would start a chunked one
+        ensureHeadersSend(length > 0 ? length : -1);
+        if (length <= 0) return;
+
+        this.rawStream.write(body, 0, length);
+        this.rawStream.close();
+    }
+
+    /**
+     * Switches to the {@link IdentityStreamEncoder} if the {@link de.craftsblock.craftsnet.api.http.encoding.CompressionPolicy}
+     * rejects the compression of the body.
+     *
+     * @param length The length of the body in bytes, or {@code -1} if it is not known.
+     */
+    private void applyCompressionPolicy(long length) {
+        if (this.streamEncoder == null || this.streamEncoder.getEncodingName().equalsIgnoreCase("identity")) return;
+        if (craftsNet.getCompressionPolicy().shouldCompress(getHeader("Content-Type"), length)) return;
+
+        useIdentityEncoder();
+    }
+
+    /**
+     * Switches to the {@link IdentityStreamEncoder}, so the body is sent as it is.
+     */
+    private void useIdentityEncoder() {
+        StreamEncoder identity = craftsNet.getStreamEncoderRegistry().retrieveEncoder(IdentityStreamEncoder.class);
+        if (identity != null) this.streamEncoder = identity;
+    }
+
+    /**
+     * An {@link OutputStream} passing everything written to it to {@link #printRaw(byte[], int, int)},
+     * so serializers can write into the response body like into any other stream.
+     *
+     * @since 3.7.3
+     */
+    private final class BodyStream extends OutputStream {
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param b {@inheritDoc}
+         */
+        @Override
+        public void write(int b) {
+            printRaw(new byte[]{(byte) b}, 0, 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param b   {@inheritDoc}
+         * @param off {@inheritDoc}
+         * @param len {@inheritDoc}
+         */
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) {
+            printRaw(b, off, len);
+        }
+
+    }
+
+    /**
+     * Returns the buffer holding the output to its pool.
+     */
+    private void releaseBuffer() {
+        if (this.buffer == null) return;
+
+        BufferPool pool = craftsNet.getResponseBufferPool();
+        if (pool != null) pool.release(this.buffer);
+        this.buffer = null;
     }
 
     /**
@@ -294,11 +725,16 @@ public class Response implements AutoCloseable {
      * @throws IllegalStateException if the response headers have already been sent
      *                               and the redirect can no longer be applied
      */
-    public synchronized void redirect(@NotNull String url, @NotNull HttpStatus.Redirection redirection) {
-        ensureHeadersNotSent();
-        setStatus(redirection);
-        setHeader("Location", url);
-        ensureHeadersSend(0);
+    public void redirect(@NotNull String url, @NotNull HttpStatus.Redirection redirection) {
+        lock.lock();
+        try {
+            ensureHeadersNotSent();
+            setStatus(redirection);
+            setHeader("Location", url);
+            ensureHeadersSend(0);
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -343,6 +779,11 @@ public class Response implements AutoCloseable {
             this.setHeader("Content-Encoding", this.streamEncoder.getEncodingName());
         }
 
+        // The encoding was negotiated, so caches must not serve this response for other encodings
+        if (craftsNet.getBuilder().responseEncodingAllowed() && !varies("Accept-Encoding")) {
+            this.addHeader("Vary", "Accept-Encoding");
+        }
+
         if (length == 0) {
             this.setHeader("Transfer-Encoding", "chunked");
         }
@@ -361,6 +802,23 @@ public class Response implements AutoCloseable {
         this.rawStream = httpExchange.getResponseBody();
     }
 
+    /**
+     * Checks whether the {@code Vary} header of the response already covers a request header.
+     *
+     * @param header The name of the request header.
+     * @return {@code true} if the header is listed or the response varies on everything, {@code false} otherwise.
+     */
+    private boolean varies(String header) {
+        List<String> values = getHeaders("Vary");
+        if (values == null) return false;
+
+        for (String value : values)
+            for (String field : value.split(","))
+                if (field.trim().equals("*") || field.trim().equalsIgnoreCase(header)) return true;
+
+        return false;
+    }
+
     /**
      * Sets the {@link StreamEncoder} by its name that is used to encode the response body.
      *
@@ -398,6 +856,34 @@ public class Response implements AutoCloseable {
         return streamEncoder;
     }
 
+    /**
+     * Sets the compression level used by the {@link StreamEncoder} to encode the response body. Files
+     * sent through {@link #print(Path)} are not affected, as their encoded variants are shared between
+     * requests and always use the best compression.
+     *
+     * @param compressionLevel The compression level from {@code 0} to {@code 9}, or {@code -1} for the default level.
+     * @throws IllegalArgumentException If the compression level is out of range.
+     * @throws IllegalStateException    If the response headers have already been sent.
+     * @since 3.7.3
+     */
+    public void setCompressionLevel(@Range(from = -1, to = 9) int compressionLevel) {
+        if (compressionLevel < -1 || compressionLevel > 9)
+            throw new IllegalArgumentException("The compression level must be between -1 and 9!");
+
+        ensureHeadersNotSent();
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Retrieves the compression level used by the {@link StreamEncoder} to encode the response body.
+     *
+     * @return The compression level, or {@code -1} for the default level.
+     * @since 3.7.3
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
     /**
      * Sets the content type for the response.
      *
@@ -640,11 +1126,18 @@ public class Response implements AutoCloseable {
      */
     @Override
     public void close() throws IOException {
-        ensureHeadersSend(-1);
+        lock.lock();
+        try {
+            if (this.buffer != null && !headersSent) sendBuffered();
+            ensureHeadersSend(-1);
 
-        if (this.encodedStream != null && !sendingFile) {
-            this.encodedStream.flush();
-            this.encodedStream.close();
+            if (this.encodedStream != null && !sendingFile) {
+                this.encodedStream.flush();
+                this.encodedStream.close();
+            }
+        } finally {
+            releaseBuffer();
+            lock.unlock();
         }
     }
 
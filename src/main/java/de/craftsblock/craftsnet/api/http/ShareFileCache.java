@@ -0,0 +1,397 @@
+package de.craftsblock.craftsnet.api.http;
+
+import de.craftsblock.craftsnet.CraftsNet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.FileNameMap;
+import java.net.URLConnection;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A process wide cache which holds the metadata of files served through shares, so a share request
+ * does not need to query the file system for the existence, the size and the modification time of a
+ * file and to look up its content type every time.
+ * <p>
+ * Every directory containing a cached file is registered on a {@link WatchService}, which removes the
+ * metadata of a file as soon as it is created, modified or deleted. Directories which can not be
+ * watched are never cached. Once the maximum amount of entries is reached, the least recently used
+ * entry is removed. A directory is no longer watched once the last entry below it has been removed.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see de.craftsblock.craftsnet.builder.CraftsNetBuilder#withShareFileCache(int)
+ * @since 3.7.3
+ */
+public final class ShareFileCache implements AutoCloseable {
+
+    private static final FileNameMap CONTENT_TYPES = URLConnection.getFileNameMap();
+
+    private final CraftsNet craftsNet;
+    private final int capacity;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Path, Metadata> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Path, Watch> watched = new HashMap<>();
+    private long generation;
+
+    private WatchService watchService;
+    private boolean closed;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new {@link ShareFileCache}.
+     *
+     * @param craftsNet The {@link CraftsNet} instance which owns the cache.
+     * @param capacity  The maximum amount of cached files, {@code 0} to read the metadata on every lookup.
+     */
+    public ShareFileCache(@NotNull CraftsNet craftsNet, int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("The capacity of the share file cache must not be negative!");
+
+        this.craftsNet = craftsNet;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Retrieves the metadata of a file, reading it from the file system if it is not cached.
+     *
+     * @param path The path of the file.
+     * @return The metadata of the file.
+     */
+    public @NotNull Metadata lookup(@NotNull Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        if (capacity == 0) return read(absolute);
+
+        long generation;
+        lock.lock();
+        try {
+            Metadata metadata = entries.get(absolute);
+            if (metadata != null) {
+                hits.increment();
+                return metadata;
+            }
+
+            generation = this.generation;
+        } finally {
+            lock.unlock();
+        }
+
+        misses.increment();
+
+        // The directory is watched before the file is read, so no change can be missed in between
+        boolean watching = watch(absolute.getParent());
+        Metadata metadata = read(absolute);
+        if (!watching) return metadata;
+
+        lock.lock();
+        try {
+            // Something was invalidated while reading, the metadata may already be outdated
+            if (closed || this.generation != generation) {
+                unwatchIfUnused(absolute.getParent());
+                return metadata;
+            }
+
+            Watch watch = watched.get(absolute.getParent());
+            if (watch == null) return metadata;
+            if (entries.put(absolute, metadata) == null) watch.entries++;
+
+            Iterator<Path> iterator = entries.keySet().iterator();
+            while (entries.size() > capacity && iterator.hasNext()) {
+                Path eldest = iterator.next();
+                iterator.remove();
+                release(eldest.getParent());
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        return metadata;
+    }
+
+    /**
+     * Removes the metadata of a file and of everything below it.
+     *
+     * @param path The path of the file or directory.
+     */
+    public void invalidate(@NotNull Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+
+        lock.lock();
+        try {
+            generation++;
+
+            Iterator<Path> iterator = entries.keySet().iterator();
+            while (iterator.hasNext()) {
+                Path key = iterator.next();
+                if (!key.startsWith(absolute)) continue;
+
+                iterator.remove();
+                release(key.getParent());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the metadata of all files and stops watching the directories.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            generation++;
+            entries.clear();
+            watched.values().forEach(watch -> watch.key.cancel());
+            watched.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the amount of lookups which were served from the cache.
+     *
+     * @return The amount of cache hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the amount of lookups which had to read the file system.
+     *
+     * @return The amount of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the amount of files currently cached.
+     *
+     * @return The amount of files.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes all entries and stops watching the directories.
+     */
+    @Override
+    public void close() {
+        WatchService watchService;
+        lock.lock();
+        try {
+            closed = true;
+            generation++;
+            entries.clear();
+            watched.clear();
+
+            watchService = this.watchService;
+            this.watchService = null;
+        } finally {
+            lock.unlock();
+        }
+
+        if (watchService == null) return;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            craftsNet.getLogger().error("Failed to close the share file watcher", e);
+        }
+    }
+
+    /**
+     * Registers a directory on the watch service, starting the watcher on the first registration.
+     *
+     * @param directory The directory.
+     * @return {@code true} if the directory is watched, {@code false} if it can not be watched.
+     */
+    private boolean watch(@Nullable Path directory) {
+        if (directory == null || directory.getFileSystem() != FileSystems.getDefault()) return false;
+
+        lock.lock();
+        try {
+            if (closed) return false;
+
+            Watch watch = watched.get(directory);
+            if (watch != null && watch.key.isValid()) return true;
+
+            if (watchService == null) {
+                WatchService service = watchService = directory.getFileSystem().newWatchService();
+                Thread watcher = new Thread(() -> poll(service), "CraftsNet ShareWatcher");
+                watcher.setDaemon(true);
+                watcher.start();
+            }
+
+            WatchKey key = directory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            if (watch != null) watch.key = key;
+            else watched.put(directory, new Watch(key));
+            return true;
+        } catch (IOException e) {
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops an entry from the count of a watched directory and stops watching the directory once it
+     * contains no entries anymore. Must be called while holding the lock.
+     *
+     * @param directory The directory of the removed entry.
+     */
+    private void release(@Nullable Path directory) {
+        Watch watch = watched.get(directory);
+        if (watch == null) return;
+
+        watch.entries--;
+        unwatchIfUnused(directory);
+    }
+
+    /**
+     * Stops watching a directory if it contains no entries. Must be called while holding the lock.
+     *
+     * @param directory The directory.
+     */
+    private void unwatchIfUnused(@Nullable Path directory) {
+        Watch watch = watched.get(directory);
+        if (watch == null || watch.entries > 0) return;
+
+        watched.remove(directory);
+        watch.key.cancel();
+    }
+
+    /**
+     * Invalidates the affected entries for every event of the watch service until it is closed.
+     *
+     * @param watchService The watch service.
+     */
+    private void poll(WatchService watchService) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                Path directory = (Path) key.watchable();
+
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || !(event.context() instanceof Path child))
+                        invalidate(directory);
+                    else invalidate(directory.resolve(child));
+                }
+
+                if (key.reset()) continue;
+
+                // The directory itself is gone or no longer watched
+                lock.lock();
+                try {
+                    invalidate(directory);
+
+                    Watch watch = watched.get(directory);
+                    if (watch != null && watch.key == key) watched.remove(directory);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ignored) {
+        }
+    }
+
+    /**
+     * Reads the metadata of a file from the file system.
+     *
+     * @param path The absolute path of the file.
+     * @return The metadata of the file.
+     */
+    private static Metadata read(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            long lastModified = attributes.lastModifiedTime().toMillis();
+            String etag = "\"" + Long.toHexString(attributes.size()) + "-" + Long.toHexString(lastModified) + "\"";
+
+            return new Metadata(path, true, attributes.isDirectory(), attributes.size(), lastModified,
+                    CONTENT_TYPES.getContentTypeFor(path.getFileName().toString()), etag);
+        } catch (IOException e) {
+            return new Metadata(path, false, false, 0, 0, null, null);
+        }
+    }
+
+    /**
+     * The registration of a watched directory.
+     *
+     * @since 3.7.3
+     */
+    private static final class Watch {
+
+        private WatchKey key;
+        private int entries;
+
+        /**
+         * Constructs a new {@link Watch}.
+         *
+         * @param key The key of the registration.
+         */
+        private Watch(WatchKey key) {
+            this.key = key;
+        }
+
+    }
+
+    /**
+     * The metadata of a file.
+     *
+     * @param path         The absolute path of the file.
+     * @param exists       Whether the file exists.
+     * @param directory    Whether the file is a directory.
+     * @param size         The size of the file in bytes.
+     * @param lastModified The modification time of the file in milliseconds.
+     * @param contentType  The content type derived from the name of the file, or {@code null} if it is unknown.
+     * @param etag         The strong entity tag derived from the size and the modification time, or {@code null} if the file does not exist.
+     * @since 3.7.3
+     */
+    public record Metadata(@NotNull Path path, boolean exists, boolean directory, long size, long lastModified,
+                           @Nullable String contentType, @Nullable String etag) {
+
+        /**
+         * Retrieves the entity tag of an encoded representation of the file. Every encoding produces
+         * different bytes, so it needs an entity tag of its own.
+         *
+         * @param encoding The name of the encoding, {@code null} or {@code identity} for the file itself.
+         * @return The entity tag, or {@code null} if the file does not exist.
+         */
+        public @Nullable String etag(@Nullable String encoding) {
+            if (etag == null || encoding == null || encoding.equalsIgnoreCase("identity")) return etag;
+            return etag.substring(0, etag.length() - 1) + "-" + encoding.toLowerCase(Locale.ROOT) + "\"";
+        }
+
+        /**
+         * Retrieves the modification time of the file formatted as a http date.
+         *
+         * @return The modification time in the format of the {@code Last-Modified} header.
+         */
+        public @NotNull String getHttpDate() {
+            return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(lastModified).atOffset(ZoneOffset.UTC));
+        }
+
+    }
+
+}
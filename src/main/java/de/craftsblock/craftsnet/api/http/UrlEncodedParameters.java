@@ -0,0 +1,343 @@
+package de.craftsblock.craftsnet.api.http;
+
+import de.craftsblock.craftsnet.api.http.status.HttpStatus;
+import de.craftsblock.craftsnet.api.http.status.HttpStatusException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Parameters encoded in the {@code application/x-www-form-urlencoded} format, as they are used by
+ * query strings and standard form bodies.
+ * <p>
+ * The source is kept as it is and only parsed on the first access of a parameter. Parsing runs
+ * in a single pass over the bytes or characters of the source: pairs are separated by {@code &},
+ * names and values are percent-decoded as UTF-8 into one reused buffer and {@code +} is decoded to a
+ * space. Keys may appear multiple times, the values are kept in the order they were sent.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see Request#getQueryParameters()
+ * @since 3.7.3
+ */
+public final class UrlEncodedParameters {
+
+    /**
+     * An empty set of parameters.
+     */
+    public static final UrlEncodedParameters EMPTY = new UrlEncodedParameters(null, "", 0);
+
+    private final byte[] bytes;
+    private final CharSequence chars;
+    private final int maxFields;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Map<String, List<String>> parameters;
+    private Map<String, String> firstValues;
+    private byte[] scratch;
+
+    /**
+     * Constructs new {@link UrlEncodedParameters}. Either the bytes or the characters are used as the source.
+     *
+     * @param bytes     The encoded bytes.
+     * @param chars     The encoded characters.
+     * @param maxFields The maximum amount of fields, {@code 0} for no limit.
+     */
+    private UrlEncodedParameters(byte[] bytes, CharSequence chars, int maxFields) {
+        this.bytes = bytes;
+        this.chars = chars;
+        this.maxFields = maxFields;
+    }
+
+    /**
+     * Creates {@link UrlEncodedParameters} from encoded characters, for example a query string.
+     *
+     * @param source    The encoded characters.
+     * @param maxFields The maximum amount of fields, {@code 0} for no limit.
+     * @return The parameters, which are parsed on their first access.
+     */
+    public static @NotNull UrlEncodedParameters of(@NotNull CharSequence source, @Range(from = 0, to = Integer.MAX_VALUE) int maxFields) {
+        if (source.isEmpty()) return EMPTY;
+        return new UrlEncodedParameters(null, source, maxFields);
+    }
+
+    /**
+     * Creates {@link UrlEncodedParameters} from encoded bytes.
+     *
+     * @param source    The encoded bytes.
+     * @param maxFields The maximum amount of fields, {@code 0} for no limit.
+     * @return The parameters, which are parsed on their first access.
+     */
+    public static @NotNull UrlEncodedParameters of(byte @NotNull [] source, @Range(from = 0, to = Integer.MAX_VALUE) int maxFields) {
+        if (source.length == 0) return EMPTY;
+        return new UrlEncodedParameters(source, null, maxFields);
+    }
+
+    /**
+     * Reads encoded bytes from a stream, for example a request body. The stream is read completely
+     * but not closed.
+     *
+     * @param input     The stream containing the encoded bytes.
+     * @param maxLength The maximum amount of bytes, {@code 0} for no limit.
+     * @param maxFields The maximum amount of fields, {@code 0} for no limit.
+     * @return The parameters, which are parsed on their first access.
+     * @throws IOException         If an I/O error occurs while reading the stream.
+     * @throws HttpStatusException If the stream contains more than the maximum amount of bytes.
+     */
+    public static @NotNull UrlEncodedParameters read(@NotNull InputStream input, @Range(from = 0, to = Integer.MAX_VALUE) int maxLength,
+                                                     @Range(from = 0, to = Integer.MAX_VALUE) int maxFields) throws IOException {
+        byte[] buffer = new byte[maxLength > 0 ? Math.min(maxLength + 1, 8 * 1024) : 8 * 1024];
+        int length = 0, read;
+
+        while ((read = input.read(buffer, length, buffer.length - length)) != -1) {
+            length += read;
+            if (maxLength > 0 && length > maxLength)
+                throw new HttpStatusException(HttpStatus.ClientError.PAYLOAD_TOO_LARGE,
+                        "The url encoded data exceeds " + maxLength + " bytes!");
+
+            if (length == buffer.length)
+                buffer = Arrays.copyOf(buffer, maxLength > 0 ? Math.min(buffer.length * 2, maxLength + 1) : buffer.length * 2);
+        }
+
+        return of(length == buffer.length ? buffer : Arrays.copyOf(buffer, length), maxFields);
+    }
+
+    /**
+     * Checks whether a parameter is present.
+     *
+     * @param name The name of the parameter.
+     * @return {@code true} if the parameter is present, {@code false} otherwise.
+     */
+    public boolean contains(@NotNull String name) {
+        return parameters().containsKey(name);
+    }
+
+    /**
+     * Retrieves the first value of a parameter.
+     *
+     * @param name The name of the parameter.
+     * @return The first value, or {@code null} if the parameter is not present.
+     */
+    public @Nullable String getFirst(@NotNull String name) {
+        List<String> values = parameters().get(name);
+        return values != null ? values.get(0) : null;
+    }
+
+    /**
+     * Retrieves all values of a parameter in the order they were sent.
+     *
+     * @param name The name of the parameter.
+     * @return An unmodifiable list of the values, which is empty if the parameter is not present.
+     */
+    public @NotNull @Unmodifiable List<String> getAll(@NotNull String name) {
+        return parameters().getOrDefault(name, List.of());
+    }
+
+    /**
+     * Retrieves the names of all parameters in the order they were sent.
+     *
+     * @return An unmodifiable set of the names.
+     */
+    public @NotNull @Unmodifiable Set<String> names() {
+        return parameters().keySet();
+    }
+
+    /**
+     * Retrieves the amount of distinct parameters.
+     *
+     * @return The amount of parameters.
+     */
+    public int size() {
+        return parameters().size();
+    }
+
+    /**
+     * Checks whether there are no parameters.
+     *
+     * @return {@code true} if there are no parameters, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return parameters().isEmpty();
+    }
+
+    /**
+     * Retrieves all parameters with all of their values.
+     *
+     * @return An unmodifiable map of the names and their values.
+     */
+    public @NotNull @Unmodifiable Map<String, List<String>> asMultiMap() {
+        return parameters();
+    }
+
+    /**
+     * Retrieves all parameters with their first value.
+     *
+     * @return An unmodifiable map of the names and their first values.
+     */
+    public @NotNull @Unmodifiable Map<String, String> asMap() {
+        Map<String, List<String>> parameters = parameters();
+        if (firstValues != null) return firstValues;
+
+        Map<String, String> firstValues = new LinkedHashMap<>();
+        parameters.forEach((name, values) -> firstValues.put(name, values.get(0)));
+        return this.firstValues = Collections.unmodifiableMap(firstValues);
+    }
+
+    /**
+     * Retrieves the parsed parameters, parsing the source on the first call.
+     *
+     * @return The parsed parameters.
+     */
+    private Map<String, List<String>> parameters() {
+        Map<String, List<String>> parameters = this.parameters;
+        if (parameters != null) return parameters;
+
+        lock.lock();
+        try {
+            if (this.parameters == null) this.parameters = parse();
+            return this.parameters;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Parses the source in a single pass.
+     *
+     * @return The parsed parameters.
+     */
+    private Map<String, List<String>> parse() {
+        int length = bytes != null ? bytes.length : chars.length();
+        if (length == 0) return Map.of();
+
+        Map<String, List<String>> parameters = new LinkedHashMap<>();
+        scratch = new byte[Math.min(length, 1024)];
+        int fields = 0;
+
+        int start = 0;
+        while (start <= length) {
+            int end = indexOf('&', start, length);
+            if (end > start) {
+                int separator = indexOf('=', start, end);
+                String name = decode(start, separator);
+                if (!name.isEmpty()) {
+                    if (maxFields > 0 && ++fields > maxFields)
+                        throw new HttpStatusException(HttpStatus.ClientError.BAD_REQUEST,
+                                "The url encoded data contains more than " + maxFields + " fields!");
+
+                    String value = separator < end ? decode(separator + 1, end) : "";
+                    List<String> values = parameters.get(name);
+                    if (values == null) parameters.put(name, List.of(value));
+                    else if (values.size() == 1) parameters.put(name, new ArrayList<>(List.of(values.get(0), value)));
+                    else values.add(value);
+                }
+            }
+
+            start = end + 1;
+        }
+
+        scratch = null;
+        parameters.replaceAll((name, values) -> values.size() == 1 ? values : Collections.unmodifiableList(values));
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    /**
+     * Searches an ascii character in a range of the source.
+     *
+     * @param character The character.
+     * @param from      The start of the range.
+     * @param to        The end of the range.
+     * @return The index of the character, or the end of the range if it is not present.
+     */
+    private int indexOf(char character, int from, int to) {
+        for (int i = from; i < to; i++)
+            if (at(i) == character) return i;
+        return to;
+    }
+
+    /**
+     * Percent-decodes a range of the source as UTF-8. Malformed escape sequences are kept as they are.
+     * The decoded bytes are collected in a buffer which is shared by all calls during one parse.
+     *
+     * @param from The start of the range.
+     * @param to   The end of the range.
+     * @return The decoded string.
+     */
+    private String decode(int from, int to) {
+        boolean plain = true;
+        for (int i = from; i < to && plain; i++) {
+            int c = at(i);
+            plain = c != '%' && c != '+' && c < 0x80;
+        }
+
+        if (plain) {
+            if (bytes != null) return new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+            return chars.subSequence(from, to).toString();
+        }
+
+        // Decoding never grows bytes, while unencoded characters take up to three bytes each
+        int required = bytes != null ? to - from : (to - from) * 3;
+        if (scratch.length < required) scratch = new byte[Math.max(required, scratch.length * 2)];
+        byte[] scratch = this.scratch;
+
+        int length = 0;
+        for (int i = from; i < to; i++) {
+            int c = at(i);
+            if (c == '+') scratch[length++] = ' ';
+            else if (c == '%' && i + 2 < to && hex(at(i + 1)) >= 0 && hex(at(i + 2)) >= 0) {
+                scratch[length++] = (byte) (hex(at(i + 1)) << 4 | hex(at(i + 2)));
+                i += 2;
+            } else if (c < 0x80 || bytes != null) scratch[length++] = (byte) c;
+            else {
+                // Characters which were not encoded are written as UTF-8
+                int codePoint = Character.codePointAt(chars, i);
+                if (Character.charCount(codePoint) == 2) i++;
+
+                if (codePoint < 0x800) {
+                    scratch[length++] = (byte) (0xC0 | codePoint >> 6);
+                } else if (codePoint < 0x10000) {
+                    scratch[length++] = (byte) (0xE0 | codePoint >> 12);
+                    scratch[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                } else {
+                    scratch[length++] = (byte) (0xF0 | codePoint >> 18);
+                    scratch[length++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    scratch[length++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                }
+                scratch[length++] = (byte) (0x80 | codePoint & 0x3F);
+            }
+        }
+
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Retrieves a character of the source.
+     *
+     * @param index The index of the character.
+     * @return The character, or the unsigned byte if the source consists of bytes.
+     */
+    private int at(int index) {
+        return bytes != null ? bytes[index] & 0xFF : chars.charAt(index);
+    }
+
+    /**
+     * Converts a hexadecimal digit to its value.
+     *
+     * @param c The digit.
+     * @return The value, or {@code -1} if the character is not a hexadecimal digit.
+     */
+    private static int hex(int c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+
+}
@@ -7,7 +7,7 @@ import de.craftsblock.craftscore.json.Json;
 import de.craftsblock.craftsnet.CraftsNet;
 import de.craftsblock.craftsnet.api.RouteRegistry;
 import de.craftsblock.craftsnet.api.annotations.ProcessPriority;
-import de.craftsblock.craftsnet.api.http.encoding.AcceptEncodingHelper;
+import de.craftsblock.craftsnet.api.http.annotations.Compression;
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoder;
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoderRegistry;
 import de.craftsblock.craftsnet.api.http.encoding.builtin.IdentityStreamEncoder;
@@ -15,6 +15,7 @@ import de.craftsblock.craftsnet.api.http.status.HttpStatus;
 import de.craftsblock.craftsnet.api.http.status.HttpStatusException;
 import de.craftsblock.craftsnet.api.middlewares.Middleware;
 import de.craftsblock.craftsnet.api.middlewares.MiddlewareCallbackInfo;
+import de.craftsblock.craftsnet.api.routing.RouteMatch;
 import de.craftsblock.craftsnet.api.session.Session;
 import de.craftsblock.craftsnet.api.session.SessionInfo;
 import de.craftsblock.craftsnet.api.transformers.TransformerPerformer;
@@ -27,18 +28,16 @@ import de.craftsblock.craftsnet.events.requests.routes.RouteRequestEvent;
 import de.craftsblock.craftsnet.events.requests.shares.ShareFileLoadedEvent;
 import de.craftsblock.craftsnet.events.requests.shares.ShareRequestEvent;
 import de.craftsblock.craftsnet.logging.Logger;
-import de.craftsblock.craftsnet.utils.reflection.ReflectionUtils;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Handles HTTP requests and routes them to the appropriate handlers based on the registered routes.
@@ -88,20 +87,11 @@ public class WebHandler implements HttpHandler {
             Headers headers = httpExchange.getRequestHeaders();
 
             StreamEncoderRegistry streamEncoderRegistry = craftsNet.getStreamEncoderRegistry();
-            AtomicReference<StreamEncoder> streamEncoder = new AtomicReference<>(streamEncoderRegistry.retrieveEncoder(IdentityStreamEncoder.class));
-            if (craftsNet.getBuilder().responseEncodingAllowed() && headers.containsKey("Accept-Encoding")) {
-                var requestedEncodings = AcceptEncodingHelper.parseHeader(headers.getFirst("Accept-Encoding"));
-
-                for (String requested : requestedEncodings) {
-                    if (streamEncoderRegistry.isAvailable(requested)) {
-                        streamEncoder.set(streamEncoderRegistry.retrieveEncoder(requested));
-                        break;
-                    }
-                }
-            }
+            StreamEncoder streamEncoder = streamEncoderRegistry.negotiate(craftsNet.getBuilder().responseEncodingAllowed()
+                    ? headers.getFirst("Accept-Encoding") : null);
 
             ProtocolVersion protocolVersion = ProtocolVersion.parse(this.scheme, httpExchange.getProtocol().split("/")[1]);
-            Response response = new Response(this.craftsNet, streamEncoder.get(), httpExchange, httpMethod);
+            Response response = new Response(this.craftsNet, streamEncoder, httpExchange, httpMethod);
             try {
                 String connectingIp = httpExchange.getRemoteAddress().getAddress().getHostAddress();
 
@@ -297,13 +287,15 @@ public class WebHandler implements HttpHandler {
         String ip = request.getIp();
 
         // Find the registered route mapping based on the request.
-        EnumMap<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> routes = registry.getRoute(request);
+        RouteMatch match = registry.resolveRoute(request);
 
         // If no matching route is found abort with return false
-        if (routes == null || routes.isEmpty()) {
+        if (match.isEmpty()) {
             return false;
         }
 
+        Map<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> routes = match.mappings();
+
         // Associate the matched route with the Request object.
         request.setRoutes(routes.values().stream().flatMap(Collection::stream).toList());
 
@@ -326,8 +318,6 @@ public class WebHandler implements HttpHandler {
             response.print(Json.empty().set("error", "Could not process transformer: " + e.getMessage()));
         });
 
-        Map<String, Matcher> matchers = new HashMap<>();
-
         // Loop through all priorities
         try {
             for (ProcessPriority.Priority priority : routes.keySet()) {
@@ -336,27 +326,12 @@ public class WebHandler implements HttpHandler {
                         continue;
                     }
 
-                    Method method = mapping.method();
-
-                    Pattern validator = mapping.validator();
-                    Matcher matcher = matchers.computeIfAbsent(mapping.validator().pattern(), pattern -> {
-                        Matcher fresh = validator.matcher(url);
-
-                        if (!fresh.matches()) {
-                            respondWithError(response, 500, "There was an unexpected error while matching!");
-                        }
-
-                        return fresh;
-                    });
-                    transformerPerformer.setValidator(validator);
-
                     // Prepare the argument array to be passed to the API handler method.
-                    Object[] args = new Object[matcher.groupCount()];
+                    String[] parameters = match.getParameters(mapping);
+                    Object[] args = new Object[parameters.length + 1];
 
                     args[0] = exchange;
-                    for (int i = 2; i <= matcher.groupCount(); i++) {
-                        args[i - 1] = matcher.group(i);
-                    }
+                    System.arraycopy(parameters, 0, args, 1, parameters.length);
 
                     MiddlewareCallbackInfo callback = new MiddlewareCallbackInfo();
                     mapping.middlewares().forEach(middleware -> middleware.handle(callback, exchange));
@@ -365,28 +340,46 @@ public class WebHandler implements HttpHandler {
                     }
 
                     // Perform all transformers and continue if the transformers exit with an exception
-                    if (!transformerPerformer.perform(mapping.handler(), method, args)) {
+                    if (!transformerPerformer.perform(mapping, args)) {
                         continue;
                     }
 
-                    // Fixme: When byte arrays are returned parse into the right print method
+                    applyCompression(exchange.response(), mapping.compression());
 
-                    // Call the method of the route handler
-                    Object result = ReflectionUtils.invokeMethod(handler, method, args);
+                    // Call the method of the route handler and send its result with the encoder of the return type
+                    Object result = mapping.invoker().invoke(handler, args);
                     if (result != null) {
-                        exchange.response().print(result);
+                        mapping.returnEncoder().encode(exchange.response(), result);
                     }
                 }
             }
         } finally {
             // Clean up to free up memory
             transformerPerformer.clearCache();
-            matchers.clear();
         }
 
         return true;
     }
 
+    /**
+     * Applies the {@link Compression} settings of a route to the response, as long as its headers have
+     * not been sent by a route of a higher priority.
+     *
+     * @param response    The {@link Response} of the request.
+     * @param compression The {@link Compression} settings of the route, or {@code null} if there are none.
+     */
+    private void applyCompression(Response response, Compression compression) {
+        if (compression == null || response.headersSent()) return;
+
+        if (!compression.enabled()) {
+            StreamEncoder identity = craftsNet.getStreamEncoderRegistry().retrieveEncoder(IdentityStreamEncoder.class);
+            if (identity != null) response.setStreamEncoder(identity);
+            return;
+        }
+
+        response.setCompressionLevel(compression.level());
+    }
+
     /**
      * Handles share-specific requests by delegating to the appropriate share handler.
      *
@@ -425,13 +418,14 @@ public class WebHandler implements HttpHandler {
             return;
         }
         Path share = fileLoadedEvent.getPath().toAbsolutePath();
+        ShareFileCache.Metadata metadata = share.startsWith(folder) ? fileLoadedEvent.getMetadata() : null;
 
-        if (!share.startsWith(folder) || Files.isDirectory(share)) {
+        if (metadata == null || metadata.directory()) {
             response.setStatus(403);
             response.setContentType("text/html; charset=utf-8");
             response.print(DefaultPages.notallowed(domain, request.unsafe().getLocalAddress().getPort()));
             return;
-        } else if (Files.notExists(share)) {
+        } else if (!metadata.exists()) {
             response.setStatus(404);
             response.setContentType("text/html; charset=utf-8");
             response.print(DefaultPages.notfound(domain, request.unsafe().getLocalAddress().getPort()));
@@ -439,9 +433,63 @@ public class WebHandler implements HttpHandler {
         }
 
         response.setContentType(fileLoadedEvent.getContentType(), "text/plain");
+
+        // Ranges refer to the file itself, so range requests are always answered without an encoding
+        if (httpMethod == HttpMethod.GET && request.getHeader("Range") != null) {
+            StreamEncoder identity = craftsNet.getStreamEncoderRegistry().retrieveEncoder(IdentityStreamEncoder.class);
+            if (identity != null) response.setStreamEncoder(identity);
+        }
+
+        // Compressed responses consist of different bytes and therefore need their own entity tag
+        StreamEncoder encoder = response.getStreamEncoder();
+        String etag = metadata.etag(encoder != null && craftsNet.getCompressionPolicy()
+                .shouldCompress(response.getHeader("Content-Type"), metadata.size()) ? encoder.getEncodingName() : null);
+        response.setHeader("ETag", etag);
+        response.setHeader("Last-Modified", metadata.getHttpDate());
+
+        if ((httpMethod == HttpMethod.GET || httpMethod == HttpMethod.HEAD) && isNotModified(request, etag, metadata.lastModified())) {
+            response.setStatus(304);
+            return;
+        }
+
         response.print(share);
     }
 
+    /**
+     * Evaluates the conditional headers of a request against the current state of a shared file.
+     * As defined by RFC 9110, {@code If-Modified-Since} is only evaluated if the request does not
+     * contain {@code If-None-Match}.
+     *
+     * @param request      The {@link Request} containing the conditional headers.
+     * @param etag         The entity tag of the file.
+     * @param lastModified The modification time of the file in milliseconds.
+     * @return {@code true} if the client already holds the current file, {@code false} otherwise.
+     */
+    private static boolean isNotModified(Request request, String etag, long lastModified) {
+        String ifNoneMatch = request.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            // If-None-Match uses the weak comparison, so the weakness indicator is ignored
+            String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+            for (String candidate : ifNoneMatch.split(",")) {
+                candidate = candidate.trim();
+                if (candidate.equals("*")) return true;
+                if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+                if (candidate.equals(opaque)) return true;
+            }
+            return false;
+        }
+
+        String ifModifiedSince = request.getHeader("If-Modified-Since");
+        if (ifModifiedSince == null) return false;
+
+        try {
+            long since = ZonedDateTime.parse(ifModifiedSince.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toEpochSecond();
+            return lastModified / 1000 <= since;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+
     /**
      * Responds to the client with an error message.
      *
@@ -1,14 +1,17 @@
 package de.craftsblock.craftsnet.api.http;
 
-import com.sun.net.httpserver.HttpContext;
-import com.sun.net.httpserver.HttpServer;
-import com.sun.net.httpserver.HttpsConfigurator;
-import com.sun.net.httpserver.HttpsServer;
 import de.craftsblock.craftsnet.CraftsNet;
 import de.craftsblock.craftsnet.api.Server;
+import de.craftsblock.craftsnet.api.codec.registry.TypeEncoderRegistry;
 import de.craftsblock.craftsnet.api.http.annotations.Route;
+import de.craftsblock.craftsnet.api.http.codec.HttpSafeTypeEncoder;
+import de.craftsblock.craftsnet.api.http.transport.HttpEngine;
+import de.craftsblock.craftsnet.api.http.transport.HttpTransport;
 import de.craftsblock.craftsnet.api.ssl.SSL;
 import de.craftsblock.craftsnet.builder.ActivateType;
+import de.craftsblock.craftsnet.builder.CraftsNetBuilder;
+import de.craftsblock.craftsnet.utils.BoundedExecutor;
+import de.craftsblock.craftsnet.utils.VirtualThreads;
 
 import javax.net.ssl.SSLContext;
 import java.io.IOException;
@@ -18,9 +21,6 @@ import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * The WebServer class represents a simple HTTP or HTTPS server that listens for incoming requests and handles
@@ -36,9 +36,10 @@ import java.util.concurrent.ThreadPoolExecutor;
  */
 public class WebServer extends Server {
 
-    private final ThreadFactory threadFactory = Executors.defaultThreadFactory();
-    private final ThreadPoolExecutor executor;
-    private HttpServer server;
+    private final BoundedExecutor executor;
+    private final TypeEncoderRegistry<HttpSafeTypeEncoder<?, ?>> typeEncoderRegistry = new TypeEncoderRegistry<>();
+    private HttpTransport transport;
+    private boolean sslActive;
 
     /**
      * Constructs a {@link WebServer} with the specified port and SSL settings.
@@ -62,12 +63,16 @@ public class WebServer extends Server {
     public WebServer(CraftsNet craftsNet, int port, int backlog, boolean ssl) {
         super(craftsNet, port, backlog, ssl);
 
-        this.executor = (ThreadPoolExecutor) Executors.newCachedThreadPool(r -> {
-            Thread thread = threadFactory.newThread(r);
-            String oldName = thread.getName();
-            thread.setName("CraftsNet RequestHandler-" + oldName.substring(oldName.lastIndexOf('-') + 1));
-            return thread;
-        });
+        CraftsNetBuilder builder = craftsNet.getBuilder();
+        int threads = builder.getHttpWorkerThreads();
+        if (builder.shouldUseVirtualThreads() && VirtualThreads.isSupported())
+            threads = Math.max(threads, builder.getVirtualThreadConcurrency());
+
+        this.executor = new BoundedExecutor("CraftsNet RequestHandler-",
+                threads, builder.getHttpWorkerQueueCapacity(), builder.shouldUseVirtualThreads());
+
+        if (builder.shouldUseVirtualThreads() && !executor.isVirtual() && logger != null)
+            logger.warning("Virtual threads are not supported by this runtime, handling requests on platform threads!");
     }
 
     /**
@@ -90,45 +95,41 @@ public class WebServer extends Server {
         if (running) return;
 
         logger.info("Starting web server on port %s", port);
+        SSLContext sslContext = null;
         try {
-            // Create the HttpServer or HttpsServer based on the SSL flag.
-            if (ssl) {
-                // Load the SSL context using the provided SSL key files.
-                SSLContext sslContext = SSL.load(this.craftsNet);
-                if (sslContext != null) {
-                    // Configure the HttpsServer with the SSL context.
-                    HttpsServer httpsServer = HttpsServer.create(new InetSocketAddress(port), backlog);
-                    httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
-                    server = httpsServer;
-                }
-            }
+            // Load the SSL context using the provided SSL key files.
+            if (ssl) sslContext = SSL.load(this.craftsNet);
         } catch (UnrecoverableKeyException | KeyManagementException | KeyStoreException | NoSuchAlgorithmException | CertificateException |
                  IOException e) {
             logger.error(e);
-        } finally {
-            if (server == null) {
-                if (ssl)
-                    logger.warning("SSl was not activated properly, using an http server as fallback!");
-
-                try {
-                    server = HttpServer.create(new InetSocketAddress(port), backlog);
-                } catch (IOException e) {
-                    logger.error("Error while creating the %s http server.", ssl ? "fallback" : "");
-                    logger.error(e);
-                }
-            }
         }
 
-        // Create a context for the root path ("/") and set its handler to process incoming requests.
-        if (server == null) return;
+        if (ssl && sslContext == null)
+            logger.warning("SSl was not activated properly, using an http server as fallback!");
+
+        HttpEngine engine = craftsNet.getBuilder().getHttpEngine();
+        if (sslContext != null && !engine.supportsSSL()) {
+            logger.warning("The %s http engine does not support ssl, using the %s http engine as fallback!", engine, HttpEngine.JDK);
+            engine = HttpEngine.JDK;
+        }
+
+        this.sslActive = sslContext != null;
 
         logger.debug("Creating the API handler");
-        HttpContext context = server.createContext("/");
-        context.setHandler(new WebHandler(this.craftsNet));
+        WebHandler handler = new WebHandler(this.craftsNet);
 
-        logger.debug("Setting up the executor and starting the web server");
-        server.setExecutor(executor);
-        server.start();
+        logger.debug("Setting up the executor and starting the web server using the %s http engine", engine);
+        HttpTransport transport = engine.createTransport(this.craftsNet);
+        try {
+            transport.start(new InetSocketAddress(port), backlog, sslContext, handler, executor);
+        } catch (IOException e) {
+            logger.error("Error while creating the http server.");
+            logger.error(e);
+            this.sslActive = false;
+            return;
+        }
+
+        this.transport = transport;
         super.start();
         logger.debug("Web server has been started");
     }
@@ -140,10 +141,11 @@ public class WebServer extends Server {
     public synchronized void stop() {
         if (!running) return;
         logger.debug("Web server will be stopped");
-        server.stop(0);
+        transport.stop();
         super.stop();
 
-        server = null;
+        transport = null;
+        sslActive = false;
     }
 
     /**
@@ -185,7 +187,29 @@ public class WebServer extends Server {
      */
     @Override
     public boolean isSSL() {
-        return this.server instanceof HttpsServer;
+        return this.sslActive;
+    }
+
+    /**
+     * Retrieves the executor on which the requests are handled, which also provides the pool and queue
+     * metrics of the web server.
+     *
+     * @return The request executor.
+     * @since 3.7.3
+     */
+    public BoundedExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Retrieves the {@link TypeEncoderRegistry} instance managing
+     * the registration and lookup of {@link HttpSafeTypeEncoder} codecs.
+     *
+     * @return the {@link TypeEncoderRegistry} for {@link HttpSafeTypeEncoder} instances
+     * @since 3.7.3
+     */
+    public TypeEncoderRegistry<HttpSafeTypeEncoder<?, ?>> getTypeEncoderRegistry() {
+        return typeEncoderRegistry;
     }
 
     /**
@@ -0,0 +1,35 @@
+package de.craftsblock.craftsnet.api.http.annotations;
+
+import java.lang.annotation.*;
+
+/**
+ * Configures the compression of the responses sent by a route. Annotations on a method take precedence
+ * over annotations on the handler class.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see de.craftsblock.craftsnet.api.http.encoding.CompressionPolicy
+ * @since 3.7.3
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface Compression {
+
+    /**
+     * Defines the compression level from {@code 0} to {@code 9}. By default, the level of the
+     * negotiated encoder is used.
+     *
+     * @return The compression level, or {@code -1} for the default level.
+     */
+    int level() default -1;
+
+    /**
+     * Defines whether the responses are compressed at all. Disabling the compression is useful for
+     * routes sending data which is already compressed or which has to reach the client immediately.
+     *
+     * @return {@code true} if the responses may be compressed, {@code false} otherwise.
+     */
+    boolean enabled() default true;
+
+}
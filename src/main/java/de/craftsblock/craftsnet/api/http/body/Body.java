@@ -8,8 +8,6 @@ import de.craftsblock.craftsnet.api.http.body.bodies.StandardFormBody;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -29,8 +27,6 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public abstract class Body implements AutoCloseable {
 
-    private static final ConcurrentHashMap<Request, ConcurrentHashMap<Class<? extends Body>, Body>> bodies = new ConcurrentHashMap<>();
-
     private final Request request;
 
     private boolean closed = false;
@@ -42,7 +38,7 @@ public abstract class Body implements AutoCloseable {
      */
     public Body(Request request) {
         this.request = request;
-        bodies.computeIfAbsent(request, b -> new ConcurrentHashMap<>()).put(getClass(), this);
+        request.getBodySlots().put(this);
     }
 
     /**
@@ -57,6 +53,16 @@ public abstract class Body implements AutoCloseable {
         return this.request.getContentType().replace("\"", "");
     }
 
+    /**
+     * Retrieves the request this body belongs to.
+     *
+     * @return The request.
+     * @since 3.7.3
+     */
+    protected Request getRequest() {
+        return request;
+    }
+
     /**
      * Closes the request body.
      */
@@ -137,16 +143,12 @@ public abstract class Body implements AutoCloseable {
      */
     public final boolean isBodyFromType(Class<? extends Body> type) {
         if (closed) throw new IllegalStateException("Can not check the body type as it is already closed!");
-        if (bodies.getOrDefault(this.request, new ConcurrentHashMap<>()).containsKey(type)) return true;
-
-        // Check if a body parser exists which could parse to the expected type.
-        BodyRegistry registry = this.request.getCraftsNet().getBodyRegistry();
-        if (!registry.isParserPresent(type)) return false;
-        return registry.getParser(type).isParseable(getRawContentType().split(";")[0]);
+        return this.request.getBodySlots().isParseable(type);
     }
 
     /**
      * Returns this object as a specific type of request body if the body is an instance of the specific request body.
+     * The body is parsed to the type on the first access only, later calls return the same instance.
      * <p><b>Important:</b> As it is only a preview it may change in a future release.</p>
      *
      * @param type The type which the current request body should be cast to.
@@ -155,19 +157,7 @@ public abstract class Body implements AutoCloseable {
      */
     public final <T extends Body> @Nullable T getAsType(Class<T> type) {
         if (closed) throw new IllegalStateException("Can not cast the body as it is already closed!");
-        ConcurrentHashMap<Class<? extends Body>, Body> bodies = Body.bodies.getOrDefault(this.request, new ConcurrentHashMap<>());
-        if (isBodyFromType(type) && bodies.containsKey(type)) return type.cast(bodies.get(type));
-
-        try {
-            // Try to parse the body to the wanted type if it's not present
-            BodyRegistry registry = this.request.getCraftsNet().getBodyRegistry();
-            if (!registry.isParserPresent(type)) return null;
-            try (InputStream stream = this.request.getRawBody()) {
-                return this.request.getCraftsNet().getBodyRegistry().getParser(type).parse(this.request, stream);
-            }
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        return this.request.getBodySlots().get(type);
     }
 
     /**
@@ -177,7 +167,8 @@ public abstract class Body implements AutoCloseable {
      * @return The set containing all body types as classes.
      */
     public final Set<Class<? extends Body>> getBodyTypes() {
-        return getBodies().keySet();
+        if (closed) throw new IllegalStateException("Can not access the bodies as they are already closed!");
+        return this.request.getBodySlots().types();
     }
 
     /**
@@ -186,10 +177,16 @@ public abstract class Body implements AutoCloseable {
      * <p><b>Important:</b> As it is only a preview it may change in a future release.</p>
      *
      * @return The {@link ConcurrentHashMap} containing all parsed bodies.
+     * @deprecated The bodies are kept per request now, so the map is only a copy. Use {@link #getBodyTypes()}
+     * and {@link #getAsType(Class)} instead.
      */
+    @Deprecated(since = "3.7.3", forRemoval = true)
+    @ApiStatus.ScheduledForRemoval(inVersion = "3.8.0")
     public final ConcurrentHashMap<Class<? extends Body>, Body> getBodies() {
-        if (closed) throw new IllegalStateException("Can not access the bodies as they are already closed!");
-        return bodies.get(this.request);
+        BodySlots slots = this.request.getBodySlots();
+        ConcurrentHashMap<Class<? extends Body>, Body> bodies = new ConcurrentHashMap<>();
+        getBodyTypes().forEach(type -> bodies.put(type, slots.peek(type)));
+        return bodies;
     }
 
     /**
@@ -200,8 +197,7 @@ public abstract class Body implements AutoCloseable {
      */
     @ApiStatus.Internal
     public static void cleanUp(Request request) {
-        if (!bodies.containsKey(request)) return;
-        bodies.remove(request).values().forEach(Body::close);
+        request.getBodySlots().close();
     }
 
 }
@@ -0,0 +1,354 @@
+package de.craftsblock.craftsnet.api.http.body;
+
+import de.craftsblock.craftsnet.utils.BufferPool;
+import de.craftsblock.craftsnet.utils.FileHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds the received bytes of a request body. Bodies up to a configurable threshold are kept in
+ * pooled heap buffers, only larger bodies are spilled to a temporary file. Every call to
+ * {@link #openStream()} reads directly from the backing store in use, so the body is never copied
+ * as a whole.
+ * <p>
+ * The pooled buffers are only returned to the pool once the body buffer and every stream opened on
+ * it have been closed, so a stream which outlives its request can never read the body of another one.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see de.craftsblock.craftsnet.builder.CraftsNetBuilder#withBodyMemoryThreshold(int)
+ * @since 3.7.3
+ */
+public final class BodyBuffer implements AutoCloseable {
+
+    /**
+     * The size of the pooled buffers the body is stored in while it is kept in memory.
+     */
+    public static final int CHUNK_SIZE = 8 * 1024;
+
+    private static final BufferPool POOL = new BufferPool(CHUNK_SIZE, 512);
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    // The body buffer itself and every open in-memory stream hold a reference to the chunks
+    private final AtomicInteger references = new AtomicInteger(1);
+    private Path file;
+    private long length;
+    private volatile boolean closed;
+
+    /**
+     * Private constructor, use {@link #read(InputStream, int, FileHelper)} instead.
+     */
+    private BodyBuffer() {
+    }
+
+    /**
+     * Reads a body completely from a stream. The bytes are kept in memory as long as they do not
+     * exceed the threshold, otherwise all bytes are moved to a temporary file.
+     *
+     * @param input      The stream the body is read from.
+     * @param threshold  The maximum amount of bytes kept in memory, {@code 0} to always use a temporary file.
+     * @param fileHelper The {@link FileHelper} used to create the temporary file.
+     * @return The buffered body.
+     * @throws IOException If an I/O error occurs while reading the body or writing the temporary file.
+     */
+    public static @NotNull BodyBuffer read(@NotNull InputStream input, int threshold, @NotNull FileHelper fileHelper) throws IOException {
+        BodyBuffer buffer = new BodyBuffer();
+        try {
+            buffer.fill(input, threshold, fileHelper);
+            return buffer;
+        } catch (IOException | RuntimeException e) {
+            buffer.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the stream into pooled chunks until either the stream ends or the threshold is exceeded.
+     *
+     * @param input      The stream the body is read from.
+     * @param threshold  The maximum amount of bytes kept in memory.
+     * @param fileHelper The {@link FileHelper} used to create the temporary file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void fill(InputStream input, int threshold, FileHelper fileHelper) throws IOException {
+        while (length <= threshold) {
+            ByteBuffer chunk = POOL.acquire();
+            chunks.add(chunk);
+
+            int read;
+            while (chunk.hasRemaining() && (read = input.read(chunk.array(), chunk.position(), chunk.remaining())) != -1) {
+                chunk.position(chunk.position() + read);
+                length += read;
+            }
+
+            chunk.flip();
+            if (chunk.limit() < chunk.capacity()) {
+                // The stream has ended, as the chunk could not be filled
+                if (length <= threshold) return;
+                break;
+            }
+        }
+
+        spill(input, fileHelper);
+    }
+
+    /**
+     * Moves the bytes received so far and the rest of the stream to a temporary file.
+     *
+     * @param input      The stream the rest of the body is read from.
+     * @param fileHelper The {@link FileHelper} used to create the temporary file.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void spill(InputStream input, FileHelper fileHelper) throws IOException {
+        file = fileHelper.createTempFile("craftsnet_", ".body");
+        file.toFile().deleteOnExit();
+
+        try (OutputStream output = Files.newOutputStream(file)) {
+            for (ByteBuffer chunk : chunks)
+                output.write(chunk.array(), 0, chunk.limit());
+
+            ByteBuffer chunk = chunks.get(chunks.size() - 1);
+            byte[] buffer = chunk.array();
+
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+                length += read;
+            }
+        } finally {
+            releaseChunks();
+        }
+    }
+
+    /**
+     * Opens a new stream which reads the body from the start.
+     *
+     * @return The stream.
+     * @throws FileNotFoundException If the temporary file of a spilled body no longer exists.
+     */
+    public @NotNull InputStream openStream() throws FileNotFoundException {
+        if (closed) throw new IllegalStateException("The body buffer has already been closed!");
+        if (file != null) return new FileInputStream(file.toFile());
+
+        int current;
+        do {
+            current = references.get();
+            if (current <= 0) throw new IllegalStateException("The body buffer has already been closed!");
+        } while (!references.compareAndSet(current, current + 1));
+
+        return new ChunkInputStream(chunks.toArray(ByteBuffer[]::new));
+    }
+
+    /**
+     * Retrieves the length of the body.
+     *
+     * @return The length in bytes.
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * Checks whether the body is kept in memory.
+     *
+     * @return {@code true} if the body is kept in memory, {@code false} if it was spilled to a temporary file.
+     */
+    public boolean isInMemory() {
+        return file == null;
+    }
+
+    /**
+     * Retrieves the temporary file a large body was spilled to.
+     *
+     * @return The temporary file, or {@code null} if the body is kept in memory.
+     */
+    public @Nullable File getFile() {
+        return file != null ? file.toFile() : null;
+    }
+
+    /**
+     * Deletes the temporary file and returns the pooled buffers, as soon as all streams opened on them
+     * have been closed as well. Streams which are still open can be read until they are closed.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        release();
+        if (file != null)
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+            }
+    }
+
+    /**
+     * Drops a reference to the chunks and returns them to the pool once the last reference is gone.
+     */
+    private void release() {
+        if (references.decrementAndGet() == 0) releaseChunks();
+    }
+
+    /**
+     * Returns all chunks to the pool.
+     */
+    private void releaseChunks() {
+        chunks.forEach(POOL::release);
+        chunks.clear();
+    }
+
+    /**
+     * An {@link InputStream} which reads directly from the chunks of an in-memory body. It holds a
+     * reference to the chunks until it is closed.
+     *
+     * @since 3.7.3
+     */
+    private final class ChunkInputStream extends InputStream {
+
+        private ByteBuffer[] chunks;
+        private int index;
+        private int position;
+
+        /**
+         * Constructs a new {@link ChunkInputStream}.
+         *
+         * @param chunks The chunks of the body, limited to their content.
+         */
+        private ChunkInputStream(ByteBuffer[] chunks) {
+            this.chunks = chunks;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            ensureOpen();
+            if (!advance()) return -1;
+            return chunks[index].array()[position++] & 0xFF;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param bytes  {@inheritDoc}
+         * @param offset {@inheritDoc}
+         * @param length {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public int read(byte @NotNull [] bytes, int offset, int length) throws IOException {
+            ensureOpen();
+            if (length == 0) return 0;
+            if (!advance()) return -1;
+
+            int count = Math.min(length, chunks[index].limit() - position);
+            System.arraycopy(chunks[index].array(), position, bytes, offset, count);
+            position += count;
+            return count;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param count {@inheritDoc}
+         * @return {@inheritDoc}
+         */
+        @Override
+        public long skip(long count) throws IOException {
+            ensureOpen();
+            long skipped = 0;
+            while (skipped < count && advance()) {
+                int step = (int) Math.min(count - skipped, chunks[index].limit() - position);
+                position += step;
+                skipped += step;
+            }
+            return skipped;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@inheritDoc}
+         */
+        @Override
+        public int available() throws IOException {
+            ensureOpen();
+            long available = 0;
+            for (int i = index; i < chunks.length; i++)
+                available += chunks[i].limit() - (i == index ? position : 0);
+            return (int) Math.min(Integer.MAX_VALUE, available);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param out {@inheritDoc}
+         * @return {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            ensureOpen();
+            long transferred = 0;
+            while (advance()) {
+                int count = chunks[index].limit() - position;
+                out.write(chunks[index].array(), position, count);
+                position += count;
+                transferred += count;
+            }
+            return transferred;
+        }
+
+        /**
+         * Closes the stream and drops its reference to the chunks.
+         */
+        @Override
+        public void close() {
+            if (chunks == null) return;
+
+            chunks = null;
+            release();
+        }
+
+        /**
+         * Makes sure the stream has not been closed yet.
+         *
+         * @throws IOException If the stream has been closed.
+         */
+        private void ensureOpen() throws IOException {
+            if (chunks == null) throw new IOException("Stream closed");
+        }
+
+        /**
+         * Moves to the next chunk if the current one has been read completely.
+         *
+         * @return {@code true} if there are bytes left, {@code false} otherwise.
+         */
+        private boolean advance() {
+            while (index < chunks.length && position >= chunks[index].limit()) {
+                index++;
+                position = 0;
+            }
+            return index < chunks.length;
+        }
+
+    }
+
+}
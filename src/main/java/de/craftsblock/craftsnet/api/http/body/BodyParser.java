@@ -6,7 +6,10 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 /**
@@ -23,10 +26,17 @@ import java.util.regex.Pattern;
  */
 public abstract class BodyParser<T extends Body> {
 
+    private static final Pattern REGEX_CHARACTERS = Pattern.compile("[\\\\\\[\\](){}*?^$|]");
+
     private final List<String> contentTypes;
+    private final Set<String> exactTypes = new HashSet<>();
+    private final Pattern[] patterns;
+    private final boolean acceptsAll;
 
     /**
-     * Constructs a new BodyParser with the given content types.
+     * Constructs a new BodyParser with the given content types. The content types are indexed once,
+     * so plain media types are resolved with a single lookup and only content types containing regex
+     * syntax are matched as patterns.
      *
      * @param contentType  The primary content type supported by this parser.
      * @param contentTypes Additional content types supported by this parser.
@@ -36,7 +46,15 @@ public abstract class BodyParser<T extends Body> {
         types.add(contentType);
         types.addAll(List.of(contentTypes));
 
-        this.contentTypes = types;
+        this.contentTypes = List.copyOf(types);
+
+        List<Pattern> patterns = new ArrayList<>();
+        for (String type : this.contentTypes) {
+            exactTypes.add(type.toLowerCase(Locale.ROOT));
+            if (REGEX_CHARACTERS.matcher(type).find() || type.contains(".+")) patterns.add(Pattern.compile(type, Pattern.CASE_INSENSITIVE));
+        }
+        this.patterns = patterns.toArray(Pattern[]::new);
+        this.acceptsAll = this.contentTypes.contains(".*");
     }
 
     /**
@@ -58,13 +76,18 @@ public abstract class BodyParser<T extends Body> {
     }
 
     /**
-     * Checks if this parser can parse the given content type.
+     * Checks if this parser can parse the given content type. The content type is expected to be a
+     * media type without parameters.
      *
      * @param contentType The content type to check.
      * @return true if the parser supports the given content type, false otherwise.
      */
     public boolean isParseable(String contentType) {
-        return this.contentTypes.parallelStream().anyMatch(contentType::matches);
+        if (acceptsAll || exactTypes.contains(contentType) || exactTypes.contains(contentType.toLowerCase(Locale.ROOT))) return true;
+
+        for (Pattern pattern : patterns)
+            if (pattern.matcher(contentType).matches()) return true;
+        return false;
     }
 
 }
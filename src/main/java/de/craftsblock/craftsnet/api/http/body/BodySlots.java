@@ -0,0 +1,250 @@
+package de.craftsblock.craftsnet.api.http.body;
+
+import de.craftsblock.craftsnet.api.http.Request;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small table holding the bodies parsed for a single request. Each body type occupies one slot,
+ * which remembers whether the content type of the request can be parsed to the type and the
+ * parsed body itself, so every type is checked and parsed at most once per request.
+ * <p>
+ * The table is owned by its request and released together with it, which keeps body lookups
+ * away from any state shared between requests.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see Body
+ * @see BodyParser
+ * @since 3.7.3
+ */
+@ApiStatus.Internal
+public final class BodySlots implements AutoCloseable {
+
+    private static final byte UNKNOWN = 0;
+    private static final byte PARSEABLE = 1;
+    private static final byte NOT_PARSEABLE = 2;
+
+    private final Request request;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile Slot[] slots = new Slot[0];
+    private String mediaType;
+    private boolean closed;
+
+    /**
+     * Constructs a new {@link BodySlots} table for a request.
+     *
+     * @param request The request owning the table.
+     */
+    public BodySlots(@NotNull Request request) {
+        this.request = request;
+    }
+
+    /**
+     * Checks whether the body of the request can be represented as a specific body type. The
+     * decision is based on the content type of the request and remembered for later checks.
+     *
+     * @param type The body type.
+     * @return {@code true} if a body of the type was parsed or a parser accepts the content type, {@code false} otherwise.
+     */
+    public boolean isParseable(@NotNull Class<? extends Body> type) {
+        Slot slot = find(type);
+        if (slot != null) {
+            if (slot.body != null) return true;
+            if (slot.state != UNKNOWN) return slot.state == PARSEABLE;
+        }
+
+        BodyParser<?> parser = request.getCraftsNet().getBodyRegistry().getParser(type);
+        boolean parseable = parser != null && parser.isParseable(getMediaType());
+
+        lock.lock();
+        try {
+            slot = slot(type);
+            if (slot.state == UNKNOWN) slot.state = parseable ? PARSEABLE : NOT_PARSEABLE;
+        } finally {
+            lock.unlock();
+        }
+
+        return parseable;
+    }
+
+    /**
+     * Retrieves the body of a specific type, parsing it on the first access. The parse result is
+     * kept in the slot of the type, including a failed parse, so the body is never parsed twice.
+     *
+     * @param type The body type.
+     * @param <T>  The body type.
+     * @return The body, or {@code null} if no parser is registered for the type or the body could not be parsed.
+     */
+    public <T extends Body> @Nullable T get(@NotNull Class<T> type) {
+        Slot slot = find(type);
+        if (slot != null && (slot.body != null || slot.parsed)) return type.cast(slot.body);
+
+        BodyParser<T> parser = request.getCraftsNet().getBodyRegistry().getParser(type);
+        if (parser == null) return null;
+
+        lock.lock();
+        try {
+            slot = slot(type);
+            if (slot.body != null || slot.parsed) return type.cast(slot.body);
+            if (closed) throw new IllegalStateException("Can not parse the body as the request is already closed!");
+
+            slot.parsed = true;
+            try (InputStream stream = request.getRawBody()) {
+                T body = parser.parse(request, stream);
+                if (body != null) slot.body = body;
+                return body;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores a body in the slot of its type. Called by every {@link Body} once it is constructed.
+     *
+     * @param body The body.
+     */
+    void put(@NotNull Body body) {
+        lock.lock();
+        try {
+            Slot slot = slot(body.getClass());
+            slot.body = body;
+            slot.parsed = true;
+            slot.state = PARSEABLE;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the body stored for a specific type without parsing it.
+     *
+     * @param type The body type.
+     * @return The body, or {@code null} if none is stored.
+     */
+    public @Nullable Body peek(@NotNull Class<? extends Body> type) {
+        Slot slot = find(type);
+        return slot != null ? slot.body : null;
+    }
+
+    /**
+     * Retrieves the types of all bodies which have been parsed for the request.
+     *
+     * @return An unmodifiable set of the body types.
+     */
+    public @NotNull Set<Class<? extends Body>> types() {
+        Set<Class<? extends Body>> types = new LinkedHashSet<>();
+        for (Slot slot : slots)
+            if (slot.body != null) types.add(slot.type);
+        return Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * Retrieves the media type of the request, which is its content type without parameters and in
+     * lower case. It is computed once per request.
+     *
+     * @return The media type, or an empty string if the request does not specify a content type.
+     */
+    public @NotNull String getMediaType() {
+        String mediaType = this.mediaType;
+        if (mediaType != null) return mediaType;
+
+        String contentType = request.getContentType();
+        if (contentType == null) mediaType = "";
+        else {
+            int end = contentType.indexOf(';');
+            mediaType = (end >= 0 ? contentType.substring(0, end) : contentType).replace("\"", "").trim().toLowerCase(Locale.ROOT);
+        }
+
+        return this.mediaType = mediaType;
+    }
+
+    /**
+     * Closes all bodies stored in the table and clears it.
+     */
+    @Override
+    public void close() {
+        Slot[] slots;
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+
+            slots = this.slots;
+            this.slots = new Slot[0];
+        } finally {
+            lock.unlock();
+        }
+
+        for (Slot slot : slots)
+            if (slot.body != null) slot.body.close();
+    }
+
+    /**
+     * Searches the slot of a type without locking.
+     *
+     * @param type The body type.
+     * @return The slot, or {@code null} if the type has no slot yet.
+     */
+    private Slot find(Class<?> type) {
+        for (Slot slot : slots)
+            if (slot.type == type) return slot;
+        return null;
+    }
+
+    /**
+     * Retrieves the slot of a type and appends a new one if needed. Must be called while holding the lock.
+     *
+     * @param type The body type.
+     * @return The slot.
+     */
+    @SuppressWarnings("unchecked")
+    private Slot slot(Class<?> type) {
+        Slot slot = find(type);
+        if (slot != null) return slot;
+
+        slot = new Slot((Class<? extends Body>) type);
+        Slot[] slots = Arrays.copyOf(this.slots, this.slots.length + 1);
+        slots[slots.length - 1] = slot;
+        this.slots = slots;
+        return slot;
+    }
+
+    /**
+     * A single slot of the table.
+     *
+     * @since 3.7.3
+     */
+    private static final class Slot {
+
+        private final Class<? extends Body> type;
+        private volatile Body body;
+        private volatile byte state = UNKNOWN;
+        private volatile boolean parsed;
+
+        /**
+         * Constructs a new {@link Slot}.
+         *
+         * @param type The body type of the slot.
+         */
+        private Slot(Class<? extends Body> type) {
+            this.type = type;
+        }
+
+    }
+
+}
@@ -1,19 +1,21 @@
 package de.craftsblock.craftsnet.api.http.body.bodies;
 
 import de.craftsblock.craftsnet.api.http.Request;
+import de.craftsblock.craftsnet.api.http.status.HttpStatus;
+import de.craftsblock.craftsnet.api.http.status.HttpStatusException;
+import de.craftsblock.craftsnet.builder.CraftsNetBuilder;
 import org.apache.tika.mime.MimeTypeException;
 import org.apache.tika.mime.MimeTypes;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.regex.Matcher;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
 import java.util.regex.Pattern;
 
 /**
@@ -28,6 +30,11 @@ import java.util.regex.Pattern;
  */
 public final class MultipartFormBody extends FormBody<MultipartFormBody.MultipartData> {
 
+    private static final Pattern NAME_SANITIZER = Pattern.compile("[^a-zA-Z0-9-_:&;]");
+    private static final int BUFFER_SIZE = 32 * 1024;
+    private static final int SNIFF_LENGTH = Math.min(MimeTypes.getDefaultMimeTypes().getMinLength(), 64 * 1024);
+
+    private final Request request;
     private final String boundary;
 
     /**
@@ -41,111 +48,102 @@ public final class MultipartFormBody extends FormBody<MultipartFormBody.Multipar
      */
     public MultipartFormBody(Request request, String boundary, InputStream body) throws IOException {
         super(request, body);
+        this.request = request;
         this.boundary = "--" + boundary;
         deserialize();
     }
 
     /**
      * Deserializes the multipart form body, parsing it into individual parts and storing them in the data map.
-     * This method reads the input stream and processes multipart form data, which consists of multiple parts
-     * separated by a boundary. It extracts the name, content type, and data of each part and stores them in
-     * the data map.
+     * The body is read as a stream with a fixed size buffer. Each part is passed to a sink as it arrives,
+     * which keeps small fields in memory and writes file parts as well as oversized fields to temporary
+     * files, so the body is never held in memory as a whole.
      *
      * @throws IOException If an I/O error occurs while reading the input stream.
      */
     @Override
     protected void deserialize() throws IOException {
-        AtomicReference<String> name = new AtomicReference<>(); // AtomicReference to store the name of the current form field or file
-        List<byte[]> values = new ArrayList<>(); // List to temporarily store the byte data of each part
-        AtomicReference<String> contentType = new AtomicReference<>(); // AtomicReference to store the content type of the current part
-        AtomicBoolean readHeader = new AtomicBoolean(true); // AtomicBoolean to track whether we are reading the header of a part
-        List<byte[]> lines = splitBy(body.readAllBytes(), '\n'); // Read the entire body and split it into lines based on newline characters
-        ConcurrentHashMap<String, ConcurrentLinkedQueue<MultipartItem>> storage = new ConcurrentHashMap<>(); // ConcurrentHashMap to store multipart items with the same name
-
-        for (byte[] line : lines) {
-            String stringified = new String(line, StandardCharsets.UTF_8);
-
-            // Check if a new part starts with the boundary
-            if (stringified.toLowerCase().startsWith(boundary.toLowerCase())) {
-                if (!values.isEmpty()) {
-                    // Create a new MultipartItem and add it to the storage
-                    storage.computeIfAbsent(name.get(), s -> new ConcurrentLinkedQueue<>())
-                            .add(new MultipartItem(List.copyOf(values), contentType.get()));
+        CraftsNetBuilder builder = request.getCraftsNet().getBuilder();
+        int memoryThreshold = builder.getMultipartMemoryThreshold();
+        long maxPartSize = builder.getMultipartMaxPartSize();
+
+        Map<String, List<MultipartItem>> storage = new LinkedHashMap<>();
+        MultipartStreamParser parser = new MultipartStreamParser(body, boundary.substring(2), BUFFER_SIZE);
+
+        try {
+            String headers;
+            while ((headers = parser.nextPart()) != null) {
+                String name = null, fileName = null, contentType = null;
+                for (String header : headers.split("\r\n")) {
+                    int colon = header.indexOf(':');
+                    if (colon <= 0) continue;
+
+                    String key = header.substring(0, colon).trim();
+                    String value = header.substring(colon + 1).trim();
+                    if (key.equalsIgnoreCase("Content-Type")) contentType = value;
+                    else if (key.equalsIgnoreCase("Content-Disposition")) {
+                        String rawName = dispositionParameter(value, "name");
+                        if (rawName != null) name = NAME_SANITIZER.matcher(rawName).replaceAll("");
+                        fileName = dispositionParameter(value, "filename");
+                    }
                 }
 
-                // Reset temporary variables
-                name.set(null);
-                values.clear();
-                contentType.set(null);
-                readHeader.set(true);
-                continue;
-            }
+                PartSink sink = new PartSink(contentType, fileName != null || contentType != null ? 0 : memoryThreshold, maxPartSize);
+                try {
+                    parser.readPart(sink);
+                    sink.close();
+                } catch (IOException | RuntimeException e) {
+                    sink.discard();
+                    throw e;
+                }
 
-            // Typically a blank line symbolizes that the header is over.
-            // So when we detect a blank line we can stop parsing the headers.
-            if (stringified.isBlank() && readHeader.get()) {
-                readHeader.set(false);
-                continue;
-            }
+                MultipartItem item = sink.toItem(fileName);
+                if (name == null) {
+                    item.delete();
+                    continue;
+                }
 
-            if (readHeader.get()) {
-                // Parse the header to extract the field or file name and content type
-                if (stringified.startsWith("Content-Disposition:")) {
-                    String[] disposition = stringified.split("; ");
-                    if (disposition.length < 2) continue;
-                    String inputName = disposition[1].split("=")[1];
-
-                    Pattern pattern = Pattern.compile("[^a-zA-Z0-9-_:&;]");
-                    Matcher matcher = pattern.matcher(inputName);
-
-                    name.set(matcher.replaceAll(""));
-                } else if (stringified.startsWith("Content-Type:")) contentType.set(stringified.substring(14));
-            } else if (name.get() != null)
-                // Add the line to the values list, which contains the data for the current part
-                values.add(line);
+                storage.computeIfAbsent(name, s -> new ArrayList<>()).add(item);
+            }
+        } catch (IOException | RuntimeException e) {
+            storage.values().forEach(items -> items.forEach(MultipartItem::delete));
+            throw e;
+        } finally {
+            body.close();
         }
 
         // Populate the data map with the multipart items
-        for (Map.Entry<String, ConcurrentLinkedQueue<MultipartItem>> item : storage.entrySet())
-            data.computeIfAbsent(
-                    item.getKey(),
-                    s -> new MultipartData(item.getKey(), List.copyOf(item.getValue()))
-            );
-        storage.clear();
-        body.close();
+        storage.forEach((name, items) -> data.put(name, new MultipartData(name, List.copyOf(items))));
     }
 
     /**
-     * Splits a byte array into multiple subarrays based on a separator byte.
+     * Extracts a parameter from the value of a {@code Content-Disposition} header.
      *
-     * @param bytes     The byte array to split.
-     * @param separator The byte used as the separator to split the array.
-     * @return A list of byte arrays, each containing a segment of the original array separated by the given byte.
+     * @param disposition The value of the header.
+     * @param parameter   The name of the parameter.
+     * @return The value of the parameter without quotes, or {@code null} if it is not present.
      */
-    private List<byte[]> splitBy(byte[] bytes, char separator) {
-        List<byte[]> byteList = new ArrayList<>(); // Create a list to store the resulting byte arrays
-        int startIndex = 0; // Initialize the start index for subarray extraction
-
-        // Loop through the input byte array
-        for (int i = 0; i < bytes.length; i++)
-            // Check if the current byte is the separator
-            if (bytes[i] == separator) {
-                int length = i - startIndex + 1; // Calculate the length of the subarray
-                byte[] subArray = new byte[length]; // Create a new byte array to hold the subarray
-                System.arraycopy(bytes, startIndex, subArray, 0, length); // Copy the segment between startIndex and i (inclusive) into the subarray
-                byteList.add(subArray); // Add the subarray to the result list
-                startIndex = i + 1; // Update the start index for the next subarray
-            }
-
-        // If there's any remaining data after the last separator, add it as the last subarray
-        if (startIndex < bytes.length) {
-            int length = bytes.length - startIndex; // Calculate the length of the remaining data
-            byte[] subArray = new byte[length]; // Create a new byte array to hold the remaining data
-            System.arraycopy(bytes, startIndex, subArray, 0, length); // Copy the remaining data into the subarray
-            byteList.add(subArray); // Add the subarray to the result list
+    private static String dispositionParameter(String disposition, String parameter) {
+        for (String part : disposition.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals <= 0 || !part.substring(0, equals).trim().equalsIgnoreCase(parameter)) continue;
+
+            String value = part.substring(equals + 1).trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\""))
+                value = value.substring(1, value.length() - 1);
+            return value;
         }
 
-        return byteList; // Return the list of split byte arrays
+        return null;
+    }
+
+    /**
+     * Closes the multipart form body and deletes the temporary files of its parts.
+     */
+    @Override
+    public void close() {
+        data.values().forEach(field -> field.items().forEach(MultipartItem::delete));
+        super.close();
     }
 
     /**
@@ -222,14 +220,87 @@ public final class MultipartFormBody extends FormBody<MultipartFormBody.Multipar
 
     /**
      * The {@code MultipartItem} class represents an individual part of the multipart data, which
-     * can be a file or a form field.
+     * can be a file or a form field. The payload is either kept in memory or, for files and large
+     * fields, in a temporary file which is deleted once the body is closed.
      *
+     * @param contentType The content type of the part, or {@code null} for plain fields.
+     * @param fileName    The file name sent by the client, or {@code null} if none was sent.
+     * @param size        The size of the payload in bytes.
+     * @param bytes       The payload if it is kept in memory, {@code null} otherwise.
+     * @param file        The temporary file holding the payload, {@code null} if it is kept in memory.
+     * @param head        The first bytes of the payload, which are used for content type sniffing.
      * @author CraftsBlock
      * @see MultipartFormBody
      * @see MultipartData
      * @since 2.2.0
      */
-    public record MultipartItem(List<byte[]> data, String contentType) {
+    public record MultipartItem(@Nullable String contentType, @Nullable String fileName, long size,
+                                byte @Nullable [] bytes, @Nullable Path file, byte @NotNull [] head) {
+
+        /**
+         * Constructs a new in-memory {@link MultipartItem} from lines of data.
+         *
+         * @param data        The lines of data.
+         * @param contentType The content type of the part.
+         * @deprecated Parts are no longer split into lines, use the canonical constructor instead.
+         */
+        @Deprecated(since = "3.7.3", forRemoval = true)
+        @ApiStatus.ScheduledForRemoval(inVersion = "3.8.0")
+        public MultipartItem(List<byte[]> data, String contentType) {
+            this(contentType, null, concat(data));
+        }
+
+        /**
+         * Constructs a new in-memory {@link MultipartItem}.
+         *
+         * @param contentType The content type of the part.
+         * @param fileName    The file name sent by the client.
+         * @param bytes       The payload.
+         */
+        private MultipartItem(String contentType, String fileName, byte[] bytes) {
+            this(contentType, fileName, bytes.length, bytes, null, bytes);
+        }
+
+        /**
+         * Returns the data of the multipart item.
+         *
+         * @return A list containing the whole payload as a single element.
+         * @deprecated Parts are no longer split into lines, use {@link #getAsBytes()} or {@link #getInputStream()} instead.
+         */
+        @Deprecated(since = "3.7.3", forRemoval = true)
+        @ApiStatus.ScheduledForRemoval(inVersion = "3.8.0")
+        public List<byte[]> data() {
+            try {
+                return List.of(getAsBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Opens a stream which reads the payload of the multipart item.
+         *
+         * @return The stream.
+         * @throws IOException If the temporary file can not be opened.
+         * @since 3.7.3
+         */
+        public InputStream getInputStream() throws IOException {
+            if (bytes != null) return new ByteArrayInputStream(bytes);
+            return Files.newInputStream(Objects.requireNonNull(file));
+        }
+
+        /**
+         * Retrieves the payload of the multipart item as bytes. Large payloads are read from
+         * their temporary file, so {@link #getInputStream()} should be preferred for files.
+         *
+         * @return The payload.
+         * @throws IOException If the temporary file can not be read.
+         * @since 3.7.3
+         */
+        public byte[] getAsBytes() throws IOException {
+            if (bytes != null) return bytes;
+            return Files.readAllBytes(Objects.requireNonNull(file));
+        }
 
         /**
          * Converts the multipart data to a string.
@@ -237,9 +308,11 @@ public final class MultipartFormBody extends FormBody<MultipartFormBody.Multipar
          * @return The multipart data as a string.
          */
         public String getAsString() {
-            StringBuilder builder = new StringBuilder();
-            data.forEach(bytes -> builder.append(new String(bytes, StandardCharsets.UTF_8)).append("\n"));
-            return builder.substring(0, builder.toString().length() - 1);
+            try {
+                return new String(getAsBytes(), StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
         }
 
         /**
@@ -251,6 +324,16 @@ public final class MultipartFormBody extends FormBody<MultipartFormBody.Multipar
             return contentType != null;
         }
 
+        /**
+         * Checks whether the payload is kept in memory.
+         *
+         * @return {@code true} if the payload is kept in memory, {@code false} if it is stored in a temporary file.
+         * @since 3.7.3
+         */
+        public boolean isInMemory() {
+            return bytes != null;
+        }
+
         /**
          * Gets the file extension for the multipart item.
          *
@@ -274,7 +357,8 @@ public final class MultipartFormBody extends FormBody<MultipartFormBody.Multipar
         }
 
         /**
-         * Converts the multipart data to a file with a specified extension.
+         * Converts the multipart data to a file with a specified extension. Payloads which are
+         * already stored in a temporary file are copied by the file system without being read.
          *
          * @param extension The file extension to use.
          * @return The multipart data as a temporary file.
@@ -282,31 +366,185 @@ public final class MultipartFormBody extends FormBody<MultipartFormBody.Multipar
          * @throws MimeTypeException If the content type is not recognized.
          */
         public File getAsFile(String extension) throws Exception {
-            File file = File.createTempFile("craftsnet", extension == null ? getFileExtension() : (extension.startsWith(".") ? "" : ".") + extension);
-            file.deleteOnExit();
+            File target = File.createTempFile("craftsnet", extension == null ? getFileExtension() : (extension.startsWith(".") ? "" : ".") + extension);
+            target.deleteOnExit();
 
-            try (FileOutputStream stream = new FileOutputStream(file)) {
-                for (byte[] line : data) stream.write(line);
-                stream.flush();
-            }
+            if (file != null) Files.copy(file, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            else Files.write(target.toPath(), Objects.requireNonNull(bytes));
 
-            return file;
+            return target;
         }
 
         /**
-         * Validates the content type of the multipart item by comparing it to the actual data.
+         * Validates the content type of the multipart item by comparing it to the first bytes of the data.
          *
          * @return {@code true} if the content type matches the data, otherwise {@code false}.
          * @throws MimeTypeException If the content type is not recognized.
-         * @throws IOException       If an error occurs while reading the file.
          */
         public boolean validateContentType() throws Exception {
-            try (FileInputStream stream = new FileInputStream(getAsFile())) {
-                MimeTypes types = MimeTypes.getDefaultMimeTypes();
-                return types.forName(contentType).matches(stream.readAllBytes());
+            MimeTypes types = MimeTypes.getDefaultMimeTypes();
+            return types.forName(contentType).matches(head);
+        }
+
+        /**
+         * Deletes the temporary file of the multipart item, if there is one.
+         */
+        private void delete() {
+            if (file == null) return;
+
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
             }
         }
 
+        /**
+         * Concatenates lines of data.
+         *
+         * @param data The lines.
+         * @return The concatenated bytes.
+         */
+        private static byte[] concat(List<byte[]> data) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            data.forEach(output::writeBytes);
+            return output.toByteArray();
+        }
+
+    }
+
+    /**
+     * A sink receiving the payload of a single part. The payload is kept in memory up to a threshold
+     * and written to a temporary file afterwards, while its first bytes are retained for content type
+     * sniffing.
+     *
+     * @since 3.7.3
+     */
+    private final class PartSink extends OutputStream {
+
+        private final String contentType;
+        private final int memoryThreshold;
+        private final long maxSize;
+
+        private final ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private byte[] head;
+        private Path file;
+        private OutputStream fileOutput;
+        private long size;
+
+        /**
+         * Constructs a new {@link PartSink}.
+         *
+         * @param contentType     The content type of the part.
+         * @param memoryThreshold The maximum amount of bytes kept in memory.
+         * @param maxSize         The maximum size of the part, {@code 0} or less for no limit.
+         */
+        private PartSink(String contentType, int memoryThreshold, long maxSize) {
+            this.contentType = contentType;
+            this.memoryThreshold = memoryThreshold;
+            this.maxSize = maxSize;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param b {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param bytes  {@inheritDoc}
+         * @param offset {@inheritDoc}
+         * @param length {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void write(byte @NotNull [] bytes, int offset, int length) throws IOException {
+            size += length;
+            if (maxSize > 0 && size > maxSize)
+                throw new HttpStatusException(HttpStatus.ClientError.PAYLOAD_TOO_LARGE,
+                        "A part of the multipart body exceeds " + maxSize + " bytes!");
+
+            if (fileOutput == null && size <= memoryThreshold) {
+                memory.write(bytes, offset, length);
+                return;
+            }
+
+            if (fileOutput == null) spill();
+            if (head.length < SNIFF_LENGTH) {
+                int count = Math.min(SNIFF_LENGTH - head.length, length);
+                head = Arrays.copyOf(head, head.length + count);
+                System.arraycopy(bytes, offset, head, head.length - count, count);
+            }
+
+            fileOutput.write(bytes, offset, length);
+        }
+
+        /**
+         * Moves the bytes kept in memory to a new temporary file.
+         *
+         * @throws IOException If the temporary file can not be created.
+         */
+        private void spill() throws IOException {
+            String suffix = ".part";
+            if (contentType != null)
+                try {
+                    suffix = MimeTypes.getDefaultMimeTypes().forName(contentType).getExtension();
+                } catch (MimeTypeException ignored) {
+                }
+
+            file = request.getCraftsNet().getFileHelper().createTempFile("craftsnet_", suffix);
+            file.toFile().deleteOnExit();
+            fileOutput = new BufferedOutputStream(Files.newOutputStream(file), 16 * 1024);
+
+            byte[] buffered = memory.toByteArray();
+            head = Arrays.copyOf(buffered, Math.min(buffered.length, SNIFF_LENGTH));
+            fileOutput.write(buffered);
+            memory.reset();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            if (fileOutput != null) fileOutput.close();
+        }
+
+        /**
+         * Closes the sink and deletes its temporary file after a failure.
+         */
+        private void discard() {
+            try {
+                close();
+            } catch (IOException ignored) {
+            }
+
+            if (file != null)
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException ignored) {
+                }
+        }
+
+        /**
+         * Creates the {@link MultipartItem} holding the received payload.
+         *
+         * @param fileName The file name sent by the client.
+         * @return The multipart item.
+         */
+        private MultipartItem toItem(String fileName) {
+            if (file == null) return new MultipartItem(contentType, fileName, memory.toByteArray());
+            return new MultipartItem(contentType, fileName, size, null, file, head);
+        }
+
     }
 
 }
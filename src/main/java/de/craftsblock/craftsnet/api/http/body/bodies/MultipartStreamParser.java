@@ -0,0 +1,236 @@
+package de.craftsblock.craftsnet.api.http.body.bodies;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads a multipart body part by part from a stream while holding only a fixed size buffer. The
+ * boundaries are located with a Boyer-Moore-Horspool scan over the buffer, so the payload of a part
+ * is never split into lines or converted to strings and can be passed on to a sink as it arrives.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see MultipartFormBody
+ * @since 3.7.3
+ */
+final class MultipartStreamParser {
+
+    private static final int MAX_HEADER_LENGTH = 16 * 1024;
+
+    private final InputStream input;
+    private final byte[] delimiter;
+    private final int[] shift = new int[256];
+    private final byte[] buffer;
+
+    private int head;
+    private int tail;
+    private boolean eof;
+    private boolean started;
+    private boolean finished;
+
+    /**
+     * Constructs a new {@link MultipartStreamParser}.
+     *
+     * @param input      The stream containing the multipart body.
+     * @param boundary   The boundary of the body, without the leading dashes.
+     * @param bufferSize The size of the scan buffer.
+     */
+    MultipartStreamParser(@NotNull InputStream input, @NotNull String boundary, int bufferSize) {
+        this.input = input;
+        this.delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.ISO_8859_1);
+        this.buffer = new byte[Math.max(bufferSize, MAX_HEADER_LENGTH + delimiter.length)];
+
+        // The first boundary may start without a preceding line break
+        this.buffer[0] = '\r';
+        this.buffer[1] = '\n';
+        this.tail = 2;
+
+        Arrays.fill(shift, delimiter.length);
+        for (int i = 0; i < delimiter.length - 1; i++)
+            shift[delimiter[i] & 0xFF] = delimiter.length - 1 - i;
+    }
+
+    /**
+     * Skips the preamble and the delimiter in front of the next part and reads its headers.
+     *
+     * @return The raw header block of the next part, or {@code null} if the closing boundary has been reached.
+     * @throws IOException If an I/O error occurs or the body is malformed.
+     */
+    @Nullable String nextPart() throws IOException {
+        if (finished) return null;
+
+        if (!started) {
+            // Discard the preamble in front of the first boundary
+            started = true;
+            if (!transfer(null)) throw new IOException("The multipart body does not contain the boundary!");
+        }
+
+        if (!afterDelimiter()) {
+            finished = true;
+            return null;
+        }
+
+        return readHeaders();
+    }
+
+    /**
+     * Passes the payload of the current part to a sink, up to the next delimiter.
+     *
+     * @param sink The sink receiving the payload.
+     * @throws IOException If an I/O error occurs or the body ends before the next delimiter.
+     */
+    void readPart(@NotNull OutputStream sink) throws IOException {
+        if (!transfer(sink)) throw new IOException("The multipart body ended unexpectedly!");
+    }
+
+    /**
+     * Copies bytes to a sink until the next delimiter and consumes the delimiter. Bytes which could
+     * be the start of a delimiter are held back until enough bytes are available to decide.
+     *
+     * @param sink The sink, or {@code null} to discard the bytes.
+     * @return {@code true} if the delimiter was found, {@code false} if the stream ended before.
+     * @throws IOException If an I/O error occurs.
+     */
+    private boolean transfer(@Nullable OutputStream sink) throws IOException {
+        while (true) {
+            int index = indexOfDelimiter();
+            if (index >= 0) {
+                if (sink != null && index > head) sink.write(buffer, head, index - head);
+                head = index + delimiter.length;
+                return true;
+            }
+
+            int safe = tail - (delimiter.length - 1);
+            if (safe > head) {
+                if (sink != null) sink.write(buffer, head, safe - head);
+                head = safe;
+            }
+
+            if (!fill()) return false;
+        }
+    }
+
+    /**
+     * Inspects the bytes following a delimiter.
+     *
+     * @return {@code true} if another part follows, {@code false} if it was the closing delimiter.
+     * @throws IOException If an I/O error occurs or the delimiter is malformed.
+     */
+    private boolean afterDelimiter() throws IOException {
+        if (!require(2)) throw new IOException("The multipart body ended unexpectedly!");
+        if (buffer[head] == '-' && buffer[head + 1] == '-') {
+            head += 2;
+            return false;
+        }
+
+        // Skip the optional transport padding in front of the line break
+        while (true) {
+            if (!require(1)) throw new IOException("The multipart body ended unexpectedly!");
+            if (buffer[head] != ' ' && buffer[head] != '\t') break;
+            head++;
+        }
+
+        if (!require(2) || buffer[head] != '\r' || buffer[head + 1] != '\n')
+            throw new IOException("Malformed multipart boundary!");
+
+        head += 2;
+        return true;
+    }
+
+    /**
+     * Reads the header block of a part, which is terminated by an empty line.
+     *
+     * @return The header block without the terminating empty line.
+     * @throws IOException If an I/O error occurs or the headers are too large.
+     */
+    private String readHeaders() throws IOException {
+        int scanned = head;
+        while (true) {
+            for (int i = scanned; i + 1 < tail; i++) {
+                if (buffer[i] != '\r' || buffer[i + 1] != '\n') continue;
+
+                if (i == head) {
+                    // No headers at all
+                    head += 2;
+                    return "";
+                }
+
+                if (i + 3 < tail && buffer[i + 2] == '\r' && buffer[i + 3] == '\n') {
+                    String headers = new String(buffer, head, i - head, StandardCharsets.UTF_8);
+                    head = i + 4;
+                    return headers;
+                }
+            }
+
+            if (tail - head > MAX_HEADER_LENGTH) throw new IOException("The headers of a multipart part are too large!");
+
+            // Rescan the last bytes, as the empty line may span both reads
+            int resume = Math.max(0, tail - head - 3);
+            if (!fill()) throw new IOException("The multipart body ended unexpectedly!");
+            scanned = head + resume;
+        }
+    }
+
+    /**
+     * Searches the delimiter in the buffered bytes using the Boyer-Moore-Horspool algorithm.
+     *
+     * @return The index of the delimiter in the buffer, or {@code -1} if it is not buffered completely.
+     */
+    private int indexOfDelimiter() {
+        int last = delimiter.length - 1;
+        int i = head;
+        while (i + last < tail) {
+            int j = last;
+            while (buffer[i + j] == delimiter[j])
+                if (j-- == 0) return i;
+
+            i += shift[buffer[i + last] & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Ensures that a specific amount of unconsumed bytes is buffered.
+     *
+     * @param count The amount of bytes.
+     * @return {@code true} if the bytes are available, {@code false} if the stream ended before.
+     * @throws IOException If an I/O error occurs.
+     */
+    private boolean require(int count) throws IOException {
+        while (tail - head < count)
+            if (!fill()) return false;
+        return true;
+    }
+
+    /**
+     * Moves the unconsumed bytes to the start of the buffer and reads more bytes from the stream.
+     *
+     * @return {@code true} if bytes were read, {@code false} if the stream has ended.
+     * @throws IOException If an I/O error occurs.
+     */
+    private boolean fill() throws IOException {
+        if (eof) return false;
+
+        if (head > 0) {
+            System.arraycopy(buffer, head, buffer, 0, tail - head);
+            tail -= head;
+            head = 0;
+        }
+
+        int read = input.read(buffer, tail, buffer.length - tail);
+        if (read < 0) {
+            eof = true;
+            return false;
+        }
+
+        tail += read;
+        return true;
+    }
+
+}
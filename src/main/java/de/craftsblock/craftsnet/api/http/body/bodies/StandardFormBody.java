@@ -1,13 +1,12 @@
 package de.craftsblock.craftsnet.api.http.body.bodies;
 
 import de.craftsblock.craftsnet.api.http.Request;
+import de.craftsblock.craftsnet.api.http.UrlEncodedParameters;
+import de.craftsblock.craftsnet.builder.CraftsNetBuilder;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.net.URLDecoder;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 /**
  * The {@code StandardFormBody} class represents an HTTP request body that contains form data
@@ -23,6 +22,8 @@ import java.nio.charset.StandardCharsets;
  */
 public final class StandardFormBody extends FormBody<String> {
 
+    private UrlEncodedParameters parameters;
+
     /**
      * Constructs a new {@code StandardFormBody} by reading and parsing form data from an input stream.
      *
@@ -36,41 +37,43 @@ public final class StandardFormBody extends FormBody<String> {
 
     /**
      * Deserializes the input stream, parsing it into individual form fields and values.
-     * This method reads the input streamline by line, splitting it into form fields and their values.
-     * It then decodes and stores the field names and values in the data map.
+     * The raw bytes are read within the limits configured in the {@link CraftsNetBuilder} and parsed
+     * with the same {@link UrlEncodedParameters} parser as query strings. The first value of every
+     * field is stored in the data map.
      *
      * @throws IOException If an I/O error occurs while reading the input stream.
      */
     @Override
     protected void deserialize() throws IOException {
-        // Create a buffered reader to read the input streamline by line
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body))) {
-            // Create a StringBuilder to accumulate lines from the input stream
-            StringBuilder lines = new StringBuilder();
-            String line;
-
-            // Read the input streamline by line and append it to the StringBuilder
-            while ((line = reader.readLine()) != null)
-                lines.append(line).append("\n");
-
-            // Split the accumulated lines into individual form fields
-            String[] fields = lines.toString().split("&");
-
-            // Iterate through each form field and parse its name and value
-            for (String field : fields) {
-                // Split the field into its name and value based on the "=" character
-                String[] fieldData = field.split("=");
-                // Check if the field has both a name and a value
-                if (fieldData.length != 2) continue;
-
-                // Decode and trim the URL-encoded value using UTF-8 encoding
-                String decodedValue = URLDecoder.decode(fieldData[1], StandardCharsets.UTF_8).trim();
-                // Store the field name and its decoded value in the data map
-                data.put(fieldData[0], decodedValue);
-            }
+        CraftsNetBuilder builder = getRequest().getCraftsNet().getBuilder();
+        try {
+            parameters = UrlEncodedParameters.read(body, builder.getUrlEncodedMaxLength(), builder.getUrlEncodedMaxFields());
         } finally {
             body.close();
         }
+
+        data.putAll(parameters.asMap());
+    }
+
+    /**
+     * Retrieves all values of a specific field in the order they were sent.
+     *
+     * @param name The name of the field to retrieve.
+     * @return An unmodifiable list of the values, which is empty if the field does not exist.
+     * @since 3.7.3
+     */
+    public List<String> getFields(String name) {
+        return parameters != null ? parameters.getAll(name) : List.of();
+    }
+
+    /**
+     * Retrieves the parsed form data including all values of fields which were sent multiple times.
+     *
+     * @return The parsed form data.
+     * @since 3.7.3
+     */
+    public UrlEncodedParameters getParameters() {
+        return parameters != null ? parameters : UrlEncodedParameters.EMPTY;
     }
 
     /**
@@ -0,0 +1,98 @@
+package de.craftsblock.craftsnet.api.http.codec;
+
+import de.craftsblock.craftscore.json.Json;
+import de.craftsblock.craftsnet.api.codec.Encoder;
+import de.craftsblock.craftsnet.api.http.Response;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * A sealed {@link Encoder} for safely encoding the return values of http routes.
+ * <p>
+ * Implementations of this interface convert application-level objects into a format which can be
+ * sent as a response body, like byte arrays, strings or {@link Json}. Large or generated bodies can
+ * be written straight into the response through a {@link BodyWriter}.
+ *
+ * @param <R> The result type after encoding.
+ * @param <T> The input type to be encoded.
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see TypeToByteArrayEncoder
+ * @see TypeToJsonEncoder
+ * @see TypeToStringEncoder
+ * @see TypeToStreamEncoder
+ * @see ReturnValueEncoder
+ * @since 3.7.3
+ */
+public sealed interface HttpSafeTypeEncoder<R, T> extends Encoder<R, T>
+        permits HttpSafeTypeEncoder.TypeToByteArrayEncoder, HttpSafeTypeEncoder.TypeToJsonEncoder,
+        HttpSafeTypeEncoder.TypeToStringEncoder, HttpSafeTypeEncoder.TypeToStreamEncoder {
+
+    /**
+     * An encoder that transforms a specific input type into a {@code byte[]} representation.
+     *
+     * @param <T> The type of the object to encode.
+     * @author Philipp Maywald
+     * @author CraftsBlock
+     * @since 3.7.3
+     */
+    non-sealed interface TypeToByteArrayEncoder<T> extends HttpSafeTypeEncoder<byte[], T> {
+    }
+
+    /**
+     * An encoder that transforms a specific input type into a {@link Json} representation.
+     *
+     * @param <T> The type of the object to encode.
+     * @author Philipp Maywald
+     * @author CraftsBlock
+     * @since 3.7.3
+     */
+    non-sealed interface TypeToJsonEncoder<T> extends HttpSafeTypeEncoder<Json, T> {
+    }
+
+    /**
+     * An encoder that transforms a specific input type into a {@link String} representation.
+     *
+     * @param <T> The type of the object to encode.
+     * @author Philipp Maywald
+     * @author CraftsBlock
+     * @since 3.7.3
+     */
+    non-sealed interface TypeToStringEncoder<T> extends HttpSafeTypeEncoder<String, T> {
+    }
+
+    /**
+     * An encoder that transforms a specific input type into a {@link BodyWriter}, which writes the
+     * body straight into the response instead of building it in memory first.
+     *
+     * @param <T> The type of the object to encode.
+     * @author Philipp Maywald
+     * @author CraftsBlock
+     * @since 3.7.3
+     */
+    non-sealed interface TypeToStreamEncoder<T> extends HttpSafeTypeEncoder<BodyWriter, T> {
+    }
+
+    /**
+     * Writes a response body straight into a {@link Response}, e.g. through {@link Response#getOutputStream()}.
+     *
+     * @author Philipp Maywald
+     * @author CraftsBlock
+     * @since 3.7.3
+     */
+    @FunctionalInterface
+    interface BodyWriter {
+
+        /**
+         * Writes the body into the response. The headers, like the content type, may still be set
+         * until the first bytes leave the response buffer.
+         *
+         * @param response The {@link Response} the body is written to.
+         * @throws IOException If an I/O error occurs.
+         */
+        void writeTo(@NotNull Response response) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,56 @@
+package de.craftsblock.craftsnet.api.http.codec;
+
+import de.craftsblock.craftsnet.api.http.Response;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Sends the value returned by a http route as the response body. An encoder is resolved once per
+ * route from the declared return type of its method through {@link #resolve(Class)}, so sending the
+ * value does not need to inspect its type again.
+ * <p>
+ * Byte arrays, {@link ByteBuffer byte buffers}, {@link InputStream input streams}, {@link File files},
+ * json and character sequences are sent through the matching print method of the {@link Response}. Other
+ * types are encoded by the {@link HttpSafeTypeEncoder} registered for them, or otherwise serialized
+ * as json if they are records or do not declare their own {@link Object#toString()}. Return types
+ * which do not reveal the type of the value, like {@link Object} or interfaces, are resolved against
+ * the type of each returned value.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see HttpSafeTypeEncoder
+ * @see de.craftsblock.craftsnet.api.RouteRegistry.EndpointMapping#returnEncoder()
+ * @since 3.7.3
+ */
+@FunctionalInterface
+public interface ReturnValueEncoder {
+
+    /**
+     * An encoder for methods without a return value, which sends nothing.
+     */
+    ReturnValueEncoder NONE = (response, value) -> {
+    };
+
+    /**
+     * Sends a value as the response body.
+     *
+     * @param response The {@link Response} the value is sent with.
+     * @param value    The value returned by the route.
+     * @throws RuntimeException if an I/O error occurs.
+     */
+    void encode(@NotNull Response response, @NotNull Object value);
+
+    /**
+     * Resolves the encoder for the declared return type of a route method.
+     *
+     * @param type The declared return type.
+     * @return The {@link ReturnValueEncoder} for values of the type.
+     */
+    static @NotNull ReturnValueEncoder resolve(@NotNull Class<?> type) {
+        return ReturnValueEncoders.resolve(type);
+    }
+
+}
@@ -0,0 +1,172 @@
+package de.craftsblock.craftsnet.api.http.codec;
+
+import com.google.gson.JsonElement;
+import de.craftsblock.craftscore.json.Json;
+import de.craftsblock.craftsnet.api.codec.CodecMethodLink;
+import de.craftsblock.craftsnet.api.codec.EncoderPair;
+import de.craftsblock.craftsnet.api.http.Response;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Resolves the {@link ReturnValueEncoder} of a type. The encoders of the exact types of values
+ * returned through generic return types are remembered per type, so these values are not inspected
+ * by reflection on every request.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+final class ReturnValueEncoders {
+
+    private static final ClassValue<ReturnValueEncoder> EXACT = new ClassValue<>() {
+        @Override
+        protected ReturnValueEncoder computeValue(@NotNull Class<?> type) {
+            ReturnValueEncoder builtin = resolveBuiltin(type);
+            return builtin != null ? builtin : resolveRegistered(type);
+        }
+    };
+
+    private static final ReturnValueEncoder DYNAMIC = (response, value) -> EXACT.get(value.getClass()).encode(response, value);
+
+    /**
+     * Private constructor to prevent direct instantiation
+     */
+    private ReturnValueEncoders() {
+    }
+
+    /**
+     * Resolves the encoder for the declared return type of a route method.
+     *
+     * @param type The declared return type.
+     * @return The {@link ReturnValueEncoder} for values of the type.
+     */
+    static @NotNull ReturnValueEncoder resolve(@NotNull Class<?> type) {
+        if (type == void.class || type == Void.class) return ReturnValueEncoder.NONE;
+
+        // The values may be of any subtype, which could have an encoder of its own
+        if (resolveBuiltin(type) == null && (type == Object.class || type.isInterface() || Modifier.isAbstract(type.getModifiers())))
+            return DYNAMIC;
+
+        return EXACT.get(type);
+    }
+
+    /**
+     * Resolves the encoder of a type which is supported by the {@link Response} itself.
+     *
+     * @param type The type.
+     * @return The {@link ReturnValueEncoder}, or {@code null} if the type is not supported directly.
+     */
+    private static @Nullable ReturnValueEncoder resolveBuiltin(@NotNull Class<?> type) {
+        if (type == byte[].class) return (response, value) -> response.print((byte[]) value);
+        if (ByteBuffer.class.isAssignableFrom(type)) return (response, value) -> response.print((ByteBuffer) value);
+        if (Path.class.isAssignableFrom(type)) return (response, value) -> response.print((Path) value);
+        if (File.class.isAssignableFrom(type)) return (response, value) -> response.print((File) value);
+        if (Json.class.isAssignableFrom(type) || JsonElement.class.isAssignableFrom(type)) return Response::print;
+        if (InputStream.class.isAssignableFrom(type)) return ReturnValueEncoders::printStream;
+
+        if (CharSequence.class.isAssignableFrom(type) || type.isPrimitive() || type.isEnum()
+                || Number.class.isAssignableFrom(type) || type == Boolean.class || type == Character.class)
+            return (response, value) -> response.print(value.toString());
+
+        return null;
+    }
+
+    /**
+     * Resolves the encoder of a type which is encoded by a registered {@link HttpSafeTypeEncoder}. The
+     * encoder is looked up on each call, as encoders may be registered after the route. Types without
+     * an encoder are sent as json, unless they declare their own string representation. Collections,
+     * maps and arrays are always sent as json, so a value returned through an interface type like
+     * {@link java.util.List} does not depend on the string representation of its implementation.
+     *
+     * @param type The type.
+     * @return The {@link ReturnValueEncoder} for the type.
+     */
+    private static @NotNull ReturnValueEncoder resolveRegistered(@NotNull Class<?> type) {
+        ReturnValueEncoder fallback = type.isRecord() || isContainer(type) || !declaresToString(type)
+                ? Response::printJson
+                : (response, value) -> response.print(value.toString());
+
+        return (response, value) -> {
+            CodecMethodLink<HttpSafeTypeEncoder<?, ?>, EncoderPair<?>> link = response.getCraftsNet()
+                    .getHttpEncoderRegistry().getLinkedCodecMethod(type);
+
+            if (link == null) fallback.encode(response, value);
+            else printEncoded(response, link.invoke(value));
+        };
+    }
+
+    /**
+     * Sends the result of a {@link HttpSafeTypeEncoder}.
+     *
+     * @param response The {@link Response} the result is sent with.
+     * @param encoded  The result of the encoder.
+     */
+    private static void printEncoded(@NotNull Response response, @Nullable Object encoded) {
+        if (encoded == null) return;
+
+        if (encoded instanceof byte[] bytes) {
+            response.print(bytes);
+            return;
+        }
+
+        if (encoded instanceof HttpSafeTypeEncoder.BodyWriter writer) {
+            try {
+                writer.writeTo(response);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            return;
+        }
+
+        response.print(encoded);
+    }
+
+    /**
+     * Sends the content of an input stream and closes it afterward.
+     *
+     * @param response The {@link Response} the content is sent with.
+     * @param value    The input stream.
+     */
+    private static void printStream(@NotNull Response response, @NotNull Object value) {
+        try (InputStream stream = (InputStream) value) {
+            response.print(stream);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Checks whether a type is a collection, a map or an array, which are serialized by their content.
+     *
+     * @param type The type.
+     * @return {@code true} if the type holds other values, {@code false} otherwise.
+     */
+    private static boolean isContainer(@NotNull Class<?> type) {
+        return type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Checks whether a type declares its own {@link Object#toString()}.
+     *
+     * @param type The type.
+     * @return {@code true} if the string representation is not the one of {@link Object}, {@code false} otherwise.
+     */
+    private static boolean declaresToString(@NotNull Class<?> type) {
+        try {
+            return type.getMethod("toString").getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,375 @@
+package de.craftsblock.craftsnet.api.http.encoding;
+
+import de.craftsblock.craftsnet.utils.FileHelper;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.Deflater;
+
+/**
+ * A process wide cache which holds the encoded variants of files sent through
+ * {@link de.craftsblock.craftsnet.api.http.Response#print(Path)}, so a file is compressed once per
+ * encoding instead of once per request.
+ * <p>
+ * Variants are encoded with the best compression level, as they are reused by many requests. They
+ * are keyed by the absolute path, the modification time and the size of the file as well as the
+ * name of the encoding, so a changed file is compressed again on its next request. They are
+ * stored in temporary files and the least recently used variants are deleted once either the maximum
+ * amount of variants or the maximum amount of bytes is exceeded. Concurrent requests for a variant
+ * which is not cached yet wait for a single encoding instead of each encoding the file. Pre-built
+ * siblings, e.g. {@code app.js.gz} next to {@code app.js}, are sent directly as long as they are not
+ * older than the file itself.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see de.craftsblock.craftsnet.builder.CraftsNetBuilder#withCompressionCache(int, long)
+ * @since 3.7.3
+ */
+public final class CompressedFileCache {
+
+    private static final Map<String, String> SIBLING_EXTENSIONS = Map.of(
+            "gzip", ".gz",
+            "deflate", ".deflate",
+            "br", ".br",
+            "zstd", ".zst"
+    );
+
+    private final FileHelper fileHelper;
+    private final int capacity;
+    private final long maxBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Key, Variant> variants = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Key, CompletableFuture<Void>> pending = new HashMap<>();
+    private long bytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new {@link CompressedFileCache}.
+     *
+     * @param fileHelper The {@link FileHelper} used to create the temporary files of the variants.
+     * @param capacity   The maximum amount of variants, {@code 0} to encode every file per request.
+     * @param maxBytes   The maximum amount of bytes all variants may take up.
+     */
+    public CompressedFileCache(@NotNull FileHelper fileHelper, int capacity, long maxBytes) {
+        if (capacity < 0) throw new IllegalArgumentException("The capacity of the compression cache must not be negative!");
+        if (maxBytes < 0) throw new IllegalArgumentException("The maximum size of the compression cache must not be negative!");
+
+        this.fileHelper = fileHelper;
+        this.capacity = capacity;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Opens the encoded variant of a file. A pre-built sibling or a cached variant is opened directly,
+     * otherwise the file is encoded and the result is cached. The returned channel stays readable even
+     * if the variant is evicted meanwhile.
+     *
+     * @param file    The file.
+     * @param encoder The {@link StreamEncoder} of the variant.
+     * @return A channel reading the encoded variant from its start.
+     * @throws IOException If the file can not be read or the variant can not be written.
+     */
+    public @NotNull FileChannel open(@NotNull Path file, @NotNull StreamEncoder encoder) throws IOException {
+        Path absolute = file.toAbsolutePath().normalize();
+        BasicFileAttributes attributes = Files.readAttributes(absolute, BasicFileAttributes.class);
+        String encoding = encoder.getEncodingName().toLowerCase(Locale.ROOT);
+
+        FileChannel sibling = openSibling(absolute, attributes, encoding);
+        if (sibling != null) return sibling;
+
+        Key key = new Key(absolute, attributes.lastModifiedTime().toMillis(), attributes.size(), encoding);
+        CompletableFuture<Void> inFlight;
+        boolean leader = false;
+
+        lock.lock();
+        try {
+            FileChannel channel = openCached(key);
+            if (channel != null) return channel;
+
+            inFlight = capacity > 0 ? pending.get(key) : null;
+            if (inFlight == null && capacity > 0) {
+                inFlight = new CompletableFuture<>();
+                pending.put(key, inFlight);
+                leader = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (inFlight != null && !leader) {
+            // Another thread is already encoding the variant, so it is reused once it is stored
+            inFlight.join();
+
+            lock.lock();
+            try {
+                FileChannel channel = openCached(key);
+                if (channel != null) return channel;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        try {
+            return encode(key, encoder);
+        } finally {
+            if (leader) {
+                lock.lock();
+                try {
+                    pending.remove(key);
+                } finally {
+                    lock.unlock();
+                }
+
+                inFlight.complete(null);
+            }
+        }
+    }
+
+    /**
+     * Removes all variants and deletes their files.
+     */
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            for (Variant variant : variants.values()) delete(variant.file());
+            variants.clear();
+            bytes = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the amount of variants which were served from the cache.
+     *
+     * @return The amount of cache hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the amount of variants which had to be encoded.
+     *
+     * @return The amount of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the amount of variants which were removed to make room for others.
+     *
+     * @return The amount of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Retrieves the amount of variants currently cached.
+     *
+     * @return The amount of variants.
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return variants.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the amount of bytes all cached variants take up.
+     *
+     * @return The amount of bytes.
+     */
+    public long getBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Opens a pre-built sibling of a file for an encoding, if one exists and is up to date.
+     *
+     * @param file       The file.
+     * @param attributes The attributes of the file.
+     * @param encoding   The name of the encoding.
+     * @return A channel reading the sibling, or {@code null} if there is no usable sibling.
+     */
+    private @Nullable FileChannel openSibling(Path file, BasicFileAttributes attributes, String encoding) {
+        String extension = SIBLING_EXTENSIONS.get(encoding);
+        if (extension == null) return null;
+
+        Path sibling = file.resolveSibling(file.getFileName() + extension);
+        try {
+            BasicFileAttributes siblingAttributes = Files.readAttributes(sibling, BasicFileAttributes.class);
+            if (!siblingAttributes.isRegularFile()) return null;
+            if (siblingAttributes.lastModifiedTime().compareTo(attributes.lastModifiedTime()) < 0) return null;
+
+            return FileChannel.open(sibling, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Opens the cached variant of a key. Must be called while holding the lock, so the variant can
+     * not be deleted before it is opened.
+     *
+     * @param key The key of the variant.
+     * @return A channel reading the variant, or {@code null} if it is not cached.
+     * @throws IOException If the variant can not be opened.
+     */
+    private @Nullable FileChannel openCached(Key key) throws IOException {
+        Variant variant = variants.get(key);
+        if (variant == null) return null;
+
+        try {
+            FileChannel channel = FileChannel.open(variant.file(), StandardOpenOption.READ);
+            hits.increment();
+            return channel;
+        } catch (NoSuchFileException e) {
+            remove(key);
+            return null;
+        }
+    }
+
+    /**
+     * Encodes a file into a new variant, stores the variant and opens it.
+     *
+     * @param key     The key of the variant.
+     * @param encoder The {@link StreamEncoder} of the variant.
+     * @return A channel reading the variant.
+     * @throws IOException If the file can not be read or the variant can not be written.
+     */
+    private FileChannel encode(Key key, StreamEncoder encoder) throws IOException {
+        misses.increment();
+        Path variant = fileHelper.createTempFile("craftsnet_", ".variant");
+        try {
+            try (InputStream input = Files.newInputStream(key.path());
+                 OutputStream output = encoder.encodeOutputStream(Files.newOutputStream(variant), Deflater.BEST_COMPRESSION)) {
+                input.transferTo(output);
+            }
+
+            return store(key, variant);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(variant);
+            throw e;
+        }
+    }
+
+    /**
+     * Stores a freshly encoded variant and opens it. Variants which do not fit into the cache are
+     * opened so that they are deleted once the channel is closed.
+     *
+     * @param key     The key of the variant.
+     * @param variant The file of the variant.
+     * @return A channel reading the variant.
+     * @throws IOException If the variant can not be opened.
+     */
+    private FileChannel store(Key key, Path variant) throws IOException {
+        long size = Files.size(variant);
+        if (capacity == 0 || size > maxBytes)
+            return FileChannel.open(variant, StandardOpenOption.READ, StandardOpenOption.DELETE_ON_CLOSE);
+
+        lock.lock();
+        try {
+            FileChannel channel = FileChannel.open(variant, StandardOpenOption.READ);
+
+            // Drops the variant of another thread or of an outdated version of the file
+            variants.keySet().stream()
+                    .filter(other -> other.path().equals(key.path()) && other.encoding().equals(key.encoding()))
+                    .toList()
+                    .forEach(this::remove);
+
+            variants.put(key, new Variant(variant, size));
+            bytes += size;
+
+            Iterator<Map.Entry<Key, Variant>> iterator = variants.entrySet().iterator();
+            while ((variants.size() > capacity || bytes > maxBytes) && iterator.hasNext()) {
+                Map.Entry<Key, Variant> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) continue;
+
+                iterator.remove();
+                bytes -= eldest.getValue().size();
+                delete(eldest.getValue().file());
+                evictions.increment();
+            }
+
+            return channel;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes a variant and deletes its file. Must be called while holding the lock.
+     *
+     * @param key The key of the variant.
+     */
+    private void remove(Key key) {
+        Variant variant = variants.remove(key);
+        if (variant == null) return;
+
+        bytes -= variant.size();
+        delete(variant.file());
+    }
+
+    /**
+     * Deletes the file of a variant. Channels which still read the variant remain usable on platforms
+     * which allow deleting open files, elsewhere the file is deleted on exit.
+     *
+     * @param variant The file of the variant.
+     */
+    private static void delete(Path variant) {
+        try {
+            Files.deleteIfExists(variant);
+        } catch (IOException e) {
+            variant.toFile().deleteOnExit();
+        }
+    }
+
+    /**
+     * The key of a variant.
+     *
+     * @param path         The absolute path of the file.
+     * @param lastModified The modification time of the file in milliseconds.
+     * @param size         The size of the file.
+     * @param encoding     The name of the encoding.
+     */
+    private record Key(Path path, long lastModified, long size, String encoding) {
+    }
+
+    /**
+     * A cached variant.
+     *
+     * @param file The temporary file holding the variant.
+     * @param size The size of the variant.
+     */
+    private record Variant(Path file, long size) {
+    }
+
+}
@@ -0,0 +1,147 @@
+package de.craftsblock.craftsnet.api.http.encoding;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Range;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a response body is worth being compressed by a {@link StreamEncoder}.
+ * <p>
+ * Bodies smaller than the minimum size are sent without an encoding, as the encoding overhead
+ * outweighs the saved bytes. Media types can be allowed or denied explicitly, either exactly or
+ * with a wildcard like {@code image/*}, where allowed types take precedence. Types which are
+ * neither allowed nor denied are compressed unless they are already compressed by themselves,
+ * like images, audio, video, archives and compressed fonts.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see de.craftsblock.craftsnet.builder.CraftsNetBuilder#withCompressionMinimumSize(int)
+ * @since 3.7.3
+ */
+public final class CompressionPolicy {
+
+    private static final Set<String> COMPRESSED_TYPES = Set.of(
+            "application/gzip", "application/x-gzip", "application/zip", "application/x-zip-compressed",
+            "application/x-7z-compressed", "application/x-rar-compressed", "application/vnd.rar",
+            "application/x-bzip2", "application/x-xz", "application/zstd", "application/x-zstd",
+            "application/java-archive", "application/pdf",
+            "font/woff", "font/woff2"
+    );
+
+    private final Set<String> allowed = ConcurrentHashMap.newKeySet();
+    private final Set<String> denied = ConcurrentHashMap.newKeySet();
+    private volatile int minimumSize;
+
+    /**
+     * Constructs a new {@link CompressionPolicy}.
+     *
+     * @param minimumSize The minimum size of a body in bytes to be compressed.
+     */
+    public CompressionPolicy(@Range(from = 0, to = Integer.MAX_VALUE) int minimumSize) {
+        setMinimumSize(minimumSize);
+    }
+
+    /**
+     * Checks whether a body should be compressed.
+     *
+     * @param contentType The content type of the body, optionally including parameters.
+     * @param length      The length of the body in bytes, or {@code -1} if it is not known yet.
+     * @return {@code true} if the body should be compressed, {@code false} otherwise.
+     */
+    public boolean shouldCompress(@Nullable String contentType, long length) {
+        if (length >= 0 && length < minimumSize) return false;
+        return isCompressible(contentType);
+    }
+
+    /**
+     * Checks whether content of a specific type benefits from being compressed.
+     *
+     * @param contentType The content type, optionally including parameters.
+     * @return {@code true} if the content should be compressed, {@code false} otherwise.
+     */
+    public boolean isCompressible(@Nullable String contentType) {
+        if (contentType == null) return true;
+
+        int end = contentType.indexOf(';');
+        String mediaType = (end >= 0 ? contentType.substring(0, end) : contentType).trim().toLowerCase(Locale.ROOT);
+        int slash = mediaType.indexOf('/');
+        String wildcard = slash >= 0 ? mediaType.substring(0, slash + 1) + "*" : mediaType;
+
+        if (allowed.contains(mediaType) || allowed.contains(wildcard)) return true;
+        if (denied.contains(mediaType) || denied.contains(wildcard)) return false;
+
+        if (mediaType.startsWith("image/")) return mediaType.equals("image/svg+xml") || mediaType.equals("image/bmp");
+        if (mediaType.startsWith("audio/") || mediaType.startsWith("video/")) return false;
+        return !COMPRESSED_TYPES.contains(mediaType);
+    }
+
+    /**
+     * Allows the compression of specific media types, even if they are denied or already compressed.
+     *
+     * @param mediaTypes The media types, which may end with a wildcard like {@code text/*}.
+     */
+    public void allow(@NotNull String... mediaTypes) {
+        for (String mediaType : mediaTypes) {
+            String normalized = mediaType.trim().toLowerCase(Locale.ROOT);
+            denied.remove(normalized);
+            allowed.add(normalized);
+        }
+    }
+
+    /**
+     * Denies the compression of specific media types.
+     *
+     * @param mediaTypes The media types, which may end with a wildcard like {@code image/*}.
+     */
+    public void deny(@NotNull String... mediaTypes) {
+        for (String mediaType : mediaTypes) {
+            String normalized = mediaType.trim().toLowerCase(Locale.ROOT);
+            allowed.remove(normalized);
+            denied.add(normalized);
+        }
+    }
+
+    /**
+     * Retrieves the media types which are always compressed.
+     *
+     * @return An unmodifiable view of the allowed media types.
+     */
+    public @NotNull @Unmodifiable Set<String> getAllowed() {
+        return Collections.unmodifiableSet(allowed);
+    }
+
+    /**
+     * Retrieves the media types which are never compressed.
+     *
+     * @return An unmodifiable view of the denied media types.
+     */
+    public @NotNull @Unmodifiable Set<String> getDenied() {
+        return Collections.unmodifiableSet(denied);
+    }
+
+    /**
+     * Sets the minimum size of a body in bytes to be compressed.
+     *
+     * @param minimumSize The minimum size in bytes.
+     */
+    public void setMinimumSize(@Range(from = 0, to = Integer.MAX_VALUE) int minimumSize) {
+        if (minimumSize < 0) throw new IllegalArgumentException("The minimum size of compressed bodies must not be negative!");
+        this.minimumSize = minimumSize;
+    }
+
+    /**
+     * Retrieves the minimum size of a body in bytes to be compressed.
+     *
+     * @return The minimum size in bytes.
+     */
+    public int getMinimumSize() {
+        return minimumSize;
+    }
+
+}
@@ -1,6 +1,7 @@
 package de.craftsblock.craftsnet.api.http.encoding;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
 
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -39,6 +40,20 @@ public abstract class StreamEncoder {
         return raw;
     }
 
+    /**
+     * Encodes the provided {@link OutputStream} with a specific compression level. By default, the
+     * level is ignored and {@link #encodeOutputStream(OutputStream)} is used. Compressing encoders
+     * should override this method to honor the level.
+     *
+     * @param raw   The raw output stream to be encoded; must not be null.
+     * @param level The compression level from {@code 0} to {@code 9}, or {@code -1} for the default level.
+     * @return The encoded output stream.
+     * @since 3.7.3
+     */
+    public @NotNull OutputStream encodeOutputStream(@NotNull OutputStream raw, @Range(from = -1, to = 9) int level) {
+        return encodeOutputStream(raw);
+    }
+
     /**
      * Encodes the provided {@link InputStream}. By default, this method returns the raw stream.
      * Subclasses should override this method to provide actual encoding functionality.
@@ -9,7 +9,10 @@ import org.jetbrains.annotations.Unmodifiable;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * A registry for managing and retrieving {@link StreamEncoder} instances.
@@ -21,7 +24,11 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  */
 public final class StreamEncoderRegistry {
 
+    private static final int MAX_NEGOTIATIONS = 128;
+
     private final ConcurrentLinkedQueue<StreamEncoder> streamEncoders = new ConcurrentLinkedQueue<>();
+    private final Map<String, StreamEncoder> negotiations = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
 
     /**
      * Constructs a new {@link StreamEncoderRegistry} and registers the built-in stream encoders.
@@ -40,6 +47,7 @@ public final class StreamEncoderRegistry {
     public void register(@NotNull StreamEncoder streamEncoder) {
         if (this.isRegistered(streamEncoder)) return;
         streamEncoders.add(streamEncoder);
+        invalidateNegotiations();
     }
 
     /**
@@ -53,6 +61,7 @@ public final class StreamEncoderRegistry {
         if (streamEncoder instanceof IdentityStreamEncoder)
             throw new IllegalArgumentException("The stream encoder " + streamEncoder.getEncodingName() + " may not be unregistered!");
         streamEncoders.remove(streamEncoder);
+        invalidateNegotiations();
     }
 
     /**
@@ -66,8 +75,8 @@ public final class StreamEncoderRegistry {
         if (encoding.equalsIgnoreCase("identity"))
             throw new IllegalArgumentException("The stream encoder " + encoding + " may not be unregistered!");
 
-        streamEncoders.stream().map(StreamEncoder::getEncodingName)
-                .filter(encoding::equalsIgnoreCase).forEach(this::unregister);
+        streamEncoders.stream().filter(provider -> provider.getEncodingName().equalsIgnoreCase(encoding))
+                .toList().forEach(this::unregister);
     }
 
     /**
@@ -126,6 +135,62 @@ public final class StreamEncoderRegistry {
                 .findFirst().orElse(null);
     }
 
+    /**
+     * Negotiates the {@link StreamEncoder} for the value of an {@code Accept-Encoding} header, which is the
+     * first available encoder in the order of preference of the client. Clients mostly send the same few
+     * header values, so the result is cached per header value until an encoder is registered or unregistered.
+     *
+     * @param acceptEncoding The value of the {@code Accept-Encoding} header, or {@code null} if it is missing.
+     * @return The negotiated {@link StreamEncoder}, which falls back to the {@link IdentityStreamEncoder}.
+     * @since 3.7.3
+     */
+    public @NotNull StreamEncoder negotiate(@Nullable String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) return identity();
+
+        StreamEncoder cached = negotiations.get(acceptEncoding);
+        if (cached != null) return cached;
+
+        long version = this.version.get();
+
+        StreamEncoder negotiated = null;
+        for (String requested : AcceptEncodingHelper.parseHeader(acceptEncoding)) {
+            negotiated = retrieveEncoder(requested);
+            if (negotiated != null) break;
+        }
+        if (negotiated == null) negotiated = identity();
+
+        // Header values are chosen by the clients, so the cache must not grow without a limit
+        if (negotiations.size() >= MAX_NEGOTIATIONS) negotiations.clear();
+
+        // Results negotiated against an outdated set of encoders must not outlive the invalidation
+        if (this.version.get() == version) {
+            negotiations.put(acceptEncoding, negotiated);
+            if (this.version.get() != version) negotiations.remove(acceptEncoding, negotiated);
+        }
+
+        return negotiated;
+    }
+
+    /**
+     * Drops all cached negotiations after the registered encoders changed. The version is bumped first,
+     * so negotiations which are still running can detect the change and do not store their result.
+     */
+    private void invalidateNegotiations() {
+        version.incrementAndGet();
+        negotiations.clear();
+    }
+
+    /**
+     * Retrieves the {@link IdentityStreamEncoder}, which can not be unregistered.
+     *
+     * @return The {@link IdentityStreamEncoder}.
+     */
+    private @NotNull StreamEncoder identity() {
+        StreamEncoder identity = retrieveEncoder(IdentityStreamEncoder.class);
+        if (identity == null) throw new IllegalStateException("The identity stream encoder is not registered!");
+        return identity;
+    }
+
     /**
      * Retrieves a list of all registered {@link StreamEncoder}.
      *
@@ -2,9 +2,12 @@ package de.craftsblock.craftsnet.api.http.encoding.builtin;
 
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.DeflaterInputStream;
 import java.util.zip.DeflaterOutputStream;
 
@@ -26,14 +29,33 @@ public final class DeflateStreamEncoder extends StreamEncoder {
     }
 
     /**
-     * Encodes the provided {@link OutputStream} by wrapping it in a {@link DeflaterOutputStream}.
+     * Encodes the provided {@link OutputStream} by wrapping it in a {@link DeflaterOutputStream} with
+     * the default compression level.
      *
      * @param raw The raw output stream to be encoded.
      * @return The encoded output stream.
      */
     @Override
     public @NotNull OutputStream encodeOutputStream(@NotNull OutputStream raw) {
-        return new DeflaterOutputStream(super.encodeOutputStream(raw));
+        return encodeOutputStream(raw, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Encodes the provided {@link OutputStream} by wrapping it in a {@link DeflaterOutputStream}, whose
+     * {@link Deflater} is taken from a pool and returned once the stream is closed.
+     *
+     * @param raw   The raw output stream to be encoded.
+     * @param level The compression level.
+     * @return The encoded output stream.
+     * @since 3.7.3
+     */
+    @Override
+    public @NotNull OutputStream encodeOutputStream(@NotNull OutputStream raw, @Range(from = -1, to = 9) int level) {
+        try {
+            return new PooledDeflaterOutputStream(super.encodeOutputStream(raw), level, false);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
     }
 
     /**
@@ -0,0 +1,71 @@
+package de.craftsblock.craftsnet.api.http.encoding.builtin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+
+/**
+ * A pool of {@link Deflater deflaters}, so the native zlib state is reset and reused instead of
+ * being allocated and released for every compressed response. Deflaters producing raw deflate data,
+ * as used inside gzip, and deflaters producing zlib data are pooled separately.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+final class DeflaterPool {
+
+    private static final int MAX_POOLED = 64;
+
+    private static final Queue<Deflater> RAW = new ConcurrentLinkedQueue<>();
+    private static final Queue<Deflater> ZLIB = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger RAW_POOLED = new AtomicInteger();
+    private static final AtomicInteger ZLIB_POOLED = new AtomicInteger();
+
+    /**
+     * Private constructor to prevent direct instantiation
+     */
+    private DeflaterPool() {
+    }
+
+    /**
+     * Takes a deflater from the pool, creating a new one if the pool is empty.
+     *
+     * @param level  The compression level.
+     * @param nowrap {@code true} for raw deflate data, {@code false} for zlib data.
+     * @return The deflater.
+     */
+    static @NotNull Deflater acquire(int level, boolean nowrap) {
+        Deflater deflater = (nowrap ? RAW : ZLIB).poll();
+        if (deflater == null) return new Deflater(level, nowrap);
+
+        (nowrap ? RAW_POOLED : ZLIB_POOLED).decrementAndGet();
+
+        // The level of a reset deflater takes effect with its first input
+        deflater.setLevel(level);
+        return deflater;
+    }
+
+    /**
+     * Resets a deflater and returns it to the pool. Deflaters exceeding the pool size are released.
+     * The deflater must not be used by the caller afterwards.
+     *
+     * @param deflater The deflater.
+     * @param nowrap   {@code true} if the deflater produces raw deflate data, {@code false} for zlib data.
+     */
+    static void release(@NotNull Deflater deflater, boolean nowrap) {
+        AtomicInteger pooled = nowrap ? RAW_POOLED : ZLIB_POOLED;
+        if (pooled.incrementAndGet() > MAX_POOLED) {
+            pooled.decrementAndGet();
+            deflater.end();
+            return;
+        }
+
+        deflater.reset();
+        (nowrap ? RAW : ZLIB).offer(deflater);
+    }
+
+}
@@ -2,12 +2,13 @@ package de.craftsblock.craftsnet.api.http.encoding.builtin;
 
 import de.craftsblock.craftsnet.api.http.encoding.StreamEncoder;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
 
 /**
  * A concrete implementation of {@link StreamEncoder} that performs compression and decompression
@@ -27,16 +28,32 @@ public final class GZIPStreamEncoder extends StreamEncoder {
     }
 
     /**
-     * Encodes the provided {@link OutputStream} by wrapping it in a {@link GZIPOutputStream}.
+     * Encodes the provided {@link OutputStream} by wrapping it in a gzip stream with the default
+     * compression level.
      *
      * @param raw The raw output stream to be encoded.
      * @return The encoded output stream.
-     * @throws RuntimeException if an {@link IOException} occurs while creating the {@link GZIPOutputStream}.
+     * @throws RuntimeException if an {@link IOException} occurs while writing the gzip header.
      */
     @Override
     public @NotNull OutputStream encodeOutputStream(@NotNull OutputStream raw) {
+        return encodeOutputStream(raw, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Encodes the provided {@link OutputStream} by wrapping it in a gzip stream, whose
+     * {@link Deflater} is taken from a pool and returned once the stream is closed.
+     *
+     * @param raw   The raw output stream to be encoded.
+     * @param level The compression level.
+     * @return The encoded output stream.
+     * @throws RuntimeException if an {@link IOException} occurs while writing the gzip header.
+     * @since 3.7.3
+     */
+    @Override
+    public @NotNull OutputStream encodeOutputStream(@NotNull OutputStream raw, @Range(from = -1, to = 9) int level) {
         try {
-            return new GZIPOutputStream(super.encodeOutputStream(raw));
+            return new PooledDeflaterOutputStream(super.encodeOutputStream(raw), level, true);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -0,0 +1,122 @@
+package de.craftsblock.craftsnet.api.http.encoding.builtin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * A {@link DeflaterOutputStream} working with a {@link Deflater} from the {@link DeflaterPool}, which is
+ * returned to the pool once the stream is closed. It either produces zlib data, as sent for the
+ * {@code deflate} encoding, or wraps raw deflate data in the gzip format.
+ * <p>
+ * Flushing the stream flushes the compressor as well, so data written before a flush reaches the
+ * client even while the stream stays open.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+final class PooledDeflaterOutputStream extends DeflaterOutputStream {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+
+    private final boolean gzip;
+    private final CRC32 crc;
+
+    private boolean finished;
+    private boolean released;
+
+    /**
+     * Constructs a new {@link PooledDeflaterOutputStream}.
+     *
+     * @param out   The stream receiving the compressed data.
+     * @param level The compression level.
+     * @param gzip  {@code true} to produce gzip data, {@code false} to produce zlib data.
+     * @throws IOException If the gzip header can not be written.
+     */
+    PooledDeflaterOutputStream(@NotNull OutputStream out, int level, boolean gzip) throws IOException {
+        super(out, DeflaterPool.acquire(level, gzip), BUFFER_SIZE, true);
+        this.gzip = gzip;
+        this.crc = gzip ? new CRC32() : null;
+
+        if (gzip) out.write(GZIP_HEADER);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param b   {@inheritDoc}
+     * @param off {@inheritDoc}
+     * @param len {@inheritDoc}
+     * @throws IOException If the stream has been finished or closed, or an I/O error occurs.
+     */
+    @Override
+    public void write(byte @NotNull [] b, int off, int len) throws IOException {
+        // The deflater may already be in use by another stream once it has been released
+        if (released || finished) throw new IOException("Stream closed");
+
+        super.write(b, off, len);
+        if (gzip) crc.update(b, off, len);
+    }
+
+    /**
+     * Flushes the compressor and the underlying stream. Once the compressed data is finished only
+     * the underlying stream is flushed.
+     *
+     * @throws IOException If the stream has been closed or an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (released) throw new IOException("Stream closed");
+        if (finished) {
+            out.flush();
+            return;
+        }
+
+        super.flush();
+    }
+
+    /**
+     * Finishes the compressed data and writes the gzip trailer if needed, without closing the
+     * underlying stream.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void finish() throws IOException {
+        if (finished) return;
+        super.finish();
+        finished = true;
+
+        if (!gzip) return;
+        long crc = this.crc.getValue();
+        long size = def.getBytesRead();
+        out.write(new byte[]{
+                (byte) crc, (byte) (crc >> 8), (byte) (crc >> 16), (byte) (crc >> 24),
+                (byte) size, (byte) (size >> 8), (byte) (size >> 16), (byte) (size >> 24)
+        });
+    }
+
+    /**
+     * Finishes the compressed data, closes the underlying stream and returns the deflater to its pool.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        if (released) return;
+
+        try {
+            super.close();
+        } finally {
+            released = true;
+            DeflaterPool.release(def, gzip);
+        }
+    }
+
+}
@@ -0,0 +1,33 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/**
+ * Implemented by response body streams which are able to send a region of a file without copying it
+ * through the heap, for example by handing it to {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}
+ * which uses {@code sendfile} on most platforms.
+ * <p>
+ * The bytes are framed exactly like bytes written to the stream, so the region counts towards the
+ * announced content length or is sent as a single chunk.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see de.craftsblock.craftsnet.api.http.Response#print(java.nio.file.Path)
+ * @since 3.7.3
+ */
+public interface FileTransferable {
+
+    /**
+     * Sends a region of a file as part of the response body.
+     *
+     * @param file     The channel of the file.
+     * @param position The position in the file the region starts at.
+     * @param count    The length of the region in bytes.
+     * @throws IOException If an I/O error occurs or the file ends before the region.
+     */
+    void transferFrom(@NotNull FileChannel file, long position, long count) throws IOException;
+
+}
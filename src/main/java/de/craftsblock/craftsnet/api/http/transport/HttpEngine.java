@@ -0,0 +1,56 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import de.craftsblock.craftsnet.CraftsNet;
+import de.craftsblock.craftsnet.builder.CraftsNetBuilder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Enum representing the http engines which can be used by the web server.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see CraftsNetBuilder#withHttpEngine(HttpEngine)
+ * @since 3.7.3
+ */
+public enum HttpEngine {
+
+    /**
+     * The http server which ships with the jdk. Supports ssl.
+     */
+    JDK {
+        @Override
+        public @NotNull HttpTransport createTransport(@NotNull CraftsNet craftsNet) {
+            return new JdkHttpTransport();
+        }
+    },
+
+    /**
+     * The selector based http/1.1 engine of CraftsNet. Does not support ssl.
+     */
+    NIO {
+        @Override
+        public @NotNull HttpTransport createTransport(@NotNull CraftsNet craftsNet) {
+            CraftsNetBuilder builder = craftsNet.getBuilder();
+            return new NioHttpTransport(builder.getHttpSelectorThreads(), builder.getHttpBufferSize(),
+                    builder.getHttpMaxConnections(), 30, 60);
+        }
+    };
+
+    /**
+     * Creates a new transport of this engine.
+     *
+     * @param craftsNet The CraftsNet instance the transport is created for.
+     * @return The newly created {@link HttpTransport}.
+     */
+    public abstract @NotNull HttpTransport createTransport(@NotNull CraftsNet craftsNet);
+
+    /**
+     * Checks whether the transports of this engine support ssl.
+     *
+     * @return {@code true} if ssl is supported, {@code false} otherwise.
+     */
+    public boolean supportsSSL() {
+        return this == JDK;
+    }
+
+}
@@ -0,0 +1,53 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import de.craftsblock.craftsnet.api.http.WebServer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+
+/**
+ * The network layer of the {@link WebServer}. A transport accepts connections, parses incoming http
+ * requests and hands every request as an {@link HttpExchange} to a {@link HttpHandler}, which is
+ * executed on the provided {@link Executor}. Since all transports produce {@link HttpExchange exchanges},
+ * the request and response api on top of them does not depend on the transport in use.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see HttpEngine
+ * @see WebServer
+ * @since 3.7.3
+ */
+public interface HttpTransport {
+
+    /**
+     * Binds the transport to an address and starts accepting connections.
+     *
+     * @param address    The address the transport should listen on.
+     * @param backlog    The maximum number of pending connections the server socket may have in the queue.
+     * @param sslContext The {@link SSLContext} used to encrypt connections, or {@code null} for plain http.
+     * @param handler    The handler which processes the incoming requests.
+     * @param executor   The executor on which the handler is invoked.
+     * @throws IOException If the transport could not be bound.
+     */
+    void start(@NotNull InetSocketAddress address, int backlog, @Nullable SSLContext sslContext,
+               @NotNull HttpHandler handler, @NotNull Executor executor) throws IOException;
+
+    /**
+     * Stops accepting new connections and closes all open connections.
+     */
+    void stop();
+
+    /**
+     * Checks whether the connections of this transport are encrypted.
+     *
+     * @return {@code true} if ssl is used, {@code false} otherwise.
+     */
+    boolean isSSL();
+
+}
@@ -0,0 +1,114 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import de.craftsblock.craftsnet.utils.BoundedExecutor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@link HttpTransport} backed by the {@link HttpServer} which ships with the jdk.
+ * <p>
+ * The jdk server parses the request head, and performs the tls handshake, inside the task it hands to
+ * the executor. If the executor rejects that task, it is passed to a small shedding executor instead,
+ * which runs it in a shedding mode where the handler is skipped and the request is answered with
+ * {@link ServiceUnavailable} right away. The task is never run on the dispatcher thread, as a slow
+ * client would stall accepting all other connections. If the shedding executor is saturated as well,
+ * the rejection is passed on to the jdk server, which closes the connection.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see HttpEngine#JDK
+ * @since 3.7.3
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    private static final ThreadLocal<Boolean> SHEDDING = new ThreadLocal<>();
+
+    private static final int SHEDDING_THREADS = 2;
+    private static final int SHEDDING_QUEUE_CAPACITY = 64;
+
+    private HttpServer server;
+    private BoundedExecutor sheddingExecutor;
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param address    {@inheritDoc}
+     * @param backlog    {@inheritDoc}
+     * @param sslContext {@inheritDoc}
+     * @param handler    {@inheritDoc}
+     * @param executor   {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void start(@NotNull InetSocketAddress address, int backlog, @Nullable SSLContext sslContext,
+                      @NotNull HttpHandler handler, @NotNull Executor executor) throws IOException {
+        if (sslContext != null) {
+            HttpsServer httpsServer = HttpsServer.create(address, backlog);
+            httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext));
+            server = httpsServer;
+        } else server = HttpServer.create(address, backlog);
+
+        // Create a context for the root path ("/") and set its handler to process incoming requests.
+        HttpContext context = server.createContext("/");
+        context.setHandler(exchange -> {
+            if (SHEDDING.get() != null) ServiceUnavailable.send(exchange);
+            else handler.handle(exchange);
+        });
+
+        BoundedExecutor shedder = new BoundedExecutor("CraftsNet HttpShedder-", SHEDDING_THREADS, SHEDDING_QUEUE_CAPACITY);
+        sheddingExecutor = shedder;
+
+        // A rejection thrown by the shedding executor makes the jdk server close the connection
+        server.setExecutor(task -> {
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                shedder.execute(() -> {
+                    SHEDDING.set(Boolean.TRUE);
+                    try {
+                        task.run();
+                    } finally {
+                        SHEDDING.remove();
+                    }
+                });
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void stop() {
+        if (server == null) return;
+
+        server.stop(0);
+        server = null;
+
+        sheddingExecutor.shutdownNow();
+        sheddingExecutor = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isSSL() {
+        return server instanceof HttpsServer;
+    }
+
+}
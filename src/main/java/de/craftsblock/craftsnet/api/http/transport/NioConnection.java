@@ -0,0 +1,393 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import de.craftsblock.craftsnet.api.http.status.HttpStatus;
+import de.craftsblock.craftsnet.utils.BufferPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A single client connection of the {@link NioHttpTransport}.
+ * <p>
+ * While the connection waits for a request it is registered in non-blocking mode with a selector loop,
+ * which reads into a pooled buffer until a complete request head has been received. The connection is
+ * then deregistered, switched to blocking mode and handed to a worker thread, which reads the body,
+ * invokes the handler and writes the response. Afterwards the connection either serves the next
+ * pipelined request, returns to its selector loop or is closed.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+final class NioConnection {
+
+    private static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+    private final NioHttpTransport transport;
+    private final SocketChannel channel;
+    private final InetSocketAddress remoteAddress;
+    private final InetSocketAddress localAddress;
+
+    private NioHttpTransport.SelectorLoop loop;
+    private ByteBuffer readBuffer;
+    private ByteBuffer writeBuffer;
+    private InputStream input;
+
+    private volatile long lastActive;
+    private volatile boolean closed;
+
+    /**
+     * Constructs a new {@link NioConnection} for an accepted channel.
+     *
+     * @param transport The transport which accepted the channel.
+     * @param channel   The accepted channel.
+     * @throws IOException If the addresses of the channel can not be retrieved.
+     */
+    NioConnection(NioHttpTransport transport, SocketChannel channel) throws IOException {
+        this.transport = transport;
+        this.channel = channel;
+        this.remoteAddress = (InetSocketAddress) channel.getRemoteAddress();
+        this.localAddress = (InetSocketAddress) channel.getLocalAddress();
+        this.lastActive = System.nanoTime();
+    }
+
+    /**
+     * Reads the available bytes from the non-blocking channel. Called by the selector loop whenever
+     * the channel is readable.
+     *
+     * @return The request head if it has been received completely, {@code null} otherwise.
+     * @throws IOException If the channel was closed by the client or the request head is malformed.
+     */
+    @Nullable RequestHead readHead() throws IOException {
+        lastActive = System.nanoTime();
+        if (readBuffer == null) readBuffer = transport.getBufferPool().acquire();
+
+        int read = channel.read(readBuffer);
+        if (read < 0) throw new IOException("Connection closed by the client");
+
+        return parseHead();
+    }
+
+    /**
+     * Parses a request head from the bytes which have been received but not consumed yet.
+     *
+     * @return The request head if it has been received completely, {@code null} otherwise.
+     * @throws RequestHead.MalformedRequestException If the head is malformed or exceeds the buffer size.
+     */
+    @Nullable RequestHead parseHead() throws RequestHead.MalformedRequestException {
+        if (readBuffer == null || readBuffer.position() == 0) return null;
+
+        RequestHead head = RequestHead.parse(readBuffer.array(), 0, readBuffer.position());
+        if (head == null) {
+            if (!readBuffer.hasRemaining())
+                throw new RequestHead.MalformedRequestException(431, "Request head exceeds " + readBuffer.capacity() + " bytes");
+            return null;
+        }
+
+        consume(head.length());
+        return head;
+    }
+
+    /**
+     * Serves a request and all requests which are pipelined behind it. Runs on a worker thread, which
+     * switches the channel to blocking mode first.
+     *
+     * @param head The head of the first request.
+     */
+    void serve(@NotNull RequestHead head) {
+        try {
+            channel.configureBlocking(true);
+            channel.socket().setSoTimeout(transport.getReadTimeout());
+            input = channel.socket().getInputStream();
+
+            while (head != null) {
+                NioHttpExchange exchange = new NioHttpExchange(this, head, head.bodyLength());
+                try {
+                    transport.getHandler().handle(exchange);
+                } finally {
+                    exchange.close();
+                }
+
+                if (!exchange.isKeepAlive() || closed || !transport.isRunning()) {
+                    dispose();
+                    return;
+                }
+
+                head = parseHead();
+            }
+
+            lastActive = System.nanoTime();
+            releaseBuffers();
+            input = null;
+
+            channel.configureBlocking(false);
+            loop.register(this);
+        } catch (RequestHead.MalformedRequestException e) {
+            reject(e.getStatus());
+        } catch (Throwable t) {
+            dispose();
+        }
+    }
+
+    /**
+     * Reads body bytes, serving bytes which were already received together with the head first.
+     *
+     * @param bytes  The array the bytes are read into.
+     * @param offset The offset at which the bytes are stored.
+     * @param length The maximum amount of bytes to read.
+     * @return The amount of bytes read, or {@code -1} if the client closed the connection.
+     * @throws IOException If an I/O error occurs or the read timed out.
+     */
+    int read(byte[] bytes, int offset, int length) throws IOException {
+        if (readBuffer != null && readBuffer.position() > 0) {
+            int count = Math.min(length, readBuffer.position());
+            System.arraycopy(readBuffer.array(), 0, bytes, offset, count);
+            consume(count);
+            return count;
+        }
+
+        return input.read(bytes, offset, length);
+    }
+
+    /**
+     * Reads a single body byte.
+     *
+     * @return The byte, or {@code -1} if the client closed the connection.
+     * @throws IOException If an I/O error occurs or the read timed out.
+     */
+    int read() throws IOException {
+        if (readBuffer != null && readBuffer.position() > 0) {
+            int value = readBuffer.get(0) & 0xFF;
+            consume(1);
+            return value;
+        }
+
+        return input.read();
+    }
+
+    /**
+     * Writes bytes through the pooled write buffer.
+     *
+     * @param bytes  The bytes to write.
+     * @param offset The offset of the first byte.
+     * @param length The amount of bytes to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    void write(byte[] bytes, int offset, int length) throws IOException {
+        if (writeBuffer == null) writeBuffer = transport.getBufferPool().acquire();
+
+        if (length >= writeBuffer.capacity()) {
+            flush();
+            writeFully(ByteBuffer.wrap(bytes, offset, length));
+            return;
+        }
+
+        if (length > writeBuffer.remaining()) flush();
+        writeBuffer.put(bytes, offset, length);
+    }
+
+    /**
+     * Writes all buffered bytes to the channel.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    void flush() throws IOException {
+        if (writeBuffer == null || writeBuffer.position() == 0) return;
+
+        writeBuffer.flip();
+        writeFully(writeBuffer);
+        writeBuffer.clear();
+    }
+
+    /**
+     * Transfers a region of a file directly to the channel after writing all buffered bytes. As the
+     * channel is in blocking mode, the operating system copies the bytes without passing them through
+     * the heap where it supports it.
+     *
+     * @param file     The channel of the file.
+     * @param position The position in the file the region starts at.
+     * @param count    The length of the region in bytes.
+     * @throws IOException If an I/O error occurs or the file ends before the region.
+     */
+    void transferFrom(FileChannel file, long position, long count) throws IOException {
+        flush();
+
+        long end = position + count;
+        while (position < end) {
+            long transferred = file.transferTo(position, end - position, channel);
+            if (transferred <= 0 && position >= file.size())
+                throw new EOFException("The file ended " + (end - position) + " bytes before the transferred region");
+
+            position += transferred;
+        }
+    }
+
+    /**
+     * Sends an interim {@code 100 Continue} response to a client which expects it before sending the body.
+     *
+     * @throws IOException If an I/O error occurs.
+     */
+    void sendContinue() throws IOException {
+        write(CONTINUE, 0, CONTINUE.length);
+        flush();
+    }
+
+    /**
+     * Answers a request with an empty error response and closes the connection. Used for requests which
+     * can not be handed to the handler, e.g. because their head is malformed.
+     * <p>
+     * The response is written with a single write. When called by the selector loop, the channel is
+     * non-blocking, so the short response is sent on a best effort basis and a client which does not
+     * read can never stall the loop.
+     *
+     * @param status The http status code of the response.
+     */
+    void reject(int status) {
+        String reason = HttpStatus.fromCode(status).getReason();
+        byte[] response = ("HTTP/1.1 " + status + " " + (reason != null ? reason : "") + "\r\n"
+                + "Content-Length: 0\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+
+        try {
+            channel.write(ByteBuffer.wrap(response));
+        } catch (IOException ignored) {
+        } finally {
+            dispose();
+        }
+    }
+
+    /**
+     * Answers a request with the pre-serialized {@link ServiceUnavailable} response and closes the
+     * connection, without reading the body of the request. Used by the selector loop when the executor
+     * is saturated, the response is written with a single write on the non-blocking channel.
+     */
+    void shed() {
+        try {
+            channel.write(ServiceUnavailable.buffer());
+        } catch (IOException ignored) {
+        } finally {
+            dispose();
+        }
+    }
+
+    /**
+     * Closes the connection. The buffers are left untouched, as the connection may currently be used
+     * by another thread, so this is safe to call from any thread.
+     */
+    void close() {
+        if (closed) return;
+        closed = true;
+
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+
+        transport.onClose(this);
+    }
+
+    /**
+     * Closes the connection and returns its buffers to the pool. Must only be called by the thread
+     * which currently owns the connection, either its selector loop or the worker serving it.
+     */
+    void dispose() {
+        close();
+        releaseBuffers();
+    }
+
+    /**
+     * Assigns the selector loop which watches this connection while it is idle.
+     *
+     * @param loop The selector loop.
+     */
+    void setLoop(NioHttpTransport.SelectorLoop loop) {
+        this.loop = loop;
+    }
+
+    /**
+     * Checks whether the connection has been idle for longer than the specified timeout.
+     *
+     * @param now     The current {@link System#nanoTime()}.
+     * @param timeout The idle timeout in nanoseconds.
+     * @return {@code true} if the connection timed out, {@code false} otherwise.
+     */
+    boolean isIdle(long now, long timeout) {
+        return now - lastActive > timeout;
+    }
+
+    /**
+     * Retrieves the channel of the connection.
+     *
+     * @return The channel.
+     */
+    @NotNull SocketChannel getChannel() {
+        return channel;
+    }
+
+    /**
+     * Retrieves the address of the client.
+     *
+     * @return The remote address.
+     */
+    @NotNull InetSocketAddress getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    /**
+     * Retrieves the address the connection was accepted on.
+     *
+     * @return The local address.
+     */
+    @NotNull InetSocketAddress getLocalAddress() {
+        return localAddress;
+    }
+
+    /**
+     * Writes a buffer completely to the channel.
+     *
+     * @param buffer The buffer to write.
+     * @throws IOException If an I/O error occurs.
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+    }
+
+    /**
+     * Removes consumed bytes from the start of the read buffer.
+     *
+     * @param count The amount of consumed bytes.
+     */
+    private void consume(int count) {
+        int remaining = readBuffer.position() - count;
+        if (remaining > 0)
+            System.arraycopy(readBuffer.array(), count, readBuffer.array(), 0, remaining);
+
+        readBuffer.position(remaining);
+    }
+
+    /**
+     * Returns the buffers of the connection to the pool, keeping a read buffer which still holds
+     * received but unconsumed bytes.
+     */
+    private void releaseBuffers() {
+        BufferPool pool = transport.getBufferPool();
+        if (readBuffer != null && (closed || readBuffer.position() == 0)) {
+            pool.release(readBuffer);
+            readBuffer = null;
+        }
+
+        if (writeBuffer != null) {
+            pool.release(writeBuffer);
+            writeBuffer = null;
+        }
+    }
+
+}
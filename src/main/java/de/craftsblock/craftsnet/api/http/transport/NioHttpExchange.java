@@ -0,0 +1,668 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpPrincipal;
+import de.craftsblock.craftsnet.api.http.status.HttpStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link HttpExchange} of the {@link NioHttpTransport}. It follows the contract of the exchanges created
+ * by the jdk http server, so the request and response api built on top of {@link HttpExchange} works
+ * unchanged:
+ * <ul>
+ *     <li>A response length greater than zero sends a body of exactly that length.</li>
+ *     <li>A response length of zero sends a chunked body, or a body delimited by closing the connection
+ *     for http/1.0 clients.</li>
+ *     <li>A response length of {@code -1} sends no body.</li>
+ * </ul>
+ * Closing the exchange finishes the response and skips the unread part of the request body, so the
+ * connection can be reused for the next request.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+final class NioHttpExchange extends HttpExchange {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.RFC_1123_DATE_TIME;
+    private static final long MAX_DRAIN = 64 * 1024;
+
+    private static final byte[] CRLF = {'\r', '\n'};
+    private static final byte[] LAST_CHUNK = {'0', '\r', '\n', '\r', '\n'};
+
+    private static volatile CachedDate cachedDate = new CachedDate(0, "");
+
+    private final NioConnection connection;
+    private final RequestHead head;
+    private final Headers responseHeaders = new Headers();
+    private final Map<String, Object> attributes = new HashMap<>();
+
+    private final BodyInputStream requestBodyStream;
+    private final BodyOutputStream responseBodyStream = new BodyOutputStream();
+
+    private InputStream requestBody;
+    private OutputStream responseBody;
+
+    private int responseCode = -1;
+    private boolean keepAlive;
+    private boolean closed;
+
+    /**
+     * Constructs a new {@link NioHttpExchange} for a received request head.
+     *
+     * @param connection The connection the request was received on.
+     * @param head       The head of the request.
+     * @param bodyLength The length of the request body, or {@code -1} if it is chunked.
+     */
+    NioHttpExchange(@NotNull NioConnection connection, @NotNull RequestHead head, long bodyLength) {
+        this.connection = connection;
+        this.head = head;
+        this.requestBodyStream = new BodyInputStream(bodyLength, "100-continue".equalsIgnoreCase(head.headers().getFirst("Expect")));
+        this.requestBody = requestBodyStream;
+        this.responseBody = responseBodyStream;
+
+        String connectionHeader = head.headers().getFirst("Connection");
+        this.keepAlive = head.isHttp11()
+                ? !containsToken(connectionHeader, "close")
+                : containsToken(connectionHeader, "keep-alive");
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Headers getRequestHeaders() {
+        return head.headers();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Headers getResponseHeaders() {
+        return responseHeaders;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public URI getRequestURI() {
+        return head.target();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String getRequestMethod() {
+        return head.method();
+    }
+
+    /**
+     * Always returns {@code null}, as the {@link NioHttpTransport} does not support contexts and passes
+     * every request to the same handler.
+     *
+     * @return {@code null}
+     */
+    @Override
+    public HttpContext getHttpContext() {
+        return null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        try {
+            if (responseCode < 0) {
+                // No response was sent, the client can not detect the end of the exchange
+                keepAlive = false;
+                return;
+            }
+
+            responseBody.close();
+            responseBodyStream.finish();
+            if (!requestBodyStream.drain()) keepAlive = false;
+        } catch (IOException e) {
+            keepAlive = false;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public InputStream getRequestBody() {
+        return requestBody;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public OutputStream getResponseBody() {
+        return responseBody;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param rCode          {@inheritDoc}
+     * @param responseLength {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public void sendResponseHeaders(int rCode, long responseLength) throws IOException {
+        if (responseCode >= 0) throw new IOException("The response headers have already been sent!");
+        responseCode = rCode;
+
+        long length = responseLength;
+        boolean bodyless = rCode < 200 || rCode == 204 || rCode == 304 || "HEAD".equalsIgnoreCase(head.method());
+
+        if (bodyless) {
+            if (rCode < 200 || rCode == 204 || rCode == 304) {
+                responseHeaders.remove("Transfer-Encoding");
+                responseHeaders.remove("Content-Length");
+            } else if (length > 0) responseHeaders.set("Content-Length", Long.toString(length));
+
+            length = -1;
+        } else if (length == 0) {
+            if (head.isHttp11()) responseHeaders.set("Transfer-Encoding", "chunked");
+            else {
+                // Http/1.0 clients do not understand chunked bodies, so the end of the body is signaled by closing
+                responseHeaders.remove("Transfer-Encoding");
+                keepAlive = false;
+            }
+        } else {
+            responseHeaders.remove("Transfer-Encoding");
+            responseHeaders.set("Content-Length", Long.toString(Math.max(length, 0)));
+        }
+
+        if (containsToken(responseHeaders.getFirst("Connection"), "close")) keepAlive = false;
+        if (!keepAlive) responseHeaders.set("Connection", "close");
+        else if (!head.isHttp11()) responseHeaders.set("Connection", "keep-alive");
+
+        if (!responseHeaders.containsKey("Date")) responseHeaders.set("Date", currentDate());
+
+        StringBuilder builder = new StringBuilder(256);
+        String reason = HttpStatus.isValid(rCode) ? HttpStatus.fromCode(rCode).getReason() : null;
+        builder.append("HTTP/1.1 ").append(rCode).append(' ').append(reason != null ? reason : "").append("\r\n");
+        for (Map.Entry<String, List<String>> header : responseHeaders.entrySet())
+            for (String value : header.getValue())
+                builder.append(header.getKey()).append(": ").append(value).append("\r\n");
+        builder.append("\r\n");
+
+        byte[] bytes = builder.toString().getBytes(StandardCharsets.ISO_8859_1);
+        connection.write(bytes, 0, bytes.length);
+        responseBodyStream.start(length);
+
+        if (length == -1) connection.flush();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return connection.getRemoteAddress();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getResponseCode() {
+        return responseCode;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return connection.getLocalAddress();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public String getProtocol() {
+        return head.protocol();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param name {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public Object getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param name  {@inheritDoc}
+     * @param value {@inheritDoc}
+     */
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (value == null) attributes.remove(name);
+        else attributes.put(name, value);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param i {@inheritDoc}
+     * @param o {@inheritDoc}
+     */
+    @Override
+    public void setStreams(InputStream i, OutputStream o) {
+        if (i != null) requestBody = i;
+        if (o != null) responseBody = o;
+    }
+
+    /**
+     * Always returns {@code null}, as the {@link NioHttpTransport} does not support authenticators.
+     *
+     * @return {@code null}
+     */
+    @Override
+    public HttpPrincipal getPrincipal() {
+        return null;
+    }
+
+    /**
+     * Checks whether the connection can be reused for another request after this exchange.
+     *
+     * @return {@code true} if the connection can be kept alive, {@code false} otherwise.
+     */
+    boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * Checks whether a comma separated header value contains a token, ignoring the case.
+     *
+     * @param value The header value, may be null.
+     * @param token The token to search for.
+     * @return {@code true} if the token is present, {@code false} otherwise.
+     */
+    private static boolean containsToken(String value, String token) {
+        if (value == null) return false;
+
+        for (String part : value.split(","))
+            if (part.trim().equalsIgnoreCase(token)) return true;
+
+        return false;
+    }
+
+    /**
+     * Retrieves the value of the date header, which is formatted at most once per second.
+     *
+     * @return The current date formatted according to RFC 1123.
+     */
+    private static String currentDate() {
+        long second = System.currentTimeMillis() / 1000;
+        CachedDate date = cachedDate;
+        if (date.second() != second) {
+            date = new CachedDate(second, DATE_FORMAT.format(ZonedDateTime.now(ZoneOffset.UTC)));
+            cachedDate = date;
+        }
+
+        return date.value();
+    }
+
+    /**
+     * A formatted date header value.
+     *
+     * @param second The epoch second the value was formatted for.
+     * @param value  The formatted value.
+     * @since 3.7.3
+     */
+    private record CachedDate(long second, String value) {
+    }
+
+    /**
+     * The request body, delimited either by its content length or by the chunked transfer coding.
+     *
+     * @since 3.7.3
+     */
+    private final class BodyInputStream extends InputStream {
+
+        private final boolean chunked;
+        private boolean expectContinue;
+
+        private long remaining;
+        private boolean chunkStarted;
+        private boolean finished;
+
+        /**
+         * Constructs a new {@link BodyInputStream}.
+         *
+         * @param length         The length of the body, or {@code -1} if it is chunked.
+         * @param expectContinue Whether the client waits for a {@code 100 Continue} before sending the body.
+         */
+        private BodyInputStream(long length, boolean expectContinue) {
+            this.chunked = length < 0;
+            this.remaining = chunked ? 0 : length;
+            this.finished = length == 0;
+            this.expectContinue = expectContinue && length != 0;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            if (!prepare()) return -1;
+
+            int value = connection.read();
+            if (value < 0) throw new IOException("Connection closed before the request body was received");
+
+            remaining--;
+            return value;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param b   {@inheritDoc}
+         * @param off {@inheritDoc}
+         * @param len {@inheritDoc}
+         * @return {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public int read(byte @NotNull [] b, int off, int len) throws IOException {
+            if (len == 0) return 0;
+            if (!prepare()) return -1;
+
+            int read = connection.read(b, off, (int) Math.min(len, remaining));
+            if (read < 0) throw new IOException("Connection closed before the request body was received");
+
+            remaining -= read;
+            return read;
+        }
+
+        /**
+         * Skips the unread part of the body, so the next request on the connection can be read.
+         *
+         * @return {@code true} if the body has been skipped, {@code false} if it is too large to be skipped.
+         * @throws IOException If an I/O error occurs.
+         */
+        private boolean drain() throws IOException {
+            // The client never sent the body, as it did not receive a 100 Continue
+            if (expectContinue) return false;
+
+            byte[] skip = new byte[1024];
+            long drained = 0;
+            while (!finished) {
+                if (drained > MAX_DRAIN) return false;
+
+                int read = read(skip, 0, skip.length);
+                if (read < 0) break;
+                drained += read;
+            }
+
+            return true;
+        }
+
+        /**
+         * Makes sure there are bytes left to read in the current chunk, sending a {@code 100 Continue}
+         * first if the client expects it.
+         *
+         * @return {@code true} if there are bytes left to read, {@code false} if the body has ended.
+         * @throws IOException If an I/O error occurs or the chunked body is malformed.
+         */
+        private boolean prepare() throws IOException {
+            if (finished) return false;
+
+            if (expectContinue) {
+                expectContinue = false;
+                if (responseCode < 0) connection.sendContinue();
+            }
+
+            if (remaining > 0) return true;
+            if (!chunked) {
+                finished = true;
+                return false;
+            }
+
+            // Consume the line break which terminates the previous chunk
+            if (chunkStarted) readLine();
+            chunkStarted = true;
+
+            String sizeLine = readLine();
+            int extension = sizeLine.indexOf(';');
+            try {
+                remaining = Long.parseLong((extension >= 0 ? sizeLine.substring(0, extension) : sizeLine).trim(), 16);
+            } catch (NumberFormatException e) {
+                throw new IOException("Malformed chunk size " + sizeLine);
+            }
+
+            if (remaining < 0) throw new IOException("Malformed chunk size " + sizeLine);
+            if (remaining > 0) return true;
+
+            // Skip the trailer section
+            while (!readLine().isEmpty()) ;
+            finished = true;
+            return false;
+        }
+
+        /**
+         * Reads a single line of the chunked framing.
+         *
+         * @return The line without its line break.
+         * @throws IOException If an I/O error occurs or the line is too long.
+         */
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            for (int value = connection.read(); value != '\n'; value = connection.read()) {
+                if (value < 0) throw new IOException("Connection closed before the request body was received");
+                if (line.length() > 4096) throw new IOException("Chunk framing line too long");
+                if (value != '\r') line.append((char) value);
+            }
+
+            return line.toString();
+        }
+
+    }
+
+    /**
+     * The response body, which frames the written bytes according to the length passed to
+     * {@link #sendResponseHeaders(int, long)}. File regions are sent straight from the file to the
+     * socket.
+     *
+     * @since 3.7.3
+     */
+    private final class BodyOutputStream extends OutputStream implements FileTransferable {
+
+        private boolean started;
+        private boolean chunked;
+        private boolean delimitedByClose;
+        private long remaining;
+        private boolean finished;
+
+        /**
+         * Starts the body after the response headers have been written.
+         *
+         * @param length The length passed to {@link #sendResponseHeaders(int, long)}.
+         */
+        private void start(long length) {
+            started = true;
+            if (length < 0) {
+                finished = true;
+                return;
+            }
+
+            chunked = length == 0 && head.isHttp11();
+            delimitedByClose = length == 0 && !chunked;
+            remaining = length;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param b {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param b   {@inheritDoc}
+         * @param off {@inheritDoc}
+         * @param len {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void write(byte @NotNull [] b, int off, int len) throws IOException {
+            if (!started) throw new IOException("The response headers have not been sent yet!");
+            if (finished) throw new IOException("The response body has already been finished!");
+            if (len == 0) return;
+
+            if (chunked) {
+                byte[] size = Integer.toHexString(len).getBytes(StandardCharsets.ISO_8859_1);
+                connection.write(size, 0, size.length);
+                connection.write(CRLF, 0, CRLF.length);
+                connection.write(b, off, len);
+                connection.write(CRLF, 0, CRLF.length);
+                return;
+            }
+
+            if (!delimitedByClose) {
+                if (len > remaining) throw new IOException("Too many bytes written to the response body");
+                remaining -= len;
+            }
+
+            connection.write(b, off, len);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param file     {@inheritDoc}
+         * @param position {@inheritDoc}
+         * @param count    {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void transferFrom(@NotNull FileChannel file, long position, long count) throws IOException {
+            if (!started) throw new IOException("The response headers have not been sent yet!");
+            if (finished) throw new IOException("The response body has already been finished!");
+            if (count <= 0) return;
+
+            if (chunked) {
+                byte[] size = Long.toHexString(count).getBytes(StandardCharsets.ISO_8859_1);
+                connection.write(size, 0, size.length);
+                connection.write(CRLF, 0, CRLF.length);
+                connection.transferFrom(file, position, count);
+                connection.write(CRLF, 0, CRLF.length);
+                return;
+            }
+
+            if (!delimitedByClose) {
+                if (count > remaining) throw new IOException("Too many bytes written to the response body");
+                remaining -= count;
+            }
+
+            connection.transferFrom(file, position, count);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void flush() throws IOException {
+            connection.flush();
+        }
+
+        /**
+         * Finishes the body, as the exchange is closed through {@link NioHttpExchange#close()}.
+         *
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void close() throws IOException {
+            finish();
+        }
+
+        /**
+         * Writes the end of the body and flushes all buffered bytes.
+         *
+         * @throws IOException If an I/O error occurs or a fixed length body is incomplete.
+         */
+        private void finish() throws IOException {
+            if (!started || finished) {
+                connection.flush();
+                return;
+            }
+
+            finished = true;
+            if (chunked) connection.write(LAST_CHUNK, 0, LAST_CHUNK.length);
+            connection.flush();
+
+            if (!chunked && !delimitedByClose && remaining > 0) {
+                keepAlive = false;
+                throw new IOException("The response body is " + remaining + " bytes shorter than announced");
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,437 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import com.sun.net.httpserver.HttpHandler;
+import de.craftsblock.craftsnet.utils.BufferPool;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link HttpTransport} which implements http/1.1 on top of non-blocking channels.
+ * <p>
+ * A small, fixed number of selector threads accept connections and read request heads into pooled
+ * buffers. Only once a request head is complete, the connection is handed to the executor, so idle
+ * keep-alive connections and slow clients do not occupy a worker thread. Keep-alive, pipelining,
+ * chunked request and response bodies and {@code Expect: 100-continue} are supported. Encrypted
+ * connections are not supported by this transport.
+ * <p>
+ * The amount of open connections can be limited. Connections beyond the limit, as well as requests
+ * which can not be handed to the saturated executor, are answered with a {@code 503 Service Unavailable}
+ * on a best effort basis. The selector threads never block on a client while doing so.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see HttpEngine#NIO
+ * @since 3.7.3
+ */
+public class NioHttpTransport implements HttpTransport {
+
+    /**
+     * The default size of the pooled buffers, which also limits the size of a request head.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * The default maximum amount of open connections.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 10_000;
+
+    private static final long SWEEP_INTERVAL = 1000;
+
+    private final int selectorThreads;
+    private final BufferPool bufferPool;
+    private final int maxConnections;
+    private final int readTimeout;
+    private final long idleTimeout;
+
+    private final Set<NioConnection> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    private ServerSocketChannel serverChannel;
+    private SelectorLoop[] loops;
+    private HttpHandler handler;
+    private Executor executor;
+
+    private volatile boolean running;
+
+    /**
+     * Constructs a new {@link NioHttpTransport} with the default buffer size, connection limit and timeouts.
+     *
+     * @param selectorThreads The amount of selector threads, {@code 0} or less to derive it from the available processors.
+     */
+    public NioHttpTransport(int selectorThreads) {
+        this(selectorThreads, DEFAULT_BUFFER_SIZE, DEFAULT_MAX_CONNECTIONS, 30, 60);
+    }
+
+    /**
+     * Constructs a new {@link NioHttpTransport}.
+     *
+     * @param selectorThreads The amount of selector threads, {@code 0} or less to derive it from the available processors.
+     * @param bufferSize      The size of the pooled buffers, which also limits the size of a request head.
+     * @param maxConnections  The maximum amount of open connections, {@code 0} or less for no limit.
+     * @param readTimeout     The time in seconds a worker waits for body bytes before the connection is closed.
+     * @param idleTimeout     The time in seconds after which idle connections are closed.
+     */
+    public NioHttpTransport(int selectorThreads, int bufferSize, int maxConnections, int readTimeout, int idleTimeout) {
+        this.selectorThreads = selectorThreads > 0
+                ? selectorThreads
+                : Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+        this.bufferPool = new BufferPool(bufferSize, 256);
+        this.maxConnections = maxConnections;
+        this.readTimeout = (int) TimeUnit.SECONDS.toMillis(readTimeout);
+        this.idleTimeout = TimeUnit.SECONDS.toNanos(idleTimeout);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param address    {@inheritDoc}
+     * @param backlog    {@inheritDoc}
+     * @param sslContext Must be {@code null}, as this transport does not support ssl.
+     * @param handler    {@inheritDoc}
+     * @param executor   {@inheritDoc}
+     * @throws IOException {@inheritDoc}
+     */
+    @Override
+    public synchronized void start(@NotNull InetSocketAddress address, int backlog, @Nullable SSLContext sslContext,
+                                   @NotNull HttpHandler handler, @NotNull Executor executor) throws IOException {
+        if (sslContext != null) throw new IllegalArgumentException("The nio http transport does not support ssl!");
+        if (running) throw new IllegalStateException("The nio http transport has already been started!");
+
+        this.handler = handler;
+        this.executor = executor;
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+        serverChannel.bind(address, backlog);
+        serverChannel.configureBlocking(false);
+
+        running = true;
+        loops = new SelectorLoop[selectorThreads];
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new SelectorLoop(i);
+            if (i == 0) serverChannel.register(loops[i].selector, SelectionKey.OP_ACCEPT);
+        }
+
+        for (SelectorLoop loop : loops)
+            loop.thread.start();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) return;
+        running = false;
+
+        try {
+            serverChannel.close();
+        } catch (IOException ignored) {
+        }
+
+        for (SelectorLoop loop : loops)
+            loop.selector.wakeup();
+
+        for (SelectorLoop loop : loops)
+            try {
+                loop.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+        for (NioConnection connection : connections)
+            connection.close();
+
+        connections.clear();
+        serverChannel = null;
+        loops = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return Always {@code false}, as this transport does not support ssl.
+     */
+    @Override
+    public boolean isSSL() {
+        return false;
+    }
+
+    /**
+     * Checks whether the transport is currently accepting connections.
+     *
+     * @return {@code true} if the transport is running, {@code false} otherwise.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Retrieves the amount of currently open connections.
+     *
+     * @return The amount of open connections.
+     */
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Retrieves the maximum amount of open connections.
+     *
+     * @return The maximum amount of open connections, {@code 0} or less if there is no limit.
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Retrieves the address the transport is bound to.
+     *
+     * @return The bound address, or {@code null} if the transport is not running.
+     */
+    public synchronized @Nullable InetSocketAddress getAddress() {
+        try {
+            return serverChannel != null ? (InetSocketAddress) serverChannel.getLocalAddress() : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Retrieves the amount of selector threads.
+     *
+     * @return The amount of selector threads.
+     */
+    public int getSelectorThreads() {
+        return selectorThreads;
+    }
+
+    /**
+     * Retrieves the handler requests are passed to.
+     *
+     * @return The handler.
+     */
+    HttpHandler getHandler() {
+        return handler;
+    }
+
+    /**
+     * Retrieves the pool the buffers of the connections are taken from.
+     *
+     * @return The buffer pool.
+     */
+    BufferPool getBufferPool() {
+        return bufferPool;
+    }
+
+    /**
+     * Retrieves the time a worker waits for body bytes.
+     *
+     * @return The read timeout in milliseconds.
+     */
+    int getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Removes a closed connection from the set of open connections.
+     *
+     * @param connection The closed connection.
+     */
+    void onClose(NioConnection connection) {
+        connections.remove(connection);
+    }
+
+    /**
+     * Accepts all pending connections and distributes them between the selector loops.
+     */
+    private void accept() {
+        try {
+            SocketChannel channel;
+            while ((channel = serverChannel.accept()) != null) {
+                channel.configureBlocking(false);
+                if (maxConnections > 0 && connections.size() >= maxConnections) {
+                    refuse(channel);
+                    continue;
+                }
+
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+                NioConnection connection = new NioConnection(this, channel);
+                connections.add(connection);
+                loops[Math.floorMod(nextLoop.getAndIncrement(), loops.length)].register(connection);
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    /**
+     * Answers a connection beyond the connection limit with a {@code 503 Service Unavailable} and closes it.
+     * The response is written with a single write on the non-blocking channel, so a client which does not
+     * read can not stall the selector loop.
+     *
+     * @param channel The accepted, non-blocking channel.
+     */
+    private void refuse(SocketChannel channel) {
+        try {
+            channel.write(ServiceUnavailable.buffer());
+        } catch (IOException ignored) {
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Hands a connection with a complete request head to the executor. The channel is switched to
+     * blocking mode by the worker, so a rejected connection can still be answered without blocking.
+     *
+     * @param connection The connection.
+     * @param head       The received request head.
+     */
+    private void dispatch(NioConnection connection, RequestHead head) {
+        try {
+            executor.execute(() -> connection.serve(head));
+        } catch (RejectedExecutionException e) {
+            connection.shed();
+        }
+    }
+
+    /**
+     * A selector thread which watches a share of the idle connections and reads their request heads.
+     *
+     * @since 3.7.3
+     */
+    final class SelectorLoop implements Runnable {
+
+        private final Selector selector;
+        private final Thread thread;
+        private final Queue<NioConnection> pending = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Constructs a new {@link SelectorLoop} and opens its selector.
+         *
+         * @param index The index of the loop, used to name its thread.
+         * @throws IOException If the selector can not be opened.
+         */
+        private SelectorLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "CraftsNet HttpSelector-" + index);
+        }
+
+        /**
+         * Queues a connection to be watched by this loop.
+         *
+         * @param connection The connection, which must be in non-blocking mode.
+         */
+        void register(NioConnection connection) {
+            connection.setLoop(this);
+            pending.add(connection);
+            selector.wakeup();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            List<Runnable> dispatches = new ArrayList<>();
+            long lastSweep = System.nanoTime();
+
+            while (running) {
+                try {
+                    selector.select(SWEEP_INTERVAL);
+                    registerPending();
+
+                    Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+                    while (iterator.hasNext()) {
+                        SelectionKey key = iterator.next();
+                        iterator.remove();
+                        if (!key.isValid()) continue;
+
+                        if (key.isAcceptable()) {
+                            accept();
+                            continue;
+                        }
+
+                        NioConnection connection = (NioConnection) key.attachment();
+                        try {
+                            RequestHead head = connection.readHead();
+                            if (head == null) continue;
+
+                            key.cancel();
+                            dispatches.add(() -> dispatch(connection, head));
+                        } catch (RequestHead.MalformedRequestException e) {
+                            connection.reject(e.getStatus());
+                        } catch (IOException e) {
+                            connection.dispose();
+                        }
+                    }
+
+                    if (!dispatches.isEmpty()) {
+                        // Deregisters the cancelled keys, so the channels can be switched to blocking mode
+                        selector.selectNow();
+                        dispatches.forEach(Runnable::run);
+                        dispatches.clear();
+                    }
+
+                    long now = System.nanoTime();
+                    if (now - lastSweep >= TimeUnit.MILLISECONDS.toNanos(SWEEP_INTERVAL)) {
+                        lastSweep = now;
+                        for (SelectionKey key : selector.keys())
+                            if (key.attachment() instanceof NioConnection connection && connection.isIdle(now, idleTimeout))
+                                connection.dispose();
+                    }
+                } catch (IOException ignored) {
+                }
+            }
+
+            for (SelectionKey key : selector.keys())
+                if (key.attachment() instanceof NioConnection connection)
+                    connection.dispose();
+
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        /**
+         * Registers all queued connections with the selector.
+         */
+        private void registerPending() {
+            NioConnection connection;
+            while ((connection = pending.poll()) != null)
+                try {
+                    connection.getChannel().register(selector, SelectionKey.OP_READ, connection);
+                } catch (ClosedChannelException e) {
+                    connection.dispose();
+                }
+        }
+
+    }
+
+}
@@ -0,0 +1,285 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import com.sun.net.httpserver.Headers;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The parsed request line and headers of a single http/1.x request.
+ *
+ * @param method   The request method.
+ * @param target   The request target.
+ * @param protocol The protocol of the request, either {@code HTTP/1.0} or {@code HTTP/1.1}.
+ * @param headers  The request headers.
+ * @param length   The amount of bytes the head occupied, including the terminating empty line.
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+record RequestHead(@NotNull String method, @NotNull URI target, @NotNull String protocol,
+                   @NotNull Headers headers, int length) {
+
+    /**
+     * Parses a request head from raw bytes.
+     *
+     * @param data   The buffer holding the received bytes.
+     * @param offset The index of the first received byte.
+     * @param end    The index after the last received byte.
+     * @return The parsed {@link RequestHead}, or {@code null} if the head has not been received completely.
+     * @throws MalformedRequestException If the received head is not a valid http/1.x request head.
+     */
+    static @Nullable RequestHead parse(byte[] data, int offset, int end) throws MalformedRequestException {
+        // Empty lines in front of the request line must be ignored (RFC 9112, Section 2.2)
+        int start = offset;
+        while (start < end && (data[start] == '\r' || data[start] == '\n')) start++;
+
+        int headEnd = findHeadEnd(data, start, end);
+        if (headEnd < 0) return null;
+
+        int lineEnd = nextLine(data, start, headEnd);
+        String method = null, target = null, protocol = null;
+
+        int firstSpace = indexOf(data, start, lineEnd, (byte) ' ');
+        int lastSpace = lastIndexOf(data, start, lineEnd, (byte) ' ');
+        if (firstSpace > start && lastSpace > firstSpace + 1) {
+            method = ascii(data, start, firstSpace);
+            target = ascii(data, firstSpace + 1, lastSpace);
+            protocol = ascii(data, lastSpace + 1, trimLineEnd(data, start, lineEnd));
+        }
+
+        if (method == null || target.indexOf(' ') >= 0 || !isToken(method))
+            throw new MalformedRequestException(400, "Malformed request line");
+        if (!protocol.equals("HTTP/1.1") && !protocol.equals("HTTP/1.0"))
+            throw new MalformedRequestException(protocol.startsWith("HTTP/") ? 505 : 400, "Unsupported protocol " + protocol);
+
+        URI uri;
+        try {
+            uri = new URI(target);
+        } catch (URISyntaxException e) {
+            throw new MalformedRequestException(400, "Malformed request target " + target);
+        }
+
+        Headers headers = new Headers();
+        for (int lineStart = lineEnd + 1; lineStart < headEnd; lineStart = lineEnd + 1) {
+            lineEnd = nextLine(data, lineStart, headEnd);
+            int contentEnd = trimLineEnd(data, lineStart, lineEnd);
+            if (contentEnd == lineStart) break;
+
+            // Obsolete line folding is not supported (RFC 9112, Section 5.2)
+            if (data[lineStart] == ' ' || data[lineStart] == '\t')
+                throw new MalformedRequestException(400, "Folded header lines are not supported");
+
+            int colon = indexOf(data, lineStart, contentEnd, (byte) ':');
+            if (colon <= lineStart) throw new MalformedRequestException(400, "Malformed header line");
+
+            String name = ascii(data, lineStart, colon);
+            if (!isToken(name)) throw new MalformedRequestException(400, "Malformed header name " + name);
+
+            int valueStart = colon + 1, valueEnd = contentEnd;
+            while (valueStart < valueEnd && isWhitespace(data[valueStart])) valueStart++;
+            while (valueEnd > valueStart && isWhitespace(data[valueEnd - 1])) valueEnd--;
+
+            headers.add(name, ascii(data, valueStart, valueEnd));
+        }
+
+        return new RequestHead(method, uri, protocol, headers, headEnd - offset);
+    }
+
+    /**
+     * Determines how the body of the request is framed (RFC 9112, Section 6.3).
+     *
+     * @return The length of the body, or {@code -1} if the body uses the chunked transfer coding.
+     * @throws MalformedRequestException If the framing headers are invalid or ambiguous.
+     */
+    long bodyLength() throws MalformedRequestException {
+        String transferEncoding = headers.getFirst("Transfer-Encoding");
+        String contentLength = headers.getFirst("Content-Length");
+
+        if (transferEncoding != null) {
+            // A message with both headers is a known vector for request smuggling and is rejected
+            if (contentLength != null || !isHttp11())
+                throw new MalformedRequestException(400, "Ambiguous request body framing");
+
+            String[] codings = transferEncoding.split(",");
+            if (!codings[codings.length - 1].trim().equalsIgnoreCase("chunked"))
+                throw new MalformedRequestException(400, "Unsupported transfer coding " + transferEncoding);
+
+            return -1;
+        }
+
+        if (contentLength == null) return 0;
+
+        for (String other : headers.get("Content-Length"))
+            if (!other.equals(contentLength)) throw new MalformedRequestException(400, "Conflicting content lengths");
+
+        try {
+            long length = Long.parseLong(contentLength);
+            if (length < 0) throw new MalformedRequestException(400, "Negative content length");
+            return length;
+        } catch (NumberFormatException e) {
+            throw new MalformedRequestException(400, "Malformed content length " + contentLength);
+        }
+    }
+
+    /**
+     * Checks whether the request uses http/1.1.
+     *
+     * @return {@code true} if the protocol is http/1.1, {@code false} if it is http/1.0.
+     */
+    boolean isHttp11() {
+        return protocol.equals("HTTP/1.1");
+    }
+
+    /**
+     * Searches for the empty line which terminates a request head.
+     *
+     * @param data  The buffer holding the received bytes.
+     * @param start The index of the first byte of the head.
+     * @param end   The index after the last received byte.
+     * @return The index after the empty line, or {@code -1} if the head is not complete.
+     */
+    private static int findHeadEnd(byte[] data, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (data[i] != '\n') continue;
+
+            int next = i + 1;
+            if (next < end && data[next] == '\r') next++;
+            if (next < end && data[next] == '\n') return next + 1;
+        }
+
+        return -1;
+    }
+
+    /**
+     * Searches for the line feed which terminates the current line.
+     *
+     * @param data  The buffer holding the head.
+     * @param start The index of the first byte of the line.
+     * @param end   The index after the head.
+     * @return The index of the line feed.
+     */
+    private static int nextLine(byte[] data, int start, int end) {
+        int index = indexOf(data, start, end, (byte) '\n');
+        return index < 0 ? end : index;
+    }
+
+    /**
+     * Removes a trailing carriage return from a line.
+     *
+     * @param data    The buffer holding the head.
+     * @param start   The index of the first byte of the line.
+     * @param lineEnd The index of the line feed.
+     * @return The index after the last content byte of the line.
+     */
+    private static int trimLineEnd(byte[] data, int start, int lineEnd) {
+        return lineEnd > start && data[lineEnd - 1] == '\r' ? lineEnd - 1 : lineEnd;
+    }
+
+    /**
+     * Searches for the first occurrence of a byte.
+     *
+     * @param data  The buffer to search in.
+     * @param start The index at which the search starts.
+     * @param end   The index at which the search stops.
+     * @param value The byte to search for.
+     * @return The index of the byte, or {@code -1} if it was not found.
+     */
+    private static int indexOf(byte[] data, int start, int end, byte value) {
+        for (int i = start; i < end; i++)
+            if (data[i] == value) return i;
+        return -1;
+    }
+
+    /**
+     * Searches for the last occurrence of a byte.
+     *
+     * @param data  The buffer to search in.
+     * @param start The index at which the search stops.
+     * @param end   The index at which the backwards search starts.
+     * @param value The byte to search for.
+     * @return The index of the byte, or {@code -1} if it was not found.
+     */
+    private static int lastIndexOf(byte[] data, int start, int end, byte value) {
+        for (int i = end - 1; i >= start; i--)
+            if (data[i] == value) return i;
+        return -1;
+    }
+
+    /**
+     * Checks whether a byte is optional whitespace (RFC 9110, Section 5.6.3).
+     *
+     * @param value The byte to check.
+     * @return {@code true} if the byte is a space or a horizontal tab, {@code false} otherwise.
+     */
+    private static boolean isWhitespace(byte value) {
+        return value == ' ' || value == '\t';
+    }
+
+    /**
+     * Checks whether a string is a valid http token (RFC 9110, Section 5.6.2).
+     *
+     * @param value The string to check.
+     * @return {@code true} if the string is a token, {@code false} otherwise.
+     */
+    private static boolean isToken(String value) {
+        if (value.isEmpty()) return false;
+
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c <= ' ' || c >= 127 || "\"(),/:;<=>?@[\\]{}".indexOf(c) >= 0) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Decodes a part of the head, which is always encoded as ISO-8859-1.
+     *
+     * @param data  The buffer holding the head.
+     * @param start The index of the first byte.
+     * @param end   The index after the last byte.
+     * @return The decoded string.
+     */
+    private static String ascii(byte[] data, int start, int end) {
+        return new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Signals that a received request head is not valid and must be answered with an error status.
+     *
+     * @author Philipp Maywald
+     * @author CraftsBlock
+     * @since 3.7.3
+     */
+    static final class MalformedRequestException extends IOException {
+
+        private final int status;
+
+        /**
+         * Constructs a new {@link MalformedRequestException}.
+         *
+         * @param status  The http status the request should be answered with.
+         * @param message The detail message.
+         */
+        MalformedRequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        /**
+         * Retrieves the http status the request should be answered with.
+         *
+         * @return The http status code.
+         */
+        int getStatus() {
+            return status;
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The response which is sent to clients while the servers are saturated. The response is serialized
+ * once, so shedding load does not cost more than a single write and never touches the body of the
+ * request or the routing.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+public final class ServiceUnavailable {
+
+    /**
+     * The amount of seconds clients are asked to wait before retrying.
+     */
+    public static final int RETRY_AFTER_SECONDS = 1;
+
+    private static final byte[] RESPONSE = ("HTTP/1.1 503 Service Unavailable\r\n"
+            + "Retry-After: " + RETRY_AFTER_SECONDS + "\r\n"
+            + "Content-Length: 0\r\n"
+            + "Connection: close\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1);
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private ServiceUnavailable() {
+    }
+
+    /**
+     * Retrieves the serialized response.
+     *
+     * @return A read-only buffer containing the response.
+     */
+    public static @NotNull ByteBuffer buffer() {
+        return ByteBuffer.wrap(RESPONSE).asReadOnlyBuffer();
+    }
+
+    /**
+     * Writes the serialized response to a raw connection.
+     *
+     * @param out The output stream of the connection.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static void write(@NotNull OutputStream out) throws IOException {
+        out.write(RESPONSE);
+        out.flush();
+    }
+
+    /**
+     * Sends the response through an {@link HttpExchange} and closes it, for transports which do not
+     * expose the raw connection.
+     *
+     * @param exchange The exchange of the rejected request.
+     * @throws IOException If an I/O error occurs.
+     */
+    public static void send(@NotNull HttpExchange exchange) throws IOException {
+        try {
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+            headers.set("Connection", "close");
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+}
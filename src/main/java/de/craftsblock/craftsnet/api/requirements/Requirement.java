@@ -14,6 +14,13 @@ import java.lang.annotation.Annotation;
  */
 public abstract class Requirement<T extends RequireAble> {
 
+    /**
+     * The cost of requirements which do not specify their own cost.
+     *
+     * @since 3.7.3
+     */
+    public static final int DEFAULT_COST = 100;
+
     private final Class<? extends Annotation> annotation;
 
     /**
@@ -44,4 +51,15 @@ public abstract class Requirement<T extends RequireAble> {
         return annotation;
     }
 
+    /**
+     * Gets the relative cost of evaluating this requirement. Requirements with a lower cost are
+     * checked first, so cheap checks can reject a request before expensive ones are executed.
+     *
+     * @return the relative evaluation cost
+     * @since 3.7.3
+     */
+    public int getCost() {
+        return DEFAULT_COST;
+    }
+
 }
@@ -121,19 +121,26 @@ public class RequirementRegistry {
                 .add((RequirementMethodLink<? super RequireAble, ?>) RequirementMethodLink.create(requirement));
 
         this.requirements.computeIfAbsent(target, c -> new ConcurrentLinkedQueue<>()).add(requirement);
-        var serverMappings = routeRegistry.getServerMappings();
-        if (!process || !serverMappings.containsKey(target)) return;
-
-        Map<Pattern, Queue<RouteRegistry.EndpointMapping>> patternedMappings = serverMappings.get(target);
-        if (patternedMappings.isEmpty()) return;
-
-        List<Class<? extends Annotation>> annotations = Collections.singletonList(requirement.getAnnotation());
-        patternedMappings.values().stream().flatMap(Collection::stream).forEach(mapping -> {
-            ConcurrentHashMap<Class<? extends Annotation>, RequirementInfo> requirements = new ConcurrentHashMap<>();
-            loadRequirements(requirements, annotations, mapping.method(), mapping.handler());
-            if (requirements.isEmpty()) return;
-            mapping.requirements().putAll(requirements);
-        });
+
+        try {
+            var serverMappings = routeRegistry.getServerMappings();
+            if (!process || !serverMappings.containsKey(target)) return;
+
+            Map<Pattern, Queue<RouteRegistry.EndpointMapping>> patternedMappings = serverMappings.get(target);
+            if (patternedMappings.isEmpty()) return;
+
+            List<Class<? extends Annotation>> annotations = Collections.singletonList(requirement.getAnnotation());
+            patternedMappings.values().stream().flatMap(Collection::stream).forEach(mapping -> {
+                ConcurrentHashMap<Class<? extends Annotation>, RequirementInfo> requirements = new ConcurrentHashMap<>();
+                loadRequirements(requirements, annotations, mapping.method(), mapping.handler());
+                if (requirements.isEmpty()) return;
+                mapping.requirements().putAll(requirements);
+                mapping.requirementPlan().compile(mapping, getRequirementMethodLinks(target));
+            });
+        } finally {
+            // Invalidated last, so no route can be cached with a requirement plan compiled before
+            routeRegistry.invalidateRouteCache();
+        }
     }
 
     /**
@@ -0,0 +1,109 @@
+package de.craftsblock.craftsnet.api.requirements.meta;
+
+import de.craftsblock.craftsnet.api.RouteRegistry;
+import de.craftsblock.craftsnet.api.requirements.RequireAble;
+import de.craftsblock.craftsnet.api.requirements.Requirement;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * A precompiled evaluation plan which holds only the {@link Requirement requirements} that are present
+ * on a single {@link RouteRegistry.EndpointMapping}.
+ * <p>
+ * The requirements are ordered by their {@link Requirement#getCost() cost}, so cheap checks like the
+ * request method or the domain are evaluated before expensive ones like the body. The evaluation stops
+ * at the first requirement which does not apply. The plan is compiled when the endpoint is registered
+ * and recompiled whenever a new requirement is registered at runtime.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see RequirementMethodLink
+ * @since 3.7.3
+ */
+public final class RequirementPlan {
+
+    @SuppressWarnings("unchecked")
+    private static final RequirementMethodLink<? super RequireAble, ?>[] NO_CHECKS = new RequirementMethodLink[0];
+
+    private volatile RequirementMethodLink<? super RequireAble, ?>[] checks = NO_CHECKS;
+
+    /**
+     * Compiles the plan for an endpoint mapping from all requirements which are registered for its server.
+     *
+     * @param mapping The endpoint mapping the plan belongs to.
+     * @param links   The requirement method links registered for the server of the mapping.
+     */
+    @SuppressWarnings("unchecked")
+    public void compile(@NotNull RouteRegistry.EndpointMapping mapping,
+                        @NotNull Collection<RequirementMethodLink<? super RequireAble, ?>> links) {
+        List<RequirementMethodLink<? super RequireAble, ?>> compiled = new ArrayList<>();
+        for (RequirementMethodLink<? super RequireAble, ?> link : links)
+            if (mapping.isPresent(link.requirement().getAnnotation())) compiled.add(link);
+
+        compiled.sort(Comparator.comparingInt(link -> link.requirement().getCost()));
+        this.checks = compiled.isEmpty() ? NO_CHECKS : compiled.toArray(RequirementMethodLink[]::new);
+    }
+
+    /**
+     * Checks whether all requirements of the plan which accept the target apply.
+     *
+     * @param target  The {@link RequireAble} containing the data about the request.
+     * @param mapping The endpoint mapping the plan belongs to.
+     * @return {@code true} if all requirements apply, {@code false} otherwise.
+     */
+    public boolean applies(@NotNull RequireAble target, @NotNull RouteRegistry.EndpointMapping mapping) {
+        return applies(target, mapping, null);
+    }
+
+    /**
+     * Checks whether all requirements of the plan which accept the target and pass the filter apply.
+     *
+     * @param target  The {@link RequireAble} containing the data about the request.
+     * @param mapping The endpoint mapping the plan belongs to.
+     * @param filter  Decides which requirements, identified by their annotation, should be checked,
+     *                or {@code null} to check all of them.
+     * @return {@code true} if all requirements apply, {@code false} otherwise.
+     */
+    public boolean applies(@NotNull RequireAble target, @NotNull RouteRegistry.EndpointMapping mapping,
+                           @Nullable Predicate<Class<? extends Annotation>> filter) {
+        for (RequirementMethodLink<? super RequireAble, ?> check : checks) {
+            if (!check.arg().isInstance(target)) continue;
+
+            Requirement<? super RequireAble> requirement = check.requirement();
+            if (filter != null && !filter.test(requirement.getAnnotation())) continue;
+            if (!requirement.applies(target, mapping)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether the plan contains any requirement which passes the filter.
+     *
+     * @param filter The filter the annotations of the requirements are tested against.
+     * @return {@code true} if at least one requirement passes the filter, {@code false} otherwise.
+     */
+    public boolean contains(@NotNull Predicate<Class<? extends Annotation>> filter) {
+        for (RequirementMethodLink<? super RequireAble, ?> check : checks)
+            if (filter.test(check.requirement().getAnnotation())) return true;
+
+        return false;
+    }
+
+    /**
+     * Checks whether the plan contains no requirements.
+     *
+     * @return {@code true} if the plan is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return checks.length == 0;
+    }
+
+}
@@ -4,6 +4,7 @@ import de.craftsblock.craftsnet.api.RouteRegistry;
 import de.craftsblock.craftsnet.api.http.Request;
 import de.craftsblock.craftsnet.api.http.annotations.RequireBody;
 import de.craftsblock.craftsnet.api.http.body.Body;
+import de.craftsblock.craftsnet.api.http.body.BodySlots;
 
 import java.util.List;
 
@@ -38,9 +39,24 @@ public class BodyRequirement extends WebRequirement {
         if (!request.hasBody()) return false;
 
         List<Class<? extends Body>> requirements = endpointMapping.getRequirements(RequireBody.class);
-        return requirements.parallelStream()
-                .filter(Body.class::isAssignableFrom)
-                .allMatch(type -> request.getBody().isBodyFromType(type));
+        BodySlots slots = request.getBodySlots();
+        for (Class<? extends Body> type : requirements) {
+            if (!Body.class.isAssignableFrom(type)) continue;
+            if (!slots.isParseable(type)) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement may force parsing the whole body, so it is checked last.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 1000;
     }
 
 }
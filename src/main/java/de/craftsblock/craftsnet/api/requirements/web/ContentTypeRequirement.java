@@ -46,4 +46,15 @@ public class ContentTypeRequirement extends WebRequirement {
         return contentTypes.contains("*") || new HashSet<>(contentTypes).containsAll(requirements);
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires looking up the content type header.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 20;
+    }
+
 }
@@ -45,4 +45,15 @@ public class CookieRequirement extends WebRequirement {
         return new HashSet<>(cookies).containsAll(requirements);
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires parsing the cookies.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 40;
+    }
+
 }
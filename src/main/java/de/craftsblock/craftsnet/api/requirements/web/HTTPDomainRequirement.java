@@ -41,4 +41,15 @@ public class HTTPDomainRequirement extends WebRequirement {
         return requirements.contains("*") || requirements.contains(domain);
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires comparing the domain.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 10;
+    }
+
 }
@@ -44,4 +44,15 @@ public class HeadersRequirement extends WebRequirement {
         return headers.keySet().containsAll(requirements);
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires looking up the headers.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 30;
+    }
+
 }
@@ -46,4 +46,15 @@ public class MethodRequirement extends WebRequirement {
         return requirements.contains(method);
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires comparing the request method.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 0;
+    }
+
 }
@@ -44,4 +44,15 @@ public class QueryParameterRequirement extends WebRequirement {
         return params.containsAll(requirements);
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires looking up the query parameters.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 50;
+    }
+
 }
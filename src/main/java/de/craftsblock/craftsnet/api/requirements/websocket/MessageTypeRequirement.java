@@ -40,4 +40,15 @@ public class MessageTypeRequirement extends WebSocketRequirement<Frame> {
         return requirements.contains(frame.getOpcode());
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires comparing the message type.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 0;
+    }
+
 }
@@ -42,4 +42,15 @@ public class WSDomainRequirement extends WebSocketRequirement<WebSocketClient> {
         return requirements.contains("*") || requirements.contains(domain);
     }
 
+    /**
+     * {@inheritDoc}
+     * Evaluating this requirement only requires comparing the domain.
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public int getCost() {
+        return 10;
+    }
+
 }
@@ -0,0 +1,175 @@
+package de.craftsblock.craftsnet.api.routing;
+
+import de.craftsblock.craftsnet.api.RouteRegistry;
+import de.craftsblock.craftsnet.api.http.HttpMethod;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache placed in front of the route resolution of the {@link RouteRegistry}. Entries are
+ * keyed by the {@link HttpMethod}, the domain and the normalized path of a request and hold the
+ * resolved, priority ordered {@link RouteMatch}.
+ * <p>
+ * Only requirements which are fully described by the cache key (request method and domain) are
+ * applied before an entry is stored. Entries which contain endpoints with any other requirement are
+ * flagged as dynamic, so the remaining requirements are still checked for every request.
+ * <p>
+ * Every invalidation advances the generation of the cache. Resolutions which started before an
+ * invalidation are discarded when stored, so they can not outlive the routing configuration they
+ * were resolved against.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see RouteRegistry
+ * @since 3.7.3
+ */
+public final class RouteCache {
+
+    private final int capacity;
+    private final Map<Key, Entry> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a new {@link RouteCache} with a specified maximum capacity.
+     *
+     * @param capacity The maximum amount of entries the cache can hold.
+     */
+    public RouteCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("The capacity of the route cache must be greater than 0!");
+
+        this.capacity = capacity;
+        this.entries = new ConcurrentHashMap<>(Math.min(capacity, 256));
+    }
+
+    /**
+     * Retrieves a cached entry and counts the lookup as a hit or a miss.
+     *
+     * @param method The http method of the request.
+     * @param domain The domain of the request.
+     * @param path   The normalized path of the request.
+     * @return The cached entry, or {@code null} if none is present.
+     */
+    public @Nullable Entry get(@NotNull HttpMethod method, @Nullable String domain, @NotNull String path) {
+        Entry entry = entries.get(new Key(method, domain, path));
+
+        if (entry == null) misses.increment();
+        else hits.increment();
+
+        return entry;
+    }
+
+    /**
+     * Retrieves the current generation of the cache. It must be captured before a new entry is
+     * resolved and passed to {@link #put(HttpMethod, String, String, Entry, long)}.
+     *
+     * @return The current generation.
+     */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a resolved entry, unless the cache was invalidated since the passed generation was
+     * captured. If the cache is full, an arbitrary entry is evicted first.
+     *
+     * @param method     The http method of the request.
+     * @param domain     The domain of the request.
+     * @param path       The normalized path of the request.
+     * @param entry      The resolved entry.
+     * @param generation The generation captured before the entry was resolved.
+     */
+    public void put(@NotNull HttpMethod method, @Nullable String domain, @NotNull String path, @NotNull Entry entry, long generation) {
+        if (this.generation.get() != generation) return;
+
+        if (entries.size() >= capacity) {
+            Iterator<Key> iterator = entries.keySet().iterator();
+            if (iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+
+        Key key = new Key(method, domain, path);
+        entries.put(key, entry);
+
+        // An invalidation may have cleared the cache between the check above and the put
+        if (this.generation.get() != generation) entries.remove(key, entry);
+    }
+
+    /**
+     * Removes all cached entries. This must be called whenever the routing configuration changes.
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Retrieves the amount of lookups which were answered by the cache.
+     *
+     * @return The amount of cache hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the amount of lookups which could not be answered by the cache.
+     *
+     * @return The amount of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the amount of currently cached entries.
+     *
+     * @return The amount of cached entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retrieves the maximum amount of entries the cache can hold.
+     *
+     * @return The capacity of the cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * The key used to identify a cached resolution.
+     *
+     * @param method The http method of the request.
+     * @param domain The domain of the request.
+     * @param path   The normalized path of the request.
+     * @since 3.7.3
+     */
+    private record Key(HttpMethod method, String domain, String path) {
+    }
+
+    /**
+     * A cached resolution.
+     *
+     * @param match   The resolved {@link RouteMatch}, filtered only by the request method and domain.
+     *                It is shared between requests and must not be modified.
+     * @param dynamic Whether any endpoint of the match has requirements which depend on more than
+     *                the request method and domain and must therefore be checked per request.
+     * @since 3.7.3
+     */
+    public record Entry(@NotNull RouteMatch match, boolean dynamic) {
+    }
+
+}
@@ -0,0 +1,88 @@
+package de.craftsblock.craftsnet.api.routing;
+
+import de.craftsblock.craftsnet.api.RouteRegistry;
+import de.craftsblock.craftsnet.api.annotations.ProcessPriority;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * The result of resolving an url against the {@link RouteRegistry}. It holds all matching
+ * {@link RouteRegistry.EndpointMapping endpoint mappings} grouped by their
+ * {@link ProcessPriority.Priority} and the path parameters which were captured while matching.
+ * <p>
+ * A match may be shared between requests by the {@link RouteCache}, so its mappings are exposed
+ * as unmodifiable views only.
+ *
+ * @param mappings   The matching endpoint mappings grouped by their priority.
+ * @param parameters The captured path parameters, indexed by the validator of the mappings.
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see RouteTrie
+ * @since 3.7.3
+ */
+public record RouteMatch(@NotNull @Unmodifiable Map<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> mappings,
+                         @NotNull @Unmodifiable Map<Pattern, String[]> parameters) {
+
+    private static final String[] NO_PARAMETERS = new String[0];
+
+    /**
+     * Constructs a new {@link RouteMatch} and wraps the mappings and parameters into unmodifiable views.
+     *
+     * @param mappings   The matching endpoint mappings grouped by their priority.
+     * @param parameters The captured path parameters, indexed by the validator of the mappings.
+     */
+    public RouteMatch(@NotNull EnumMap<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> mappings,
+                      @NotNull Map<Pattern, String[]> parameters) {
+        this(wrap(mappings), Collections.unmodifiableMap(parameters));
+    }
+
+    /**
+     * Creates a modifiable copy of the matching endpoint mappings.
+     *
+     * @return A new {@link EnumMap} holding the matching endpoint mappings grouped by their priority.
+     */
+    public @NotNull EnumMap<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> copyMappings() {
+        EnumMap<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> copy = new EnumMap<>(ProcessPriority.Priority.class);
+        copy.putAll(mappings);
+        return copy;
+    }
+
+    /**
+     * Checks whether no endpoint mapping matched.
+     *
+     * @return {@code true} if no mapping matched, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return mappings.isEmpty();
+    }
+
+    /**
+     * Retrieves the captured path parameters of a specific endpoint mapping in the order
+     * they appear in the url.
+     *
+     * @param mapping The endpoint mapping.
+     * @return The captured path parameters, or an empty array if the mapping captured none.
+     */
+    public @NotNull String[] getParameters(@NotNull RouteRegistry.EndpointMapping mapping) {
+        return parameters.getOrDefault(mapping.validator(), NO_PARAMETERS);
+    }
+
+    /**
+     * Wraps the mappings and each of their lists into unmodifiable views, preserving the priority order.
+     *
+     * @param mappings The matching endpoint mappings grouped by their priority.
+     * @return An unmodifiable view of the mappings.
+     */
+    private static @Unmodifiable Map<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> wrap(
+            EnumMap<ProcessPriority.Priority, List<RouteRegistry.EndpointMapping>> mappings) {
+        mappings.replaceAll((priority, list) -> Collections.unmodifiableList(list));
+        return Collections.unmodifiableMap(mappings);
+    }
+
+}
@@ -0,0 +1,306 @@
+package de.craftsblock.craftsnet.api.routing;
+
+import de.craftsblock.craftsnet.api.RouteRegistry.EndpointMapping;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An immutable, compiled segment trie which resolves urls to the {@link EndpointMapping endpoint mappings}
+ * of a server without scanning every validator pattern on each lookup.
+ * <p>
+ * Static path segments are looked up through a hash map, {@code {param}} segments are represented
+ * by a capture node, and only templates which contain real regular expression syntax fall back to
+ * matching their validator sequentially. Instances are built once through a {@link Builder} and never
+ * change afterward, which allows them to be published as a snapshot and read without any locking.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+@ApiStatus.Internal
+public final class RouteTrie {
+
+    /**
+     * An empty {@link RouteTrie} which never matches.
+     */
+    public static final RouteTrie EMPTY = new Builder().build();
+
+    private static final String[] NO_PARAMETERS = new String[0];
+    private static final String REGEX_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final Node root;
+    private final Route[] fallbacks;
+
+    /**
+     * Constructs a new compiled {@link RouteTrie}.
+     *
+     * @param root      The compiled root node.
+     * @param fallbacks The routes which must be matched through their validator.
+     */
+    private RouteTrie(Node root, Route[] fallbacks) {
+        this.root = root;
+        this.fallbacks = fallbacks;
+    }
+
+    /**
+     * Matches a formatted url against the trie and passes every matching route together with the
+     * captured path parameters to the consumer.
+     *
+     * @param url      The formatted url which should be matched.
+     * @param consumer The consumer receiving the matching routes.
+     */
+    public void match(@NotNull String url, @NotNull MatchConsumer consumer) {
+        String[] segments = split(url);
+        match(root, segments, 0, new String[segments.length], 0, consumer);
+
+        for (Route route : fallbacks) {
+            Matcher matcher = route.validator.matcher(url);
+            if (!matcher.matches()) continue;
+
+            // Group 1 represents the whole url, so parameters start at group 2
+            int groupCount = matcher.groupCount();
+            String[] parameters = groupCount <= 1 ? NO_PARAMETERS : new String[groupCount - 1];
+            for (int i = 2; i <= groupCount; i++)
+                parameters[i - 2] = matcher.group(i);
+
+            consumer.accept(route.validator, route.mappings, parameters);
+        }
+    }
+
+    /**
+     * Walks the trie depth first and passes all routes whose template matches the segments to the consumer.
+     *
+     * @param node       The current node.
+     * @param segments   The segments of the url.
+     * @param index      The index of the segment which should be matched next.
+     * @param captured   The buffer holding the parameters captured so far.
+     * @param paramCount The amount of parameters captured so far.
+     * @param consumer   The consumer receiving the matches.
+     */
+    private void match(Node node, String[] segments, int index, String[] captured, int paramCount,
+                       MatchConsumer consumer) {
+        if (index == segments.length) {
+            if (node.routes.length == 0) return;
+
+            String[] parameters = paramCount == 0 ? NO_PARAMETERS : Arrays.copyOf(captured, paramCount);
+            for (Route route : node.routes)
+                consumer.accept(route.validator, route.mappings, parameters);
+            return;
+        }
+
+        String segment = segments[index];
+
+        Node child = node.statics.get(segment.toLowerCase(Locale.ROOT));
+        if (child != null) match(child, segments, index + 1, captured, paramCount, consumer);
+
+        if (node.parameter != null) {
+            captured[paramCount] = segment;
+            match(node.parameter, segments, index + 1, captured, paramCount + 1, consumer);
+        }
+    }
+
+    /**
+     * Checks whether the trie contains no routes at all.
+     *
+     * @return {@code true} if the trie is empty, {@code false} otherwise.
+     */
+    public boolean isEmpty() {
+        return fallbacks.length == 0 && root.isEmpty();
+    }
+
+    /**
+     * Splits a formatted url into its non-empty segments.
+     *
+     * @param url The formatted url.
+     * @return The segments of the url.
+     */
+    private static String[] split(String url) {
+        int count = 0;
+        int length = url.length();
+
+        for (int i = 0; i < length; i++)
+            if (url.charAt(i) != '/' && (i == 0 || url.charAt(i - 1) == '/')) count++;
+
+        String[] segments = new String[count];
+        int index = 0, start = -1;
+        for (int i = 0; i <= length; i++) {
+            boolean separator = i == length || url.charAt(i) == '/';
+            if (separator && start >= 0) {
+                segments[index++] = url.substring(start, i);
+                start = -1;
+            } else if (!separator && start < 0) start = i;
+        }
+
+        return segments;
+    }
+
+    /**
+     * Checks whether a template segment is a plain {@code {param}} placeholder.
+     *
+     * @param segment The template segment.
+     * @return {@code true} if the segment is a placeholder, {@code false} otherwise.
+     */
+    private static boolean isParameter(String segment) {
+        int length = segment.length();
+        if (length < 3 || segment.charAt(0) != '{' || segment.charAt(length - 1) != '}') return false;
+
+        for (int i = 1; i < length - 1; i++) {
+            char c = segment.charAt(i);
+            if (c == '{' || c == '}') return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks whether a template segment contains no regular expression syntax.
+     *
+     * @param segment The template segment.
+     * @return {@code true} if the segment is a literal, {@code false} otherwise.
+     */
+    private static boolean isStatic(String segment) {
+        for (int i = 0; i < segment.length(); i++)
+            if (REGEX_CHARACTERS.indexOf(segment.charAt(i)) >= 0) return false;
+        return true;
+    }
+
+    /**
+     * A consumer which receives the routes matched by {@link RouteTrie#match(String, MatchConsumer)}.
+     *
+     * @since 3.7.3
+     */
+    @FunctionalInterface
+    public interface MatchConsumer {
+
+        /**
+         * Accepts a matching route.
+         *
+         * @param validator  The validator pattern of the route.
+         * @param mappings   The endpoint mappings of the route, sorted by their priority.
+         * @param parameters The path parameters captured while matching.
+         */
+        void accept(@NotNull Pattern validator, @NotNull EndpointMapping @NotNull [] mappings, @NotNull String @NotNull [] parameters);
+
+    }
+
+    /**
+     * A single compiled route, consisting of a validator and its endpoint mappings.
+     *
+     * @param validator The validator pattern of the route.
+     * @param mappings  The endpoint mappings of the route, sorted by their priority.
+     * @since 3.7.3
+     */
+    private record Route(Pattern validator, EndpointMapping[] mappings) {
+    }
+
+    /**
+     * A single immutable node of the {@link RouteTrie}.
+     *
+     * @param statics   The static children, indexed by their lower case segment.
+     * @param parameter The parameter child, or {@code null} if absent.
+     * @param routes    The routes which end at this node.
+     * @since 3.7.3
+     */
+    private record Node(Map<String, Node> statics, Node parameter, Route[] routes) {
+
+        /**
+         * Checks whether this node holds no routes and no children.
+         *
+         * @return {@code true} if the node is empty, {@code false} otherwise.
+         */
+        private boolean isEmpty() {
+            return routes.length == 0 && statics.isEmpty() && parameter == null;
+        }
+
+    }
+
+    /**
+     * A builder used to compile new {@link RouteTrie} instances.
+     *
+     * @since 3.7.3
+     */
+    public static final class Builder {
+
+        private final BuilderNode root = new BuilderNode();
+        private final List<Route> fallbacks = new ArrayList<>();
+
+        /**
+         * Adds a route to the trie.
+         *
+         * @param template  The formatted url template, e.g. {@code /users/{id}}.
+         * @param validator The validator pattern which was compiled from the template.
+         * @param mappings  The endpoint mappings which are registered for the validator.
+         * @return The builder for chaining.
+         */
+        public Builder add(@NotNull String template, @NotNull Pattern validator, @NotNull Collection<EndpointMapping> mappings) {
+            if (mappings.isEmpty()) return this;
+
+            EndpointMapping[] sorted = mappings.toArray(EndpointMapping[]::new);
+            Arrays.sort(sorted, Comparator.comparing(EndpointMapping::priority));
+            Route route = new Route(validator, sorted);
+
+            BuilderNode node = root;
+            for (String segment : split(template)) {
+                if (isParameter(segment)) {
+                    if (node.parameter == null) node.parameter = new BuilderNode();
+                    node = node.parameter;
+                    continue;
+                }
+
+                if (!isStatic(segment)) {
+                    fallbacks.add(route);
+                    return this;
+                }
+
+                node = node.statics.computeIfAbsent(segment.toLowerCase(Locale.ROOT), s -> new BuilderNode());
+            }
+
+            node.routes.add(route);
+            return this;
+        }
+
+        /**
+         * Compiles the added routes into an immutable {@link RouteTrie}.
+         *
+         * @return The compiled {@link RouteTrie}.
+         */
+        public RouteTrie build() {
+            return new RouteTrie(root.build(), fallbacks.toArray(Route[]::new));
+        }
+
+        /**
+         * A mutable node which is only used while building.
+         *
+         * @since 3.7.3
+         */
+        private static final class BuilderNode {
+
+            private final Map<String, BuilderNode> statics = new HashMap<>();
+            private final List<Route> routes = new ArrayList<>();
+            private BuilderNode parameter;
+
+            /**
+             * Compiles this node and all of its children.
+             *
+             * @return The compiled node.
+             */
+            private Node build() {
+                Map<String, Node> compiled = new HashMap<>(statics.size());
+                statics.forEach((segment, child) -> compiled.put(segment, child.build()));
+
+                return new Node(
+                        compiled.isEmpty() ? Map.of() : Collections.unmodifiableMap(compiled),
+                        parameter != null ? parameter.build() : null,
+                        routes.toArray(Route[]::new)
+                );
+            }
+
+        }
+
+    }
+
+}
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.ApiStatus;
 import java.io.IOException;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Handles the persistence of session data by providing functionality for loading, saving,
@@ -16,6 +17,10 @@ import java.util.concurrent.LinkedBlockingQueue;
  * <p>The {@link  SessionStorage} class ensures data integrity through file locking mechanisms
  * and supports thread-safe operations by preventing concurrent modifications.</p>
  *
+ * <p>Since 3.7.3 the driver jobs are serialized through a lock owned by the storage instead of the
+ * monitor of the {@link Session}, as the drivers block on io while holding it. Code which synchronizes
+ * on the session therefore no longer excludes loads, saves or migrations of its storage.</p>
+ *
  * <p>Session files are stored in a predefined directory, and their filenames are constructed
  * using the session identifier.</p>
  *
@@ -45,6 +50,9 @@ public class SessionStorage {
     private final Session session;
     private final Queue<QueuedJob> actionQueue = new LinkedBlockingQueue<>();
 
+    // Owned by this storage, the jobs no longer synchronize on the session itself
+    private final ReentrantLock lock = new ReentrantLock();
+
     private SessionDriver driver;
 
     private boolean busy = false;
@@ -152,13 +160,16 @@ public class SessionStorage {
     private void forcePerformJob(JobType type, Object... args) {
         try {
             String sessionID = this.session.getSessionInfo().getSessionID();
-            synchronized (session) {
+            lock.lock();
+            try {
                 switch (type) {
                     case LOAD -> this.driver.load(this.session, sessionID);
                     case SAVE -> this.driver.save(this.session, sessionID);
                     case DESTROY -> this.driver.destroy(this.session, sessionID);
                     case MIGRATE -> this.driver.migrate(this.session, sessionID, (SessionDriver) args[0]);
                 }
+            } finally {
+                lock.unlock();
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -169,7 +180,8 @@ public class SessionStorage {
      * Completes all jobs in the queue and marks the session file as not busy.
      * Ensures thread safety and prevents concurrent modification issues.
      */
-    private synchronized void completeJob() {
+    private void completeJob() {
+        lock.lock();
         try {
             if (actionQueue.isEmpty()) return;
 
@@ -180,6 +192,7 @@ public class SessionStorage {
             if (!actionQueue.isEmpty()) this.completeJob();
         } finally {
             busy = false;
+            lock.unlock();
         }
     }
 
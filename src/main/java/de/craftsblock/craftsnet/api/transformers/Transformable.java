@@ -2,10 +2,15 @@ package de.craftsblock.craftsnet.api.transformers;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.time.Duration;
+
 /**
  * Interface representing a transformation operation.
  * Classes implementing this interface are capable of transforming a given parameter
  * into a specific type.
+ * <p>
+ * Since 3.7.3 a single instance of each {@link Transformable} is created and shared between all
+ * endpoints and requests, so implementations must be thread-safe and should not keep per request state.
  *
  * @param <R> The type to which the parameter is transformed.
  * @param <T> The type from which the transformer transforms the param.
@@ -38,6 +43,11 @@ public interface Transformable<R, T> {
 
     /**
      * Gets whether the result of {@link #transform(Object)} should be cached or not.
+     * <p>
+     * Results are kept for the current request or websocket frame. Once the {@link TransformerCache} is
+     * enabled, they are shared between all requests until their time to live expired instead, so
+     * transformers whose results can change over time should return false or a short
+     * {@link #getCacheTimeToLive() time to live}.
      *
      * @return true when its cacheable, false otherwise.
      */
@@ -45,4 +55,16 @@ public interface Transformable<R, T> {
         return true;
     }
 
+    /**
+     * Gets the time after which cached results of {@link #transform(Object)} expire. If the time to live is
+     * null, the default time to live of the {@link TransformerCache} is used. A time to live of
+     * {@link Duration#ZERO} disables caching for this {@link Transformable transformer}.
+     *
+     * @return The time to live of cached results, may be null.
+     * @since 3.7.3
+     */
+    default @Nullable Duration getCacheTimeToLive() {
+        return null;
+    }
+
 }
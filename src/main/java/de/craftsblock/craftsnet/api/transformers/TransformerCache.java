@@ -0,0 +1,368 @@
+package de.craftsblock.craftsnet.api.transformers;
+
+import de.craftsblock.craftsnet.api.transformers.annotations.Transformer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A process wide cache which holds the results of {@link Transformer#cacheable() cacheable} transformers.
+ * The results are keyed by the class of the {@link Transformable} and the raw value which was transformed,
+ * so they are shared between all requests and websocket clients.
+ * <p>
+ * The cache is split into independently locked stripes, each of them evicting its least recently used
+ * entry once it is full. Every entry expires after a time to live, which defaults to the time to live of
+ * the cache and can be changed per {@link Transformable} either through
+ * {@link Transformable#getCacheTimeToLive()} or through {@link #setTimeToLive(Class, Duration)}.
+ * A time to live of {@link Duration#ZERO} disables caching for a transformer.
+ * <p>
+ * Whenever the data behind a transformer changes, the affected results should be removed through
+ * {@link #invalidate(Class, Object)}, {@link #invalidate(Class)} or {@link #invalidateAll()}.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see TransformerPerformer
+ * @since 3.7.3
+ */
+public final class TransformerCache {
+
+    private static final int MAX_STRIPES = 16;
+    private static final long MAX_TIME_TO_LIVE = Long.MAX_VALUE >> 2;
+
+    private final int capacity;
+    private final long timeToLive;
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    private final Map<Class<? extends Transformable<?, ?>>, Long> timeToLiveOverrides = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a new {@link TransformerCache} with a specified maximum capacity and default time to live.
+     *
+     * @param capacity   The maximum amount of entries the cache can hold.
+     * @param timeToLive The time after which cached results expire.
+     */
+    public TransformerCache(int capacity, @NotNull Duration timeToLive) {
+        if (capacity <= 0) throw new IllegalArgumentException("The capacity of the transformer cache must be greater than 0!");
+        if (timeToLive.isNegative() || timeToLive.isZero())
+            throw new IllegalArgumentException("The time to live of the transformer cache must be positive!");
+
+        this.capacity = capacity;
+        this.timeToLive = toNanos(timeToLive);
+
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(capacity));
+        int stripeCapacity = (capacity + stripeCount - 1) / stripeCount;
+
+        this.stripes = new Stripe[stripeCount];
+        this.stripeMask = stripeCount - 1;
+        for (int i = 0; i < stripeCount; i++)
+            this.stripes[i] = new Stripe(stripeCapacity);
+    }
+
+    /**
+     * Retrieves the cached result of a {@link Transformable} for a raw value. If no valid result is
+     * cached, the value is transformed and the result is stored. The transformation happens outside
+     * of any lock, exceptions thrown by it are passed on and never cached. If the stripe of the value
+     * was invalidated while transforming, the result is returned but not stored.
+     *
+     * @param link  The link of the compiled pipeline holding the {@link Transformable}.
+     * @param value The raw value which should be transformed.
+     * @return The cached or newly transformed value.
+     */
+    public Object getOrTransform(@NotNull TransformerPipeline.Link link, Object value) {
+        long timeToLive = getTimeToLive(link);
+        if (timeToLive <= 0) return link.transform(value);
+
+        Key key = new Key(link.type(), value);
+        Stripe stripe = stripeFor(key);
+
+        long now = System.nanoTime();
+        long generation;
+        synchronized (stripe) {
+            generation = stripe.generation;
+
+            Entry entry = stripe.get(key);
+            if (entry != null) {
+                if (now - entry.expiresAt() < 0) {
+                    hits.increment();
+                    return entry.value();
+                }
+
+                stripe.remove(key);
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        Object transformed = link.transform(value);
+
+        Entry entry = new Entry(transformed, System.nanoTime() + timeToLive);
+        synchronized (stripe) {
+            // Skip results which were computed from data invalidated in the meantime
+            if (stripe.generation == generation)
+                stripe.put(key, entry);
+        }
+
+        return transformed;
+    }
+
+    /**
+     * Overrides the time to live of the results of a {@link Transformable}, regardless of the value returned
+     * by its {@link Transformable#getCacheTimeToLive()}. A time to live of {@link Duration#ZERO} disables
+     * caching for the transformer. Already cached results of the transformer are invalidated.
+     *
+     * @param type       The class of the {@link Transformable}.
+     * @param timeToLive The new time to live, or {@code null} to remove the override.
+     */
+    public void setTimeToLive(@NotNull Class<? extends Transformable<?, ?>> type, @Nullable Duration timeToLive) {
+        if (timeToLive == null) timeToLiveOverrides.remove(type);
+        else timeToLiveOverrides.put(type, toNanos(timeToLive));
+
+        invalidate(type);
+    }
+
+    /**
+     * Removes the cached result of a {@link Transformable} for a single raw value.
+     *
+     * @param type  The class of the {@link Transformable}.
+     * @param value The raw value which was transformed.
+     */
+    public void invalidate(@NotNull Class<? extends Transformable<?, ?>> type, Object value) {
+        Key key = new Key(type, value);
+        Stripe stripe = stripeFor(key);
+
+        synchronized (stripe) {
+            stripe.remove(key);
+            stripe.generation++;
+        }
+    }
+
+    /**
+     * Removes all cached results of a {@link Transformable}.
+     *
+     * @param type The class of the {@link Transformable}.
+     */
+    public void invalidate(@NotNull Class<? extends Transformable<?, ?>> type) {
+        for (Stripe stripe : stripes)
+            synchronized (stripe) {
+                stripe.keySet().removeIf(key -> key.type() == type);
+                stripe.generation++;
+            }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void invalidateAll() {
+        for (Stripe stripe : stripes)
+            synchronized (stripe) {
+                stripe.clear();
+                stripe.generation++;
+            }
+    }
+
+    /**
+     * Removes all expired results from the cache. Expired results are also removed lazily when they are
+     * accessed or when their stripe is full, so calling this is only needed to release memory early.
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        for (Stripe stripe : stripes)
+            synchronized (stripe) {
+                Iterator<Entry> iterator = stripe.values().iterator();
+                while (iterator.hasNext())
+                    if (now - iterator.next().expiresAt() >= 0) {
+                        iterator.remove();
+                        evictions.increment();
+                    }
+            }
+    }
+
+    /**
+     * Retrieves the amount of lookups which were answered by the cache.
+     *
+     * @return The amount of cache hits.
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retrieves the amount of lookups which could not be answered by the cache.
+     *
+     * @return The amount of cache misses.
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retrieves the amount of results which were removed because they expired or the cache was full.
+     * Explicit invalidations are not counted.
+     *
+     * @return The amount of evictions.
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Retrieves the ratio of lookups which were answered by the cache.
+     *
+     * @return The hit rate between {@code 0} and {@code 1}, {@code 0} if no lookup was performed yet.
+     */
+    public double getHitRate() {
+        long hits = getHits();
+        long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Retrieves the amount of currently cached results, including expired results which were not removed yet.
+     *
+     * @return The amount of cached results.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes)
+            synchronized (stripe) {
+                size += stripe.size();
+            }
+
+        return size;
+    }
+
+    /**
+     * Retrieves the maximum amount of entries the cache can hold.
+     *
+     * @return The capacity of the cache.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retrieves the default time to live of cached results.
+     *
+     * @return The default time to live.
+     */
+    public @NotNull Duration getTimeToLive() {
+        return Duration.ofNanos(timeToLive);
+    }
+
+    /**
+     * Resolves the time to live in nanoseconds which applies to the results of a {@link Transformable}.
+     *
+     * @param link The link of the compiled pipeline holding the {@link Transformable}.
+     * @return The time to live in nanoseconds, {@code 0} if the results must not be cached.
+     */
+    private long getTimeToLive(TransformerPipeline.Link link) {
+        if (!timeToLiveOverrides.isEmpty()) {
+            Long override = timeToLiveOverrides.get(link.type());
+            if (override != null) return override;
+        }
+
+        Duration declared = link.transformable().getCacheTimeToLive();
+        return declared == null ? timeToLive : toNanos(declared);
+    }
+
+    /**
+     * Selects the stripe which is responsible for a key.
+     *
+     * @param key The key.
+     * @return The responsible stripe.
+     */
+    private Stripe stripeFor(Key key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & stripeMask];
+    }
+
+    /**
+     * Converts a time to live into nanoseconds. Very long durations are capped, so computing the
+     * expiration based on {@link System#nanoTime()} can not overflow.
+     *
+     * @param duration The time to live.
+     * @return The time to live in nanoseconds, {@code 0} if it is zero or negative.
+     */
+    private static long toNanos(Duration duration) {
+        if (duration.isNegative() || duration.isZero()) return 0;
+
+        try {
+            return Math.min(duration.toNanos(), MAX_TIME_TO_LIVE);
+        } catch (ArithmeticException e) {
+            return MAX_TIME_TO_LIVE;
+        }
+    }
+
+    /**
+     * A single stripe of the cache, an access ordered map which evicts its least recently used entry once
+     * it is full. Stripes are not thread safe on their own and must only be accessed while holding their lock.
+     *
+     * @since 3.7.3
+     */
+    private final class Stripe extends LinkedHashMap<Key, Entry> {
+
+        private final int capacity;
+
+        /**
+         * Incremented on every invalidation, so results transformed before can be detected and dropped.
+         */
+        private long generation;
+
+        /**
+         * Constructs a new, empty {@link Stripe}.
+         *
+         * @param capacity The maximum amount of entries the stripe can hold.
+         */
+        private Stripe(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param eldest The least recently used entry of the stripe.
+         * @return {@code true} if the stripe exceeds its capacity, {@code false} otherwise.
+         */
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            if (size() <= capacity) return false;
+
+            evictions.increment();
+            return true;
+        }
+
+    }
+
+    /**
+     * The key used to identify a cached result.
+     *
+     * @param type  The class of the {@link Transformable}.
+     * @param value The raw value which was transformed.
+     * @since 3.7.3
+     */
+    private record Key(Class<?> type, Object value) {
+    }
+
+    /**
+     * A cached result.
+     *
+     * @param value     The transformed value.
+     * @param expiresAt The {@link System#nanoTime()} at which the result expires.
+     * @since 3.7.3
+     */
+    private record Entry(Object value, long expiresAt) {
+    }
+
+}
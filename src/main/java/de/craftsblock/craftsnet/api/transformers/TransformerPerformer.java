@@ -1,26 +1,22 @@
 package de.craftsblock.craftsnet.api.transformers;
 
-import de.craftsblock.craftscore.cache.DoubleKeyedCache;
 import de.craftsblock.craftscore.cache.DoubleKeyedLruCache;
 import de.craftsblock.craftsnet.CraftsNet;
 import de.craftsblock.craftsnet.api.Handler;
+import de.craftsblock.craftsnet.api.RouteRegistry;
 import de.craftsblock.craftsnet.api.transformers.annotations.Transformer;
 import de.craftsblock.craftsnet.api.transformers.annotations.TransformerCollection;
 import de.craftsblock.craftsnet.api.transformers.exceptions.TransformerException;
 import de.craftsblock.craftsnet.logging.Logger;
 import de.craftsblock.craftsnet.utils.reflection.ReflectionUtils;
+import de.craftsblock.craftsnet.utils.reflection.TypeUtils;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.regex.Pattern;
 
-import static de.craftsblock.craftsnet.utils.Utils.getGroupNames;
-
 /**
  * <p>The TransformerPerformer class is responsible for performing transformations on method arguments based on provided annotations.
  * It serves as a central component in the transformation process within the CraftsNet API.</p>
@@ -40,8 +36,10 @@ public class TransformerPerformer {
 
     private final Logger logger;
 
-    private final DoubleKeyedLruCache<Class<? extends Transformable<?, ?>>, Object, Object> transformerCache = new DoubleKeyedLruCache<>(10);
-    private final List<String> groupNames = new ArrayList<>();
+    private static final Pattern NO_PARAMETERS = Pattern.compile("");
+
+    private final TransformerCache transformerCache;
+    private final DoubleKeyedLruCache<Class<? extends Transformable<?, ?>>, Object, Object> localCache;
 
     private final int argsOffset;
     private final TransformerErrorCallback callback;
@@ -59,28 +57,25 @@ public class TransformerPerformer {
         this.argsOffset = argsOffset;
         this.callback = callback;
         this.logger = craftsNet.getLogger();
+        this.transformerCache = craftsNet.getTransformerCache();
+        this.localCache = this.transformerCache == null ? new DoubleKeyedLruCache<>(10) : null;
     }
 
     /**
      * Updates the validator which is used to load the group names from.
      *
      * @param validator The new validator.
+     * @deprecated Only used by {@link #perform(Handler, Method, Object[])}, compiled pipelines already know
+     * the argument indices of their url parameters.
      */
+    @Deprecated(since = "3.7.3", forRemoval = true)
+    @ApiStatus.ScheduledForRemoval(inVersion = "3.8.0")
     public void setValidator(@Nullable Pattern validator) {
         if (validator == null) {
             return;
         }
 
-        if (this.validator != null && this.validator.pattern().equals(validator.pattern())) {
-            return;
-        }
-
         this.validator = validator;
-        if (!this.groupNames.isEmpty()) {
-            this.groupNames.clear();
-        }
-
-        this.groupNames.addAll(getGroupNames(validator.pattern()));
     }
 
     /**
@@ -90,19 +85,51 @@ public class TransformerPerformer {
      * @param method  The method to perform transformations on.
      * @param args    The arguments containing the transform targets.
      * @return An array of transformed arguments.
-     * @throws NoSuchMethodException     if the transformer method could not be found.
-     * @throws InstantiationException    if no new instance of the Transformable can be created.
-     * @throws IllegalAccessException    if access to the constructor of Transformable or
-     *                                   access to the method Transformable.transform(String) is restricted.
-     * @throws IOException               if an I/O error occurs.
-     * @throws InvocationTargetException if the underlying method throws an exception.
+     * @throws Exception if the transformation or the conversion of an argument fails.
+     * @deprecated The pipeline is compiled on every call, use {@link #perform(RouteRegistry.EndpointMapping, Object[])} instead.
      */
+    @Deprecated(since = "3.7.3", forRemoval = true)
+    @ApiStatus.ScheduledForRemoval(inVersion = "3.8.0")
     public boolean perform(Handler handler, Method method, Object[] args) throws Exception {
         if (hasNoTransformers(handler) && hasNoTransformers(method))
             return true;
 
-        applyTransformers(args, handler);
-        applyTransformers(args, method);
+        TransformerPipeline pipeline = TransformerPipeline.compile(handler, method, validator != null ? validator : NO_PARAMETERS, argsOffset);
+        for (String parameter : pipeline.unusedParameters())
+            logger.warning("Parameter %s has a transformer but is not used!", parameter);
+
+        return perform(pipeline, method, args);
+    }
+
+    /**
+     * Performs the compiled transformer pipeline of an endpoint on its method arguments.
+     *
+     * @param mapping The endpoint mapping holding the compiled {@link TransformerPipeline}.
+     * @param args    The arguments containing the transform targets.
+     * @return {@code true} if the handler method should be invoked, {@code false} if a transformer failed.
+     * @throws Exception if the conversion of an argument fails.
+     * @since 3.7.3
+     */
+    public boolean perform(RouteRegistry.EndpointMapping mapping, Object[] args) throws Exception {
+        return perform(mapping.transformers(), mapping.method(), args);
+    }
+
+    /**
+     * Performs a compiled transformer pipeline on method arguments.
+     *
+     * @param pipeline The compiled {@link TransformerPipeline}.
+     * @param method   The method the arguments are passed to.
+     * @param args     The arguments containing the transform targets.
+     * @return {@code true} if the handler method should be invoked, {@code false} if a transformer failed.
+     * @throws Exception if the conversion of an argument fails.
+     */
+    private boolean perform(TransformerPipeline pipeline, Method method, Object[] args) throws Exception {
+        if (!pipeline.hasTransformers())
+            return true;
+
+        for (TransformerPipeline.Step step : pipeline.steps()) {
+            args[step.index()] = transform(step, args[step.index()]);
+        }
 
         Class<?>[] parameterTypes = method.getParameterTypes();
         if (parameterTypes.length != args.length) {
@@ -121,16 +148,16 @@ public class TransformerPerformer {
                 return false;
             }
 
-            if (!type.isAssignableFrom(value.getClass())) {
-                String name = type.getSimpleName();
-
-                Method converter = ReflectionUtils.findMethod(value.getClass(), name + "Value");
-                if (converter == null) {
-                    continue;
-                }
+            if (value == null || TypeUtils.isAssignable(type, value.getClass())) {
+                continue;
+            }
 
-                args[i] = ReflectionUtils.invokeMethod(value, converter);
+            Method converter = ReflectionUtils.findMethod(value.getClass(), type.getSimpleName() + "Value");
+            if (converter == null) {
+                continue;
             }
+
+            args[i] = ReflectionUtils.invokeMethod(value, converter);
         }
 
         return true;
@@ -148,133 +175,71 @@ public class TransformerPerformer {
     }
 
     /**
-     * Applies the transformation process to the obj.
-     *
-     * @param args The args which should be transformed.
-     * @param obj  The method or the handler which contains the information about the transformers.
-     * @throws NoSuchMethodException  if the transformer method could not be found.
-     * @throws InstantiationException if no new instance of the Transformable can be created.
-     * @throws IllegalAccessException if access to the constructor of Transformable or
-     *                                access to the method Transformable.transform(String) is restricted.
-     */
-    private void applyTransformers(Object[] args, Object obj) throws NoSuchMethodException, InstantiationException, IllegalAccessException {
-        TransformerCollection transformers = (obj instanceof Method method ? method : obj.getClass()).getAnnotation(TransformerCollection.class);
-        if (transformers != null) {
-            for (Transformer transformer : transformers.value()) {
-                transform(groupNames, args, transformer);
-            }
-
-            return;
-        }
-
-        Transformer standaloneTransformer = (obj instanceof Method method ? method : obj.getClass()).getAnnotation(Transformer.class);
-        if (standaloneTransformer != null) {
-            transform(groupNames, args, standaloneTransformer);
-        }
-
-    }
-
-    /**
-     * Clears the transformer cache.
+     * Clears the transformer cache of this performer, which only holds results while the process wide
+     * {@link TransformerCache} is disabled. Use {@link TransformerCache#invalidateAll()} to clear the shared cache.
      */
     public void clearCache() {
-        transformerCache.clear();
+        if (localCache != null) {
+            localCache.clear();
+        }
     }
 
     /**
-     * Performs a transformation with an {@link Transformer}.
+     * Applies a compiled transformation step to a value by running its chain of {@link Transformable transformables}.
+     * <p>
+     * Runtime exceptions which are neither a {@link TransformerException} nor caused by one are handled like
+     * in earlier versions: without a cause the argument is left untouched, otherwise the exception is rethrown.
      *
-     * @param groupNames  A {@link List <String>} with all the named groups of the url validator.
-     * @param args        A {@link Object} array with all the dynamic url parameter values.
-     * @param transformer The current {@link Transformer} used to transform an argument.
-     * @throws NoSuchMethodException  if the transformer method could not be not found.
-     * @throws InstantiationException if no new instance of the {@link Transformable <?>} can be created.
-     * @throws IllegalAccessException if the access to the constructor of the {@link Transformable} or
-     *                                if the access to the method {@link Transformable#transform(Object)} is restricted.
+     * @param step  The compiled transformation step.
+     * @param value The raw value of the url parameter.
+     * @return The transformed value, or the {@link TransformerException} which was thrown while transforming.
      */
-    private void transform(List<String> groupNames, Object[] args, Transformer transformer) throws NoSuchMethodException, InstantiationException, IllegalAccessException {
-        String parameter = transformer.parameter();
-        if (!groupNames.contains(parameter)) {
-            logger.warning("Parameter %s has a transformer but is not used!", parameter);
-            return;
-        }
+    private Object transform(TransformerPipeline.Step step, Object value) {
+        Object raw = value;
 
-        int groupIndex = groupNames.indexOf(parameter) + this.argsOffset;
-        String value = (String) args[groupIndex];
         try {
-            Class<? extends Transformable<?, ?>> transformable = transformer.transformer();
-            args[groupIndex] = transform(value, transformer, transformable);
-        } catch (RuntimeException | InvocationTargetException parent) {
-            if (parent.getCause() == null) {
-                return;
-            }
+            for (TransformerPipeline.Link link : step.chain()) {
+                boolean cacheable = step.cacheable() && link.cacheable();
 
-            args[groupIndex] = getTransformerException(parent);
-        }
-    }
+                if (cacheable && transformerCache != null) {
+                    value = transformerCache.getOrTransform(link, value);
+                    continue;
+                }
 
-    /**
-     * Wraps a given exception into a {@link TransformerException}.
-     *
-     * @param parent The exception that should be wrapped.
-     * @return The wrapped exception.
-     */
-    private static @NotNull TransformerException getTransformerException(Exception parent) {
-        Throwable cause = parent.getCause();
-        TransformerException exception;
-        if (cause instanceof TransformerException e) {
-            exception = e;
-        } else if (cause.getCause() != null && cause.getCause() instanceof TransformerException e) {
-            exception = e;
-        } else {
-            exception = null;
-        }
+                // Without the shared cache results are only kept until the performer is cleared
+                Class<? extends Transformable<?, ?>> type = link.type();
+                if (cacheable && localCache.containsPair(type, value)) {
+                    value = localCache.get(type, value);
+                    continue;
+                }
 
-        if (exception == null) {
-            throw (parent instanceof RuntimeException re ? re : new RuntimeException(parent));
-        }
-        return exception;
-    }
+                Object transformed = link.transform(value);
+                if (cacheable) {
+                    localCache.put(type, value, transformed);
+                }
 
-    /**
-     * Performs the actual transformation with an {@link Transformer}.
-     *
-     * @param parameter   The parameter which should be transformed.
-     * @param transformer The current {@link Transformer} used to transform an argument.
-     * @param type        The class type of {@link Transformer#transformer()}.
-     * @return The transformed value.
-     * @throws NoSuchMethodException     if the transformer method could not be not found.
-     * @throws InvocationTargetException if no new instance of the {@link Transformable <?>} can be created.
-     * @throws InstantiationException    if the performed {@link Transformable#transform(Object)} method throws an exception.
-     * @throws IllegalAccessException    if the access to the constructor of the {@link Transformable} or
-     *                                   if the access to the method {@link Transformable#transform(Object)} is restricted.
-     * @since 3.4.0-SNAPSHOT
-     */
-    private Object transform(String parameter, Transformer transformer, Class<? extends Transformable<?, ?>> type) throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
-        Transformable<?, ?> transformable = type.cast(type.getDeclaredConstructor().newInstance());
-
-        Object value;
-        if (transformable.getParent() != null) {
-            value = transform(parameter, transformer, transformable.getParent());
-        } else {
-            value = parameter;
-        }
+                value = transformed;
+            }
 
-        if (transformer.cacheable() && transformable.isCacheable() && transformerCache.containsPair(type, value)) {
-            return transformerCache.get(type, value);
-        }
+            return value;
+        } catch (TransformerException e) {
+            return e;
+        } catch (RuntimeException e) {
+            Throwable cause = e.getCause();
+            if (cause == null) {
+                return raw;
+            }
 
-        Method transformerMethod = ReflectionUtils.findMethod(type, "transform", Object.class);
-        if (transformerMethod == null) {
-            throw new IllegalStateException("Transformer " + type.getName() + " does not have a transformer method!");
-        }
+            if (cause instanceof TransformerException transformerException) {
+                return transformerException;
+            }
 
-        Object transformed = ReflectionUtils.invokeMethod(transformable, transformerMethod, value);
-        if (transformer.cacheable() && transformable.isCacheable()) {
-            transformerCache.put(type, value, transformed);
-        }
+            if (cause.getCause() instanceof TransformerException transformerException) {
+                return transformerException;
+            }
 
-        return transformed;
+            throw e;
+        }
     }
 
 }
@@ -0,0 +1,167 @@
+package de.craftsblock.craftsnet.api.transformers;
+
+import de.craftsblock.craftsnet.api.transformers.annotations.Transformer;
+import de.craftsblock.craftsnet.api.transformers.annotations.TransformerCollection;
+import de.craftsblock.craftsnet.utils.reflection.ReflectionUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static de.craftsblock.craftsnet.utils.Utils.getGroupNames;
+
+/**
+ * A transformer pipeline which is compiled once per endpoint from the {@link Transformer} annotations
+ * of its handler and method.
+ * <p>
+ * Each {@link Step} already knows the index of the argument it transforms and holds the chain of
+ * {@link Transformable} instances, from the outermost parent to the declared transformer, which is
+ * applied to the argument. {@link Transformable} implementations are instantiated once and shared
+ * between all pipelines, so they must be thread-safe.
+ *
+ * @param steps            The compiled transformation steps in the order they are applied.
+ * @param unusedParameters The parameters which have a transformer but are not part of the url.
+ * @param hasTransformers  Whether the handler or the method declares any transformer.
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see TransformerPerformer
+ * @since 3.7.3
+ */
+public record TransformerPipeline(@NotNull @Unmodifiable List<Step> steps, @NotNull @Unmodifiable List<String> unusedParameters,
+                                  boolean hasTransformers) {
+
+    /**
+     * An empty pipeline which does not transform anything.
+     */
+    public static final TransformerPipeline EMPTY = new TransformerPipeline(List.of(), List.of(), false);
+
+    private static final ClassValue<Transformable<?, ?>> INSTANCES = new ClassValue<>() {
+        @Override
+        protected Transformable<?, ?> computeValue(Class<?> type) {
+            return (Transformable<?, ?>) ReflectionUtils.getNewInstance(type);
+        }
+    };
+
+    /**
+     * Compiles the transformer pipeline of an endpoint.
+     *
+     * @param handler    The handler which owns the method.
+     * @param method     The method of the endpoint.
+     * @param validator  The validator of the endpoint, used to resolve the argument indices of the url parameters.
+     * @param argsOffset The amount of arguments which are passed before the url parameters.
+     * @return The compiled {@link TransformerPipeline}.
+     */
+    public static @NotNull TransformerPipeline compile(@NotNull Object handler, @NotNull Method method,
+                                                       @NotNull Pattern validator, int argsOffset) {
+        List<Transformer> transformers = new ArrayList<>();
+        collectTransformers(transformers, handler.getClass());
+        collectTransformers(transformers, method);
+        if (transformers.isEmpty()) return EMPTY;
+
+        List<String> groupNames = getGroupNames(validator);
+        List<Step> steps = new ArrayList<>(transformers.size());
+        List<String> unusedParameters = new ArrayList<>();
+
+        for (Transformer transformer : transformers) {
+            int groupIndex = groupNames.indexOf(transformer.parameter());
+            if (groupIndex < 0) {
+                unusedParameters.add(transformer.parameter());
+                continue;
+            }
+
+            steps.add(new Step(groupIndex + argsOffset, transformer.cacheable(), resolveChain(transformer.transformer())));
+        }
+
+        return new TransformerPipeline(List.copyOf(steps), List.copyOf(unusedParameters), true);
+    }
+
+    /**
+     * Retrieves the shared instance of a {@link Transformable}.
+     *
+     * @param type The class of the {@link Transformable}.
+     * @param <T>  The type of the {@link Transformable}.
+     * @return The shared instance.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Transformable<?, ?>> @NotNull T getInstance(@NotNull Class<T> type) {
+        return (T) INSTANCES.get(type);
+    }
+
+    /**
+     * Collects the {@link Transformer} annotations of an element in their declaration order.
+     *
+     * @param transformers The list the transformers are added to.
+     * @param element      The handler class or the method.
+     */
+    private static void collectTransformers(List<Transformer> transformers, AnnotatedElement element) {
+        TransformerCollection collection = element.getAnnotation(TransformerCollection.class);
+        if (collection != null) {
+            Collections.addAll(transformers, collection.value());
+            return;
+        }
+
+        Transformer transformer = element.getAnnotation(Transformer.class);
+        if (transformer != null) transformers.add(transformer);
+    }
+
+    /**
+     * Resolves the chain of {@link Transformable} instances which has to be applied for a transformer,
+     * starting with the outermost parent.
+     *
+     * @param type The class of the declared {@link Transformable}.
+     * @return The chain of shared {@link Transformable} instances.
+     */
+    private static Link[] resolveChain(Class<? extends Transformable<?, ?>> type) {
+        List<Link> chain = new ArrayList<>();
+
+        Class<? extends Transformable<?, ?>> current = type;
+        while (current != null) {
+            Transformable<?, ?> transformable = getInstance(current);
+            chain.add(0, new Link(current, transformable, transformable.isCacheable()));
+            current = transformable.getParent();
+        }
+
+        return chain.toArray(Link[]::new);
+    }
+
+    /**
+     * A single compiled transformation step.
+     *
+     * @param index     The index of the argument which is transformed.
+     * @param cacheable Whether the transformer allows caching its results.
+     * @param chain     The chain of {@link Transformable transformables}, starting with the outermost parent.
+     * @since 3.7.3
+     */
+    public record Step(int index, boolean cacheable, @NotNull Link @NotNull [] chain) {
+    }
+
+    /**
+     * A single {@link Transformable} inside the chain of a {@link Step}.
+     *
+     * @param type          The class of the {@link Transformable}.
+     * @param transformable The shared {@link Transformable} instance.
+     * @param cacheable     Whether the {@link Transformable} allows caching its results.
+     * @since 3.7.3
+     */
+    public record Link(@NotNull Class<? extends Transformable<?, ?>> type, @NotNull Transformable<?, ?> transformable,
+                       boolean cacheable) {
+
+        /**
+         * Applies the {@link Transformable} to a value through a direct interface call.
+         *
+         * @param value The value which should be transformed.
+         * @return The transformed value.
+         */
+        @SuppressWarnings("unchecked")
+        public Object transform(Object value) {
+            return ((Transformable<Object, Object>) transformable).transform(value);
+        }
+
+    }
+
+}
@@ -41,7 +41,8 @@ public @interface Transformer {
 
     /**
      * Specifies whether caching is enabled for the transformation.
-     * If set to {@code true}, the transformation result may be cached for subsequent invocations.
+     * If set to {@code true}, the transformation result may be cached for subsequent invocations,
+     * as long as the {@link Transformable} allows caching.
      *
      * @return True if caching is enabled, false otherwise.
      */
@@ -23,11 +23,7 @@ public class ByteTransformer implements Transformable<Byte, String> {
      */
     @Override
     public Byte transform(String parameter) {
-        try {
-            return Byte.parseByte(parameter);
-        } catch (NumberFormatException e) {
-            throw new NotTransformableException(parameter, Byte.class);
-        }
+        return (byte) NumberParser.parse(parameter, Byte.MIN_VALUE, Byte.MAX_VALUE, Byte.class);
     }
 
 }
@@ -23,11 +23,7 @@ public class IntTransformer implements Transformable<Integer, String> {
      */
     @Override
     public Integer transform(String parameter) {
-        try {
-            return Integer.parseInt(parameter);
-        } catch (NumberFormatException e) {
-            throw new NotTransformableException(parameter, Integer.class);
-        }
+        return (int) NumberParser.parse(parameter, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.class);
     }
 
 }
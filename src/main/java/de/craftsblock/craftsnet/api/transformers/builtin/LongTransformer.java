@@ -23,11 +23,7 @@ public class LongTransformer implements Transformable<Long, String> {
      */
     @Override
     public Long transform(String parameter) {
-        try {
-            return Long.parseLong(parameter);
-        } catch (NumberFormatException e) {
-            throw new NotTransformableException(parameter, Long.class);
-        }
+        return NumberParser.parse(parameter, Long.MIN_VALUE, Long.MAX_VALUE, Long.class);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,67 @@
+package de.craftsblock.craftsnet.api.transformers.builtin;
+
+import de.craftsblock.craftsnet.api.transformers.exceptions.NotTransformableException;
+
+/**
+ * Parses integral numbers for the builtin transformers without using exceptions for control flow.
+ * <p>
+ * The accepted syntax matches {@link Long#parseLong(String)}: an optional leading {@code +} or
+ * {@code -} followed by at least one decimal digit. Invalid input only ends up in a single
+ * {@link NotTransformableException} instead of a {@link NumberFormatException} which is caught
+ * and rethrown.
+ * <p>
+ * The parsed value is still boxed once by the calling transformer, as transformed arguments are
+ * stored in the object array which is passed to the handler method.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+final class NumberParser {
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private NumberParser() {
+    }
+
+    /**
+     * Parses a decimal number which must fit between the given bounds.
+     *
+     * @param parameter The string representation of the number.
+     * @param min       The smallest allowed value.
+     * @param max       The largest allowed value.
+     * @param type      The type the number is transformed into, used for the error message.
+     * @return The parsed number.
+     * @throws NotTransformableException If the parameter is not a number or out of bounds.
+     */
+    static long parse(String parameter, long min, long max, Class<?> type) {
+        int length = parameter == null ? 0 : parameter.length();
+        if (length == 0) throw new NotTransformableException(parameter, type);
+
+        int index = 0;
+        boolean negative = false;
+        char first = parameter.charAt(0);
+        if (first == '-' || first == '+') {
+            if (length == 1) throw new NotTransformableException(parameter, type);
+            negative = first == '-';
+            index++;
+        }
+
+        // Accumulate negatively, as the negative range is one larger than the positive one
+        long limit = negative ? min : -max;
+        long multiplyLimit = limit / 10;
+        long result = 0;
+        for (; index < length; index++) {
+            int digit = Character.digit(parameter.charAt(index), 10);
+            if (digit < 0 || result < multiplyLimit) throw new NotTransformableException(parameter, type);
+
+            result *= 10;
+            if (result < limit + digit) throw new NotTransformableException(parameter, type);
+            result -= digit;
+        }
+
+        return negative ? result : -result;
+    }
+
+}
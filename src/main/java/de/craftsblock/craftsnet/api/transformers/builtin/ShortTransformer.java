@@ -23,11 +23,7 @@ public class ShortTransformer implements Transformable<Short, String> {
      */
     @Override
     public Short transform(String parameter) {
-        try {
-            return Short.parseShort(parameter);
-        } catch (NumberFormatException e) {
-            throw new NotTransformableException(parameter, Short.class);
-        }
+        return (short) NumberParser.parse(parameter, Short.MIN_VALUE, Short.MAX_VALUE, Short.class);
     }
 
 }
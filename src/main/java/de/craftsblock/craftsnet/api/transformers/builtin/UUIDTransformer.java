@@ -25,6 +25,14 @@ public class UUIDTransformer implements Transformable<UUID, String> {
      */
     @Override
     public UUID transform(String parameter) {
+        if (parameter != null && parameter.length() == 36 && parameter.charAt(8) == '-' && parameter.charAt(13) == '-'
+                && parameter.charAt(18) == '-' && parameter.charAt(23) == '-') {
+            long mostSigBits = parseHex(parameter, 0, 8) << 32 | parseHex(parameter, 9, 13) << 16 | parseHex(parameter, 14, 18);
+            long leastSigBits = parseHex(parameter, 19, 23) << 48 | parseHex(parameter, 24, 36);
+            return new UUID(mostSigBits, leastSigBits);
+        }
+
+        // Non canonical representations are rare, so they are left to the jdk parser
         try {
             return UUID.fromString(parameter);
         } catch (IllegalArgumentException e) {
@@ -32,4 +40,27 @@ public class UUIDTransformer implements Transformable<UUID, String> {
         }
     }
 
+    /**
+     * Parses a hexadecimal segment of a canonical uuid.
+     *
+     * @param parameter The string representation of the uuid.
+     * @param start     The index of the first character of the segment.
+     * @param end       The index after the last character of the segment.
+     * @return The value of the segment.
+     * @throws NotTransformableException If the segment contains a character which is not hexadecimal.
+     */
+    private long parseHex(String parameter, int start, int end) {
+        long result = 0;
+        for (int i = start; i < end; i++) {
+            char c = parameter.charAt(i);
+            int digit = c >= '0' && c <= '9' ? c - '0'
+                    : c >= 'a' && c <= 'f' ? c - 'a' + 10
+                    : c >= 'A' && c <= 'F' ? c - 'A' + 10 : -1;
+            if (digit < 0) throw new NotTransformableException(parameter, UUID.class);
+            result = result << 4 | digit;
+        }
+
+        return result;
+    }
+
 }
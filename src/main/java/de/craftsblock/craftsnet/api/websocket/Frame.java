@@ -302,32 +302,43 @@ public class Frame implements RequireAble {
      * formatted with the final frame indicator and the appropriate opcode, followed by the payload length
      * and the actual payload data.
      *
+     * <p>The header is assembled up front and written with a single call, as the stream is usually the
+     * unbuffered stream of the socket. The method does not synchronize on its own, callers writing to a
+     * shared stream must serialize the writes themselves, as the {@link WebSocketClient} does.
+     *
      * @param stream the output stream to which the frame will be written.
      * @throws IOException if an I/O error occurs while writing to the stream.
      */
-    protected synchronized void write(OutputStream stream) throws IOException {
-        stream.write((byte) ((isFinalFrame() ? 0x80 : 0x00)
+    protected void write(OutputStream stream) throws IOException {
+        byte[] header = new byte[10];
+        header[0] = (byte) ((isFinalFrame() ? 0x80 : 0x00)
                 | (isRsv1() ? 0x40 : 0x00)
                 | (isRsv2() ? 0x20 : 0x00)
                 | (isRsv3() ? 0x10 : 0x00)
-                | opcode.byteValue()));
+                | opcode.byteValue());
 
         byte @NotNull [] data = getData();
         int length = data.length;
+        int headerLength;
 
         byte maskBit = (byte) (isMasked() ? 0x80 : 0x00);
         if (length <= 125) {
-            stream.write((byte) (maskBit | length));
+            header[1] = (byte) (maskBit | length);
+            headerLength = 2;
         } else if (length <= 65535) {
-            stream.write((byte) (maskBit | 126));
-            stream.write((byte) (length >> 8));
-            stream.write((byte) length);
+            header[1] = (byte) (maskBit | 126);
+            header[2] = (byte) (length >> 8);
+            header[3] = (byte) length;
+            headerLength = 4;
         } else {
-            stream.write((byte) (maskBit | 127));
+            header[1] = (byte) (maskBit | 127);
             for (int j = 7; j >= 0; j--)
-                stream.write((byte) (length >> (8 * j)));
+                header[9 - j] = (byte) ((long) length >> (8 * j));
+            headerLength = 10;
         }
 
+        stream.write(header, 0, headerLength);
+
         if (isMasked()) {
             try {
                 byte[] mask = new byte[4];
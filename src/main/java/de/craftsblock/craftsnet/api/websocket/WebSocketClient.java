@@ -1,5 +1,6 @@
 package de.craftsblock.craftsnet.api.websocket;
 
+import com.google.gson.JsonElement;
 import com.sun.net.httpserver.Headers;
 import de.craftsblock.craftscore.buffer.BufferUtil;
 import de.craftsblock.craftscore.json.Json;
@@ -13,7 +14,7 @@ import de.craftsblock.craftsnet.api.middlewares.MiddlewareCallbackInfo;
 import de.craftsblock.craftsnet.api.middlewares.MiddlewareRegistry;
 import de.craftsblock.craftsnet.api.middlewares.WebsocketMiddleware;
 import de.craftsblock.craftsnet.api.requirements.RequireAble;
-import de.craftsblock.craftsnet.api.requirements.Requirement;
+import de.craftsblock.craftsnet.api.routing.RouteMatch;
 import de.craftsblock.craftsnet.api.session.Session;
 import de.craftsblock.craftsnet.api.transformers.TransformerPerformer;
 import de.craftsblock.craftsnet.api.utils.Context;
@@ -29,15 +30,14 @@ import de.craftsblock.craftsnet.events.sockets.message.OutgoingSocketMessageEven
 import de.craftsblock.craftsnet.events.sockets.message.ReceivedPingMessageEvent;
 import de.craftsblock.craftsnet.events.sockets.message.ReceivedPongMessageEvent;
 import de.craftsblock.craftsnet.logging.Logger;
+import de.craftsblock.craftsnet.utils.JsonStreams;
 import de.craftsblock.craftsnet.utils.reflection.ReflectionUtils;
-import de.craftsblock.craftsnet.utils.reflection.TypeUtils;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import java.io.*;
-import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.net.Socket;
 import java.net.SocketException;
@@ -47,9 +47,8 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * The WebSocketClient class represents a WebSocket client that connects to the WebSocketServer.
@@ -73,6 +72,13 @@ public class WebSocketClient implements Runnable, RequireAble {
     private static final String WEBSOCKET_HANDSHAKE_MAGIC_TEXT = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
     private static final MessageDigest handshakeDigest;
 
+    private static final ClassValue<WebSocketSafeTypeDecoder<?>> DECODERS = new ClassValue<>() {
+        @Override
+        protected WebSocketSafeTypeDecoder<?> computeValue(Class<?> type) {
+            return (WebSocketSafeTypeDecoder<?>) ReflectionUtils.getNewInstance(type);
+        }
+    };
+
     static {
         try {
             handshakeDigest = MessageDigest.getInstance("SHA-1");
@@ -87,7 +93,6 @@ public class WebSocketClient implements Runnable, RequireAble {
     private final Scheme scheme;
     private final List<WebSocketExtension> extensions;
     private final TransformerPerformer transformerPerformer;
-    private final Map<String, Matcher> matchers;
 
     private SocketExchange exchange;
     private ProtocolVersion protocolVersion;
@@ -97,10 +102,13 @@ public class WebSocketClient implements Runnable, RequireAble {
     private String path;
     private String domain;
     private EnumMap<ProcessPriority.Priority, List<EndpointMapping>> mappings;
+    private RouteMatch routeMatch;
 
     private BufferedReader reader;
     private OutputStream writer;
-    private final Object writerLock = new Object();
+    // Frames and the closing handshake are written while holding these, so only one thread writes at a time
+    private final ReentrantLock writerLock = new ReentrantLock();
+    private final ReentrantLock disconnectLock = new ReentrantLock();
 
     private final CraftsNet craftsNet;
     private final Logger logger;
@@ -140,10 +148,9 @@ public class WebSocketClient implements Runnable, RequireAble {
                 return;
             }
 
-            sendMessage(Json.empty().set("error", "Could not process transformer: " + e.getMessage()).toString());
+            sendMessage(Json.empty().set("error", "Could not process transformer: " + e.getMessage()));
             disconnect();
         });
-        this.matchers = new HashMap<>();
     }
 
     /**
@@ -203,7 +210,8 @@ public class WebSocketClient implements Runnable, RequireAble {
 
             Collections.reverse(extensions);
 
-            this.mappings = getEndpoint();
+            this.routeMatch = craftsNet.getRouteRegistry().resolveSocket(this);
+            this.mappings = routeMatch.copyMappings();
 
             ClientConnectEvent event = new ClientConnectEvent(exchange);
             craftsNet.getListenerRegistry().call(event);
@@ -327,7 +335,6 @@ public class WebSocketClient implements Runnable, RequireAble {
                 .forEach(mapping -> this.handleMapping(mapping, frame));
 
         transformerPerformer.clearCache();
-        matchers.clear();
         return false;
     }
 
@@ -368,40 +375,23 @@ public class WebSocketClient implements Runnable, RequireAble {
                 return;
             }
 
-            Method method = mapping.method();
-
-            Pattern validator = mapping.validator();
-            Matcher matcher = matchers.computeIfAbsent(mapping.validator().pattern(), pattern -> {
-                Matcher fresh = validator.matcher(path);
-
-                if (!fresh.matches()) {
-                    sendMessage(Json.empty()
-                            .set("error", "There was an unexpected error while matching!")
-                            .toString());
-                }
-
-                return fresh;
-            });
-            transformerPerformer.setValidator(validator);
-
-            Object[] args = new Object[matcher.groupCount() + 1];
+            String[] parameters = routeMatch.getParameters(mapping);
+            Object[] args = new Object[parameters.length + 2];
             args[0] = exchange;
             args[1] = frame.getData();
-            for (int i = 2; i <= matcher.groupCount(); i++) {
-                args[i] = matcher.group(i);
-            }
+            System.arraycopy(parameters, 0, args, 2, parameters.length);
 
             if (processRequirements(mapping, frame)) {
                 return;
             }
 
-            if (!transformerPerformer.perform(mapping.handler(), method, args)) {
+            if (!transformerPerformer.perform(mapping, args)) {
                 return;
             }
 
-            preprocessMethodParameters(method, frame, args);
+            preprocessMethodParameters(mapping.method(), frame, args);
 
-            Object result = ReflectionUtils.invokeMethod(handler, method, args);
+            Object result = mapping.invoker().invoke(handler, args);
             if (result == null || !isConnected() || !isActive()) {
                 return;
             }
@@ -421,28 +411,11 @@ public class WebSocketClient implements Runnable, RequireAble {
      * @since 3.5.0
      */
     private boolean processRequirements(EndpointMapping mapping, Frame frame) {
-        if (!craftsNet.getRequirementRegistry().getRequirements().containsKey(WebSocketServer.class)) {
+        try {
+            return !mapping.requirementPlan().applies(frame, mapping);
+        } catch (NullPointerException | AssertionError ignored) {
             return false;
         }
-
-        for (var requirementLink : craftsNet.getRequirementRegistry().getRequirementMethodLinks(WebSocketServer.class)) {
-            try {
-                Class<? extends Annotation> requirementAnnotation = requirementLink.requirement().getAnnotation();
-                if (!mapping.isPresent(requirementAnnotation)) {
-                    continue;
-                }
-
-                if (!TypeUtils.isAssignable(Frame.class, requirementLink.arg())) {
-                    continue;
-                }
-
-                Requirement<? super RequireAble> requirement = requirementLink.requirement();
-                return !requirement.applies(frame, mapping);
-            } catch (NullPointerException | AssertionError ignored) {
-            }
-        }
-
-        return false;
     }
 
     /**
@@ -450,7 +423,8 @@ public class WebSocketClient implements Runnable, RequireAble {
      * the second argument based on the method signature or annotations.
      * <p>
      * If the method is annotated with {@link ApplyDecoder}, the specified {@link WebSocketSafeTypeDecoder}
-     * is instantiated and used to decode the {@link Frame} into the expected parameter type.
+     * is used to decode the {@link Frame} into the expected parameter type. Each decoder type is only
+     * instantiated once and shared between all clients.
      * Otherwise, the second parameter is automatically filled with a default interpretation based on its type:
      * <ul>
      *     <li>{@link String} -> UTF-8 decoded string from frame data</li>
@@ -473,8 +447,7 @@ public class WebSocketClient implements Runnable, RequireAble {
 
         ApplyDecoder applyDecoder = method.getAnnotation(ApplyDecoder.class);
         if (applyDecoder != null) {
-            Class<? extends WebSocketSafeTypeDecoder<?>> decoderType = applyDecoder.value();
-            WebSocketSafeTypeDecoder<?> decoder = ReflectionUtils.getNewInstance(decoderType);
+            WebSocketSafeTypeDecoder<?> decoder = DECODERS.get(applyDecoder.value());
 
             args[1] = decoder.decode(frame);
             return;
@@ -801,7 +774,18 @@ public class WebSocketClient implements Runnable, RequireAble {
      * @param data The message to be sent, as it's json representation.
      */
     public void sendMessage(Json data) {
-        sendMessage(data.toString());
+        sendMessage(JsonStreams.toBytes(data, false), Opcode.TEXT);
+    }
+
+    /**
+     * Sends a message to the connected WebSocket client. The json is serialized straight into the
+     * bytes of the message, without being converted into a string first.
+     *
+     * @param data The message to be sent, as a json element.
+     * @since 3.7.3
+     */
+    public void sendMessage(JsonElement data) {
+        sendMessage(JsonStreams.toBytes(data, false), Opcode.TEXT);
     }
 
     /**
@@ -897,6 +881,7 @@ public class WebSocketClient implements Runnable, RequireAble {
      *     <li>{@link String}</li>
      *     <li>{@code byte[]}</li>
      *     <li>{@link Json}</li>
+     *     <li>{@link JsonElement}</li>
      *     <li>{@link ByteBuffer}</li>
      *     <li>{@link BufferUtil}</li>
      *     <li><s>{@link de.craftsblock.craftsnet.utils.ByteBuffer}</s> - Deprecated and marked for removal</li>
@@ -914,20 +899,16 @@ public class WebSocketClient implements Runnable, RequireAble {
         if (data instanceof String string) this.sendMessage(string);
         else if (data instanceof byte[] bytes) this.sendMessage(bytes);
         else if (data instanceof Json json) this.sendMessage(json);
+        else if (data instanceof JsonElement json) this.sendMessage(json);
         else if (data instanceof ByteBuffer buffer) this.sendMessage(buffer);
         else if (data instanceof BufferUtil bufferUtil) this.sendMessage(bufferUtil);
         else if (data instanceof de.craftsblock.craftsnet.utils.ByteBuffer buffer) this.sendMessage(buffer);
         else {
-            var encoders = server.getTypeEncoderRegistry();
-            Class<?> type = data.getClass();
-            if (encoders.hasCodec(type)) {
-                var codecLink = encoders.getLinkedCodecMethod(type);
-
-                if (codecLink != null) {
-                    var result = ReflectionUtils.invokeMethod(codecLink.codec(), codecLink.method(), data);
-                    this.sendMessage(result);
-                    return;
-                }
+            var codecLink = server.getTypeEncoderRegistry().getLinkedCodecMethod(data.getClass());
+            if (codecLink != null) {
+                var result = codecLink.invoke(data);
+                this.sendMessage(result);
+                return;
             }
 
             this.sendMessage(data.toString());
@@ -1136,8 +1117,11 @@ public class WebSocketClient implements Runnable, RequireAble {
                 frame = extension.encode(frame);
             }
 
-            synchronized (this.writerLock) {
+            this.writerLock.lock();
+            try {
                 frame.write(this.writer);
+            } finally {
+                this.writerLock.unlock();
             }
         }
     }
@@ -1150,8 +1134,11 @@ public class WebSocketClient implements Runnable, RequireAble {
      * @since 3.4.0-SNAPSHOT
      */
     private void sendMessageRaw(byte[] data) throws IOException {
-        synchronized (this.writerLock) {
+        this.writerLock.lock();
+        try {
             this.writer.write(data);
+        } finally {
+            this.writerLock.unlock();
         }
     }
 
@@ -1181,54 +1168,59 @@ public class WebSocketClient implements Runnable, RequireAble {
      * Disconnects the WebSocket client and performs necessary cleanup operations.
      * This method triggers the ClientDisconnectEvent before closing the socket and removing the client from the server.
      */
-    protected synchronized void disconnect() {
-        if (!this.connected && !socket.isConnected()) {
-            return;
-        }
-
-        if (reader == null || writer == null) {
-            return;
-        }
-
+    protected void disconnect() {
+        disconnectLock.lock();
         try {
-            reader.close();
-            reader = null;
-            writer.close();
-            writer = null;
+            if (!this.connected && !socket.isConnected()) {
+                return;
+            }
 
-            if (socket != null) {
-                socket.close();
+            if (reader == null || writer == null) {
+                return;
             }
 
-            craftsNet.getListenerRegistry().call(new ClientDisconnectEvent(exchange, closeCode, closeReason, closeByServer));
+            try {
+                reader.close();
+                reader = null;
+                writer.close();
+                writer = null;
 
-            if (!closeByServer && this.connected) {
-                logger.warning("%s disconnected abnormal: The underlying tcp connection has been killed!", ip);
-            } else if (!closeByServer && closeCode != -1 && closeCode != ClosureCode.NORMAL.intValue()) {
-                ClosureCode code = ClosureCode.fromInt(closeCode);
-                logger.warning("%s disconnected abnormal (Code: %s)%s",
-                        ip, code != null ? code : closeCode, closeReason != null && !closeReason.isEmpty() ? ": " + closeReason : "");
-            } else {
-                logger.info("%s disconnected", ip);
-            }
+                if (socket != null) {
+                    socket.close();
+                }
 
-            performForEachAvailableMiddleware(
-                    (info, middleware) -> middleware.handleDisconnect(info, exchange)
-            );
+                craftsNet.getListenerRegistry().call(new ClientDisconnectEvent(exchange, closeCode, closeReason, closeByServer));
 
-            headers = null;
-            mappings = null;
-            transformerPerformer.clearCache();
-            matchers.clear();
-            session.clear();
-            extensions.clear();
+                if (!closeByServer && this.connected) {
+                    logger.warning("%s disconnected abnormal: The underlying tcp connection has been killed!", ip);
+                } else if (!closeByServer && closeCode != -1 && closeCode != ClosureCode.NORMAL.intValue()) {
+                    ClosureCode code = ClosureCode.fromInt(closeCode);
+                    logger.warning("%s disconnected abnormal (Code: %s)%s",
+                            ip, code != null ? code : closeCode, closeReason != null && !closeReason.isEmpty() ? ": " + closeReason : "");
+                } else {
+                    logger.info("%s disconnected", ip);
+                }
 
-            exchange.close();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+                performForEachAvailableMiddleware(
+                        (info, middleware) -> middleware.handleDisconnect(info, exchange)
+                );
+
+                headers = null;
+                mappings = null;
+                routeMatch = null;
+                transformerPerformer.clearCache();
+                session.clear();
+                extensions.clear();
+
+                exchange.close();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            } finally {
+                server.remove(this);
+                this.connected = false;
+            }
         } finally {
-            server.remove(this);
-            this.connected = false;
+            disconnectLock.unlock();
         }
     }
 
@@ -3,9 +3,13 @@ package de.craftsblock.craftsnet.api.websocket;
 import de.craftsblock.craftsnet.CraftsNet;
 import de.craftsblock.craftsnet.api.Server;
 import de.craftsblock.craftsnet.api.codec.registry.TypeEncoderRegistry;
+import de.craftsblock.craftsnet.api.http.transport.ServiceUnavailable;
 import de.craftsblock.craftsnet.api.ssl.SSL;
 import de.craftsblock.craftsnet.api.websocket.codec.WebSocketSafeTypeEncoder;
 import de.craftsblock.craftsnet.builder.ActivateType;
+import de.craftsblock.craftsnet.builder.CraftsNetBuilder;
+import de.craftsblock.craftsnet.utils.BoundedExecutor;
+import de.craftsblock.craftsnet.utils.VirtualThreads;
 import org.jetbrains.annotations.ApiStatus;
 
 import javax.net.ssl.SSLContext;
@@ -38,8 +42,7 @@ import java.util.concurrent.*;
  */
 public class WebSocketServer extends Server {
 
-    private final ThreadFactory threadFactory = Executors.defaultThreadFactory();
-    private final ThreadPoolExecutor executor;
+    private final BoundedExecutor executor;
     private ConcurrentHashMap<String, ConcurrentLinkedQueue<WebSocketClient>> connected;
 
     private final TypeEncoderRegistry<WebSocketSafeTypeEncoder<?, ?>> typeEncoderRegistry = new TypeEncoderRegistry<>();
@@ -71,12 +74,17 @@ public class WebSocketServer extends Server {
      */
     public WebSocketServer(CraftsNet craftsNet, int port, int backlog, boolean ssl) {
         super(craftsNet, port, backlog, ssl);
-        this.executor = (ThreadPoolExecutor) Executors.newCachedThreadPool(r -> {
-            Thread thread = threadFactory.newThread(r);
-            String oldName = thread.getName();
-            thread.setName("CraftsNet WebSocket-" + oldName.substring(oldName.lastIndexOf('-') + 1));
-            return thread;
-        });
+
+        CraftsNetBuilder builder = craftsNet.getBuilder();
+        int threads = builder.getWebSocketWorkerThreads();
+        if (builder.shouldUseVirtualThreads() && VirtualThreads.isSupported())
+            threads = Math.max(threads, builder.getVirtualThreadConcurrency());
+
+        this.executor = new BoundedExecutor("CraftsNet WebSocket-",
+                threads, builder.getWebSocketWorkerQueueCapacity(), builder.shouldUseVirtualThreads());
+
+        if (builder.shouldUseVirtualThreads() && !executor.isVirtual() && logger != null)
+            logger.warning("Virtual threads are not supported by this runtime, handling connections on platform threads!");
     }
 
     /**
@@ -176,11 +184,22 @@ public class WebSocketServer extends Server {
 
     /**
      * Opens a new thread for the connection of the client and starts the websocket client.
+     * <p>
+     * If the executor is saturated, the opening handshake is answered with a pre-serialized
+     * {@link ServiceUnavailable} response and the socket is closed, as a close frame can not be
+     * sent before the handshake has completed.
      *
      * @param socket The socket used to connect.
      */
     private void connectClient(Socket socket) {
-        executor.execute(new WebSocketClient(this.craftsNet, socket, this));
+        try {
+            executor.execute(new WebSocketClient(this.craftsNet, socket, this));
+        } catch (RejectedExecutionException e) {
+            try (socket) {
+                ServiceUnavailable.write(socket.getOutputStream());
+            } catch (IOException ignored) {
+            }
+        }
     }
 
     /**
@@ -263,6 +282,17 @@ public class WebSocketServer extends Server {
         return this.serverSocket instanceof SSLServerSocket;
     }
 
+    /**
+     * Retrieves the executor on which the connections of the clients are handled, which also provides
+     * the pool and queue metrics of the websocket server.
+     *
+     * @return The connection executor.
+     * @since 3.7.3
+     */
+    public BoundedExecutor getExecutor() {
+        return executor;
+    }
+
     /**
      * Checks if SSL should be enabled for the server.
      *
@@ -14,6 +14,10 @@ import java.lang.annotation.*;
  * <p>
  * The annotated method must have at least two parameters. The decoder will be used to process
  * the second parameter from the {@link Frame}.
+ * <p>
+ * Since 3.7.3 the decoder is instantiated once per decoder class and shared by all handlers and
+ * clients of the process, where a new instance was created for every frame before. Decoders must
+ * therefore be thread-safe and must not keep state between frames.
  *
  * @author Philipp Maywald
  * @author CraftsBlock
@@ -8,6 +8,9 @@ import de.craftsblock.craftsnet.api.websocket.Frame;
  * <p>
  * This interface is intended for use with WebSocket based communication, where incoming frames
  * need to be deserialized or interpreted into higher-level objects while ensuring type safety.
+ * <p>
+ * Decoders applied through {@link de.craftsblock.craftsnet.api.websocket.annotations.ApplyDecoder}
+ * are instantiated once and shared between all clients, so they must be thread-safe.
  *
  * @param <R> The result type produced after decoding the WebSocket {@link Frame}.
  * @author Philipp Maywald
@@ -10,6 +10,7 @@ import de.craftsblock.craftsnet.autoregister.builtin.http.BodyAutoRegisterHandle
 import de.craftsblock.craftsnet.autoregister.builtin.http.HandlerAutoRegisterHandler;
 import de.craftsblock.craftsnet.autoregister.builtin.http.StreamEncoderAutoRegisterHandler;
 import de.craftsblock.craftsnet.autoregister.builtin.http.WebRequirementAutoRegisterHandler;
+import de.craftsblock.craftsnet.autoregister.builtin.http.codec.HttpTypeEncoderAutoRegisterHandler;
 import de.craftsblock.craftsnet.autoregister.builtin.sockets.WebSocketExtensionAutoRegisterHandler;
 import de.craftsblock.craftsnet.autoregister.builtin.sockets.WebSocketRequirementAutoRegisterHandler;
 import de.craftsblock.craftsnet.autoregister.builtin.sockets.codec.WebSocketTypeDecoderAutoRegisterHandler;
@@ -65,6 +66,7 @@ public class AutoRegisterRegistry {
 
         register(new StreamEncoderAutoRegisterHandler(craftsNet));
         register(new WebRequirementAutoRegisterHandler(craftsNet));
+        register(new HttpTypeEncoderAutoRegisterHandler(craftsNet));
 
         register(new WebSocketTypeDecoderAutoRegisterHandler(craftsNet));
         register(new WebSocketTypeEncoderAutoRegisterHandler(craftsNet));
@@ -0,0 +1,52 @@
+package de.craftsblock.craftsnet.autoregister.builtin.http.codec;
+
+import de.craftsblock.craftsnet.CraftsNet;
+import de.craftsblock.craftsnet.api.codec.registry.TypeEncoderRegistry;
+import de.craftsblock.craftsnet.api.http.codec.HttpSafeTypeEncoder;
+import de.craftsblock.craftsnet.autoregister.AutoRegisterHandler;
+import de.craftsblock.craftsnet.autoregister.meta.AutoRegisterInfo;
+
+/**
+ * A handler for automatically registering {@link HttpSafeTypeEncoder} implementations. This class extends
+ * {@link AutoRegisterHandler} and provides a concrete implementation for handling the registration of
+ * {@link HttpSafeTypeEncoder} instances into the http encoder registry of {@link CraftsNet}.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+public class HttpTypeEncoderAutoRegisterHandler extends AutoRegisterHandler<HttpSafeTypeEncoder<?, ?>> {
+
+    private final TypeEncoderRegistry<HttpSafeTypeEncoder<?, ?>> encoderRegistry;
+
+    /**
+     * Constructs an {@link HttpTypeEncoderAutoRegisterHandler} with the specified {@link CraftsNet} instance.
+     *
+     * @param craftsNet The main {@link CraftsNet} instance, which provides access to the application's context.
+     */
+    public HttpTypeEncoderAutoRegisterHandler(CraftsNet craftsNet) {
+        super(craftsNet);
+        this.encoderRegistry = craftsNet.getHttpEncoderRegistry();
+    }
+
+    /**
+     * Handles the registration of the provided {@link HttpSafeTypeEncoder}.
+     *
+     * <p>This method attempts to register the given {@link HttpSafeTypeEncoder} with the
+     * {@link CraftsNet#getHttpEncoderRegistry()} of the associated {@link CraftsNet} instance.
+     * If registration is successful, the method returns {@code true}.</p>
+     *
+     * @param httpSafeTypeEncoder The {@link HttpSafeTypeEncoder} to be registered.
+     * @param args                Additional arguments (not used in this implementation but provided for extensibility).
+     * @return {@code true} if the registration was successful, {@code false} otherwise.
+     * @throws RuntimeException If an error occurs during the registration process.
+     */
+    @Override
+    protected boolean handle(HttpSafeTypeEncoder<?, ?> httpSafeTypeEncoder, AutoRegisterInfo info, Object... args) {
+        if (encoderRegistry.isRegistered(httpSafeTypeEncoder)) return false;
+
+        encoderRegistry.register(httpSafeTypeEncoder);
+        return true;
+    }
+
+}
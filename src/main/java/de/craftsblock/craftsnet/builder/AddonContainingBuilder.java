@@ -5,12 +5,14 @@ import de.craftsblock.craftsnet.addon.Addon;
 import de.craftsblock.craftsnet.addon.AddonManager;
 import de.craftsblock.craftsnet.addon.loaders.AddonLoader;
 import de.craftsblock.craftsnet.addon.meta.AddonConfiguration;
+import de.craftsblock.craftsnet.api.http.transport.HttpEngine;
 import de.craftsblock.craftsnet.logging.Logger;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Range;
 
 import java.io.IOException;
 import java.security.CodeSource;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -182,6 +184,146 @@ public class AddonContainingBuilder extends CraftsNetBuilder {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param engine {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withHttpEngine(HttpEngine engine) {
+        super.withHttpEngine(engine);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param threads {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withHttpSelectorThreads(int threads) {
+        super.withHttpSelectorThreads(threads);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param size {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withHttpBufferSize(@Range(from = 1024, to = Integer.MAX_VALUE) int size) {
+        super.withHttpBufferSize(size);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param connections {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withHttpMaxConnections(int connections) {
+        super.withHttpMaxConnections(connections);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param threads       {@inheritDoc}
+     * @param queueCapacity {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withHttpWorkers(@Range(from = 1, to = Integer.MAX_VALUE) int threads,
+                                                  @Range(from = 0, to = Integer.MAX_VALUE) int queueCapacity) {
+        super.withHttpWorkers(threads, queueCapacity);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param threads       {@inheritDoc}
+     * @param queueCapacity {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withWebSocketWorkers(@Range(from = 1, to = Integer.MAX_VALUE) int threads,
+                                                       @Range(from = 0, to = Integer.MAX_VALUE) int queueCapacity) {
+        super.withWebSocketWorkers(threads, queueCapacity);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param virtualThreads {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withVirtualThreads(boolean virtualThreads) {
+        super.withVirtualThreads(virtualThreads);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param concurrency {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withVirtualThreadConcurrency(@Range(from = 1, to = Integer.MAX_VALUE) int concurrency) {
+        super.withVirtualThreadConcurrency(concurrency);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param threshold {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withBodyMemoryThreshold(@Range(from = 0, to = Integer.MAX_VALUE) int threshold) {
+        super.withBodyMemoryThreshold(threshold);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param memoryThreshold {@inheritDoc}
+     * @param maxPartSize     {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withMultipartLimits(@Range(from = 0, to = Integer.MAX_VALUE) int memoryThreshold,
+                                                      @Range(from = 0, to = Long.MAX_VALUE) long maxPartSize) {
+        super.withMultipartLimits(memoryThreshold, maxPartSize);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param maxFields {@inheritDoc}
+     * @param maxLength {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withUrlEncodedLimits(@Range(from = 0, to = Integer.MAX_VALUE) int maxFields,
+                                                       @Range(from = 0, to = Integer.MAX_VALUE) int maxLength) {
+        super.withUrlEncodedLimits(maxFields, maxLength);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -194,6 +336,93 @@ public class AddonContainingBuilder extends CraftsNetBuilder {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * @param size {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withRouteCache(int size) {
+        super.withRouteCache(size);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param size {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withTransformerCache(int size) {
+        super.withTransformerCache(size);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param size       {@inheritDoc}
+     * @param timeToLive {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withTransformerCache(int size, Duration timeToLive) {
+        super.withTransformerCache(size, timeToLive);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param size     {@inheritDoc}
+     * @param maxBytes {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withCompressionCache(@Range(from = 0, to = Integer.MAX_VALUE) int size,
+                                                       @Range(from = 0, to = Long.MAX_VALUE) long maxBytes) {
+        super.withCompressionCache(size, maxBytes);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param size {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withCompressionMinimumSize(@Range(from = 0, to = Integer.MAX_VALUE) int size) {
+        super.withCompressionMinimumSize(size);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param size {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withShareFileCache(@Range(from = 0, to = Integer.MAX_VALUE) int size) {
+        super.withShareFileCache(size);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param size {@inheritDoc}
+     * @return {@inheritDoc}
+     */
+    @Override
+    public AddonContainingBuilder withResponseBufferSize(@Range(from = 0, to = Integer.MAX_VALUE) int size) {
+        super.withResponseBufferSize(size);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -2,6 +2,8 @@ package de.craftsblock.craftsnet.builder;
 
 import de.craftsblock.craftscore.utils.ArgumentParser;
 import de.craftsblock.craftsnet.CraftsNet;
+import de.craftsblock.craftsnet.api.http.transport.HttpEngine;
+import de.craftsblock.craftsnet.api.http.transport.NioHttpTransport;
 import de.craftsblock.craftsnet.logging.Logger;
 import de.craftsblock.craftsnet.logging.impl.LoggerImpl;
 import de.craftsblock.craftsnet.logging.impl.PlainLogger;
@@ -11,6 +13,7 @@ import org.jetbrains.annotations.Range;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.security.CodeSource;
+import java.time.Duration;
 import java.util.*;
 
 /**
@@ -33,7 +36,31 @@ public class CraftsNetBuilder {
     private ActivateType addonSystem;
     private ActivateType commandSystem;
 
+    private HttpEngine httpEngine;
+    private int httpSelectorThreads;
+    private int httpBufferSize;
+    private int httpMaxConnections;
+    private int httpWorkerThreads;
+    private int httpWorkerQueueCapacity;
+    private int webSocketWorkerThreads;
+    private int webSocketWorkerQueueCapacity;
+    private boolean virtualThreads;
+    private int virtualThreadConcurrency;
+    private int bodyMemoryThreshold;
+    private int multipartMemoryThreshold;
+    private long multipartMaxPartSize;
+    private int urlEncodedMaxFields;
+    private int urlEncodedMaxLength;
+
     private int sessionCacheSize;
+    private int routeCacheSize;
+    private int transformerCacheSize;
+    private Duration transformerCacheTimeToLive;
+    private int compressionCacheSize;
+    private long compressionCacheMaxBytes;
+    private int compressionMinimumSize;
+    private int shareFileCacheSize;
+    private int responseBufferSize;
 
     private ActivateType fileLogger;
     private Logger logger;
@@ -60,6 +87,23 @@ public class CraftsNetBuilder {
         webServer = webSocketServer = ActivateType.DYNAMIC;
         addonSystem = commandSystem = fileLogger = ActivateType.ENABLED;
         withSessionCache(5);
+        withRouteCache(0);
+        withTransformerCache(0, Duration.ofMinutes(1));
+        withCompressionCache(256, 64L * 1024 * 1024);
+        withCompressionMinimumSize(1024);
+        withShareFileCache(4096);
+        withResponseBufferSize(16 * 1024);
+        withHttpEngine(HttpEngine.JDK);
+        withHttpSelectorThreads(0);
+        withHttpBufferSize(NioHttpTransport.DEFAULT_BUFFER_SIZE);
+        withHttpMaxConnections(NioHttpTransport.DEFAULT_MAX_CONNECTIONS);
+        withHttpWorkers(256, 1024);
+        withWebSocketWorkers(Integer.MAX_VALUE, 0);
+        withVirtualThreads(false);
+        withVirtualThreadConcurrency(16 * 1024);
+        withBodyMemoryThreshold(64 * 1024);
+        withMultipartLimits(16 * 1024, 100L * 1024 * 1024);
+        withUrlEncodedLimits(1000, 2 * 1024 * 1024);
         withDebug(false);
         withIpsInLog(true);
         withApplyResponseEncoding(false);
@@ -125,6 +169,7 @@ public class CraftsNetBuilder {
             case "skipdefaultroute" -> withSkipDefaultRoute(true);
             case "skipversioncheck" -> withSkipVersionCheck(true);
             case "ssl" -> withSSL(true);
+            case "virtualthreads" -> withVirtualThreads(true);
 
             case "disableaddonsystem" -> withAddonSystem(ActivateType.DISABLED);
             case "disablecommandsystem" -> withCommandSystem(ActivateType.DISABLED);
@@ -144,7 +189,30 @@ public class CraftsNetBuilder {
             case "log-rotate", "logrotate" -> withLogRotate(Integer.parseInt(value));
             case "socket-port", "socketport", "websocket-port", "websocketport" -> withWebSocketServer(Integer.parseInt(value));
 
+            case "httpengine" -> withHttpEngine(HttpEngine.valueOf(value.toUpperCase()));
+            case "httpselectorthreads" -> withHttpSelectorThreads(Integer.parseInt(value));
+            case "httpbuffersize" -> withHttpBufferSize(Integer.parseInt(value));
+            case "httpmaxconnections" -> withHttpMaxConnections(Integer.parseInt(value));
+            case "httpworkers" -> withHttpWorkers(Integer.parseInt(value), httpWorkerQueueCapacity);
+            case "httpworkerqueue" -> withHttpWorkers(httpWorkerThreads, Integer.parseInt(value));
+            case "websocketworkers" -> withWebSocketWorkers(Integer.parseInt(value), webSocketWorkerQueueCapacity);
+            case "websocketworkerqueue" -> withWebSocketWorkers(webSocketWorkerThreads, Integer.parseInt(value));
+            case "bodymemorythreshold" -> withBodyMemoryThreshold(Integer.parseInt(value));
+            case "multipartmemorythreshold" -> withMultipartLimits(Integer.parseInt(value), multipartMaxPartSize);
+            case "multipartmaxpartsize" -> withMultipartLimits(multipartMemoryThreshold, Long.parseLong(value));
+            case "urlencodedmaxfields" -> withUrlEncodedLimits(Integer.parseInt(value), urlEncodedMaxLength);
+            case "urlencodedmaxlength" -> withUrlEncodedLimits(urlEncodedMaxFields, Integer.parseInt(value));
+            case "virtualthreadconcurrency" -> withVirtualThreadConcurrency(Integer.parseInt(value));
+
             case "sessioncache", "sessioncachesize" -> withSessionCache(Integer.parseInt(value));
+            case "routecache", "routecachesize" -> withRouteCache(Integer.parseInt(value));
+            case "transformercache", "transformercachesize" -> withTransformerCache(Integer.parseInt(value));
+            case "transformercachettl" -> withTransformerCache(transformerCacheSize, Duration.ofSeconds(Long.parseLong(value)));
+            case "compressioncache", "compressioncachesize" -> withCompressionCache(Integer.parseInt(value), compressionCacheMaxBytes);
+            case "compressioncachebytes" -> withCompressionCache(compressionCacheSize, Long.parseLong(value));
+            case "compressionminsize" -> withCompressionMinimumSize(Integer.parseInt(value));
+            case "sharefilecache", "sharefilecachesize" -> withShareFileCache(Integer.parseInt(value));
+            case "responsebuffer", "responsebuffersize" -> withResponseBufferSize(Integer.parseInt(value));
 
             // Default
             default -> throw new IllegalStateException("Unexpected argument in startup command: " + arg.toLowerCase());
@@ -264,6 +332,170 @@ public class CraftsNetBuilder {
         return this;
     }
 
+    /**
+     * Specifies the {@link HttpEngine} which is used by the web server.
+     *
+     * @param engine The http engine.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withHttpEngine(HttpEngine engine) {
+        this.httpEngine = engine;
+        return this;
+    }
+
+    /**
+     * Specifies the amount of selector threads used by the {@link HttpEngine#NIO nio http engine}.
+     * A value of {@code 0} or less derives the amount from the available processors.
+     *
+     * @param threads The amount of selector threads.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withHttpSelectorThreads(int threads) {
+        this.httpSelectorThreads = threads;
+        return this;
+    }
+
+    /**
+     * Specifies the size of the pooled buffers used by the {@link HttpEngine#NIO nio http engine},
+     * which also limits the size of a request head.
+     *
+     * @param size The buffer size in bytes.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withHttpBufferSize(@Range(from = 1024, to = Integer.MAX_VALUE) int size) {
+        this.httpBufferSize = size;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum amount of open connections of the {@link HttpEngine#NIO nio http engine}.
+     * Connections beyond the limit are answered with {@code 503 Service Unavailable} and closed.
+     * A value of {@code 0} or less removes the limit.
+     *
+     * @param connections The maximum amount of open connections.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withHttpMaxConnections(int connections) {
+        this.httpMaxConnections = connections;
+        return this;
+    }
+
+    /**
+     * Specifies the bounds of the executor on which the web server handles requests. Once all threads
+     * are busy and the queue is full, further requests are answered with {@code 503 Service Unavailable}.
+     *
+     * @param threads       The maximum amount of threads.
+     * @param queueCapacity The maximum amount of requests waiting for a thread.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withHttpWorkers(@Range(from = 1, to = Integer.MAX_VALUE) int threads,
+                                            @Range(from = 0, to = Integer.MAX_VALUE) int queueCapacity) {
+        this.httpWorkerThreads = threads;
+        this.httpWorkerQueueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Specifies the bounds of the executor on which the websocket server handles its clients. As every
+     * client occupies a thread for as long as it is connected, the amount of threads limits the amount of
+     * concurrent clients. Once all threads are busy and the queue is full, further clients are rejected.
+     * By default the amount of threads is not limited, like in earlier versions.
+     *
+     * @param threads       The maximum amount of threads.
+     * @param queueCapacity The maximum amount of clients waiting for a thread.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withWebSocketWorkers(@Range(from = 1, to = Integer.MAX_VALUE) int threads,
+                                                 @Range(from = 0, to = Integer.MAX_VALUE) int queueCapacity) {
+        this.webSocketWorkerThreads = threads;
+        this.webSocketWorkerQueueCapacity = queueCapacity;
+        return this;
+    }
+
+    /**
+     * Specifies whether requests and websocket connections should be handled on virtual threads. Virtual
+     * threads require java 21 or newer, on older runtimes the servers fall back to platform threads. As
+     * virtual threads are cheap, the thread bounds of {@link #withHttpWorkers(int, int)} and
+     * {@link #withWebSocketWorkers(int, int)} are raised to {@link #withVirtualThreadConcurrency(int)}
+     * while virtual threads are in use.
+     *
+     * @param virtualThreads {@code true} if virtual threads should be used, {@code false} otherwise.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+        return this;
+    }
+
+    /**
+     * Specifies the amount of requests and websocket connections each server handles concurrently while
+     * virtual threads are in use. It replaces smaller thread bounds of the worker executors, as those are
+     * sized for platform threads. The queue capacities still apply.
+     *
+     * @param concurrency The maximum amount of concurrently running virtual threads per server.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withVirtualThreadConcurrency(@Range(from = 1, to = Integer.MAX_VALUE) int concurrency) {
+        this.virtualThreadConcurrency = concurrency;
+        return this;
+    }
+
+    /**
+     * Specifies the maximum size of request bodies which are buffered in memory. Larger bodies are
+     * spilled to a temporary file. A threshold of {@code 0} buffers every body in a temporary file.
+     *
+     * @param threshold The threshold in bytes.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withBodyMemoryThreshold(@Range(from = 0, to = Integer.MAX_VALUE) int threshold) {
+        this.bodyMemoryThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Specifies the limits applied while parsing multipart bodies. Fields up to the memory threshold
+     * are kept in memory, while file parts and larger fields are written to temporary files. Parts
+     * exceeding the maximum size are rejected with {@code 413 Payload Too Large}. By default a single
+     * part is limited to 100 MiB.
+     *
+     * @param memoryThreshold The maximum size of fields kept in memory in bytes.
+     * @param maxPartSize     The maximum size of a single part in bytes, {@code 0} for no limit.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withMultipartLimits(@Range(from = 0, to = Integer.MAX_VALUE) int memoryThreshold,
+                                                @Range(from = 0, to = Long.MAX_VALUE) long maxPartSize) {
+        this.multipartMemoryThreshold = memoryThreshold;
+        this.multipartMaxPartSize = maxPartSize;
+        return this;
+    }
+
+    /**
+     * Specifies the limits applied while parsing url encoded data, which are query strings and
+     * standard form bodies. Requests exceeding the amount of fields are rejected with
+     * {@code 400 Bad Request}, form bodies exceeding the length with {@code 413 Payload Too Large}.
+     *
+     * @param maxFields The maximum amount of fields, {@code 0} for no limit.
+     * @param maxLength The maximum length of a form body in bytes, {@code 0} for no limit.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withUrlEncodedLimits(@Range(from = 0, to = Integer.MAX_VALUE) int maxFields,
+                                                 @Range(from = 0, to = Integer.MAX_VALUE) int maxLength) {
+        this.urlEncodedMaxFields = maxFields;
+        this.urlEncodedMaxLength = maxLength;
+        return this;
+    }
+
     /**
      * Specifies the size of the session cache.
      *
@@ -275,6 +507,111 @@ public class CraftsNetBuilder {
         return this;
     }
 
+    /**
+     * Specifies the size of the route resolution cache. A size of {@code 0} or less disables the cache.
+     *
+     * @param size The size of the route cache.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withRouteCache(int size) {
+        this.routeCacheSize = size;
+        return this;
+    }
+
+    /**
+     * Specifies the size of the process wide transformer cache. A size of {@code 0} or less disables the cache,
+     * which is the default. While it is disabled, cacheable transformer results are only kept for the current
+     * request or websocket frame like in earlier versions. Once it is enabled, the results of all
+     * {@link de.craftsblock.craftsnet.api.transformers.Transformable transformables} which do not opt out through
+     * {@link de.craftsblock.craftsnet.api.transformers.Transformable#isCacheable()} are shared between all
+     * requests until their time to live expired.
+     *
+     * @param size The size of the transformer cache.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withTransformerCache(int size) {
+        this.transformerCacheSize = size;
+        return this;
+    }
+
+    /**
+     * Specifies the size of the process wide transformer cache and the default time after which
+     * cached transformer results expire. A size of {@code 0} or less disables the cache, see
+     * {@link #withTransformerCache(int)} for the behavior in both cases.
+     *
+     * @param size       The size of the transformer cache.
+     * @param timeToLive The default time to live of cached results, which must be positive.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @throws IllegalArgumentException If the time to live is null, zero or negative.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withTransformerCache(int size, Duration timeToLive) {
+        if (timeToLive == null || timeToLive.isZero() || timeToLive.isNegative())
+            throw new IllegalArgumentException("The time to live of the transformer cache must be positive!");
+
+        this.transformerCacheSize = size;
+        this.transformerCacheTimeToLive = timeToLive;
+        return this;
+    }
+
+    /**
+     * Specifies the size of the process wide cache holding the compressed variants of files sent as
+     * responses. A size of {@code 0} compresses files on every request.
+     *
+     * @param size     The maximum amount of cached variants.
+     * @param maxBytes The maximum amount of bytes all cached variants may take up.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withCompressionCache(@Range(from = 0, to = Integer.MAX_VALUE) int size,
+                                                 @Range(from = 0, to = Long.MAX_VALUE) long maxBytes) {
+        this.compressionCacheSize = size;
+        this.compressionCacheMaxBytes = maxBytes;
+        return this;
+    }
+
+    /**
+     * Specifies the minimum size of a response body in bytes to be compressed. Smaller bodies are sent
+     * without an encoding, as the encoding overhead outweighs the saved bytes.
+     *
+     * @param size The minimum size in bytes.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withCompressionMinimumSize(@Range(from = 0, to = Integer.MAX_VALUE) int size) {
+        this.compressionMinimumSize = size;
+        return this;
+    }
+
+    /**
+     * Specifies the amount of files whose metadata is cached for shares. A size of {@code 0} reads
+     * the metadata from the file system on every request.
+     *
+     * @param size The maximum amount of cached files.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withShareFileCache(@Range(from = 0, to = Integer.MAX_VALUE) int size) {
+        this.shareFileCacheSize = size;
+        return this;
+    }
+
+    /**
+     * Specifies the size of the buffer collecting the output of a response. Responses which fit into
+     * the buffer are sent with their exact {@code Content-Length}, larger ones are streamed as chunks.
+     * A size of {@code 0} sends every print to the client right away.
+     *
+     * @param size The size of the response buffer in bytes.
+     * @return The {@link CraftsNetBuilder} instance.
+     * @since 3.7.3
+     */
+    public CraftsNetBuilder withResponseBufferSize(@Range(from = 0, to = Integer.MAX_VALUE) int size) {
+        this.responseBufferSize = size;
+        return this;
+    }
+
     /**
      * Specifies the activation type for the file logger.
      *
@@ -543,6 +880,157 @@ public class CraftsNetBuilder {
         return commandSystem == type;
     }
 
+    /**
+     * Retrieves the {@link HttpEngine} configured.
+     *
+     * @return The http engine.
+     * @since 3.7.3
+     */
+    public HttpEngine getHttpEngine() {
+        return httpEngine;
+    }
+
+    /**
+     * Retrieves the amount of selector threads of the nio http engine configured.
+     *
+     * @return The amount of selector threads, {@code 0} or less if it is derived from the available processors.
+     * @since 3.7.3
+     */
+    public int getHttpSelectorThreads() {
+        return httpSelectorThreads;
+    }
+
+    /**
+     * Retrieves the buffer size of the nio http engine configured.
+     *
+     * @return The buffer size in bytes.
+     * @since 3.7.3
+     */
+    public int getHttpBufferSize() {
+        return httpBufferSize;
+    }
+
+    /**
+     * Retrieves the maximum amount of open connections of the nio http engine configured.
+     *
+     * @return The maximum amount of open connections, {@code 0} or less if there is no limit.
+     * @since 3.7.3
+     */
+    public int getHttpMaxConnections() {
+        return httpMaxConnections;
+    }
+
+    /**
+     * Retrieves the maximum amount of threads of the web server configured.
+     *
+     * @return The maximum amount of threads.
+     * @since 3.7.3
+     */
+    public int getHttpWorkerThreads() {
+        return httpWorkerThreads;
+    }
+
+    /**
+     * Retrieves the queue capacity of the web server configured.
+     *
+     * @return The maximum amount of requests waiting for a thread.
+     * @since 3.7.3
+     */
+    public int getHttpWorkerQueueCapacity() {
+        return httpWorkerQueueCapacity;
+    }
+
+    /**
+     * Retrieves the maximum amount of threads of the websocket server configured.
+     *
+     * @return The maximum amount of threads.
+     * @since 3.7.3
+     */
+    public int getWebSocketWorkerThreads() {
+        return webSocketWorkerThreads;
+    }
+
+    /**
+     * Retrieves the queue capacity of the websocket server configured.
+     *
+     * @return The maximum amount of clients waiting for a thread.
+     * @since 3.7.3
+     */
+    public int getWebSocketWorkerQueueCapacity() {
+        return webSocketWorkerQueueCapacity;
+    }
+
+    /**
+     * Determines whether requests and websocket connections should be handled on virtual threads.
+     *
+     * @return {@code true} if virtual threads should be used, {@code false} otherwise.
+     * @since 3.7.3
+     */
+    public boolean shouldUseVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Retrieves the amount of requests and websocket connections each server handles concurrently while
+     * virtual threads are in use.
+     *
+     * @return The maximum amount of concurrently running virtual threads per server.
+     * @since 3.7.3
+     */
+    public int getVirtualThreadConcurrency() {
+        return virtualThreadConcurrency;
+    }
+
+    /**
+     * Retrieves the maximum size of request bodies which are buffered in memory configured.
+     *
+     * @return The threshold in bytes.
+     * @since 3.7.3
+     */
+    public int getBodyMemoryThreshold() {
+        return bodyMemoryThreshold;
+    }
+
+    /**
+     * Retrieves the maximum size of multipart fields which are kept in memory configured.
+     *
+     * @return The threshold in bytes.
+     * @since 3.7.3
+     */
+    public int getMultipartMemoryThreshold() {
+        return multipartMemoryThreshold;
+    }
+
+    /**
+     * Retrieves the maximum size of a single multipart part configured.
+     *
+     * @return The maximum size in bytes, {@code 0} if there is no limit.
+     * @since 3.7.3
+     */
+    public long getMultipartMaxPartSize() {
+        return multipartMaxPartSize;
+    }
+
+    /**
+     * Retrieves the maximum amount of fields in url encoded data configured.
+     *
+     * @return The maximum amount of fields, {@code 0} if there is no limit.
+     * @since 3.7.3
+     */
+    public int getUrlEncodedMaxFields() {
+        return urlEncodedMaxFields;
+    }
+
+    /**
+     * Retrieves the maximum length of url encoded form bodies configured.
+     *
+     * @return The maximum length in bytes, {@code 0} if there is no limit.
+     * @since 3.7.3
+     */
+    public int getUrlEncodedMaxLength() {
+        return urlEncodedMaxLength;
+    }
+
     /**
      * Retrieves the session cache size configured.
      *
@@ -552,6 +1040,86 @@ public class CraftsNetBuilder {
         return sessionCacheSize;
     }
 
+    /**
+     * Retrieves the route cache size configured.
+     *
+     * @return The route cache size, {@code 0} or less if the route cache is disabled.
+     * @since 3.7.3
+     */
+    public int getRouteCacheSize() {
+        return routeCacheSize;
+    }
+
+    /**
+     * Retrieves the transformer cache size configured.
+     *
+     * @return The transformer cache size, {@code 0} or less if the transformer cache is disabled.
+     * @since 3.7.3
+     */
+    public int getTransformerCacheSize() {
+        return transformerCacheSize;
+    }
+
+    /**
+     * Retrieves the default time to live of cached transformer results configured.
+     *
+     * @return The default time to live of cached transformer results.
+     * @since 3.7.3
+     */
+    public Duration getTransformerCacheTimeToLive() {
+        return transformerCacheTimeToLive;
+    }
+
+    /**
+     * Retrieves the maximum amount of compressed file variants which are cached.
+     *
+     * @return The size of the compression cache.
+     * @since 3.7.3
+     */
+    public int getCompressionCacheSize() {
+        return compressionCacheSize;
+    }
+
+    /**
+     * Retrieves the maximum amount of bytes the cached compressed file variants may take up.
+     *
+     * @return The maximum amount of bytes.
+     * @since 3.7.3
+     */
+    public long getCompressionCacheMaxBytes() {
+        return compressionCacheMaxBytes;
+    }
+
+    /**
+     * Retrieves the minimum size of a response body in bytes to be compressed.
+     *
+     * @return The minimum size in bytes.
+     * @since 3.7.3
+     */
+    public int getCompressionMinimumSize() {
+        return compressionMinimumSize;
+    }
+
+    /**
+     * Retrieves the maximum amount of files whose metadata is cached for shares.
+     *
+     * @return The size of the share file cache.
+     * @since 3.7.3
+     */
+    public int getShareFileCacheSize() {
+        return shareFileCacheSize;
+    }
+
+    /**
+     * Retrieves the size of the buffer collecting the output of a response.
+     *
+     * @return The size of the response buffer in bytes.
+     * @since 3.7.3
+     */
+    public int getResponseBufferSize() {
+        return responseBufferSize;
+    }
+
     /**
      * Checks if the file logger is configured with the specified activation type.
      *
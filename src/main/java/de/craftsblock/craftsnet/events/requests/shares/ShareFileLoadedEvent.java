@@ -2,14 +2,12 @@ package de.craftsblock.craftsnet.events.requests.shares;
 
 import de.craftsblock.craftscore.event.CancellableEvent;
 import de.craftsblock.craftsnet.api.http.Exchange;
+import de.craftsblock.craftsnet.api.http.ShareFileCache;
 import de.craftsblock.craftsnet.events.requests.GenericRequestEventBase;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.net.FileNameMap;
-import java.net.URLConnection;
-import java.nio.file.Files;
 import java.nio.file.Path;
 
 /**
@@ -24,8 +22,6 @@ import java.nio.file.Path;
  */
 public class ShareFileLoadedEvent extends CancellableEvent implements GenericRequestEventBase {
 
-    private static final FileNameMap contentTypes = URLConnection.getFileNameMap();
-
     private final Exchange exchange;
     private Path path;
     private String contentType;
@@ -100,6 +96,17 @@ public class ShareFileLoadedEvent extends CancellableEvent implements GenericReq
         this.setPath(file.toPath());
     }
 
+    /**
+     * Retrieves the metadata of the current file from the {@link ShareFileCache}.
+     *
+     * @return The metadata of the file.
+     * @since 3.7.3
+     */
+    @NotNull
+    public ShareFileCache.Metadata getMetadata() {
+        return exchange.request().getCraftsNet().getShareFileCache().lookup(path);
+    }
+
     /**
      * Determines the content type of the current file.
      *
@@ -107,8 +114,8 @@ public class ShareFileLoadedEvent extends CancellableEvent implements GenericReq
      */
     @Nullable
     public String getRawContentType() {
-        if (Files.notExists(path)) return null;
-        return contentTypes.getContentTypeFor(path.getFileName().toString());
+        ShareFileCache.Metadata metadata = getMetadata();
+        return metadata.exists() ? metadata.contentType() : null;
     }
 
     /**
@@ -0,0 +1,309 @@
+package de.craftsblock.craftsnet.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An executor with an upper bound for its threads and its queue, which is used by the servers to
+ * process connections and requests.
+ * <p>
+ * Threads are started on demand up to the maximum amount and are terminated after being idle for
+ * {@value #KEEP_ALIVE_SECONDS} seconds. Once all threads are busy, tasks are queued until the queue is full.
+ * Any further task is rejected immediately with a {@link RejectedExecutionException}, so the caller can shed
+ * the load instead of piling up threads until the jvm starts thrashing.
+ * <p>
+ * On java 21 and newer the executor can run its tasks on virtual threads. Virtual threads are not pooled,
+ * every task is started on a new one right away. The bounds are then enforced by semaphores and limit the
+ * concurrency instead of the amount of platform threads, so they can be raised considerably. Queued tasks
+ * wait on their own virtual thread until one of the running tasks completed.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+public class BoundedExecutor extends AbstractExecutorService {
+
+    /**
+     * The time in seconds after which idle threads are terminated.
+     */
+    public static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final int maxThreads;
+    private final int queueCapacity;
+    private final LongAdder rejected = new LongAdder();
+
+    private final ThreadPoolExecutor pool;
+
+    private final ExecutorService virtualExecutor;
+    private final Semaphore admitted;
+    private final Semaphore running;
+
+    /**
+     * Constructs a new {@link BoundedExecutor} which runs its tasks on platform threads.
+     *
+     * @param name          The name prefix of the threads, which is followed by a sequential number.
+     * @param maxThreads    The maximum amount of threads.
+     * @param queueCapacity The maximum amount of tasks waiting for a thread, {@code 0} to hand tasks over to idle threads only.
+     */
+    public BoundedExecutor(@NotNull String name, @Range(from = 1, to = Integer.MAX_VALUE) int maxThreads,
+                           @Range(from = 0, to = Integer.MAX_VALUE) int queueCapacity) {
+        this(name, maxThreads, queueCapacity, false);
+    }
+
+    /**
+     * Constructs a new {@link BoundedExecutor}.
+     *
+     * @param name          The name prefix of the threads, which is followed by a sequential number.
+     * @param maxThreads    The maximum amount of threads.
+     * @param queueCapacity The maximum amount of tasks waiting for a thread, {@code 0} to hand tasks over to idle threads only.
+     * @param virtual       Whether virtual threads should be used. Falls back to platform threads if the runtime does not support them.
+     */
+    public BoundedExecutor(@NotNull String name, @Range(from = 1, to = Integer.MAX_VALUE) int maxThreads,
+                           @Range(from = 0, to = Integer.MAX_VALUE) int queueCapacity, boolean virtual) {
+        if (maxThreads <= 0) throw new IllegalArgumentException("The maximum amount of threads must be greater than 0!");
+        if (queueCapacity < 0) throw new IllegalArgumentException("The queue capacity must not be negative!");
+
+        this.maxThreads = maxThreads;
+        this.queueCapacity = queueCapacity;
+
+        this.virtualExecutor = virtual ? VirtualThreads.perTaskExecutor(name) : null;
+        if (this.virtualExecutor != null) {
+            this.pool = null;
+            this.admitted = new Semaphore((int) Math.min(Integer.MAX_VALUE, (long) maxThreads + queueCapacity));
+            this.running = new Semaphore(maxThreads);
+            return;
+        }
+
+        this.admitted = this.running = null;
+
+        // Without a queue idle threads are reused like in a cached pool, otherwise the queue would only fill once all threads run
+        this.pool = new ThreadPoolExecutor(queueCapacity == 0 ? 0 : maxThreads, maxThreads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, createQueue(queueCapacity));
+
+        AtomicInteger counter = new AtomicInteger();
+        this.pool.setThreadFactory(runnable -> {
+            Thread thread = new Thread(runnable, name + counter.incrementAndGet());
+            thread.setDaemon(false);
+            return thread;
+        });
+
+        this.pool.setRejectedExecutionHandler((runnable, executor) -> {
+            throw saturated();
+        });
+
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Executes the task on a thread of the executor.
+     *
+     * @param command The task to execute.
+     * @throws RejectedExecutionException If the executor is saturated or shut down.
+     */
+    @Override
+    public void execute(@NotNull Runnable command) {
+        if (pool != null) {
+            pool.execute(command);
+            return;
+        }
+
+        if (virtualExecutor.isShutdown())
+            throw new RejectedExecutionException("The executor has been shut down");
+        if (!admitted.tryAcquire()) throw saturated();
+
+        try {
+            virtualExecutor.execute(() -> {
+                try {
+                    // Waiting here takes the place of the queue, as parked virtual threads are cheap
+                    try {
+                        running.acquire();
+                    } catch (InterruptedException e) {
+                        // Interrupted by shutdownNow, queued tasks are dropped like in the platform pool
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+
+                    try {
+                        command.run();
+                    } finally {
+                        running.release();
+                    }
+                } finally {
+                    admitted.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {
+        if (pool != null) pool.shutdown();
+        else virtualExecutor.shutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public @NotNull List<Runnable> shutdownNow() {
+        return pool != null ? pool.shutdownNow() : virtualExecutor.shutdownNow();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isShutdown() {
+        return pool != null ? pool.isShutdown() : virtualExecutor.isShutdown();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return {@inheritDoc}
+     */
+    @Override
+    public boolean isTerminated() {
+        return pool != null ? pool.isTerminated() : virtualExecutor.isTerminated();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @param timeout {@inheritDoc}
+     * @param unit    {@inheritDoc}
+     * @return {@inheritDoc}
+     * @throws InterruptedException {@inheritDoc}
+     */
+    @Override
+    public boolean awaitTermination(long timeout, @NotNull TimeUnit unit) throws InterruptedException {
+        return pool != null ? pool.awaitTermination(timeout, unit) : virtualExecutor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Retrieves the approximate amount of threads which are currently running a task.
+     *
+     * @return The amount of active threads.
+     */
+    public int getActiveCount() {
+        return pool != null ? pool.getActiveCount() : maxThreads - running.availablePermits();
+    }
+
+    /**
+     * Retrieves the amount of threads which are currently alive, including the virtual threads of queued tasks.
+     *
+     * @return The amount of threads.
+     */
+    public int getPoolSize() {
+        return pool != null ? pool.getPoolSize() : getAdmittedCount();
+    }
+
+    /**
+     * Retrieves the maximum amount of threads which run a task at the same time.
+     *
+     * @return The maximum amount of threads.
+     */
+    public int getMaximumPoolSize() {
+        return maxThreads;
+    }
+
+    /**
+     * Retrieves the amount of tasks currently waiting for a thread.
+     *
+     * @return The size of the queue.
+     */
+    public int getQueueSize() {
+        return pool != null ? pool.getQueue().size() : Math.max(0, getAdmittedCount() - getActiveCount());
+    }
+
+    /**
+     * Retrieves the maximum amount of tasks which may wait for a thread.
+     *
+     * @return The capacity of the queue.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Retrieves the amount of tasks which have been rejected because the executor was saturated.
+     *
+     * @return The amount of rejected tasks.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Checks whether the tasks are run on virtual threads.
+     *
+     * @return {@code true} if virtual threads are used, {@code false} otherwise.
+     */
+    public boolean isVirtual() {
+        return virtualExecutor != null;
+    }
+
+    /**
+     * Checks whether all threads are busy and the queue is full, so that new tasks would be rejected.
+     *
+     * @return {@code true} if the executor is saturated, {@code false} otherwise.
+     */
+    public boolean isSaturated() {
+        if (pool == null) return admitted.availablePermits() == 0;
+        return pool.getActiveCount() >= maxThreads && pool.getQueue().remainingCapacity() == 0;
+    }
+
+    /**
+     * Counts a rejected task and creates the exception which is thrown to the caller.
+     *
+     * @return The exception describing the saturated executor.
+     */
+    private RejectedExecutionException saturated() {
+        rejected.increment();
+        return new RejectedExecutionException("The executor is saturated (" + getActiveCount() + " active threads, "
+                + getQueueSize() + " queued tasks)");
+    }
+
+    /**
+     * Retrieves the amount of tasks which were accepted on virtual threads and did not complete yet.
+     *
+     * @return The amount of running and queued tasks.
+     */
+    private int getAdmittedCount() {
+        return (int) Math.min(Integer.MAX_VALUE, (long) maxThreads + queueCapacity) - admitted.availablePermits();
+    }
+
+    /**
+     * Creates the queue of the executor.
+     *
+     * @param capacity The capacity of the queue.
+     * @return The queue.
+     */
+    private static BlockingQueue<Runnable> createQueue(int capacity) {
+        return capacity == 0 ? new SynchronousQueue<>() : new ArrayBlockingQueue<>(capacity);
+    }
+
+}
@@ -0,0 +1,73 @@
+package de.craftsblock.craftsnet.utils;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of equally sized heap {@link ByteBuffer buffers}, which are taken from the pool for the time
+ * they hold data and returned afterwards, so hot paths do not allocate new buffers for every request.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+public final class BufferPool {
+
+    private final int bufferSize;
+    private final int maxPooled;
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * Constructs a new, empty {@link BufferPool}.
+     *
+     * @param bufferSize The size of the buffers.
+     * @param maxPooled  The maximum amount of unused buffers which are kept for reuse.
+     */
+    public BufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * Takes a cleared buffer from the pool, allocating a new one if the pool is empty.
+     *
+     * @return The buffer.
+     */
+    public @NotNull ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) return ByteBuffer.allocate(bufferSize);
+
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used by the caller afterwards.
+     *
+     * @param buffer The buffer.
+     */
+    public void release(@NotNull ByteBuffer buffer) {
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+
+        buffers.offer(buffer.clear());
+    }
+
+    /**
+     * Retrieves the size of the buffers in this pool.
+     *
+     * @return The buffer size.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+}
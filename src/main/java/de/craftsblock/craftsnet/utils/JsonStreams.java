@@ -0,0 +1,311 @@
+package de.craftsblock.craftsnet.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
+import com.google.gson.Strictness;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+import de.craftsblock.craftscore.json.Json;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+
+/**
+ * Serializes json straight into an {@link OutputStream}, without building the json as a string and
+ * converting it into bytes first. The characters produced by gson are encoded as UTF-8 into a pooled
+ * buffer, which is passed on to the stream whenever it is full.
+ * <p>
+ * Json elements are written exactly like {@link JsonElement#toString()}, which is what a {@link Json}
+ * prints as well, so streaming does not change the output. Other objects are serialized with the
+ * default configuration of gson.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+public final class JsonStreams {
+
+    private static final Gson GSON = new Gson();
+    private static final TypeAdapter<JsonElement> ELEMENTS = GSON.getAdapter(JsonElement.class);
+    private static final BufferPool POOL = new BufferPool(8 * 1024, 256);
+
+    /**
+     * Private constructor to prevent direct instantiation
+     */
+    private JsonStreams() {
+    }
+
+    /**
+     * Writes a {@link Json} to a stream as UTF-8. The stream is neither flushed nor closed.
+     *
+     * @param json   The json.
+     * @param pretty Whether the json should be printed pretty.
+     * @param output The stream the json is written to.
+     * @throws IOException If an I/O error occurs while writing to the stream.
+     */
+    public static void write(@NotNull Json json, boolean pretty, @NotNull OutputStream output) throws IOException {
+        write(json.getObject(), pretty, output);
+    }
+
+    /**
+     * Writes a {@link JsonElement} to a stream as UTF-8. The stream is neither flushed nor closed.
+     *
+     * @param element The json element.
+     * @param pretty  Whether the json should be printed pretty.
+     * @param output  The stream the json is written to.
+     * @throws IOException If an I/O error occurs while writing to the stream.
+     */
+    public static void write(@NotNull JsonElement element, boolean pretty, @NotNull OutputStream output) throws IOException {
+        write(pretty, output, json -> {
+            // The same settings as used by JsonElement#toString()
+            json.setStrictness(Strictness.LENIENT);
+            ELEMENTS.write(json, element);
+        });
+    }
+
+    /**
+     * Serializes any object with gson and writes it to a stream as UTF-8. The stream is neither
+     * flushed nor closed.
+     *
+     * @param value  The object.
+     * @param pretty Whether the json should be printed pretty.
+     * @param output The stream the json is written to.
+     * @throws IOException If an I/O error occurs while writing to the stream.
+     */
+    public static void writeObject(@NotNull Object value, boolean pretty, @NotNull OutputStream output) throws IOException {
+        write(pretty, output, json -> GSON.toJson(value, value.getClass(), json));
+    }
+
+    /**
+     * Runs a serialization against a {@link JsonWriter} which writes to a stream as UTF-8.
+     *
+     * @param pretty        Whether the json should be printed pretty.
+     * @param output        The stream the json is written to.
+     * @param serialization The serialization writing the json.
+     * @throws IOException If an I/O error occurs while writing to the stream.
+     */
+    private static void write(boolean pretty, OutputStream output, Serialization serialization) throws IOException {
+        Utf8Writer writer = new Utf8Writer(output);
+        try {
+            JsonWriter json = new JsonWriter(writer);
+            if (pretty) json.setIndent("  ");
+
+            serialization.write(json);
+            writer.finish();
+        } catch (JsonIOException e) {
+            if (e.getCause() instanceof IOException cause) throw cause;
+            throw e;
+        } finally {
+            writer.release();
+        }
+    }
+
+    /**
+     * Serializes a {@link Json} into UTF-8 encoded bytes.
+     *
+     * @param json   The json.
+     * @param pretty Whether the json should be printed pretty.
+     * @return The UTF-8 encoded json.
+     */
+    public static byte @NotNull [] toBytes(@NotNull Json json, boolean pretty) {
+        return toBytes(json.getObject(), pretty);
+    }
+
+    /**
+     * Serializes a {@link JsonElement} into UTF-8 encoded bytes.
+     *
+     * @param element The json element.
+     * @param pretty  Whether the json should be printed pretty.
+     * @return The UTF-8 encoded json.
+     */
+    public static byte @NotNull [] toBytes(@NotNull JsonElement element, boolean pretty) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(256);
+        try {
+            write(element, pretty, output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes json to a {@link JsonWriter}.
+     *
+     * @since 3.7.3
+     */
+    @FunctionalInterface
+    private interface Serialization {
+
+        /**
+         * Writes the json.
+         *
+         * @param json The {@link JsonWriter} the json is written to.
+         * @throws IOException If an I/O error occurs.
+         */
+        void write(JsonWriter json) throws IOException;
+
+    }
+
+    /**
+     * A {@link Writer} encoding characters as UTF-8 into a pooled buffer, which is written to the
+     * target stream whenever it is full. Surrogate pairs may be split across calls.
+     *
+     * @since 3.7.3
+     */
+    private static final class Utf8Writer extends Writer {
+
+        private final OutputStream output;
+        private ByteBuffer buffer = POOL.acquire();
+        private byte[] bytes = buffer.array();
+        private int position;
+        private char highSurrogate;
+
+        /**
+         * Constructs a new {@link Utf8Writer}.
+         *
+         * @param output The stream the encoded bytes are written to.
+         */
+        private Utf8Writer(OutputStream output) {
+            this.output = output;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param c {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void write(int c) throws IOException {
+            encode((char) c);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param chars  {@inheritDoc}
+         * @param offset {@inheritDoc}
+         * @param length {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void write(char @NotNull [] chars, int offset, int length) throws IOException {
+            for (int i = offset, end = offset + length; i < end; i++) encode(chars[i]);
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @param string {@inheritDoc}
+         * @param offset {@inheritDoc}
+         * @param length {@inheritDoc}
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void write(@NotNull String string, int offset, int length) throws IOException {
+            for (int i = offset, end = offset + length; i < end; i++) encode(string.charAt(i));
+        }
+
+        /**
+         * Encodes a single character.
+         *
+         * @param c The character.
+         * @throws IOException If the buffer has to be drained and an I/O error occurs.
+         */
+        private void encode(char c) throws IOException {
+            if (position + 4 > bytes.length) drain();
+
+            if (highSurrogate != 0) {
+                char high = highSurrogate;
+                highSurrogate = 0;
+
+                if (Character.isLowSurrogate(c)) {
+                    int codePoint = Character.toCodePoint(high, c);
+                    bytes[position++] = (byte) (0xF0 | codePoint >> 18);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    bytes[position++] = (byte) (0x80 | codePoint & 0x3F);
+                    return;
+                }
+
+                // A lone surrogate is replaced, as String#getBytes does
+                bytes[position++] = '?';
+                if (position + 4 > bytes.length) drain();
+            }
+
+            if (c < 0x80) bytes[position++] = (byte) c;
+            else if (c < 0x800) {
+                bytes[position++] = (byte) (0xC0 | c >> 6);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c)) highSurrogate = c;
+            else if (Character.isLowSurrogate(c)) bytes[position++] = '?';
+            else {
+                bytes[position++] = (byte) (0xE0 | c >> 12);
+                bytes[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                bytes[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+
+        /**
+         * Writes the encoded bytes to the target stream.
+         *
+         * @throws IOException If an I/O error occurs.
+         */
+        private void drain() throws IOException {
+            if (position == 0) return;
+            output.write(bytes, 0, position);
+            position = 0;
+        }
+
+        /**
+         * Replaces a trailing lone surrogate and writes the remaining bytes to the target stream.
+         *
+         * @throws IOException If an I/O error occurs.
+         */
+        private void finish() throws IOException {
+            if (highSurrogate != 0) {
+                highSurrogate = 0;
+                if (position + 1 > bytes.length) drain();
+                bytes[position++] = '?';
+            }
+
+            drain();
+        }
+
+        /**
+         * Returns the buffer to the pool.
+         */
+        private void release() {
+            if (buffer == null) return;
+
+            POOL.release(buffer);
+            buffer = null;
+            bytes = null;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @throws IOException {@inheritDoc}
+         */
+        @Override
+        public void flush() throws IOException {
+            drain();
+        }
+
+        /**
+         * Does nothing, as the target stream is owned by the caller.
+         */
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
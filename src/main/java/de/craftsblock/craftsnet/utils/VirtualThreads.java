@@ -0,0 +1,100 @@
+package de.craftsblock.craftsnet.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Provides access to virtual threads while CraftsNet is still compiled against java 17. The thread
+ * builder api is looked up reflectively once, so virtual threads are used on java 21 and newer,
+ * while older runtimes report them as unsupported.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+public final class VirtualThreads {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+    private static final Method PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null, name = null, factory = null, perTaskExecutor = null;
+
+        // Virtual threads are a preview feature before java 21
+        if (Runtime.version().feature() >= 21)
+            try {
+                Class<?> builder = Class.forName("java.lang.Thread$Builder");
+                ofVirtual = Thread.class.getMethod("ofVirtual");
+                name = builder.getMethod("name", String.class, long.class);
+                factory = builder.getMethod("factory");
+                perTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            } catch (ClassNotFoundException | NoSuchMethodException ignored) {
+                ofVirtual = name = factory = perTaskExecutor = null;
+            }
+
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+        PER_TASK_EXECUTOR = perTaskExecutor;
+    }
+
+    /**
+     * Private constructor to prevent direct instantiation.
+     */
+    private VirtualThreads() {
+    }
+
+    /**
+     * Checks whether the current runtime supports virtual threads.
+     *
+     * @return {@code true} if virtual threads are supported, {@code false} otherwise.
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Creates a {@link ThreadFactory} which starts virtual threads.
+     *
+     * @param name The name prefix of the threads, which is followed by a sequential number.
+     * @return The thread factory, or {@code null} if virtual threads are not supported.
+     */
+    public static @Nullable ThreadFactory factory(@NotNull String name) {
+        if (!isSupported()) return null;
+
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = NAME.invoke(builder, name, 1L);
+            return (ThreadFactory) FACTORY.invoke(builder);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates an {@link ExecutorService} which starts a new virtual thread for every task instead of
+     * pooling them, as virtual threads are cheap to create and must not be reused.
+     *
+     * @param name The name prefix of the threads, which is followed by a sequential number.
+     * @return The executor, or {@code null} if virtual threads are not supported.
+     */
+    public static @Nullable ExecutorService perTaskExecutor(@NotNull String name) {
+        ThreadFactory factory = factory(name);
+        if (factory == null) return null;
+
+        try {
+            return (ExecutorService) PER_TASK_EXECUTOR.invoke(null, factory);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+}
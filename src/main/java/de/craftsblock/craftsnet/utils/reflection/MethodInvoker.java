@@ -0,0 +1,118 @@
+package de.craftsblock.craftsnet.utils.reflection;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * A pre-built invoker for a single {@link Method}.
+ * <p>
+ * The underlying {@link MethodHandle} is unreflected once and adapted to the generic shape
+ * {@code (Object owner, Object[] args)Object}, so every invocation is a single
+ * {@link MethodHandle#invokeExact(Object...)} call instead of unreflecting, binding and spreading
+ * the method on each call. For methods with variable arity the trailing arguments can still be
+ * passed either as an array or spread, in which case they are collected into an array.
+ * <p>
+ * Invokers are cached in the {@link ReflectionCache} of their declaring class, so they are released
+ * together with the class loader which loaded the declaring class.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see ReflectionUtils#invokeMethod(Object, Method, Object...)
+ * @since 3.7.3
+ */
+public final class MethodInvoker {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Method method;
+    private final MethodHandle handle;
+    private final MethodHandle collector;
+    private final Class<?> varArgsType;
+    private final int parameterCount;
+
+    /**
+     * Constructs a new {@link MethodInvoker} and unreflects the method.
+     *
+     * @param method The method which should be invoked.
+     */
+    private MethodInvoker(Method method) {
+        this.method = method;
+        this.parameterCount = method.getParameterCount();
+        this.varArgsType = method.isVarArgs() ? method.getParameterTypes()[parameterCount - 1] : null;
+
+        try {
+            MethodHandle handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP)
+                    .unreflect(method)
+                    .asFixedArity();
+            if (Modifier.isStatic(method.getModifiers())) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+
+            this.collector = varArgsType != null ? handle.asVarargsCollector(varArgsType) : null;
+            this.handle = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+                    .asSpreader(Object[].class, parameterCount);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Could not create an invoker for " + method.toGenericString(), e);
+        }
+    }
+
+    /**
+     * Retrieves the {@link MethodInvoker} of a method, creating it on first use.
+     *
+     * @param method The method which should be invoked.
+     * @return The {@link MethodInvoker} of the method.
+     * @throws IllegalStateException If the method can not be accessed.
+     */
+    public static @NotNull MethodInvoker of(@NotNull Method method) {
+        return ReflectionCache.of(method.getDeclaringClass()).invoker(method, () -> new MethodInvoker(method));
+    }
+
+    /**
+     * Invokes the method with the given arguments on the specified owner object.
+     *
+     * @param owner The object on which the method is to be invoked, ignored for static methods.
+     * @param args  The arguments to pass to the method. Trailing arguments of a method with
+     *              variable arity may be passed either as an array or spread.
+     * @return The result returned by the invoked method, {@code null} for void methods.
+     * @throws RuntimeException If the method invocation fails.
+     */
+    public Object invoke(@Nullable Object owner, Object... args) {
+        try {
+            if (collector == null || isArrayPassed(args)) return (Object) handle.invokeExact(owner, args);
+
+            Object[] arguments = new Object[args.length + 1];
+            arguments[0] = owner;
+            System.arraycopy(args, 0, arguments, 1, args.length);
+            return collector.invokeWithArguments(arguments);
+        } catch (Throwable e) {
+            return ReflectionUtils.rethrowReflectionThrowable(e, "Could not invoke " + method.toGenericString());
+        }
+    }
+
+    /**
+     * Checks whether the trailing arguments of a method with variable arity are already passed as an array.
+     *
+     * @param args The arguments passed to the method.
+     * @return {@code true} if the arguments can be passed as they are, {@code false} if they must be collected.
+     */
+    private boolean isArrayPassed(Object[] args) {
+        if (args.length != parameterCount) return false;
+
+        Object last = args[parameterCount - 1];
+        return last == null || varArgsType.isInstance(last);
+    }
+
+    /**
+     * Retrieves the method which is invoked by this invoker.
+     *
+     * @return The invoked method.
+     */
+    public @NotNull Method getMethod() {
+        return method;
+    }
+
+}
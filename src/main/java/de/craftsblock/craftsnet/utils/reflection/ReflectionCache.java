@@ -0,0 +1,190 @@
+package de.craftsblock.craftsnet.utils.reflection;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per class reflection metadata used by {@link ReflectionUtils} and {@link MethodInvoker}.
+ * <p>
+ * The metadata is attached to the inspected class through a {@link ClassValue}, so it is released
+ * together with the class loader of the class, e.g. when an addon is unloaded. Method lookups and
+ * generic extractions also cache negative results. Lookups whose arguments reference classes which
+ * are not visible from the class loader of the inspected class are not cached, as they would keep
+ * a foreign class loader alive.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @see ReflectionUtils
+ * @since 3.7.3
+ */
+@ApiStatus.Internal
+final class ReflectionCache {
+
+    private static final ClassValue<ReflectionCache> CACHE = new ClassValue<>() {
+        @Override
+        protected ReflectionCache computeValue(Class<?> type) {
+            return new ReflectionCache(type.getClassLoader());
+        }
+    };
+
+    private final ClassLoader classLoader;
+
+    private final Map<MethodKey, Optional<Method>> methods = new ConcurrentHashMap<>();
+    private final Map<GenericKey, Optional<Class<?>>> generics = new ConcurrentHashMap<>();
+    private final Map<AnnotationKey, AnnotationValue> annotationValues = new ConcurrentHashMap<>();
+    private final Map<Method, MethodInvoker> invokers = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new, empty {@link ReflectionCache}.
+     *
+     * @param classLoader The class loader of the class this cache belongs to.
+     */
+    private ReflectionCache(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Retrieves the {@link ReflectionCache} attached to a class.
+     *
+     * @param type The class.
+     * @return The {@link ReflectionCache} of the class.
+     */
+    static @NotNull ReflectionCache of(@NotNull Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Retrieves a cached method lookup, computing it on first use.
+     *
+     * @param name     The name of the method.
+     * @param args     The argument types of the method.
+     * @param resolver Resolves the method if it is not cached yet.
+     * @return The method, or {@code null} if none was found.
+     */
+    @Nullable Method method(String name, Class<?>[] args, Supplier<Method> resolver) {
+        if (!isVisible(args)) return resolver.get();
+
+        MethodKey key = new MethodKey(name, Arrays.asList(args.clone()));
+        return methods.computeIfAbsent(key, k -> Optional.ofNullable(resolver.get())).orElse(null);
+    }
+
+    /**
+     * Retrieves a cached generic extraction, computing it on first use.
+     *
+     * @param base     The base class at which the extraction stops.
+     * @param index    The index of the generic.
+     * @param resolver Resolves the generic if it is not cached yet.
+     * @return The generic type, or {@code null} if none was found.
+     */
+    @Nullable Class<?> generic(Class<?> base, int index, Supplier<Class<?>> resolver) {
+        if (!isVisible(base)) return resolver.get();
+
+        GenericKey key = new GenericKey(base, index);
+        return generics.computeIfAbsent(key, k -> Optional.ofNullable(resolver.get())).orElse(null);
+    }
+
+    /**
+     * Retrieves the cached {@code value} of an annotation on an element, computing it on first use.
+     *
+     * @param element    The annotated element, which must be this class or one of its members.
+     * @param annotation The class of the annotation.
+     * @param resolver   Resolves the value if it is not cached yet.
+     * @return The cached annotation value.
+     */
+    @NotNull AnnotationValue annotationValue(AnnotatedElement element, Class<? extends Annotation> annotation,
+                                             Supplier<AnnotationValue> resolver) {
+        if (!isVisible(annotation)) return resolver.get();
+        return annotationValues.computeIfAbsent(new AnnotationKey(element, annotation), k -> resolver.get());
+    }
+
+    /**
+     * Retrieves the {@link MethodInvoker} of a method declared by this class, creating it on first use.
+     *
+     * @param method  The method.
+     * @param factory Creates the invoker if it is not cached yet.
+     * @return The {@link MethodInvoker} of the method.
+     */
+    @NotNull MethodInvoker invoker(Method method, Supplier<MethodInvoker> factory) {
+        return invokers.computeIfAbsent(method, m -> factory.get());
+    }
+
+    /**
+     * Checks whether all given classes are visible from the class loader of this cache.
+     *
+     * @param types The classes to check.
+     * @return {@code true} if all classes are visible, {@code false} otherwise.
+     */
+    private boolean isVisible(Class<?>... types) {
+        for (Class<?> type : types) {
+            if (type == null) continue;
+
+            ClassLoader loader = type.getClassLoader();
+            if (loader == null) continue;
+
+            boolean visible = false;
+            for (ClassLoader current = classLoader; current != null; current = current.getParent())
+                if (current == loader) {
+                    visible = true;
+                    break;
+                }
+
+            if (!visible) return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * The key of a cached method lookup.
+     *
+     * @param name The name of the method.
+     * @param args The argument types of the method.
+     * @since 3.7.3
+     */
+    private record MethodKey(String name, List<Class<?>> args) {
+    }
+
+    /**
+     * The key of a cached generic extraction.
+     *
+     * @param base  The base class at which the extraction stops.
+     * @param index The index of the generic.
+     * @since 3.7.3
+     */
+    private record GenericKey(Class<?> base, int index) {
+    }
+
+    /**
+     * The key of a cached annotation value.
+     *
+     * @param element    The annotated element.
+     * @param annotation The class of the annotation.
+     * @since 3.7.3
+     */
+    private record AnnotationKey(AnnotatedElement element, Class<? extends Annotation> annotation) {
+    }
+
+    /**
+     * A cached annotation value.
+     *
+     * @param present      Whether the annotation is present on the element.
+     * @param value        The value of the annotation, or {@code null} if absent.
+     * @param defaultValue The default value of the annotation, or {@code null} if it has none.
+     * @param failure      The exception thrown while reading the value, or {@code null} if none was thrown.
+     * @since 3.7.3
+     */
+    record AnnotationValue(boolean present, Object value, Object defaultValue, ReflectiveOperationException failure) {
+    }
+
+}
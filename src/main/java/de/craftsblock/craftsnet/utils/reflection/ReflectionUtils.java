@@ -6,7 +6,6 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Range;
 
 import java.lang.annotation.Annotation;
-import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.*;
 import java.util.Arrays;
@@ -262,21 +261,11 @@ public class ReflectionUtils {
      * @param method The method to invoke.
      * @param args   The arguments to pass to the method.
      * @return The result returned by the invoked method.
+     * @see MethodInvoker
      * @since 3.5.1
      */
     public static Object invokeMethod(Object owner, Method method, Object... args) {
-        try {
-            Class<?> type = method.getDeclaringClass();
-
-            MethodHandle handle = MethodHandles.privateLookupIn(type, LOOKUP)
-                    .unreflect(method);
-
-            return (!Modifier.isStatic(method.getModifiers())
-                    ? handle.bindTo(owner)
-                    : handle).invokeWithArguments(args);
-        } catch (Throwable e) {
-            return rethrowReflectionThrowable(e, "Could not invoke " + method.toGenericString());
-        }
+        return MethodInvoker.of(method).invoke(owner, args);
     }
 
     /**
@@ -296,6 +285,24 @@ public class ReflectionUtils {
             return null;
         }
 
+        return ReflectionCache.of(type).method(name, args, () -> lookupMethod(type, name, args));
+    }
+
+    /**
+     * Searches a method by name and argument types in the given class, its superclasses, and interfaces
+     * without consulting the {@link ReflectionCache}.
+     *
+     * @param type The class to search for the method.
+     * @param name The name of the method.
+     * @param args The argument types of the method.
+     * @return The {@link Method} if found; {@code null} otherwise.
+     * @since 3.7.3
+     */
+    private static Method lookupMethod(Class<?> type, String name, Class<?>... args) {
+        if (type == null) {
+            return null;
+        }
+
         for (Method method : type.getDeclaredMethods()) {
             if (method.isBridge() || method.isSynthetic() ||
                     !method.getName().equals(name) ||
@@ -310,13 +317,13 @@ public class ReflectionUtils {
             return null;
         }
 
-        var fromSuperclass = findMethod(type.getSuperclass(), name, args);
+        var fromSuperclass = lookupMethod(type.getSuperclass(), name, args);
         if (fromSuperclass != null) {
             return fromSuperclass;
         }
 
         for (Class<?> iface : type.getInterfaces()) {
-            var method = findMethod(iface, name, args);
+            var method = lookupMethod(iface, name, args);
             if (method == null) {
                 continue;
             }
@@ -397,19 +404,32 @@ public class ReflectionUtils {
     @SuppressWarnings("unchecked")
     public static <T> Class<T> extractGeneric(Class<?> clazz, Class<?> base,
                                               @Range(from = 0, to = Integer.MAX_VALUE) int index) {
+        return (Class<T>) ReflectionCache.of(clazz).generic(base, index, () -> lookupGeneric(clazz, base, index));
+    }
+
+    /**
+     * Extracts the generic type parameter from a Class without consulting the {@link ReflectionCache}.
+     *
+     * @param clazz The Class to extract the generic type from.
+     * @param base  The base class at which will be stopped, when no generics are found. (exklusive)
+     * @param index The index of the generic.
+     * @return The class type corresponding to the handler's generic type.
+     * @since 3.7.3
+     */
+    private static Class<?> lookupGeneric(Class<?> clazz, Class<?> base, int index) {
         try {
             Type superclass = clazz.getGenericSuperclass();
             if (superclass instanceof ParameterizedType type) {
                 if ((type.getActualTypeArguments().length - 1) >= index) {
                     Type t = type.getActualTypeArguments()[index];
-                    return (Class<T>) TypeUtils.convertTypeToClass(t);
+                    return TypeUtils.convertTypeToClass(t);
                 }
             }
         } catch (ClassCastException ignored) {
         }
 
         if (!Object.class.equals(clazz.getSuperclass()) && TypeUtils.isAssignable(base, clazz.getSuperclass())) {
-            return extractGeneric(clazz.getSuperclass(), base, index);
+            return lookupGeneric(clazz.getSuperclass(), base, index);
         }
 
         return null;
@@ -490,31 +510,72 @@ public class ReflectionUtils {
      * @throws IllegalAccessException    If there is an access issue with the getter method.
      */
     public static <A extends Annotation, T> T retrieveValueOfAnnotation(AnnotatedElement element, Class<A> annotationClass, Class<T> type, boolean fallback) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
-        A annotation = retrieveRawAnnotation(element, annotationClass);
-        if (annotation == null) {
-            if (fallback) {
-                Method method = annotationClass.getDeclaredMethod("value");
-                if (method.getDefaultValue() == null) {
-                    return null;
-                }
+        ReflectionCache.AnnotationValue cached = retrieveAnnotationValue(element, annotationClass);
+        if (!cached.present() && !fallback) {
+            return null;
+        }
 
-                return castTo(method.getDefaultValue(), type);
-            } else {
-                return null;
-            }
+        rethrowAnnotationFailure(cached.failure());
+        if (cached.value() == null) {
+            return fallback ? castTo(cached.defaultValue(), type) : null;
         }
 
-        Method method = ReflectionUtils.findMethod(annotation.getClass(), "value");
-        Object value = method.invoke(annotation);
-        if (value == null) {
-            if (fallback) {
-                return castTo(method.getDefaultValue(), type);
-            }
+        return castTo(cached.value(), type);
+    }
 
-            return null;
+    /**
+     * Retrieves the {@code value} of an annotation on an element, using the {@link ReflectionCache}
+     * of the class which declares the element.
+     *
+     * @param element         The element containing the annotation.
+     * @param annotationClass The class of the annotation.
+     * @return The cached annotation value.
+     * @since 3.7.3
+     */
+    private static ReflectionCache.AnnotationValue retrieveAnnotationValue(AnnotatedElement element, Class<? extends Annotation> annotationClass) {
+        Class<?> owner;
+        if (element instanceof Class<?> clazz) owner = clazz;
+        else if (element instanceof Member member) owner = member.getDeclaringClass();
+        else return loadAnnotationValue(element, annotationClass);
+
+        return ReflectionCache.of(owner).annotationValue(element, annotationClass, () -> loadAnnotationValue(element, annotationClass));
+    }
+
+    /**
+     * Reads the {@code value} of an annotation on an element without consulting the {@link ReflectionCache}.
+     *
+     * @param element         The element containing the annotation.
+     * @param annotationClass The class of the annotation.
+     * @return The annotation value.
+     * @since 3.7.3
+     */
+    private static ReflectionCache.AnnotationValue loadAnnotationValue(AnnotatedElement element, Class<? extends Annotation> annotationClass) {
+        Annotation annotation = retrieveRawAnnotation(element, annotationClass);
+
+        try {
+            Method method = annotationClass.getDeclaredMethod("value");
+            Object value = annotation != null ? method.invoke(annotation) : null;
+            return new ReflectionCache.AnnotationValue(annotation != null, value, method.getDefaultValue(), null);
+        } catch (NoSuchMethodException | InvocationTargetException | IllegalAccessException e) {
+            return new ReflectionCache.AnnotationValue(annotation != null, null, null, e);
         }
+    }
 
-        return castTo(value, type);
+    /**
+     * Rethrows an exception which occurred while reading an annotation value.
+     *
+     * @param failure The exception, or {@code null} if none occurred.
+     * @throws NoSuchMethodException     If the attribute's getter method is not found.
+     * @throws InvocationTargetException If there is an issue invoking the getter method.
+     * @throws IllegalAccessException    If there is an access issue with the getter method.
+     * @since 3.7.3
+     */
+    private static void rethrowAnnotationFailure(ReflectiveOperationException failure) throws NoSuchMethodException, InvocationTargetException, IllegalAccessException {
+        if (failure == null) return;
+        if (failure instanceof NoSuchMethodException e) throw e;
+        if (failure instanceof InvocationTargetException e) throw e;
+        if (failure instanceof IllegalAccessException e) throw e;
+        throw new IllegalStateException(failure);
     }
 
     /**
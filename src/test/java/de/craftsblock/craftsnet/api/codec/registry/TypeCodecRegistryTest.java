@@ -0,0 +1,136 @@
+package de.craftsblock.craftsnet.api.codec.registry;
+
+import de.craftsblock.craftsnet.api.codec.CodecMethodLink;
+import de.craftsblock.craftsnet.api.codec.Encoder;
+import de.craftsblock.craftsnet.api.codec.EncoderPair;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TypeCodecRegistryTest {
+
+    private TypeEncoderRegistry<TextEncoder<?>> registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new TypeEncoderRegistry<>();
+    }
+
+    @Test
+    void shouldResolveCodecsThroughSuperclasses() {
+        NumberEncoder encoder = new NumberEncoder();
+        registry.register(encoder);
+
+        CodecMethodLink<TextEncoder<?>, EncoderPair<?>> link = registry.getLinkedCodecMethod(Integer.class);
+        assertThat(link).isNotNull();
+        assertThat(link.codec()).isSameAs(encoder);
+        assertThat(link.invoke(42)).isEqualTo("number:42");
+        assertThat(registry.getLinkedCodecMethod(Integer.class)).isSameAs(link);
+        assertThat(registry.getLinkedCodecMethod(Number.class)).isSameAs(link);
+    }
+
+    @Test
+    void shouldResolveCodecsThroughInterfaces() {
+        ShapeEncoder encoder = new ShapeEncoder();
+        registry.register(encoder);
+
+        assertThat(registry.getCodec(Square.class)).isSameAs(encoder);
+        assertThat(registry.getCodec(LargeSquare.class)).isSameAs(encoder);
+    }
+
+    @Test
+    void shouldPreferTheExactType() {
+        NumberEncoder numbers = new NumberEncoder();
+        IntegerEncoder integers = new IntegerEncoder();
+        registry.register(numbers);
+
+        // Resolves and remembers the codec of the superclass first
+        assertThat(registry.getCodec(Integer.class)).isSameAs(numbers);
+
+        registry.register(integers);
+        assertThat(registry.getCodec(Integer.class)).isSameAs(integers);
+        assertThat(registry.getCodec(Long.class)).isSameAs(numbers);
+    }
+
+    @Test
+    void shouldForgetMissingCodecsOnRegistration() {
+        assertThat(registry.hasCodec(Integer.class)).isFalse();
+        assertThat(registry.getCodec(Integer.class)).isNull();
+        assertThat(registry.getLinkedCodecMethod(Integer.class)).isNull();
+
+        registry.register(new NumberEncoder());
+        assertThat(registry.hasCodec(Integer.class)).isTrue();
+    }
+
+    @Test
+    void shouldForgetResolvedCodecsOnUnregistration() {
+        NumberEncoder encoder = new NumberEncoder();
+        registry.register(encoder);
+        assertThat(registry.hasCodec(Integer.class)).isTrue();
+
+        registry.unregister(encoder);
+        assertThat(registry.hasCodec(Integer.class)).isFalse();
+        assertThat(registry.hasCodec(Number.class)).isFalse();
+        assertThat(registry.isRegistered(encoder)).isFalse();
+    }
+
+    @Test
+    void shouldReturnThePreviousCodecOnRegistration() {
+        NumberEncoder first = new NumberEncoder();
+        NumberEncoder second = new NumberEncoder();
+
+        assertThat(registry.register(first)).isNull();
+        assertThat(registry.register(second).codec()).isSameAs(first);
+        assertThat(registry.getCodec(Integer.class)).isSameAs(second);
+        assertThat(registry.getCodecs()).containsExactly(second);
+    }
+
+    @Test
+    void shouldIgnoreNullTypes() {
+        registry.register(new NumberEncoder());
+
+        assertThat(registry.getLinkedCodecMethod(null)).isNull();
+        assertThat(registry.hasCodec(null)).isFalse();
+    }
+
+    public interface TextEncoder<T> extends Encoder<String, T> {
+    }
+
+    public interface Shape {
+    }
+
+    public static class Square implements Shape {
+    }
+
+    public static class LargeSquare extends Square {
+    }
+
+    public static final class NumberEncoder implements TextEncoder<Number> {
+
+        @Override
+        public String encode(Number number) {
+            return "number:" + number;
+        }
+
+    }
+
+    public static final class IntegerEncoder implements TextEncoder<Integer> {
+
+        @Override
+        public String encode(Integer integer) {
+            return "integer:" + integer;
+        }
+
+    }
+
+    public static final class ShapeEncoder implements TextEncoder<Shape> {
+
+        @Override
+        public String encode(Shape shape) {
+            return "shape";
+        }
+
+    }
+
+}
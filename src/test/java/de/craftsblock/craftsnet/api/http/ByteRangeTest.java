@@ -0,0 +1,85 @@
+package de.craftsblock.craftsnet.api.http;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteRangeTest {
+
+    @Test
+    void shouldParseClosedRanges() {
+        assertThat(ByteRange.parse("bytes=0-99", 1000)).containsExactly(new ByteRange(0, 99));
+        assertThat(ByteRange.parse(" BYTES=10-10 ", 1000)).containsExactly(new ByteRange(10, 10));
+        assertThat(ByteRange.parse("bytes=900-5000", 1000)).containsExactly(new ByteRange(900, 999));
+    }
+
+    @Test
+    void shouldParseOpenEndedRanges() {
+        assertThat(ByteRange.parse("bytes=500-", 1000)).containsExactly(new ByteRange(500, 999));
+        assertThat(ByteRange.parse("bytes=0-", 1)).containsExactly(new ByteRange(0, 0));
+    }
+
+    @Test
+    void shouldParseSuffixRanges() {
+        assertThat(ByteRange.parse("bytes=-100", 1000)).containsExactly(new ByteRange(900, 999));
+        assertThat(ByteRange.parse("bytes=-5000", 1000)).containsExactly(new ByteRange(0, 999));
+        assertThat(ByteRange.parse("bytes=-0", 1000)).isEmpty();
+        assertThat(ByteRange.parse("bytes=-10", 0)).isEmpty();
+    }
+
+    @Test
+    void shouldMergeOverlappingAndAdjacentRanges() {
+        assertThat(ByteRange.parse("bytes=50-99,0-49", 1000)).containsExactly(new ByteRange(0, 99));
+        assertThat(ByteRange.parse("bytes=0-10,5-20,21-30", 1000)).containsExactly(new ByteRange(0, 30));
+        assertThat(ByteRange.parse("bytes=0-0,0-0,0-0", 1000)).containsExactly(new ByteRange(0, 0));
+        assertThat(ByteRange.parse("bytes=0-499,-500", 1000)).containsExactly(new ByteRange(0, 999));
+    }
+
+    @Test
+    void shouldSortDisjointRanges() {
+        assertThat(ByteRange.parse("bytes=500-599, 0-9, -10", 1000))
+                .containsExactly(new ByteRange(0, 9), new ByteRange(500, 599), new ByteRange(990, 999));
+    }
+
+    @Test
+    void shouldDropUnsatisfiableRanges() {
+        assertThat(ByteRange.parse("bytes=1000-", 1000)).isEmpty();
+        assertThat(ByteRange.parse("bytes=1000-2000,5000-", 1000)).isEmpty();
+        assertThat(ByteRange.parse("bytes=0-", 0)).isEmpty();
+        assertThat(ByteRange.parse("bytes=2000-3000,0-0", 1000)).containsExactly(new ByteRange(0, 0));
+    }
+
+    @Test
+    void shouldIgnoreMalformedHeaders() {
+        assertThat(ByteRange.parse("items=0-10", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=10", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=10-5", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=-", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=a-b", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=+1-2", 1000)).isNull();
+        assertThat(ByteRange.parse("bytes=0-1,,2-3", 1000)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreTooManyRanges() {
+        String header = "bytes=" + "0-0,".repeat(ByteRange.MAX_RANGES) + "1-1";
+        assertThat(ByteRange.parse(header, 1000)).isNull();
+    }
+
+    @Test
+    void shouldCapPositionsOverflowingLong() {
+        assertThat(ByteRange.parse("bytes=0-99999999999999999999999", 1000)).containsExactly(new ByteRange(0, 999));
+        assertThat(ByteRange.parse("bytes=-99999999999999999999999", 1000)).containsExactly(new ByteRange(0, 999));
+        assertThat(ByteRange.parse("bytes=99999999999999999999999-", 1000)).isEmpty();
+        assertThat(ByteRange.parse("bytes=9223372036854775807-", Long.MAX_VALUE)).isEmpty();
+    }
+
+    @Test
+    void shouldFormatContentRanges() {
+        ByteRange range = new ByteRange(100, 199);
+
+        assertThat(range.length()).isEqualTo(100L);
+        assertThat(range.toContentRange(1000)).isEqualTo("bytes 100-199/1000");
+    }
+
+}
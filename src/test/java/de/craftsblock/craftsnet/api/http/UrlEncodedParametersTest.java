@@ -0,0 +1,137 @@
+package de.craftsblock.craftsnet.api.http;
+
+import de.craftsblock.craftsnet.api.http.status.HttpStatusException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class UrlEncodedParametersTest {
+
+    @Test
+    void shouldParsePairsInOrder() {
+        UrlEncodedParameters parameters = UrlEncodedParameters.of("b=2&a=1&c", 0);
+
+        assertThat(parameters.size()).isEqualTo(3);
+        assertThat(List.copyOf(parameters.names())).containsExactly("b", "a", "c");
+        assertThat(parameters.getFirst("a")).isEqualTo("1");
+        assertThat(parameters.getFirst("c")).isEqualTo("");
+        assertThat(parameters.contains("c")).isTrue();
+        assertThat(parameters.getFirst("missing")).isNull();
+        assertThat(parameters.getAll("missing")).isEmpty();
+    }
+
+    @Test
+    void shouldKeepRepeatedValuesInOrder() {
+        UrlEncodedParameters parameters = UrlEncodedParameters.of("id=1&name=x&id=2&id=3", 0);
+
+        assertThat(parameters.getAll("id")).containsExactly("1", "2", "3");
+        assertThat(parameters.getFirst("id")).isEqualTo("1");
+        assertThat(parameters.asMap()).containsEntry("id", "1").containsEntry("name", "x");
+        assertThat(parameters.asMultiMap().get("name")).containsExactly("x");
+    }
+
+    @Test
+    void shouldSkipEmptyPairsAndNames() {
+        UrlEncodedParameters parameters = UrlEncodedParameters.of("&&a=1&&=orphan&b=&", 0);
+
+        assertThat(List.copyOf(parameters.names())).containsExactly("a", "b");
+        assertThat(parameters.getFirst("b")).isEqualTo("");
+    }
+
+    @Test
+    void shouldSplitOnlyOnTheFirstEqualsSign() {
+        assertThat(UrlEncodedParameters.of("token=a=b==", 0).getFirst("token")).isEqualTo("a=b==");
+    }
+
+    @Test
+    void shouldDecodePercentEscapesAndPlus() {
+        UrlEncodedParameters parameters = UrlEncodedParameters.of("q=hello+world%21&na%6De=%C3%A4%E2%82%AC%F0%9F%98%80&lower=%c3%a4", 0);
+
+        assertThat(parameters.getFirst("q")).isEqualTo("hello world!");
+        assertThat(parameters.getFirst("name")).isEqualTo("ä€😀");
+        assertThat(parameters.getFirst("lower")).isEqualTo("ä");
+    }
+
+    @Test
+    void shouldKeepMalformedEscapes() {
+        UrlEncodedParameters parameters = UrlEncodedParameters.of("a=100%&b=%zz&c=%4&d=%%41", 0);
+
+        assertThat(parameters.getFirst("a")).isEqualTo("100%");
+        assertThat(parameters.getFirst("b")).isEqualTo("%zz");
+        assertThat(parameters.getFirst("c")).isEqualTo("%4");
+        assertThat(parameters.getFirst("d")).isEqualTo("%A");
+    }
+
+    @Test
+    void shouldEncodeUnescapedCharactersAsUtf8() {
+        UrlEncodedParameters parameters = UrlEncodedParameters.of("text=ä€😀+%21", 0);
+        assertThat(parameters.getFirst("text")).isEqualTo("ä€😀 !");
+    }
+
+    @Test
+    void shouldDecodeBytesLikeCharacters() {
+        String source = "q=hello+world&name=%C3%A4&raw=ä";
+        UrlEncodedParameters parameters = UrlEncodedParameters.of(source.getBytes(StandardCharsets.UTF_8), 0);
+
+        assertThat(parameters.getFirst("q")).isEqualTo("hello world");
+        assertThat(parameters.getFirst("name")).isEqualTo("ä");
+        assertThat(parameters.getFirst("raw")).isEqualTo("ä");
+    }
+
+    @Test
+    void shouldDecodeValuesLongerThanTheScratchBuffer() {
+        String value = "%C3%A4".repeat(2000);
+        assertThat(UrlEncodedParameters.of("v=" + value, 0).getFirst("v")).isEqualTo("ä".repeat(2000));
+    }
+
+    @Test
+    void shouldReturnEmptyForEmptySources() {
+        assertThat(UrlEncodedParameters.of("", 0)).isSameAs(UrlEncodedParameters.EMPTY);
+        assertThat(UrlEncodedParameters.of(new byte[0], 0)).isSameAs(UrlEncodedParameters.EMPTY);
+        assertThat(UrlEncodedParameters.EMPTY.isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldReturnUnmodifiableViews() {
+        UrlEncodedParameters parameters = UrlEncodedParameters.of("a=1&a=2&b=3", 0);
+
+        assertThatThrownBy(() -> parameters.getAll("a").add("4")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> parameters.getAll("b").add("4")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> parameters.asMap().put("c", "5")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> parameters.asMultiMap().remove("a")).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void shouldRejectTooManyFields() {
+        assertThat(UrlEncodedParameters.of("a=1&b=2&a=3", 3).size()).isEqualTo(2);
+
+        assertThatThrownBy(() -> UrlEncodedParameters.of("a=1&b=2&c=3&d=4", 3).size())
+                .isInstanceOf(HttpStatusException.class)
+                .satisfies(e -> assertThat(((HttpStatusException) e).getCode()).isEqualTo(400));
+    }
+
+    @Test
+    void shouldReadStreams() throws Exception {
+        byte[] source = ("a=" + "x".repeat(20_000) + "&b=2").getBytes(StandardCharsets.UTF_8);
+        UrlEncodedParameters parameters = UrlEncodedParameters.read(new ByteArrayInputStream(source), 0, 0);
+
+        assertThat(parameters.getFirst("a")).isEqualTo("x".repeat(20_000));
+        assertThat(parameters.getFirst("b")).isEqualTo("2");
+    }
+
+    @Test
+    void shouldRejectStreamsExceedingTheMaximumLength() throws Exception {
+        byte[] source = "a=1234567890".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(UrlEncodedParameters.read(new ByteArrayInputStream(source), source.length, 0).getFirst("a")).isEqualTo("1234567890");
+        assertThatThrownBy(() -> UrlEncodedParameters.read(new ByteArrayInputStream(source), source.length - 1, 0))
+                .isInstanceOf(HttpStatusException.class)
+                .satisfies(e -> assertThat(((HttpStatusException) e).getCode()).isEqualTo(413));
+    }
+
+}
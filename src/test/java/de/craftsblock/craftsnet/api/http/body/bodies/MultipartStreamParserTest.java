@@ -0,0 +1,159 @@
+package de.craftsblock.craftsnet.api.http.body.bodies;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MultipartStreamParserTest {
+
+    private static final String BOUNDARY = "XyZ123";
+
+    @Test
+    void shouldParseParts() throws Exception {
+        String body = "preamble\r\n"
+                + "--XyZ123\r\nContent-Disposition: form-data; name=\"a\"\r\n\r\nfirst\r\n"
+                + "--XyZ123\r\nContent-Disposition: form-data; name=\"b\"\r\n\r\nsecond\r\n"
+                + "--XyZ123--\r\nepilogue";
+
+        List<String[]> parts = parse(new ByteArrayInputStream(bytes(body)));
+
+        assertThat(parts).hasSize(2);
+        assertThat(parts.get(0)[0]).isEqualTo("Content-Disposition: form-data; name=\"a\"");
+        assertThat(parts.get(0)[1]).isEqualTo("first");
+        assertThat(parts.get(1)[1]).isEqualTo("second");
+    }
+
+    @Test
+    void shouldFindBoundariesStraddlingReads() throws Exception {
+        String body = "--XyZ123\r\nName: a\r\n\r\nhello world\r\n--XyZ123\r\nName: b\r\n\r\n\r\n--XyZ123--";
+
+        // Every read size moves the chunk edges through the delimiters and the header blocks
+        for (int size = 1; size <= body.length(); size++) {
+            List<String[]> parts = parse(new TrickleInputStream(bytes(body), size));
+
+            assertThat(parts).hasSize(2);
+            assertThat(parts.get(0)[0]).isEqualTo("Name: a");
+            assertThat(parts.get(0)[1]).isEqualTo("hello world");
+            assertThat(parts.get(1)[1]).isEqualTo("");
+        }
+    }
+
+    @Test
+    void shouldStreamPartsLargerThanTheBuffer() throws Exception {
+        byte[] payload = new byte[100_000];
+        for (int i = 0; i < payload.length; i++)
+            payload[i] = (byte) (i * 31);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(bytes("--XyZ123\r\nName: file\r\n\r\n"));
+        body.write(payload);
+        body.write(bytes("\r\n--XyZ123--\r\n"));
+
+        MultipartStreamParser parser = new MultipartStreamParser(new TrickleInputStream(body.toByteArray(), 4093), BOUNDARY, 1024);
+        assertThat(parser.nextPart()).isEqualTo("Name: file");
+
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        parser.readPart(sink);
+        assertThat(Arrays.equals(sink.toByteArray(), payload)).isTrue();
+        assertThat(parser.nextPart()).isNull();
+    }
+
+    @Test
+    void shouldKeepNearMissDelimitersInThePayload() throws Exception {
+        String payload = "--XyZ12\r\n\r\n--XyZ\r\n-XyZ123\r\n--xyz123\r\n--XyZ12 3";
+        String body = "--XyZ123\r\n\r\n" + payload + "\r\n--XyZ123--";
+
+        for (int size : new int[]{1, 2, 3, 7, body.length()}) {
+            List<String[]> parts = parse(new TrickleInputStream(bytes(body), size));
+
+            assertThat(parts).hasSize(1);
+            assertThat(parts.get(0)[0]).isEqualTo("");
+            assertThat(parts.get(0)[1]).isEqualTo(payload);
+        }
+    }
+
+    @Test
+    void shouldAcceptTransportPadding() throws Exception {
+        List<String[]> parts = parse(new ByteArrayInputStream(bytes("--XyZ123 \t\r\nName: a\r\n\r\nvalue\r\n--XyZ123--")));
+
+        assertThat(parts).hasSize(1);
+        assertThat(parts.get(0)[1]).isEqualTo("value");
+    }
+
+    @Test
+    void shouldRejectMalformedClosingBoundaries() {
+        assertMalformed("--XyZ123\r\n\r\nvalue\r\n--XyZ123-");
+        assertMalformed("--XyZ123\r\n\r\nvalue\r\n--XyZ123-x\r\n");
+        assertMalformed("--XyZ123\r\n\r\nvalue\r\n--XyZ123garbage\r\n");
+        assertMalformed("--XyZ123\r\n\r\nvalue\r\n--XyZ123");
+        assertMalformed("--XyZ123\r\n\r\nvalue");
+    }
+
+    @Test
+    void shouldRejectBodiesWithoutBoundary() {
+        assertThatThrownBy(() -> parse(new ByteArrayInputStream(bytes("no boundary in here"))))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void shouldRejectOversizedHeaders() {
+        String body = "--XyZ123\r\nName: " + "a".repeat(20 * 1024) + "\r\n\r\nvalue\r\n--XyZ123--";
+        assertThatThrownBy(() -> parse(new ByteArrayInputStream(bytes(body))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("too large");
+    }
+
+    private static void assertMalformed(String body) {
+        for (int size : new int[]{1, body.length()})
+            assertThatThrownBy(() -> parse(new TrickleInputStream(bytes(body), size)))
+                    .isInstanceOf(IOException.class);
+    }
+
+    private static List<String[]> parse(InputStream input) throws IOException {
+        MultipartStreamParser parser = new MultipartStreamParser(input, BOUNDARY, 64);
+        List<String[]> parts = new ArrayList<>();
+
+        String headers;
+        while ((headers = parser.nextPart()) != null) {
+            ByteArrayOutputStream sink = new ByteArrayOutputStream();
+            parser.readPart(sink);
+            parts.add(new String[]{headers, sink.toString(StandardCharsets.ISO_8859_1)});
+        }
+
+        return parts;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Returns at most a fixed amount of bytes per read, like a slow connection.
+     */
+    private static final class TrickleInputStream extends ByteArrayInputStream {
+
+        private final int size;
+
+        private TrickleInputStream(byte[] data, int size) {
+            super(data);
+            this.size = size;
+        }
+
+        @Override
+        public synchronized int read(byte[] bytes, int offset, int length) {
+            return super.read(bytes, offset, Math.min(length, size));
+        }
+
+    }
+
+}
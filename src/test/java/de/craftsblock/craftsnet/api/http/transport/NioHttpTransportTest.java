@@ -0,0 +1,199 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import com.sun.net.httpserver.HttpHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NioHttpTransportTest {
+
+    private static final HttpHandler ECHO = exchange -> {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        byte[] response = (exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath() + " "
+                + new String(body, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+
+        exchange.sendResponseHeaders(200, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    };
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private NioHttpTransport transport;
+
+    @AfterEach
+    void stop() {
+        if (transport != null) transport.stop();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void shouldKeepConnectionsAlive() throws Exception {
+        start(NioHttpTransport.DEFAULT_BUFFER_SIZE, 0);
+
+        try (Socket socket = connect()) {
+            send(socket, "GET /first HTTP/1.1\r\nHost: localhost\r\n\r\n");
+            assertThat(readResponse(socket.getInputStream()).body()).isEqualTo("GET /first ");
+
+            send(socket, "POST /second HTTP/1.1\r\nHost: localhost\r\nContent-Length: 5\r\n\r\nhello");
+            assertThat(readResponse(socket.getInputStream()).body()).isEqualTo("POST /second hello");
+        }
+    }
+
+    @Test
+    void shouldServePipelinedRequestsInOrder() throws Exception {
+        start(NioHttpTransport.DEFAULT_BUFFER_SIZE, 0);
+
+        try (Socket socket = connect()) {
+            send(socket, "POST /a HTTP/1.1\r\nContent-Length: 3\r\n\r\none"
+                    + "GET /b HTTP/1.1\r\n\r\n"
+                    + "POST /c HTTP/1.1\r\nContent-Length: 5\r\nConnection: close\r\n\r\nthree");
+
+            InputStream in = socket.getInputStream();
+            assertThat(readResponse(in).body()).isEqualTo("POST /a one");
+            assertThat(readResponse(in).body()).isEqualTo("GET /b ");
+
+            Response last = readResponse(in);
+            assertThat(last.body()).isEqualTo("POST /c three");
+            assertThat(last.head().toLowerCase(Locale.ROOT)).contains("connection: close");
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void shouldDecodeChunkedBodiesWithExtensionsAndTrailers() throws Exception {
+        start(NioHttpTransport.DEFAULT_BUFFER_SIZE, 0);
+
+        try (Socket socket = connect()) {
+            send(socket, "POST /chunked HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n"
+                    + "5;name=value\r\nhello\r\n"
+                    + "1\r\n \r\n"
+                    + "A; quoted=\"x;y\"\r\nchunked!!!\r\n"
+                    + "0\r\nX-Checksum: 1234\r\nX-Other: value\r\n\r\n"
+                    + "GET /next HTTP/1.1\r\n\r\n");
+
+            InputStream in = socket.getInputStream();
+            assertThat(readResponse(in).body()).isEqualTo("POST /chunked hello chunked!!!");
+            assertThat(readResponse(in).body()).isEqualTo("GET /next ");
+        }
+    }
+
+    @Test
+    void shouldRejectMalformedChunkSizes() throws Exception {
+        start(NioHttpTransport.DEFAULT_BUFFER_SIZE, 0);
+
+        try (Socket socket = connect()) {
+            send(socket, "POST /chunked HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\nzz\r\nhello\r\n0\r\n\r\n");
+            assertThat(readAll(socket.getInputStream())).doesNotContain("HTTP/1.1 200");
+        }
+    }
+
+    @Test
+    void shouldRejectHeadsExceedingTheBuffer() throws Exception {
+        start(1024, 0);
+
+        try (Socket socket = connect()) {
+            send(socket, "GET / HTTP/1.1\r\nX-Large: " + "a".repeat(2048) + "\r\n\r\n");
+            assertThat(readResponse(socket.getInputStream()).head()).startsWith("HTTP/1.1 431");
+        }
+    }
+
+    @Test
+    void shouldRejectMalformedHeads() throws Exception {
+        start(NioHttpTransport.DEFAULT_BUFFER_SIZE, 0);
+
+        try (Socket socket = connect()) {
+            send(socket, "GET / HTTP/2.0\r\n\r\n");
+            assertThat(readResponse(socket.getInputStream()).head()).startsWith("HTTP/1.1 505");
+        }
+    }
+
+    @Test
+    void shouldCloseHttp10ConnectionsByDefault() throws Exception {
+        start(NioHttpTransport.DEFAULT_BUFFER_SIZE, 0);
+
+        try (Socket socket = connect()) {
+            send(socket, "GET /old HTTP/1.0\r\n\r\n");
+
+            InputStream in = socket.getInputStream();
+            assertThat(readResponse(in).body()).isEqualTo("GET /old ");
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    void shouldRefuseConnectionsBeyondTheLimit() throws Exception {
+        start(NioHttpTransport.DEFAULT_BUFFER_SIZE, 1);
+
+        try (Socket first = connect()) {
+            send(first, "GET /first HTTP/1.1\r\n\r\n");
+            assertThat(readResponse(first.getInputStream()).body()).isEqualTo("GET /first ");
+
+            try (Socket second = connect()) {
+                assertThat(readResponse(second.getInputStream()).head()).startsWith("HTTP/1.1 503");
+            }
+        }
+    }
+
+    private void start(int bufferSize, int maxConnections) throws IOException {
+        transport = new NioHttpTransport(1, bufferSize, maxConnections, 5, 5);
+        transport.start(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 16, null, ECHO, executor);
+    }
+
+    private Socket connect() throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), transport.getAddress().getPort());
+        socket.setSoTimeout(5000);
+        return socket;
+    }
+
+    private static void send(Socket socket, String request) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(request.getBytes(StandardCharsets.ISO_8859_1));
+        out.flush();
+    }
+
+    private static Response readResponse(InputStream in) throws IOException {
+        ByteArrayOutputStream head = new ByteArrayOutputStream();
+        int matched = 0;
+        while (matched < 4) {
+            int value = in.read();
+            if (value < 0) throw new IOException("Connection closed before the response head was received");
+
+            head.write(value);
+            matched = value == (matched % 2 == 0 ? '\r' : '\n') ? matched + 1 : (value == '\r' ? 1 : 0);
+        }
+
+        String headString = head.toString(StandardCharsets.ISO_8859_1);
+        int length = 0;
+        for (String line : headString.split("\r\n"))
+            if (line.toLowerCase(Locale.ROOT).startsWith("content-length:"))
+                length = Integer.parseInt(line.substring(15).trim());
+
+        return new Response(headString, new String(in.readNBytes(length), StandardCharsets.UTF_8));
+    }
+
+    private static String readAll(InputStream in) {
+        try {
+            return new String(in.readAllBytes(), StandardCharsets.ISO_8859_1);
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private record Response(String head, String body) {
+    }
+
+}
@@ -0,0 +1,102 @@
+package de.craftsblock.craftsnet.api.http.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestHeadTest {
+
+    @Test
+    void shouldParseRequestLineAndHeaders() throws Exception {
+        byte[] data = bytes("GET /users?id=1 HTTP/1.1\r\nHost: localhost\r\nX-Test:  padded \t\r\n\r\nbody");
+        RequestHead head = RequestHead.parse(data, 0, data.length);
+
+        assertThat(head).isNotNull();
+        assertThat(head.method()).isEqualTo("GET");
+        assertThat(head.target().getPath()).isEqualTo("/users");
+        assertThat(head.target().getQuery()).isEqualTo("id=1");
+        assertThat(head.protocol()).isEqualTo("HTTP/1.1");
+        assertThat(head.headers().getFirst("Host")).isEqualTo("localhost");
+        assertThat(head.headers().getFirst("X-Test")).isEqualTo("padded");
+        assertThat(head.length()).isEqualTo(data.length - 4);
+    }
+
+    @Test
+    void shouldWaitForIncompleteHeads() throws Exception {
+        byte[] data = bytes("GET / HTTP/1.1\r\nHost: localhost\r\n");
+        assertThat(RequestHead.parse(data, 0, data.length)).isNull();
+    }
+
+    @Test
+    void shouldIgnoreLeadingEmptyLines() throws Exception {
+        byte[] data = bytes("\r\n\r\nGET / HTTP/1.1\r\n\r\n");
+        RequestHead head = RequestHead.parse(data, 0, data.length);
+
+        assertThat(head).isNotNull();
+        assertThat(head.length()).isEqualTo(data.length);
+    }
+
+    @Test
+    void shouldAcceptBareLineFeeds() throws Exception {
+        byte[] data = bytes("GET / HTTP/1.0\nHost: localhost\n\n");
+        RequestHead head = RequestHead.parse(data, 0, data.length);
+
+        assertThat(head).isNotNull();
+        assertThat(head.isHttp11()).isFalse();
+        assertThat(head.headers().getFirst("Host")).isEqualTo("localhost");
+    }
+
+    @Test
+    void shouldRejectMalformedHeads() {
+        assertStatus("GET /\r\n\r\n", 400);
+        assertStatus("GET / HTTP/2.0\r\n\r\n", 505);
+        assertStatus("GET / FTP/1.0\r\n\r\n", 400);
+        assertStatus("G(T / HTTP/1.1\r\n\r\n", 400);
+        assertStatus("GET / HTTP/1.1\r\nHost: localhost\r\n folded\r\n\r\n", 400);
+        assertStatus("GET / HTTP/1.1\r\nBad Name: value\r\n\r\n", 400);
+        assertStatus("GET / HTTP/1.1\r\n: value\r\n\r\n", 400);
+    }
+
+    @Test
+    void shouldDetermineBodyLength() throws Exception {
+        assertThat(head("POST / HTTP/1.1\r\n\r\n").bodyLength()).isEqualTo(0L);
+        assertThat(head("POST / HTTP/1.1\r\nContent-Length: 42\r\n\r\n").bodyLength()).isEqualTo(42L);
+        assertThat(head("POST / HTTP/1.1\r\nContent-Length: 42\r\nContent-Length: 42\r\n\r\n").bodyLength()).isEqualTo(42L);
+        assertThat(head("POST / HTTP/1.1\r\nTransfer-Encoding: gzip, chunked\r\n\r\n").bodyLength()).isEqualTo(-1L);
+    }
+
+    @Test
+    void shouldRejectAmbiguousBodyFraming() {
+        assertBodyStatus("POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\nContent-Length: 3\r\n\r\n");
+        assertBodyStatus("POST / HTTP/1.0\r\nTransfer-Encoding: chunked\r\n\r\n");
+        assertBodyStatus("POST / HTTP/1.1\r\nTransfer-Encoding: chunked, gzip\r\n\r\n");
+        assertBodyStatus("POST / HTTP/1.1\r\nContent-Length: 1\r\nContent-Length: 2\r\n\r\n");
+        assertBodyStatus("POST / HTTP/1.1\r\nContent-Length: -1\r\n\r\n");
+        assertBodyStatus("POST / HTTP/1.1\r\nContent-Length: 0x10\r\n\r\n");
+    }
+
+    private static RequestHead head(String head) throws Exception {
+        byte[] data = bytes(head);
+        return RequestHead.parse(data, 0, data.length);
+    }
+
+    private static void assertStatus(String head, int status) {
+        assertThatThrownBy(() -> head(head))
+                .isInstanceOf(RequestHead.MalformedRequestException.class)
+                .satisfies(e -> assertThat(((RequestHead.MalformedRequestException) e).getStatus()).isEqualTo(status));
+    }
+
+    private static void assertBodyStatus(String head) {
+        assertThatThrownBy(() -> head(head).bodyLength())
+                .isInstanceOf(RequestHead.MalformedRequestException.class)
+                .satisfies(e -> assertThat(((RequestHead.MalformedRequestException) e).getStatus()).isEqualTo(400));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.ISO_8859_1);
+    }
+
+}
@@ -0,0 +1,82 @@
+package de.craftsblock.craftsnet.utils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how many connections the server executors can hold open at once, with platform threads
+ * and with virtual threads. Every connection is modelled like the loop of a websocket client, a task
+ * which blocks its thread until the connection is closed.
+ * <p>
+ * This is not part of the test suite. Run it with {@code java -Xss512k} on java 21 or newer and pass
+ * the amount of connections to open, which defaults to {@code 20000}. Virtual threads are skipped on
+ * older runtimes.
+ *
+ * @author Philipp Maywald
+ * @author CraftsBlock
+ * @since 3.7.3
+ */
+public class ConnectionDensityBenchmark {
+
+    /**
+     * Runs the benchmark with platform threads and, if supported, with virtual threads.
+     *
+     * @param args Optionally the amount of connections to open.
+     * @throws Exception If the benchmark is interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        run("platform", connections, false);
+        if (VirtualThreads.isSupported()) run("virtual", connections, true);
+        else System.out.println("virtual: skipped, virtual threads are not supported by java " + Runtime.version().feature());
+    }
+
+    /**
+     * Opens the connections on a fresh executor, prints the results and closes them again.
+     *
+     * @param mode        The name of the mode, used for the output.
+     * @param connections The amount of connections to open.
+     * @param virtual     Whether virtual threads should be used.
+     * @throws InterruptedException If the benchmark is interrupted.
+     */
+    private static void run(String mode, int connections, boolean virtual) throws InterruptedException {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        long heapBefore = runtime.totalMemory() - runtime.freeMemory();
+
+        BoundedExecutor executor = new BoundedExecutor("Benchmark-" + mode + "-", connections, 0, virtual);
+        CountDownLatch close = new CountDownLatch(1);
+        CountDownLatch opened = new CountDownLatch(connections);
+
+        long start = System.nanoTime();
+        int accepted = 0;
+        try {
+            for (; accepted < connections; accepted++)
+                executor.execute(() -> {
+                    opened.countDown();
+                    try {
+                        close.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+        } catch (RejectedExecutionException | OutOfMemoryError e) {
+            System.out.println(mode + ": stopped after " + accepted + " connections, " + e);
+        }
+
+        opened.await(30, TimeUnit.SECONDS);
+        long elapsed = System.nanoTime() - start;
+        long heapAfter = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf("%s: %d open connections in %d ms, %d live threads, ~%d bytes of heap per connection%n",
+                mode, connections - opened.getCount(), TimeUnit.NANOSECONDS.toMillis(elapsed),
+                executor.getPoolSize(), accepted > 0 ? Math.max(0, heapAfter - heapBefore) / accepted : 0);
+
+        close.countDown();
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+}
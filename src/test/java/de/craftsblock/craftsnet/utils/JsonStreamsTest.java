@@ -0,0 +1,110 @@
+package de.craftsblock.craftsnet.utils;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonStreamsTest {
+
+    @Test
+    void shouldWriteElementsLikeToString() {
+        JsonObject object = new JsonObject();
+        object.addProperty("html", "<a href=\"x\">&amp;</a>");
+        object.add("missing", JsonNull.INSTANCE);
+        object.addProperty("umlaut", "äöü €");
+        object.addProperty("number", 1.5);
+
+        JsonArray array = new JsonArray();
+        array.add("😀");
+        array.add(JsonNull.INSTANCE);
+        object.add("array", array);
+
+        assertThat(string(JsonStreams.toBytes(object, false))).isEqualTo(object.toString());
+    }
+
+    @Test
+    void shouldIndentPrettyJson() {
+        JsonObject object = new JsonObject();
+        object.addProperty("a", 1);
+
+        assertThat(string(JsonStreams.toBytes(object, true))).isEqualTo("{\n  \"a\": 1\n}");
+    }
+
+    @Test
+    void shouldEncodeSurrogatePairs() {
+        JsonPrimitive primitive = new JsonPrimitive("a😀b𝄞c");
+        assertThat(JsonStreams.toBytes(primitive, false)).isEqualTo(utf8(primitive.toString()));
+    }
+
+    @Test
+    void shouldEncodeSurrogatePairsAcrossBufferBoundaries() {
+        // Moves the surrogate pairs across the edge of the 8 KiB buffer
+        for (int padding = 8 * 1024 - 8; padding <= 8 * 1024 + 8; padding++) {
+            JsonPrimitive primitive = new JsonPrimitive("a".repeat(padding) + "😀😀ä€😀");
+            assertThat(JsonStreams.toBytes(primitive, false)).isEqualTo(utf8(primitive.toString()));
+        }
+    }
+
+    @Test
+    void shouldReplaceLoneSurrogates() {
+        assertThat(string(JsonStreams.toBytes(new JsonPrimitive("a\uD83Db"), false))).isEqualTo("\"a?b\"");
+        assertThat(string(JsonStreams.toBytes(new JsonPrimitive("a\uDE00b"), false))).isEqualTo("\"a?b\"");
+        assertThat(string(JsonStreams.toBytes(new JsonPrimitive("\uD83D😀"), false))).isEqualTo("\"?😀\"");
+
+        JsonArray trailing = new JsonArray();
+        trailing.add("\uD83D");
+        assertThat(string(JsonStreams.toBytes(trailing, false))).isEqualTo("[\"?\"]");
+    }
+
+    @Test
+    void shouldSerializeObjectsLikeGson() throws Exception {
+        Sample sample = new Sample("<b>😀</b>", null, 3);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        JsonStreams.writeObject(sample, false, output);
+
+        assertThat(string(output.toByteArray())).isEqualTo(new Gson().toJson(sample));
+    }
+
+    @Test
+    void shouldWriteLargeElements() {
+        JsonArray array = new JsonArray();
+        for (int i = 0; i < 10_000; i++) array.add("value " + i + " ✓");
+
+        JsonElement element = array;
+        assertThat(JsonStreams.toBytes(element, false)).isEqualTo(utf8(element.toString()));
+    }
+
+    private static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings({"FieldCanBeLocal", "unused"})
+    private static final class Sample {
+
+        private final String text;
+        private final String missing;
+        private final int count;
+
+        private Sample(String text, String missing, int count) {
+            this.text = text;
+            this.missing = missing;
+            this.count = count;
+        }
+
+    }
+
+}
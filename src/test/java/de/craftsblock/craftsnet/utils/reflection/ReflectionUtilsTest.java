@@ -0,0 +1,116 @@
+package de.craftsblock.craftsnet.utils.reflection;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReflectionUtilsTest {
+
+    @Test
+    void shouldFindInheritedMethods() {
+        Method method = ReflectionUtils.findMethod(Child.class, "greet", String.class);
+        assertThat(method).isNotNull();
+        assertThat(method.getDeclaringClass()).isEqualTo(Parent.class);
+    }
+
+    @Test
+    void shouldFindInterfaceMethods() {
+        Method method = ReflectionUtils.findMethod(Child.class, "named");
+        assertThat(method).isNotNull();
+        assertThat(method.getDeclaringClass()).isEqualTo(Named.class);
+    }
+
+    @Test
+    void shouldReturnSameMethodFromCache() {
+        Method first = ReflectionUtils.findMethod(Child.class, "greet", String.class);
+        Method second = ReflectionUtils.findMethod(Child.class, "greet", String.class);
+        assertThat(second).isSameAs(first);
+    }
+
+    @Test
+    void shouldCacheMissingMethods() {
+        assertThat(ReflectionUtils.findMethod(Child.class, "missing")).isNull();
+
+        AtomicInteger lookups = new AtomicInteger();
+        Method cached = ReflectionCache.of(Child.class).method("missing", new Class<?>[0], () -> {
+            lookups.incrementAndGet();
+            return null;
+        });
+
+        assertThat(cached).isNull();
+        assertThat(lookups).hasValue(0);
+    }
+
+    @Test
+    void shouldDistinguishArgumentTypes() {
+        assertThat(ReflectionUtils.findMethod(Child.class, "greet", String.class)).isNotNull();
+        assertThat(ReflectionUtils.findMethod(Child.class, "greet", Integer.class)).isNull();
+    }
+
+    @Test
+    void shouldExtractGenerics() {
+        Class<?> generic = ReflectionUtils.extractGeneric(StringHolder.class, Holder.class, 0);
+        assertThat(generic).isEqualTo(String.class);
+        assertThat(ReflectionUtils.<Object>extractGeneric(StringHolder.class, Holder.class, 0)).isSameAs(generic);
+    }
+
+    @Test
+    void shouldReturnNullForMissingGenerics() {
+        assertThat(ReflectionUtils.<Object>extractGeneric(Child.class, Parent.class, 0)).isNull();
+
+        AtomicInteger lookups = new AtomicInteger();
+        Class<?> cached = ReflectionCache.of(Child.class).generic(Parent.class, 0, () -> {
+            lookups.incrementAndGet();
+            return null;
+        });
+
+        assertThat(cached).isNull();
+        assertThat(lookups).hasValue(0);
+    }
+
+    @Test
+    void shouldRetrieveAnnotationValues() throws Exception {
+        assertThat(ReflectionUtils.retrieveValueOfAnnotation(Child.class, Path.class, String.class, true)).isEqualTo("/child");
+        assertThat(ReflectionUtils.retrieveValueOfAnnotation(Parent.class, Path.class, String.class, true)).isEqualTo("/");
+        assertThat(ReflectionUtils.retrieveValueOfAnnotation(Parent.class, Path.class, String.class, false)).isNull();
+    }
+
+    @Test
+    void shouldInvokeMethods() {
+        Method method = ReflectionUtils.findMethod(Child.class, "greet", String.class);
+        assertThat(ReflectionUtils.invokeMethod(new Child(), method, "World")).isEqualTo("Hello World");
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @interface Path {
+        String value() default "/";
+    }
+
+    interface Named {
+        default String named() {
+            return "named";
+        }
+    }
+
+    static class Parent {
+        String greet(String name) {
+            return "Hello " + name;
+        }
+    }
+
+    @Path("/child")
+    static class Child extends Parent implements Named {
+    }
+
+    static class Holder<T> {
+    }
+
+    static class StringHolder extends Holder<String> {
+    }
+
+}